@@ -1,10 +1,12 @@
 package epr.eprapiservices.Models;
 
+import epr.eprapiservices.event.ReferenceDataEntityListener;
 import jakarta.persistence.*;
 
 
 @Entity
 @Table(name = "Industry", schema = "dbo")
+@EntityListeners(ReferenceDataEntityListener.class)
 public class Industry extends BaseModel {
 
     @Id
@@ -1,10 +1,13 @@
 package epr.eprapiservices.Models;
 
+import epr.eprapiservices.event.AccessControlEntityListener;
+import epr.eprapiservices.event.ReferenceDataEntityListener;
 import jakarta.persistence.*;
 
 
 @Entity
 @Table(name = "Modules", schema = "dbo")
+@EntityListeners({AccessControlEntityListener.class, ReferenceDataEntityListener.class})
 public class Modules extends BaseModel {
 
 	// Primary Key
@@ -1,5 +1,7 @@
 package epr.eprapiservices.Models;
 
+import epr.eprapiservices.event.ReferenceDataEntityListener;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -8,6 +10,7 @@ import jakarta.persistence.Id;
 
 @Entity
 @Table(name = "Orgtype", schema = "dbo")
+@EntityListeners(ReferenceDataEntityListener.class)
 public class OrgType extends BaseModel {
 
     @Id    
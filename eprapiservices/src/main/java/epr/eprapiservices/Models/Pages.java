@@ -1,10 +1,13 @@
 
 package epr.eprapiservices.Models;
 
+import epr.eprapiservices.event.AccessControlEntityListener;
+import epr.eprapiservices.event.ReferenceDataEntityListener;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "Pages")
+@EntityListeners({AccessControlEntityListener.class, ReferenceDataEntityListener.class})
 public class Pages extends BaseModel {
 
     @Id
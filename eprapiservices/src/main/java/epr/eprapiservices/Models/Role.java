@@ -1,10 +1,12 @@
 
 package epr.eprapiservices.Models;
 
+import epr.eprapiservices.event.AccessControlEntityListener;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "roles")
+@EntityListeners(AccessControlEntityListener.class)
 public class Role extends BaseModel {
     @Id    
     @Column(name = "role_id")
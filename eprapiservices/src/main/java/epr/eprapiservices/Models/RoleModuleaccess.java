@@ -1,11 +1,13 @@
 
 package epr.eprapiservices.Models;
 
+import epr.eprapiservices.event.AccessControlEntityListener;
 import jakarta.persistence.*;
 
 
 @Entity
 @Table(name = "RoleModuleaccess")
+@EntityListeners(AccessControlEntityListener.class)
 public class RoleModuleaccess extends BaseModel {
 
     @Id
@@ -1,11 +1,13 @@
 
 package epr.eprapiservices.Models;
 
+import epr.eprapiservices.event.AccessControlEntityListener;
 import jakarta.persistence.*;
 
 
 @Entity
 @Table(name = "Roleusers")
+@EntityListeners(AccessControlEntityListener.class)
 public class RoleUsers extends BaseModel {
 
     @Id
@@ -4,6 +4,7 @@ import java.util.List;
 import epr.eprapiservices.Models.Account;
 import epr.eprapiservices.dao.repository.AccountRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AccountService {
@@ -13,10 +14,12 @@ public class AccountService {
 	        this.repository = repository;
 	    }
 
+	    @Transactional(readOnly = true)
 	    public List<Account> getAllAccounts() {
 	        return repository.findAll();
 	    }
 
+	    @Transactional(readOnly = true)
 	    public Account getAccountById(Integer id) {
 	        return repository.findById(id).orElse(null);
 	    }
@@ -1,15 +1,18 @@
 package epr.eprapiservices.Services;
 
 import epr.eprapiservices.Models.User;
+import epr.eprapiservices.dao.repository.RoleusersRepository;
 import epr.eprapiservices.dao.repository.UserRepository;
 import epr.eprapiservices.dto.LoginRequestDto;
 import epr.eprapiservices.dto.LoginResponseDto;
 import epr.eprapiservices.dto.UserDto;
 import epr.eprapiservices.exception.BusinessException;
 import epr.eprapiservices.security.JwtUtil;
+import epr.eprapiservices.security.PasswordHashingService;
+import epr.eprapiservices.security.TokenVerificationService;
 import epr.eprapiservices.util.UserMapper;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
@@ -25,24 +28,34 @@ public class AuthService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenVerificationService tokenVerificationService;
+    private final RoleusersRepository roleUsersRepository;
 
     public AuthService(UserRepository userRepository, UserMapper userMapper, 
-                      JwtUtil jwtUtil, PasswordEncoder passwordEncoder) {
+                      JwtUtil jwtUtil, PasswordHashingService passwordHashingService,
+                      TokenVerificationService tokenVerificationService,
+                      RoleusersRepository roleUsersRepository) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.jwtUtil = jwtUtil;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.tokenVerificationService = tokenVerificationService;
+        this.roleUsersRepository = roleUsersRepository;
     }
 
     /**
      * Authenticate user and generate JWT token.
+     * Runs without a transaction so no database connection is held while the password
+     * is verified on the hashing pool.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoginResponseDto login(LoginRequestDto loginRequest) {
         // Find user by username
         Optional<User> userOptional = userRepository.findByUserName(loginRequest.getUsername());
         
         if (userOptional.isEmpty()) {
+            passwordHashingService.matchesNothing(loginRequest.getPassword());
             throw new BusinessException("INVALID_CREDENTIALS", "Invalid username or password");
         }
 
@@ -53,14 +66,15 @@ public class AuthService {
             throw new BusinessException("USER_INACTIVE", "User account is inactive");
         }
 
-        // For development purposes, we'll use simple password comparison
-        // In production, this should use proper password hashing
-        if (!isPasswordValid(loginRequest.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(loginRequest.getPassword(), user.getPasswordHash())) {
             throw new BusinessException("INVALID_CREDENTIALS", "Invalid username or password");
         }
+        upgradeLegacyPassword(user, loginRequest.getPassword());
 
         // Generate JWT token
-        String token = jwtUtil.generateToken(user.getUserName(), user.getUserId());
+        // Roles and status are embedded so requests can be authenticated from the token alone
+        String token = jwtUtil.generateToken(user.getUserName(), user.getUserId(),
+                roleUsersRepository.findRoleNamesByUserId(user.getUserId()), user.getIsActive());
 
         // Convert user to DTO (excluding sensitive information)
         UserDto userDto = userMapper.toDto(user);
@@ -69,14 +83,19 @@ public class AuthService {
     }
 
     /**
-     * Validate password against stored hash.
-     * For development, we'll use simple comparison.
-     * In production, use proper password hashing.
+     * Replace a plaintext password with its BCrypt hash once the user has proven it.
+     * A busy hashing pool only postpones the upgrade to a later login.
      */
-    private boolean isPasswordValid(String rawPassword, String storedPassword) {
-        // For development - simple comparison
-        // TODO: Implement proper password hashing for production
-        return rawPassword.equals(storedPassword);
+    private void upgradeLegacyPassword(User user, String rawPassword) {
+        if (passwordHashingService.isHashed(user.getPasswordHash())) {
+            return;
+        }
+        try {
+            String hash = passwordHashingService.encode(rawPassword);
+            userRepository.updatePasswordHash(user.getUserId(), hash);
+        } catch (BusinessException e) {
+            // Retried on the next successful login
+        }
     }
 
     /**
@@ -84,11 +103,9 @@ public class AuthService {
      */
     @Transactional(readOnly = true)
     public UserDto validateToken(String token) {
-        if (!jwtUtil.validateToken(token)) {
-            throw new BusinessException("INVALID_TOKEN", "Invalid or expired token");
-        }
-
-        String username = jwtUtil.extractUsername(token);
+        String username = tokenVerificationService.verify(token)
+                .orElseThrow(() -> new BusinessException("INVALID_TOKEN", "Invalid or expired token"))
+                .username();
         Optional<User> userOptional = userRepository.findByUserName(username);
 
         if (userOptional.isEmpty()) {
@@ -107,9 +124,15 @@ public class AuthService {
      * Extract user ID from JWT token.
      */
     public Integer extractUserIdFromToken(String token) {
-        if (!jwtUtil.validateToken(token)) {
-            throw new BusinessException("INVALID_TOKEN", "Invalid or expired token");
-        }
-        return jwtUtil.extractUserId(token);
+        return tokenVerificationService.verify(token)
+                .orElseThrow(() -> new BusinessException("INVALID_TOKEN", "Invalid or expired token"))
+                .userId();
+    }
+
+    /**
+     * Revoke a token so it is rejected until it expires.
+     */
+    public void logout(String token) {
+        tokenVerificationService.revoke(token);
     }
 }
@@ -2,6 +2,7 @@
 package epr.eprapiservices.Services;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import epr.eprapiservices.Models.CompanyAccounts;
 
 import epr.eprapiservices.dao.repository.CompanyaccountsRepository;
@@ -19,10 +20,12 @@ public class CompanyAccountsService {
 		this.companyAccountsRepository = companyAccountsRepository;
 	}
 
+	@Transactional(readOnly = true)
 	public List<CompanyAccounts> getAllCompanyAccounts() {
 		return companyAccountsRepository.findAll();
 	}
 
+	@Transactional(readOnly = true)
 	public Optional<CompanyAccounts> getCompanyAccountById(Integer companyAccountsId) {
 		return companyAccountsRepository.findById(companyAccountsId);
 	}
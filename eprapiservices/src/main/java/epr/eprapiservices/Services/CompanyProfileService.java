@@ -6,6 +6,7 @@ import epr.eprapiservices.Models.CompanyProfile;
 import epr.eprapiservices.dao.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,10 +21,12 @@ public class CompanyProfileService {
         this.repostory = companyProfileRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<CompanyProfile> getAllCompanyProfiles() {
         return this.repostory.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<CompanyProfile> getCompanyProfileById(Integer id) {
         return this.repostory.findById(id);
     }
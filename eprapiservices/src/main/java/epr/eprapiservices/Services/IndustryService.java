@@ -3,6 +3,7 @@ package epr.eprapiservices.Services;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import epr.eprapiservices.Models.Industry;
 import epr.eprapiservices.dao.repository.IndustryRepository;
@@ -16,10 +17,12 @@ public class IndustryService {
 	        this.repository = _repository;
 	    }
 
+	    @Transactional(readOnly = true)
 	    public List<Industry> getAll() {
 	        return this.repository.findAll();
 	    }
 
+	    @Transactional(readOnly = true)
 	    public Industry getIndustryById(Integer id) {
 	        return repository.findById(id).orElse(null);
 	    }
@@ -2,6 +2,7 @@ package epr.eprapiservices.Services;
 
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import epr.eprapiservices.Models.Modules;
 import epr.eprapiservices.dao.repository.ModulesRepository;
 import java.util.List;
@@ -15,10 +16,12 @@ public class ModulesService {
 		this.repository = _repository;
 	}
 
+	@Transactional(readOnly = true)
 	public List<Modules> getAll() {
 		return this.repository.findAll();
 	}
 
+	@Transactional(readOnly = true)
 	public Modules getModuleById(Long id) {
 		return repository.findById(id).orElse(null);
 	}
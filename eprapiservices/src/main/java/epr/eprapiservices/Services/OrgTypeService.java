@@ -5,6 +5,7 @@ import epr.eprapiservices.Models.*;
 import epr.eprapiservices.dao.repository.*;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class OrgTypeService {
@@ -14,10 +15,12 @@ public class OrgTypeService {
 	        this.repository = repository;
 	    }
 
+	    @Transactional(readOnly = true)
 	    public List<OrgType> getAll() {
 	        return repository.findAll();
 	    }
 
+	    @Transactional(readOnly = true)
 	    public OrgType getOrgTypeById(Long id) {
 	        return repository.findById(id).orElse(null);
 	    }
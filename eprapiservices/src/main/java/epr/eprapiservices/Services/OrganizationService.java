@@ -4,6 +4,7 @@ import java.util.List;
 import epr.eprapiservices.Models.*;
 import epr.eprapiservices.dao.repository.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class OrganizationService {
@@ -14,10 +15,12 @@ public class OrganizationService {
         this.repository = repository;
     }
 
+    @Transactional(readOnly = true)
     public List<Organization> getAll() {
         return repository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Organization getOrganizationById(long id) {
         return repository.findById(id).orElse(null);
     }
@@ -2,6 +2,7 @@ package epr.eprapiservices.Services;
 //create a service class for Pages entity
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import epr.eprapiservices.Models.Pages;
 import epr.eprapiservices.dao.repository.PagesRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,10 +17,12 @@ public class PagesService  {
 	public PagesService(PagesRepository pagesRepository) {
         this.pagesRepository = pagesRepository;
     }
+	@Transactional(readOnly = true)
 	public List<Pages> getAllPages() {
 		return pagesRepository.findAll();
 	}
 
+	@Transactional(readOnly = true)
 	public Optional<Pages> getPageById(Integer pageId) {
 		return pagesRepository.findById(pageId);
 	}
@@ -4,13 +4,16 @@ package epr.eprapiservices.Services;
 import epr.eprapiservices.Models.Role;
 import epr.eprapiservices.dao.repository.RoleRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
 public class RoleService {
     private final RoleRepository repo;
     public RoleService(RoleRepository _repo) { this.repo = _repo; }
+    @Transactional(readOnly = true)
     public List<Role> getAll() { return repo.findAll(); }
+    @Transactional(readOnly = true)
     public Role getById(Long id) { return repo.findById(id).orElse(null); }
     public Role create(Role role) { return repo.save(role); }
     public Role update(Long id, Role details) {
@@ -5,6 +5,7 @@ import epr.eprapiservices.Models.*;
 import epr.eprapiservices.dao.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,10 +20,12 @@ public class RoleUsersService {
         this.repository = _repository;
     }
 
+    @Transactional(readOnly = true)
     public List<RoleUsers> findAll() {
         return repository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<RoleUsers> findById(Integer id) {
         return repository.findById(id);
     }
@@ -6,7 +6,9 @@ import epr.eprapiservices.dto.UserDto;
 import epr.eprapiservices.dao.repository.UserRepository;
 import epr.eprapiservices.util.UserMapper;
 import epr.eprapiservices.exception.BusinessException;
+import epr.eprapiservices.event.UserStatusChangedEvent;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -30,10 +32,13 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, UserMapper userMapper) {
+    public UserService(UserRepository userRepository, UserMapper userMapper,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     // Legacy methods for backward compatibility
@@ -99,12 +104,15 @@ public class UserService {
 
         userMapper.updateEntity(existingUser, userDto);
         User savedUser = userRepository.save(existingUser);
+        // Cached user status (request authentication) must not outlive a deactivation
+        eventPublisher.publishEvent(new UserStatusChangedEvent(savedUser.getUserId()));
         return userMapper.toDto(savedUser);
     }
 
     public boolean deleteById(@NotNull @Positive Long id) {
         if (userRepository.existsById(id)) {
             userRepository.deleteById(id);
+            eventPublisher.publishEvent(new UserStatusChangedEvent(id.intValue()));
             return true;
         }
         return false;
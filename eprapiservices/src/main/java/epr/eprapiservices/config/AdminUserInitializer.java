@@ -0,0 +1,80 @@
+package epr.eprapiservices.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Creates the admin user on startup when no user of that name exists, so a fresh database
+ * can be logged into without the "seed" profile. Runs on every start in every profile and
+ * changes nothing once the user is there. The password is stored BCrypt-encoded; when
+ * app.bootstrap.admin-password is blank a random one is generated and logged once.
+ */
+@Component
+@Order(0)
+public class AdminUserInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminUserInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final String username;
+    private final String password;
+
+    public AdminUserInitializer(JdbcTemplate jdbcTemplate,
+                                PasswordEncoder passwordEncoder,
+                                @Value("${app.bootstrap.admin-username:admin}") String username,
+                                @Value("${app.bootstrap.admin-password:}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE user_name = ?", Integer.class, username);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        boolean generated = password.isBlank();
+        String initialPassword = generated ? generatePassword() : password;
+        try {
+            int inserted = jdbcTemplate.update(
+                    "INSERT INTO users (user_id, user_name, password_hash, first_name, last_name, email, is_active) "
+                            + "SELECT COALESCE(MAX(user_id), 0) + 1, ?, ?, ?, ?, ?, ? FROM users "
+                            + "WHERE NOT EXISTS (SELECT 1 FROM users WHERE user_name = ?)",
+                    username, passwordEncoder.encode(initialPassword), "Admin", "User", "admin@eprvault.com", true,
+                    username);
+            if (inserted == 0) {
+                return;
+            }
+        } catch (DuplicateKeyException e) {
+            // Another node created it first
+            logger.debug("Admin user {} was created concurrently", username);
+            return;
+        }
+        if (generated) {
+            logger.warn("Created admin user '{}' with generated password: {} (set app.bootstrap.admin-password "
+                    + "to choose one; change it after the first login)", username, initialPassword);
+        } else {
+            logger.info("Created admin user '{}'", username);
+        }
+    }
+
+    private static String generatePassword() {
+        byte[] bytes = new byte[18];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
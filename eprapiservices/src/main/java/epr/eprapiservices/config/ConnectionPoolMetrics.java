@@ -0,0 +1,110 @@
+package epr.eprapiservices.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import epr.eprapiservices.dto.ConnectionPoolStatsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the Hikari connection pools: pool state as Hikari reports it (active, idle,
+ * pending) plus connection acquisition, usage and timeout counters recorded by Hikari on
+ * every checkout. Pools register themselves on start.
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final Map<String, PoolTracker> trackers = new ConcurrentSkipListMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolTracker tracker = new PoolTracker(poolStats);
+        trackers.put(poolName, tracker);
+        return tracker;
+    }
+
+    /**
+     * Current statistics of every started pool, by pool name
+     */
+    public List<ConnectionPoolStatsDto> getStats() {
+        List<ConnectionPoolStatsDto> stats = new ArrayList<>(trackers.size());
+        trackers.forEach((poolName, tracker) -> stats.add(tracker.toDto(poolName)));
+        return stats;
+    }
+
+    private final class PoolTracker implements IMetricsTracker {
+        private final PoolStats poolStats;
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final AtomicLong maxAcquireNanos = new AtomicLong();
+        private final LongAdder used = new LongAdder();
+        private final LongAdder usageMillis = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder created = new LongAdder();
+
+        private PoolTracker(PoolStats poolStats) {
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            created.increment();
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquired.increment();
+            acquireNanos.add(elapsedAcquiredNanos);
+            maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            used.increment();
+            usageMillis.add(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        @Override
+        public void close() {
+            trackers.values().remove(this);
+        }
+
+        private ConnectionPoolStatsDto toDto(String poolName) {
+            ConnectionPoolStatsDto dto = new ConnectionPoolStatsDto();
+            dto.setPoolName(poolName);
+            dto.setActiveConnections(poolStats.getActiveConnections());
+            dto.setIdleConnections(poolStats.getIdleConnections());
+            dto.setTotalConnections(poolStats.getTotalConnections());
+            dto.setPendingThreads(poolStats.getPendingThreads());
+            dto.setMaxConnections(poolStats.getMaxConnections());
+            long acquiredCount = acquired.sum();
+            long usedCount = used.sum();
+            dto.setConnectionsAcquired(acquiredCount);
+            dto.setAverageAcquireMillis(acquiredCount > 0 ? toMillis(acquireNanos.sum() / (double) acquiredCount) : 0);
+            dto.setMaxAcquireMillis(toMillis(maxAcquireNanos.get()));
+            dto.setConnectionTimeouts(timeouts.sum());
+            dto.setAverageUsageMillis(usedCount > 0 ? round(usageMillis.sum() / (double) usedCount) : 0);
+            dto.setConnectionsCreated(created.sum());
+            return dto;
+        }
+
+        private static double toMillis(double nanos) {
+            return round(nanos / TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        private static double round(double millis) {
+            return Math.round(millis * 1000) / 1000.0;
+        }
+    }
+}
@@ -1,484 +1,364 @@
 package epr.eprapiservices.config;
 
-import epr.eprapiservices.Models.User;
-import epr.eprapiservices.dao.repository.UserRepository;
-import epr.eprapiservices.dao.repository.ProductGroupRepository;
-import epr.eprapiservices.dao.repository.ProductCategoryRepository;
-import epr.eprapiservices.dao.repository.ProductRepository;
-import epr.eprapiservices.dao.repository.ProductTypeRepository;
-import epr.eprapiservices.dao.repository.MaterialRepository;
-import epr.eprapiservices.dao.repository.VendorRepository;
-import epr.eprapiservices.dao.repository.RecycleLogRepository;
-import epr.eprapiservices.dao.repository.RecyclingCertificationRepository;
-import epr.eprapiservices.dao.repository.TracingTargetRepository;
-import epr.eprapiservices.entity.ProductGroup;
-import epr.eprapiservices.entity.ProductCategory;
-import epr.eprapiservices.entity.Product;
-import epr.eprapiservices.entity.ProductType;
-
-import epr.eprapiservices.entity.Material;
-import epr.eprapiservices.entity.Vendor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import epr.eprapiservices.entity.RecycleLog;
 import epr.eprapiservices.entity.RecyclingCertification;
 import epr.eprapiservices.entity.TracingTarget;
+import epr.eprapiservices.util.MassUnits;
+import epr.eprapiservices.util.SequenceIds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Data initializer to create default data for development.
- * This will create default admin user and sample data if they don't exist in the database.
+ * Data initializer to create default data for development: product groups, materials,
+ * vendors, products, recycle logs, recycling certifications and tracing targets. The admin
+ * user is not part of it; {@link AdminUserInitializer} creates that one in every profile.
+ * Runs only with the "seed" profile ({@code --spring.profiles.active=seed}), so it stays off
+ * the startup path otherwise. Rows are matched to existing ones by natural key and only the
+ * missing ones are inserted, one batched statement per table, so running it again changes
+ * nothing. The tables do not refer to each other and are seeded in parallel on virtual
+ * threads. With app.seed.snapshot set, the rows are read from that JSON file when it exists
+ * and written to it otherwise.
  */
 @Component
+@Profile("seed")
 public class DataInitializer implements CommandLineRunner {
 
-    private final UserRepository userRepository;
-    private final ProductGroupRepository productGroupRepository;
-    private final ProductCategoryRepository productCategoryRepository;
-    private final ProductRepository productRepository;
-    private final ProductTypeRepository productTypeRepository;
-    private final MaterialRepository materialRepository;
-    private final VendorRepository vendorRepository;
-    private final RecycleLogRepository recycleLogRepository;
-    private final RecyclingCertificationRepository recyclingCertificationRepository;
-    private final TracingTargetRepository tracingTargetRepository;
-
-    public DataInitializer(UserRepository userRepository,
-                          ProductGroupRepository productGroupRepository,
-                          ProductCategoryRepository productCategoryRepository,
-                          ProductRepository productRepository,
-                          ProductTypeRepository productTypeRepository,
-                          MaterialRepository materialRepository,
-                          VendorRepository vendorRepository,
-                          RecycleLogRepository recycleLogRepository,
-                          RecyclingCertificationRepository recyclingCertificationRepository,
-                          TracingTargetRepository tracingTargetRepository) {
-        this.userRepository = userRepository;
-        this.productGroupRepository = productGroupRepository;
-        this.productCategoryRepository = productCategoryRepository;
-        this.productRepository = productRepository;
-        this.productTypeRepository = productTypeRepository;
-
-        this.materialRepository = materialRepository;
-        this.vendorRepository = vendorRepository;
-        this.recycleLogRepository = recycleLogRepository;
-        this.recyclingCertificationRepository = recyclingCertificationRepository;
-        this.tracingTargetRepository = tracingTargetRepository;
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
+
+    /**
+     * Id column and sequence of the tables keyed by a pooled sequence rather than an identity
+     */
+    private static final Map<String, String[]> SEQUENCE_IDS = Map.of(
+            "recycle_log", new String[] {"recycle_log_id", RecycleLog.ID_SEQUENCE},
+            "tracing_target", new String[] {"target_id", TracingTarget.ID_SEQUENCE});
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String snapshotPath;
+
+    public DataInitializer(JdbcTemplate jdbcTemplate,
+                          ObjectMapper objectMapper,
+                          @Value("${app.seed.snapshot:}") String snapshotPath) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.snapshotPath = snapshotPath;
     }
 
     @Override
     public void run(String... args) throws Exception {
-        // Always create admin user for testing if it doesn't exist
-        if (!userRepository.existsByUserName("admin")) {
-            createAdminUser();
+        long start = System.nanoTime();
+        List<SeedTable> tables = loadSeedTables();
+        int inserted = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (SeedTable table : tables) {
+                results.add(executor.submit(() -> seed(table)));
+            }
+            for (Future<Integer> result : results) {
+                inserted += result.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
         }
-
-        // Initialize default data
-        initializeDefaultData();
-        initializeProductCategories();
-        initializeProductTypes();
-        initializeProducts();
-        initializeEnhancedVendors();
-        initializeRecycleLogs();
-        initializeRecyclingCertifications();
-        initializeTracingTargets();
+        logger.info("Seeded {} rows into {} tables in {} ms", inserted, tables.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
-    private void initializeDefaultData() {
-        createDefaultProductGroups();
-
-        createDefaultMaterials();
-        createDefaultVendors();
-    }
-
-    private void createAdminUser() {
-        // Find the next available user ID
-        Integer nextUserId = userRepository.findAll().stream()
-            .mapToInt(User::getUserId)
-            .max()
-            .orElse(0) + 1;
-
-        // Create admin user for testing
-        User adminUser = new User();
-        adminUser.setUserId(nextUserId);
-        adminUser.setUserName("admin");
-        adminUser.setPasswordHash("password"); // In production, this should be hashed
-        adminUser.setFirstName("Admin");
-        adminUser.setLastName("User");
-        adminUser.setEmail("admin@eprvault.com");
-        adminUser.setMobile("1234567890");
-        adminUser.setNationality(1);
-        adminUser.setIsActive(true);
-
-        userRepository.save(adminUser);
-        System.out.println("Created admin user: admin/password");
-    }
-
-    private void createDefaultProductGroups() {
-        if (productGroupRepository.count() == 0) {
-            String[][] productGroups = {
-                {"Electronics", "Electronic devices and components including computers, phones, and accessories"},
-                {"Packaging", "All types of packaging materials including boxes, containers, and wrapping materials"},
-                {"Automotive", "Automotive parts, components, and accessories for vehicles"},
-                {"Textiles", "Clothing, fabrics, and textile-based products"},
-                {"Furniture", "Furniture and home furnishing products"},
-                {"Batteries", "Battery products and energy storage devices"},
-                {"Pharmaceuticals", "Pharmaceutical and medical products"},
-                {"Food & Beverages", "Food and beverage packaging and containers"},
-                {"Cosmetics", "Cosmetic and personal care product packaging"},
-                {"Chemicals", "Chemical products and industrial materials"}
-            };
-
-            for (String[] pgData : productGroups) {
-                ProductGroup pg = new ProductGroup();
-                pg.setProductGroupName(pgData[0]);
-                pg.setDescription(pgData[1]);
-                pg.setIsActive(true);
-                productGroupRepository.save(pg);
-            }
-            System.out.println("Created " + productGroups.length + " default product groups");
+    /**
+     * Seed rows from the snapshot file, or the default rows (writing the snapshot when one
+     * is configured but missing)
+     */
+    private List<SeedTable> loadSeedTables() throws IOException {
+        if (snapshotPath.isBlank()) {
+            return defaultSeedTables();
+        }
+        Path snapshot = Paths.get(snapshotPath);
+        if (Files.exists(snapshot)) {
+            logger.info("Loading seed data from snapshot {}", snapshot);
+            return objectMapper.reader()
+                    .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                    .forType(new TypeReference<List<SeedTable>>() {})
+                    .readValue(snapshot.toFile());
         }
+        List<SeedTable> tables = defaultSeedTables();
+        if (snapshot.getParent() != null) {
+            Files.createDirectories(snapshot.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(snapshot.toFile(), tables);
+        logger.info("Wrote seed data snapshot {}", snapshot);
+        return tables;
     }
 
-    private void createDefaultMaterials() {
-        if (materialRepository.count() == 0) {
-            Object[][] materials = {
-                {"PET001", "PET Plastic", "Polyethylene Terephthalate - commonly used for bottles and containers", 1},
-                {"HDPE002", "HDPE Plastic", "High-Density Polyethylene - used for milk jugs, detergent bottles", 2},
-                {"PVC003", "PVC Plastic", "Polyvinyl Chloride - used for pipes, packaging, and medical devices", 3},
-                {"LDPE004", "LDPE Plastic", "Low-Density Polyethylene - used for plastic bags and films", 4},
-                {"PP005", "PP Plastic", "Polypropylene - used for food containers and automotive parts", 5},
-                {"PS006", "PS Plastic", "Polystyrene - used for disposable cups and packaging foam", 6},
-                {"CARD001", "Cardboard", "Corrugated cardboard material for packaging and shipping boxes", 7},
-                {"PAPER002", "Paper", "Various paper materials including newsprint, office paper, and magazines", 8},
-                {"GLASS001", "Glass", "Clear and colored glass materials from bottles and containers", 9},
-                {"METAL001", "Aluminum", "Aluminum cans, foils, and other aluminum-based materials", 10}
-            };
-
-            for (Object[] matData : materials) {
-                Material material = new Material();
-                material.setMaterialCode((String) matData[0]);
-                material.setMaterialName((String) matData[1]);
-                material.setDescription((String) matData[2]);
-                material.setSortOrder((Integer) matData[3]);
-                material.setIsActive(true);
-                materialRepository.save(material);
+    /**
+     * Insert the rows of a table whose key is not there yet; returns the number inserted
+     */
+    private int seed(SeedTable table) {
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query("SELECT " + table.keyColumn() + " FROM " + table.table(), rs -> {
+            String key = rs.getString(1);
+            if (key != null) {
+                existing.add(key.toLowerCase(Locale.ROOT));
+            }
+        });
+        int keyIndex = table.columns().indexOf(table.keyColumn());
+        List<Object[]> missing = new ArrayList<>();
+        for (List<Object> row : table.rows()) {
+            if (existing.add(String.valueOf(row.get(keyIndex)).toLowerCase(Locale.ROOT))) {
+                missing.add(row.toArray());
             }
-            System.out.println("Created " + materials.length + " default materials");
         }
-    }
-
-    private void createDefaultVendors() {
-        if (vendorRepository.count() == 0) {
-            Object[][] vendors = {
-                {"VEN-001", "EcoRecycle Solutions", new BigDecimal("1500.00"), "Plastic recycling, Glass processing", "VALID", "Excellent performance in Q4 2024", "High efficiency in plastic waste processing. Meets all compliance standards."},
-                {"VEN-002", "GreenTech Processors", new BigDecimal("2000.00"), "Paper recycling, Cardboard processing", "VALID", "Good performance with minor delays", "Reliable paper processing facility with good turnaround times."},
-                {"VEN-003", "MetalWorks Recycling", new BigDecimal("1200.00"), "Metal recycling, Aluminum processing", "VALID", "Outstanding performance", "Specialized in metal recovery with advanced sorting technology."},
-                {"VEN-004", "Sustainable Materials Co", new BigDecimal("800.00"), "Composite materials, Organic waste", "EXPIRED", "Certification renewal pending", "Small-scale processor focusing on sustainable materials."},
-                {"VEN-005", "Industrial Waste Management", new BigDecimal("3000.00"), "Electronics recycling, Battery processing", "VALID", "Excellent safety record", "Large-scale facility with specialized equipment for hazardous materials."}
-            };
+        if (missing.isEmpty()) {
+            return 0;
+        }
 
-            for (Object[] vendorData : vendors) {
-                Vendor vendor = new Vendor();
-                vendor.setVendorCode((String) vendorData[0]);
-                vendor.setVendorName((String) vendorData[1]);
-                vendor.setVendorCapacityTonnes((BigDecimal) vendorData[2]);
-                vendor.setAssignedTasks((String) vendorData[3]);
-                vendor.setVendorCertificationStatus((String) vendorData[4]);
-                vendor.setVendorFeedback((String) vendorData[5]);
-                vendor.setVendorPerformanceMetrics((String) vendorData[6]);
-                vendor.setIsActive(true);
-                vendorRepository.save(vendor);
+        List<String> columns = new ArrayList<>(table.columns());
+        if (table.assignedIdColumn() != null) {
+            Integer maxId = jdbcTemplate.queryForObject(
+                    "SELECT MAX(" + table.assignedIdColumn() + ") FROM " + table.table(), Integer.class);
+            int nextId = maxId != null ? maxId + 1 : 1;
+            columns.add(table.assignedIdColumn());
+            for (int i = 0; i < missing.size(); i++) {
+                Object[] row = Arrays.copyOf(missing.get(i), columns.size());
+                row[columns.size() - 1] = nextId++;
+                missing.set(i, row);
             }
-            System.out.println("Created " + vendors.length + " default vendors");
         }
+        String[] sequenceId = SEQUENCE_IDS.get(table.table());
+        if (sequenceId != null) {
+            columns.add(0, sequenceId[0]);
+            missing = SequenceIds.withIds(jdbcTemplate, sequenceId[1], missing);
+        }
+        String placeholders = String.join(", ", Collections.nCopies(columns.size(), "?"));
+        jdbcTemplate.batchUpdate("INSERT INTO " + table.table() + " (" + String.join(", ", columns) + ") VALUES ("
+                + placeholders + ")", missing);
+        logger.debug("Seeded {} rows into {}", missing.size(), table.table());
+        return missing.size();
     }
 
-    private void initializeProductCategories() {
-        // Temporarily disabled - will be updated with new hierarchical structure
-        /*
-        if (productCategoryRepository.count() == 0) {
-            ProductCategory[] categories = {
-                new ProductCategory("Mobile Phones", "Smartphones and mobile devices", "MOB"),
-                new ProductCategory("Computers", "Desktop and laptop computers", "COMP"),
-                new ProductCategory("Plastic Packaging", "Plastic containers and wrapping", "PLAST"),
-                new ProductCategory("Paper Packaging", "Cardboard and paper packaging", "PAPER"),
-                new ProductCategory("Clothing", "Garments and apparel", "CLOTH"),
-                new ProductCategory("Footwear", "Shoes and sandals", "FOOT"),
-                new ProductCategory("Car Parts", "Automotive components", "CPART"),
-                new ProductCategory("Batteries", "All types of batteries", "BATT")
-            };
-        */
+    private List<SeedTable> defaultSeedTables() {
+        return List.of(
+                productGroups(),
+                materials(),
+                vendors(),
+                products(),
+                recycleLogs(),
+                recyclingCertifications(),
+                tracingTargets());
     }
 
-    private void initializeEnhancedVendors() {
-        // Update existing vendors with enhanced fields
-        vendorRepository.findAll().forEach(vendor -> {
-            if (vendor.getContactPerson() == null) {
-                vendor.setContactPerson("Contact Person " + vendor.getVendorId());
-                vendor.setContactEmail("contact" + vendor.getVendorId() + "@" + vendor.getVendorName().toLowerCase().replace(" ", "") + ".com");
-                vendor.setContactPhone("+91-98765432" + String.format("%02d", vendor.getVendorId() % 100));
-                vendor.setAddress("Address " + vendor.getVendorId());
-                vendor.setCity("City " + vendor.getVendorId());
-                vendor.setState("State " + vendor.getVendorId());
-                vendor.setZipCode("40000" + vendor.getVendorId());
-                vendor.setCountry("India");
-                if (vendor.getVendorType() == null) {
-                    vendor.setVendorType("RECYCLING");
-                }
-                vendorRepository.save(vendor);
-            }
-        });
+    private SeedTable productGroups() {
+        return new SeedTable("productgroup", "product_group_name", null,
+                List.of("product_group_name", "description", "is_active"),
+                List.of(
+                        row("Electronics", "Electronic devices and components including computers, phones, and accessories", true),
+                        row("Packaging", "All types of packaging materials including boxes, containers, and wrapping materials", true),
+                        row("Automotive", "Automotive parts, components, and accessories for vehicles", true),
+                        row("Textiles", "Clothing, fabrics, and textile-based products", true),
+                        row("Furniture", "Furniture and home furnishing products", true),
+                        row("Batteries", "Battery products and energy storage devices", true),
+                        row("Pharmaceuticals", "Pharmaceutical and medical products", true),
+                        row("Food & Beverages", "Food and beverage packaging and containers", true),
+                        row("Cosmetics", "Cosmetic and personal care product packaging", true),
+                        row("Chemicals", "Chemical products and industrial materials", true)));
     }
 
-    private void initializeRecycleLogs() {
-        if (recycleLogRepository.count() == 0) {
-            RecycleLog[] logs = {
-                createRecycleLog("Plastic Bottles", new BigDecimal("150.50"), "kg", "EcoRecycle Solutions", "VEN-001",
-                    "Mumbai Facility", RecycleLog.ProcessingMethod.MECHANICAL_RECYCLING, RecycleLog.QualityGrade.GRADE_A,
-                    "BATCH001", new BigDecimal("85.5"), "High quality PET bottles processed successfully"),
-
-                createRecycleLog("Electronic Components", new BigDecimal("75.25"), "kg", "Industrial Waste Management", "VEN-005",
-                    "Delhi Processing Unit", RecycleLog.ProcessingMethod.MECHANICAL_RECYCLING, RecycleLog.QualityGrade.GRADE_B,
-                    "BATCH002", new BigDecimal("78.2"), "Mixed electronic components with good recovery rate"),
-
-                createRecycleLog("Aluminum Cans", new BigDecimal("200.00"), "kg", "MetalWorks Recycling", "VEN-003",
-                    "Chennai Collection Center", RecycleLog.ProcessingMethod.MECHANICAL_RECYCLING, RecycleLog.QualityGrade.GRADE_A,
-                    "BATCH003", new BigDecimal("92.3"), "Excellent quality aluminum with high purity")
-            };
-
-            for (RecycleLog log : logs) {
-                log.setIsActive(true);
-                recycleLogRepository.save(log);
-            }
+    private SeedTable materials() {
+        return new SeedTable("material", "material_code", null,
+                List.of("material_code", "material_name", "description", "sort_order", "is_active"),
+                List.of(
+                        row("PET001", "PET Plastic", "Polyethylene Terephthalate - commonly used for bottles and containers", 1, true),
+                        row("HDPE002", "HDPE Plastic", "High-Density Polyethylene - used for milk jugs, detergent bottles", 2, true),
+                        row("PVC003", "PVC Plastic", "Polyvinyl Chloride - used for pipes, packaging, and medical devices", 3, true),
+                        row("LDPE004", "LDPE Plastic", "Low-Density Polyethylene - used for plastic bags and films", 4, true),
+                        row("PP005", "PP Plastic", "Polypropylene - used for food containers and automotive parts", 5, true),
+                        row("PS006", "PS Plastic", "Polystyrene - used for disposable cups and packaging foam", 6, true),
+                        row("CARD001", "Cardboard", "Corrugated cardboard material for packaging and shipping boxes", 7, true),
+                        row("PAPER002", "Paper", "Various paper materials including newsprint, office paper, and magazines", 8, true),
+                        row("GLASS001", "Glass", "Clear and colored glass materials from bottles and containers", 9, true),
+                        row("METAL001", "Aluminum", "Aluminum cans, foils, and other aluminum-based materials", 10, true)));
+    }
 
-            System.out.println("Initialized " + logs.length + " recycle logs");
+    private SeedTable vendors() {
+        Object[][] vendors = {
+            {"VEN-001", "EcoRecycle Solutions", new BigDecimal("1500.00"), "Plastic recycling, Glass processing", "VALID", "Excellent performance in Q4 2024", "High efficiency in plastic waste processing. Meets all compliance standards."},
+            {"VEN-002", "GreenTech Processors", new BigDecimal("2000.00"), "Paper recycling, Cardboard processing", "VALID", "Good performance with minor delays", "Reliable paper processing facility with good turnaround times."},
+            {"VEN-003", "MetalWorks Recycling", new BigDecimal("1200.00"), "Metal recycling, Aluminum processing", "VALID", "Outstanding performance", "Specialized in metal recovery with advanced sorting technology."},
+            {"VEN-004", "Sustainable Materials Co", new BigDecimal("800.00"), "Composite materials, Organic waste", "EXPIRED", "Certification renewal pending", "Small-scale processor focusing on sustainable materials."},
+            {"VEN-005", "Industrial Waste Management", new BigDecimal("3000.00"), "Electronics recycling, Battery processing", "VALID", "Excellent safety record", "Large-scale facility with specialized equipment for hazardous materials."}
+        };
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < vendors.length; i++) {
+            Object[] vendor = vendors[i];
+            int number = i + 1;
+            String name = (String) vendor[1];
+            rows.add(row(vendor[0], name, vendor[2], vendor[3], vendor[4], vendor[5], vendor[6],
+                    "Contact Person " + number,
+                    "contact" + number + "@" + name.toLowerCase(Locale.ROOT).replace(" ", "") + ".com",
+                    "+91-98765432" + String.format("%02d", number),
+                    "Address " + number, "City " + number, "State " + number, "40000" + number, "India",
+                    "RECYCLING", true));
         }
+        return new SeedTable("vendor", "vendor_code", null,
+                List.of("vendor_code", "vendor_name", "vendor_capacity_tonnes", "assigned_tasks",
+                        "vendor_certification_status", "vendor_feedback", "vendor_performance_metrics",
+                        "contact_person", "contact_email", "contact_phone", "address", "city", "state", "zip_code",
+                        "country", "vendor_type", "is_active"),
+                rows);
     }
 
-    private RecycleLog createRecycleLog(String materialType, BigDecimal quantity, String unit,
-                                       String recyclerName, String recyclerId, String location,
-                                       RecycleLog.ProcessingMethod method, RecycleLog.QualityGrade grade,
-                                       String batchNumber, BigDecimal recoveryRate, String notes) {
-        RecycleLog log = new RecycleLog();
-        log.setMaterialType(materialType);
-        log.setQuantityRecycled(quantity);
-        log.setUnit(unit);
-        log.setRecycleDate(LocalDateTime.now().minusDays((long) (Math.random() * 30)));
-        log.setRecyclerName(recyclerName);
-        log.setRecyclerId(recyclerId);
-        log.setLocation(location);
-        log.setProcessingMethod(method);
-        log.setQualityGrade(grade);
-        log.setBatchNumber(batchNumber);
-        log.setRecoveryRate(recoveryRate);
-        log.setNotes(notes);
-        return log;
+    private SeedTable products() {
+        LocalDate today = LocalDate.now();
+        return new SeedTable("product", "sku_product_code", null,
+                List.of("product_name", "sku_product_code", "product_description", "product_weight",
+                        "product_lifecycle_duration", "compliance_target_percentage", "product_manufacturing_date",
+                        "product_expiry_date", "registration_date", "is_active"),
+                List.of(
+                        product("iPhone 15 Pro", "IPHONE15PRO", "Latest iPhone model with titanium design",
+                                "0.187", 3, "85.0", "2024-09-01", "2027-09-01", today),
+                        product("Samsung Galaxy S24", "GALAXY-S24", "Premium Android smartphone with AI features",
+                                "0.196", 3, "82.0", "2024-01-15", "2027-01-15", today),
+                        product("MacBook Pro 16\"", "MBP16-2024", "Professional laptop with M3 Pro chip",
+                                "2.14", 5, "90.0", "2024-03-01", "2029-03-01", today),
+                        product("Dell XPS 13", "XPS13-2024", "Ultrabook with Intel Core i7 processor",
+                                "1.19", 4, "88.0", "2024-02-01", "2028-02-01", today),
+                        product("Plastic Water Bottle", "PWB-500ML", "500ml recyclable plastic water bottle",
+                                "0.025", 1, "75.0", "2024-01-01", "2025-01-01", today),
+                        product("Cardboard Box Medium", "CBM-001", "Medium-sized cardboard shipping box",
+                                "0.15", 1, "95.0", "2024-01-01", "2025-01-01", today),
+                        product("Cotton T-Shirt", "COTTON-TEE-M", "100% organic cotton t-shirt, medium size",
+                                "0.18", 2, "70.0", "2024-01-01", "2026-01-01", today),
+                        product("Car Brake Pads", "BRAKE-PAD-001", "High-performance ceramic brake pads",
+                                "2.5", 3, "80.0", "2024-01-01", "2027-01-01", today),
+                        product("Lithium-Ion Battery", "LIION-18650", "Rechargeable lithium-ion battery 18650 format",
+                                "0.045", 5, "85.0", "2024-01-01", "2029-01-01", today),
+                        product("LED Light Bulb", "LED-A60-9W", "Energy-efficient LED bulb, 9W, warm white",
+                                "0.08", 10, "92.0", "2024-01-01", "2034-01-01", today)));
     }
 
-    private void initializeRecyclingCertifications() {
-        if (recyclingCertificationRepository.count() == 0) {
-            RecyclingCertification[] certifications = {
-                createCertification("ISO 14001:2015", "ISO14001-001", RecyclingCertification.CertificationType.ISO_14001,
-                    "Bureau Veritas India", LocalDate.now().minusMonths(6), LocalDate.now().plusMonths(18),
-                    "Electronic Waste", "EcoRecycle Solutions", "VEN-001", "Environmental Management System certification"),
-
-                createCertification("Plastic Recycling License", "PRL-002", RecyclingCertification.CertificationType.RECYCLING_FACILITY,
-                    "State Pollution Control Board", LocalDate.now().minusMonths(3), LocalDate.now().plusMonths(21),
-                    "Plastic Materials", "GreenTech Processors", "VEN-002", "Licensed facility for plastic waste processing"),
-
-                createCertification("Metal Recovery Certification", "MRC-003", RecyclingCertification.CertificationType.MATERIAL_RECOVERY,
-                    "Central Pollution Control Board", LocalDate.now().minusMonths(4), LocalDate.now().plusMonths(20),
-                    "Metal Components", "MetalWorks Recycling", "VEN-003", "Certified for metal recovery operations")
-            };
-
-            for (RecyclingCertification cert : certifications) {
-                cert.setIsActive(true);
-                recyclingCertificationRepository.save(cert);
-            }
-
-            System.out.println("Initialized " + certifications.length + " recycling certifications");
-        }
+    private List<Object> product(String name, String skuCode, String description, String weight,
+                                 int lifecycleDuration, String complianceTarget, String manufacturingDate,
+                                 String expiryDate, LocalDate registrationDate) {
+        return row(name, skuCode, description, new BigDecimal(weight), lifecycleDuration, new BigDecimal(complianceTarget),
+                LocalDate.parse(manufacturingDate), LocalDate.parse(expiryDate), registrationDate, true);
     }
 
-    private RecyclingCertification createCertification(String name, String number, RecyclingCertification.CertificationType type,
-                                                      String authority, LocalDate issueDate, LocalDate expiryDate,
-                                                      String materialType, String recyclerName, String recyclerId, String description) {
-        RecyclingCertification cert = new RecyclingCertification();
-        cert.setCertificationName(name);
-        cert.setCertificationNumber(number);
-        cert.setCertificationType(type);
-        cert.setIssuingAuthority(authority);
-        cert.setIssueDate(issueDate);
-        cert.setExpiryDate(expiryDate);
-        cert.setMaterialType(materialType);
-        cert.setRecyclerName(recyclerName);
-        cert.setRecyclerId(recyclerId);
-        cert.setCertificationStatus(RecyclingCertification.CertificationStatus.VALID);
-        cert.setDescription(description);
-        return cert;
+    private SeedTable recycleLogs() {
+        return new SeedTable("recycle_log", "batch_number", null,
+                List.of("material_type", "quantity_recycled", "unit", "quantity_grams", "recycle_date", "recycler_name",
+                        "recycler_id", "location", "processing_method", "quality_grade", "batch_number", "recovery_rate",
+                        "notes", "held_for_review", "is_active"),
+                List.of(
+                        recycleLog("Plastic Bottles", "150.50", "kg", 4, "EcoRecycle Solutions", "VEN-001",
+                                "Mumbai Facility", RecycleLog.ProcessingMethod.MECHANICAL_RECYCLING, RecycleLog.QualityGrade.GRADE_A,
+                                "BATCH001", "85.5", "High quality PET bottles processed successfully"),
+                        recycleLog("Electronic Components", "75.25", "kg", 12, "Industrial Waste Management", "VEN-005",
+                                "Delhi Processing Unit", RecycleLog.ProcessingMethod.MECHANICAL_RECYCLING, RecycleLog.QualityGrade.GRADE_B,
+                                "BATCH002", "78.2", "Mixed electronic components with good recovery rate"),
+                        recycleLog("Aluminum Cans", "200.00", "kg", 21, "MetalWorks Recycling", "VEN-003",
+                                "Chennai Collection Center", RecycleLog.ProcessingMethod.MECHANICAL_RECYCLING, RecycleLog.QualityGrade.GRADE_A,
+                                "BATCH003", "92.3", "Excellent quality aluminum with high purity")));
     }
 
-    private void initializeTracingTargets() {
-        if (tracingTargetRepository.count() == 0) {
-            TracingTarget[] targets = {
-                createTarget("Plastic Recycling Q1", "Plastic Bottles", new BigDecimal("1000"), new BigDecimal("650"),
-                    "kg", LocalDate.now().plusMonths(1), TracingTarget.TargetType.RECYCLING_TARGET, TracingTarget.PriorityLevel.HIGH,
-                    "EcoRecycle Solutions", "Mumbai", "Achieve 1000kg plastic recycling by Q1 end"),
-
-                createTarget("E-Waste Collection", "Electronic Components", new BigDecimal("500"), new BigDecimal("320"),
-                    "kg", LocalDate.now().plusWeeks(3), TracingTarget.TargetType.COLLECTION_TARGET, TracingTarget.PriorityLevel.CRITICAL,
-                    "Industrial Waste Management", "Delhi", "Collect 500kg of electronic waste"),
-
-                createTarget("Metal Recovery", "Aluminum Cans", new BigDecimal("800"), new BigDecimal("720"),
-                    "kg", LocalDate.now().plusMonths(2), TracingTarget.TargetType.RECOVERY_TARGET, TracingTarget.PriorityLevel.MEDIUM,
-                    "MetalWorks Recycling", "Chennai", "Recover aluminum from mixed waste")
-            };
-
-            for (TracingTarget target : targets) {
-                target.setIsActive(true);
-                target.updateProgress();
-                tracingTargetRepository.save(target);
-            }
-
-            System.out.println("Initialized " + targets.length + " tracing targets");
-        }
+    private List<Object> recycleLog(String materialType, String quantity, String unit, int daysAgo,
+                                    String recyclerName, String recyclerId, String location,
+                                    RecycleLog.ProcessingMethod method, RecycleLog.QualityGrade grade,
+                                    String batchNumber, String recoveryRate, String notes) {
+        BigDecimal quantityRecycled = new BigDecimal(quantity);
+        return row(materialType, quantityRecycled, unit, MassUnits.toGrams(quantityRecycled, unit),
+                LocalDateTime.now().minusDays(daysAgo).truncatedTo(ChronoUnit.SECONDS), recyclerName, recyclerId,
+                location, method.name(), grade.name(), batchNumber, new BigDecimal(recoveryRate), notes, false, true);
     }
 
-    private TracingTarget createTarget(String name, String materialType, BigDecimal targetQty, BigDecimal achievedQty,
-                                      String unit, LocalDate targetDate, TracingTarget.TargetType type,
-                                      TracingTarget.PriorityLevel priority, String responsibleParty, String location, String description) {
-        TracingTarget target = new TracingTarget();
-        target.setTargetName(name);
-        target.setMaterialType(materialType);
-        target.setTargetQuantity(targetQty);
-        target.setAchievedQuantity(achievedQty);
-        target.setUnit(unit);
-        target.setTargetDate(targetDate);
-        target.setStartDate(LocalDate.now().minusWeeks(2));
-        target.setTargetType(type);
-        target.setPriorityLevel(priority);
-        target.setResponsibleParty(responsibleParty);
-        target.setLocation(location);
-        target.setDescription(description);
-        return target;
+    private SeedTable recyclingCertifications() {
+        LocalDate today = LocalDate.now();
+        return new SeedTable("recycling_certification", "certification_number", null,
+                List.of("certification_name", "certification_number", "certification_type", "issuing_authority",
+                        "issue_date", "expiry_date", "material_type", "recycler_name", "recycler_id",
+                        "certification_status", "description", "is_active"),
+                List.of(
+                        certification("ISO 14001:2015", "ISO14001-001", RecyclingCertification.CertificationType.ISO_14001,
+                                "Bureau Veritas India", today.minusMonths(6), today.plusMonths(18),
+                                "Electronic Waste", "EcoRecycle Solutions", "VEN-001", "Environmental Management System certification"),
+                        certification("Plastic Recycling License", "PRL-002", RecyclingCertification.CertificationType.RECYCLING_FACILITY,
+                                "State Pollution Control Board", today.minusMonths(3), today.plusMonths(21),
+                                "Plastic Materials", "GreenTech Processors", "VEN-002", "Licensed facility for plastic waste processing"),
+                        certification("Metal Recovery Certification", "MRC-003", RecyclingCertification.CertificationType.MATERIAL_RECOVERY,
+                                "Central Pollution Control Board", today.minusMonths(4), today.plusMonths(20),
+                                "Metal Components", "MetalWorks Recycling", "VEN-003", "Certified for metal recovery operations")));
     }
 
-    private void initializeProducts() {
-        if (productRepository.count() > 0) {
-            return; // Products already exist
-        }
-
-        // Get product groups and categories
-        ProductGroup electronics = productGroupRepository.findByProductGroupName("Electronics").orElse(null);
-        ProductGroup packaging = productGroupRepository.findByProductGroupName("Packaging").orElse(null);
-        ProductGroup automotive = productGroupRepository.findByProductGroupName("Automotive").orElse(null);
-        ProductGroup textiles = productGroupRepository.findByProductGroupName("Textiles").orElse(null);
-        ProductGroup batteries = productGroupRepository.findByProductGroupName("Batteries").orElse(null);
-
-        ProductCategory mobilePhones = productCategoryRepository.findByProductCategoryName("Mobile Phones").orElse(null);
-        ProductCategory computers = productCategoryRepository.findByProductCategoryName("Computers").orElse(null);
-        ProductCategory plasticPackaging = productCategoryRepository.findByProductCategoryName("Plastic Packaging").orElse(null);
-        ProductCategory paperPackaging = productCategoryRepository.findByProductCategoryName("Paper Packaging").orElse(null);
-        ProductCategory clothing = productCategoryRepository.findByProductCategoryName("Clothing").orElse(null);
-        ProductCategory carParts = productCategoryRepository.findByProductCategoryName("Car Parts").orElse(null);
-        ProductCategory batteriesCategory = productCategoryRepository.findByProductCategoryName("Batteries").orElse(null);
-
-        // Create sample products
-        createProduct("iPhone 15 Pro", "IPHONE15PRO", electronics, mobilePhones,
-                     "Latest iPhone model with titanium design", 0.187, 3, 85.0,
-                     "2024-09-01", "2027-09-01");
-
-        createProduct("Samsung Galaxy S24", "GALAXY-S24", electronics, mobilePhones,
-                     "Premium Android smartphone with AI features", 0.196, 3, 82.0,
-                     "2024-01-15", "2027-01-15");
-
-        createProduct("MacBook Pro 16\"", "MBP16-2024", electronics, computers,
-                     "Professional laptop with M3 Pro chip", 2.14, 5, 90.0,
-                     "2024-03-01", "2029-03-01");
-
-        createProduct("Dell XPS 13", "XPS13-2024", electronics, computers,
-                     "Ultrabook with Intel Core i7 processor", 1.19, 4, 88.0,
-                     "2024-02-01", "2028-02-01");
-
-        createProduct("Plastic Water Bottle", "PWB-500ML", packaging, plasticPackaging,
-                     "500ml recyclable plastic water bottle", 0.025, 1, 75.0,
-                     "2024-01-01", "2025-01-01");
-
-        createProduct("Cardboard Box Medium", "CBM-001", packaging, paperPackaging,
-                     "Medium-sized cardboard shipping box", 0.15, 1, 95.0,
-                     "2024-01-01", "2025-01-01");
-
-        createProduct("Cotton T-Shirt", "COTTON-TEE-M", textiles, clothing,
-                     "100% organic cotton t-shirt, medium size", 0.18, 2, 70.0,
-                     "2024-01-01", "2026-01-01");
-
-        createProduct("Car Brake Pads", "BRAKE-PAD-001", automotive, carParts,
-                     "High-performance ceramic brake pads", 2.5, 3, 80.0,
-                     "2024-01-01", "2027-01-01");
-
-        createProduct("Lithium-Ion Battery", "LIION-18650", batteries, batteriesCategory,
-                     "Rechargeable lithium-ion battery 18650 format", 0.045, 5, 85.0,
-                     "2024-01-01", "2029-01-01");
-
-        createProduct("LED Light Bulb", "LED-A60-9W", electronics, computers,
-                     "Energy-efficient LED bulb, 9W, warm white", 0.08, 10, 92.0,
-                     "2024-01-01", "2034-01-01");
+    private List<Object> certification(String name, String number, RecyclingCertification.CertificationType type,
+                                       String authority, LocalDate issueDate, LocalDate expiryDate,
+                                       String materialType, String recyclerName, String recyclerId, String description) {
+        return row(name, number, type.name(), authority, issueDate, expiryDate, materialType, recyclerName, recyclerId,
+                RecyclingCertification.CertificationStatus.VALID.name(), description, true);
     }
 
-    private void createProduct(String name, String skuCode, ProductGroup productGroup,
-                              ProductCategory productCategory, String description,
-                              double weight, int lifecycleDuration, double complianceTarget,
-                              String manufacturingDate, String expiryDate) {
-        if (productGroup == null) {
-            System.err.println("Warning: ProductGroup is null for product: " + name);
-            return; // Skip creating product if productGroup is null
-        }
-
-        Product product = new Product();
-        product.setProductName(name);
-        product.setSkuProductCode(skuCode);
-        product.setProductDescription(description);
-        product.setProductWeight(BigDecimal.valueOf(weight));
-        product.setProductLifecycleDuration(lifecycleDuration);
-        product.setComplianceTargetPercentage(BigDecimal.valueOf(complianceTarget));
-        product.setProductManufacturingDate(LocalDate.parse(manufacturingDate));
-        product.setProductExpiryDate(LocalDate.parse(expiryDate));
-        product.setRegistrationDate(LocalDate.now());
-        product.setIsActive(true);
-
-        productRepository.save(product);
+    private SeedTable tracingTargets() {
+        LocalDate today = LocalDate.now();
+        return new SeedTable("tracing_target", "target_name", null,
+                List.of("target_name", "material_type", "target_quantity", "achieved_quantity", "unit", "target_date",
+                        "start_date", "target_type", "priority_level", "target_status", "responsible_party", "location",
+                        "description", "progress_percentage", "target_quantity_grams", "achieved_quantity_grams",
+                        "is_active"),
+                List.of(
+                        target("Plastic Recycling Q1", "Plastic Bottles", "1000", "650", "kg", today.plusMonths(1),
+                                TracingTarget.TargetType.RECYCLING_TARGET, TracingTarget.PriorityLevel.HIGH,
+                                "EcoRecycle Solutions", "Mumbai", "Achieve 1000kg plastic recycling by Q1 end"),
+                        target("E-Waste Collection", "Electronic Components", "500", "320", "kg", today.plusWeeks(3),
+                                TracingTarget.TargetType.COLLECTION_TARGET, TracingTarget.PriorityLevel.CRITICAL,
+                                "Industrial Waste Management", "Delhi", "Collect 500kg of electronic waste"),
+                        target("Metal Recovery", "Aluminum Cans", "800", "720", "kg", today.plusMonths(2),
+                                TracingTarget.TargetType.RECOVERY_TARGET, TracingTarget.PriorityLevel.MEDIUM,
+                                "MetalWorks Recycling", "Chennai", "Recover aluminum from mixed waste")));
     }
 
-    private void initializeProductTypes() {
-        // Temporarily disabled - will be updated with new hierarchical structure
-        /*
-        if (productTypeRepository.count() > 0) {
-            return; // Product types already exist
-        }
-
-        // Create sample product types
-        createProductType("Consumer Electronics", "Electronic devices for personal use including smartphones, laptops, tablets");
-        createProductType("Home Appliances", "Household appliances like refrigerators, washing machines, microwaves");
-        createProductType("Packaging Materials", "Various packaging materials including plastic, paper, cardboard containers");
-        createProductType("Automotive Components", "Car parts and automotive accessories");
-        createProductType("Textiles & Clothing", "Clothing items, fabrics, and textile products");
-        createProductType("Furniture & Fixtures", "Home and office furniture, fixtures, and fittings");
-        createProductType("Batteries & Power", "All types of batteries and power storage devices");
-        createProductType("Medical Devices", "Healthcare and medical equipment and devices");
-        createProductType("Industrial Equipment", "Industrial machinery and equipment");
-        createProductType("Toys & Games", "Children's toys, games, and recreational products");
-        */
+    private List<Object> target(String name, String materialType, String targetQty, String achievedQty, String unit,
+                                LocalDate targetDate, TracingTarget.TargetType type, TracingTarget.PriorityLevel priority,
+                                String responsibleParty, String location, String description) {
+        // Progress and status are derived the same way as for targets saved through the API
+        TracingTarget target = new TracingTarget(name, materialType, new BigDecimal(targetQty), unit, targetDate, type);
+        target.setAchievedQuantity(new BigDecimal(achievedQty));
+        target.setStartDate(LocalDate.now().minusWeeks(2));
+        target.updateProgress();
+        return row(name, materialType, target.getTargetQuantity(), target.getAchievedQuantity(), unit, targetDate,
+                target.getStartDate(), type.name(), priority.name(), target.getTargetStatus().name(), responsibleParty,
+                location, description, target.getProgressPercentage(),
+                MassUnits.toGrams(target.getTargetQuantity(), unit), MassUnits.toGrams(target.getAchievedQuantity(), unit),
+                true);
     }
 
-    private void createProductType(String name, String description) {
-        ProductType productType = new ProductType();
-        productType.setProductTypeName(name);
-        productType.setProductTypeDescription(description);
-        productType.setIsActive(true);
-
-        productTypeRepository.save(productType);
+    private static List<Object> row(Object... values) {
+        return Arrays.asList(values);
     }
 }
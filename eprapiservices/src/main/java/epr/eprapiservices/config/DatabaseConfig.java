@@ -1,16 +1,18 @@
 package epr.eprapiservices.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
-import javax.sql.DataSource;
-import org.springframework.boot.jdbc.DataSourceBuilder;
-import org.springframework.beans.factory.annotation.Value;
-
 /**
  * Database configuration class for EPR Vault application.
  * Configures JPA repositories, auditing, and transaction management.
@@ -21,6 +23,8 @@ import org.springframework.beans.factory.annotation.Value;
 @EnableTransactionManagement
 public class DatabaseConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
+
     @Value("${spring.datasource.url}")
     private String url;
 
@@ -33,18 +37,61 @@ public class DatabaseConfig {
     @Value("${spring.datasource.driver-class-name:com.microsoft.sqlserver.jdbc.SQLServerDriver}")
     private String driverClassName;
 
+    @Bean
+    public ConnectionPoolMetrics connectionPoolMetrics() {
+        return new ConnectionPoolMetrics();
+    }
+
+    /**
+     * Primary pool, for all writes; Hikari settings are bound from app.datasource.primary
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "app.datasource.primary")
+    public HikariConfig primaryPoolConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("epr-primary");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setDriverClassName(driverClassName);
+        return config;
+    }
+
+    /**
+     * Replica pool, for read-only transactions; only started when app.datasource.replica.jdbc-url is set
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "app.datasource.replica")
+    public HikariConfig replicaPoolConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("epr-replica");
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setDriverClassName(driverClassName);
+        config.setReadOnly(true);
+        return config;
+    }
+
     /**
-     * Primary DataSource configuration.
-     * In production, consider using connection pooling libraries like HikariCP.
+     * Primary DataSource, routing read-only transactions to the replica pool when there is one
      */
     @Bean
-    @ConfigurationProperties(prefix = "spring.datasource")
-    public DataSource dataSource() {
-        return DataSourceBuilder.create()
-                .url(url)
-                .username(username)
-                .password(password)
-                .driverClassName(driverClassName)
-                .build();
+    @Primary
+    public ReadReplicaRoutingDataSource dataSource(HikariConfig primaryPoolConfig, HikariConfig replicaPoolConfig,
+                                                   ConnectionPoolMetrics connectionPoolMetrics) {
+        primaryPoolConfig.setMetricsTrackerFactory(connectionPoolMetrics);
+        HikariDataSource primary = new HikariDataSource(primaryPoolConfig);
+        HikariDataSource replica = null;
+        if (replicaPoolConfig.getJdbcUrl() != null && !replicaPoolConfig.getJdbcUrl().isBlank()) {
+            replicaPoolConfig.setMetricsTrackerFactory(connectionPoolMetrics);
+            try {
+                replica = new HikariDataSource(replicaPoolConfig);
+            } catch (RuntimeException e) {
+                primary.close();
+                throw e;
+            }
+            logger.info("Routing read-only transactions to replica pool {}", replicaPoolConfig.getPoolName());
+        }
+        return new ReadReplicaRoutingDataSource(primary, replica);
     }
 }
@@ -0,0 +1,34 @@
+package epr.eprapiservices.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * DataSource sending read-only transactions to a replica pool and everything else to the
+ * primary pool. The physical connection is only taken from a pool on the first statement,
+ * after the transaction manager has marked the connection read-only for
+ * {@code @Transactional(readOnly = true)} work. Without a replica all work goes to the
+ * primary. Closing it closes both pools.
+ */
+public final class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    public ReadReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+        super(primary);
+        this.primary = primary;
+        this.replica = replica;
+        if (replica != null) {
+            setReadOnlyDataSource(replica);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (replica != null) {
+            replica.close();
+        }
+        primary.close();
+    }
+}
@@ -0,0 +1,13 @@
+package epr.eprapiservices.config;
+
+import java.util.List;
+
+/**
+ * Seed rows of one table, in the form they are inserted and stored in seed snapshots.
+ * Rows are matched to existing ones by their key column (case-insensitively), so only
+ * missing rows are inserted. Tables without a generated id name the column to fill
+ * with the next free id.
+ */
+public record SeedTable(String table, String keyColumn, String assignedIdColumn,
+                        List<String> columns, List<List<Object>> rows) {
+}
@@ -0,0 +1,672 @@
+package epr.eprapiservices.config;
+
+import epr.eprapiservices.entity.ComponentMaterialComposition;
+import epr.eprapiservices.entity.RecycleLog;
+import epr.eprapiservices.entity.RecyclingCertification;
+import epr.eprapiservices.entity.TracingTarget;
+import epr.eprapiservices.util.MassUnits;
+import epr.eprapiservices.util.SequenceIds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates a synthetic dataset for load and scale testing: a product taxonomy, materials,
+ * components with material compositions, vendors, products with bills of materials, recycle
+ * logs, recycling certifications and tracing targets, at the volumes set under app.synthetic.
+ * Runs only with the "synthetic" profile ({@code --spring.profiles.active=synthetic}).
+ * The data is a function of app.synthetic.seed and app.synthetic.anchor-date alone: every
+ * table draws from its own random stream and dates are relative to the anchor, so the same
+ * settings give the same rows on H2 and SQL Server. Rows are generated and inserted one
+ * batch at a time, one transaction per batch, so memory does not grow with the volumes.
+ * Recycle logs follow a yearly season, a weekday pattern and a growth trend. Every
+ * generated row has a "SYN-" key. Small tables are written in one transaction and skipped
+ * when their synthetic rows exist; the batched tables draw from a fresh stream every
+ * {@value #RANDOM_BLOCK} rows, so a run interrupted part way resumes after the highest key
+ * committed and produces the same rows as an uninterrupted one.
+ */
+@Component
+@Profile("synthetic")
+@Order(1)
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    // Rows drawn from one random stream by the batched tables; independent of the batch size
+    private static final int RANDOM_BLOCK = 1000;
+
+    private static final String[] GROUPS = {
+        "Electronics", "Packaging", "Automotive", "Textiles", "Furniture",
+        "Batteries", "Pharmaceuticals", "Food & Beverages", "Cosmetics", "Chemicals"
+    };
+    private static final String[] CATEGORY_KINDS = {
+        "Consumer", "Industrial", "Commercial", "Household", "Portable", "Premium", "Bulk", "Outdoor"
+    };
+    private static final String[] MATERIALS = {
+        "PET Plastic", "HDPE Plastic", "PVC Plastic", "LDPE Plastic", "PP Plastic", "PS Plastic", "ABS Plastic",
+        "Polycarbonate", "EPS Foam", "Cardboard", "Paper", "Glass", "Aluminum", "Steel", "Stainless Steel",
+        "Copper", "Brass", "Tin", "Zinc", "Lead", "Lithium", "Nickel", "Cobalt", "Graphite", "Silicon",
+        "Rubber", "Silicone", "Cotton", "Polyester", "Nylon", "Wool", "Leather", "Wood", "Bamboo", "Ceramic",
+        "Textile Blend", "Laminated Film", "Foil Composite", "Wax Coating", "Adhesive"
+    };
+    private static final String[] COMPONENTS = {
+        "Housing", "Circuit Board", "Battery Pack", "Screen Panel", "Frame", "Connector", "Cable", "Fastener Set",
+        "Motor", "Seal", "Lid", "Label", "Tray", "Foam Insert", "Outer Carton", "Inner Pouch", "Cap", "Handle",
+        "Hinge", "Filter", "Lens", "Speaker", "Fan", "Heat Sink", "Gasket", "Spring", "Bracket", "Panel"
+    };
+    private static final String[] BRANDS = {
+        "Acme", "Nordvik", "Solara", "Kestrel", "Orion", "Vantage", "Lumen", "Terra", "Apex", "Cobalt",
+        "Maple", "Zenith", "Harbor", "Pioneer", "Summit", "Delta", "Aurora", "Granite", "Echo", "Vertex"
+    };
+    private static final String[] CITIES = {
+        "Mumbai", "Delhi", "Chennai", "Kolkata", "Bengaluru", "Hyderabad", "Pune", "Ahmedabad", "Jaipur", "Lucknow"
+    };
+    private static final String[] AUTHORITIES = {
+        "Bureau Veritas India", "State Pollution Control Board", "Central Pollution Control Board", "TUV SUD",
+        "SGS India", "Intertek"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${app.synthetic.anchor-date:2025-01-01}")
+    private LocalDate anchorDate;
+
+    @Value("${app.synthetic.history-days:730}")
+    private int historyDays;
+
+    @Value("${app.synthetic.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.synthetic.materials:200}")
+    private int materialCount;
+
+    @Value("${app.synthetic.components:5000}")
+    private int componentCount;
+
+    @Value("${app.synthetic.vendors:500}")
+    private int vendorCount;
+
+    @Value("${app.synthetic.products:500000}")
+    private int productCount;
+
+    @Value("${app.synthetic.recycle-logs:10000000}")
+    private long recycleLogCount;
+
+    @Value("${app.synthetic.certifications:50000}")
+    private int certificationCount;
+
+    @Value("${app.synthetic.targets:5000}")
+    private int targetCount;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  NamedParameterJdbcTemplate namedJdbcTemplate,
+                                  PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long start = System.nanoTime();
+        logger.info("Generating synthetic data with seed {} anchored at {}", seed, anchorDate);
+        generateTaxonomy();
+        List<Long> materialIds = generateMaterials();
+        List<double[]> components = generateComponents(materialIds);
+        List<String[]> vendors = generateVendors();
+
+        // The remaining tables only read what is above, so they are generated side by side
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> results = List.of(
+                    executor.submit(() -> generateProducts(components)),
+                    executor.submit(() -> generateRecycleLogs(vendors)),
+                    executor.submit(() -> generateCertifications(vendors)),
+                    executor.submit(this::generateTargets));
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+        logger.info("Generated synthetic data in {} s", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    private void generateTaxonomy() {
+        if (exists("productgroup", "description", "SYN-%")) {
+            return;
+        }
+        // One transaction, so an interrupted run never leaves part of the taxonomy behind
+        transactionTemplate.executeWithoutResult(status -> insertTaxonomy());
+    }
+
+    private void insertTaxonomy() {
+        List<Object[]> groups = new ArrayList<>();
+        for (int g = 0; g < GROUPS.length; g++) {
+            groups.add(new Object[] {GROUPS[g] + " (Synthetic)", "SYN-G-" + (g + 1), g + 1});
+        }
+        insert("INSERT INTO productgroup (product_group_name, description, sort_order, is_active) VALUES (?, ?, ?, 1)", groups);
+        Map<String, Long> groupIds = idsByKey("productgroup", "product_group_id", "description", "SYN-G-%");
+
+        List<Object[]> categories = new ArrayList<>();
+        for (int g = 0; g < GROUPS.length; g++) {
+            for (int c = 0; c < CATEGORY_KINDS.length; c++) {
+                categories.add(new Object[] {CATEGORY_KINDS[c] + " " + GROUPS[g], "SYN-C-" + (g + 1) + "-" + (c + 1), c + 1,
+                        groupIds.get("SYN-G-" + (g + 1))});
+            }
+        }
+        insert("INSERT INTO productcategory (product_category_name, description, sort_order, product_group_id, is_active)"
+                + " VALUES (?, ?, ?, ?, 1)", categories);
+        Map<String, Long> categoryIds = idsByKey("productcategory", "product_category_id", "description", "SYN-C-%");
+
+        List<Object[]> types = new ArrayList<>();
+        for (Object[] category : categories) {
+            String key = (String) category[1];
+            for (int t = 1; t <= 10; t++) {
+                types.add(new Object[] {category[0] + " Type " + t, "SYN-T" + key.substring(5) + "-" + t, t,
+                        categoryIds.get(key)});
+            }
+        }
+        insert("INSERT INTO producttype (product_type_name, product_type_description, sort_order, product_category_id,"
+                + " is_active) VALUES (?, ?, ?, ?, 1)", types);
+        logger.info("Generated {} product groups, {} categories and {} types", groups.size(), categories.size(), types.size());
+    }
+
+    private List<Long> generateMaterials() {
+        if (!exists("material", "material_code", "SYN-M-%")) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int m = 0; m < materialCount; m++) {
+                String name = MATERIALS[m % MATERIALS.length] + (m < MATERIALS.length ? "" : " Grade " + (m / MATERIALS.length + 1));
+                rows.add(new Object[] {String.format("SYN-M-%05d", m + 1), name, "Synthetic material", m + 1});
+            }
+            insert("INSERT INTO material (material_code, material_name, description, sort_order, is_active) VALUES (?, ?, ?, ?, 1)",
+                    rows);
+            logger.info("Generated {} materials", rows.size());
+        }
+        return new ArrayList<>(orderedIds("material", "material_id", "material_code", "SYN-M-%"));
+    }
+
+    /**
+     * Components with their material compositions; returns {id, weight in kg} per component
+     */
+    private List<double[]> generateComponents(List<Long> materialIds) {
+        SplittableRandom random = random("components");
+        double[] weights = new double[componentCount];
+        if (!exists("components", "component_code", "SYN-C-%")) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int c = 0; c < componentCount; c++) {
+                String name = COMPONENTS[random.nextInt(COMPONENTS.length)];
+                weights[c] = round(Math.exp(random.nextGaussian() * 1.2 - 2.5), 3);
+                rows.add(new Object[] {name, String.format("SYN-C-%06d", c + 1), "Synthetic " + name.toLowerCase(),
+                        c + 1, weights[c], name + " " + (c + 1)});
+            }
+            insert("INSERT INTO components (component_name, component_code, description, sort_order, component_weight,"
+                    + " component_label, is_active) VALUES (?, ?, ?, ?, ?, ?, 1)", rows);
+        } else {
+            // Weights drive the product weights, so read them back instead of drawing them again
+            List<Double> stored = jdbcTemplate.queryForList("SELECT component_weight FROM components"
+                    + " WHERE component_code LIKE 'SYN-C-%' ORDER BY component_code", Double.class);
+            for (int c = 0; c < Math.min(componentCount, stored.size()); c++) {
+                weights[c] = stored.get(c) != null ? stored.get(c) : 0;
+            }
+        }
+        List<Long> ids = orderedIds("components", "component_id", "component_code", "SYN-C-%");
+        List<double[]> components = new ArrayList<>(ids.size());
+        for (int c = 0; c < ids.size(); c++) {
+            components.add(new double[] {ids.get(c), c < weights.length ? weights[c] : 0});
+        }
+
+        // Compositions are committed a batch of whole components at a time
+        long done = generatedRows("SELECT MAX(c.component_code) FROM component_material_compositions m"
+                + " JOIN components c ON c.component_id = m.component_id WHERE m.notes = 'SYN-CMC'", "SYN-C-");
+        if (!materialIds.isEmpty() && resume("component_material_compositions", done, components.size())) {
+            SplittableRandom compositionRandom = null;
+            List<Object[]> rows = new ArrayList<>();
+            for (int c = (int) (done - done % RANDOM_BLOCK); c < components.size(); c++) {
+                compositionRandom = random("component-materials", c, compositionRandom);
+                double[] component = components.get(c);
+                List<Object[]> parts = compositionRows(compositionRandom, component, materialIds);
+                if (c >= done) {
+                    rows.addAll(parts);
+                }
+                if (rows.size() >= batchSize) {
+                    insert(COMPONENT_MATERIAL_INSERT, ComponentMaterialComposition.ID_SEQUENCE, rows);
+                    rows.clear();
+                }
+            }
+            insert(COMPONENT_MATERIAL_INSERT, ComponentMaterialComposition.ID_SEQUENCE, rows);
+            logger.info("Generated {} components with material compositions", components.size());
+        }
+        return components;
+    }
+
+    /**
+     * Material composition rows of one component
+     */
+    private static List<Object[]> compositionRows(SplittableRandom random, double[] component, List<Long> materialIds) {
+        int parts = 1 + random.nextInt(4);
+        double[] shares = shares(random, parts);
+        List<Object[]> rows = new ArrayList<>(parts);
+        for (int p = 0; p < parts; p++) {
+            double percentage = round(shares[p] * 100, 2);
+            rows.add(new Object[] {(long) component[0], materialIds.get(random.nextInt(materialIds.size())),
+                    round(component[1] * shares[p], 3), Math.max(0, round(percentage - 5, 2)),
+                    Math.min(100, round(percentage + 5, 2)), "SYN-CMC"});
+        }
+        return rows;
+    }
+
+    private static final String COMPONENT_MATERIAL_INSERT = "INSERT INTO component_material_compositions (id,"
+            + " component_id, material_id, weight, min_percentage, max_percentage, notes, is_active)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, 1)";
+
+    /**
+     * Vendors, which recycle logs and certifications name as recyclers; returns {code, name, city}
+     */
+    private List<String[]> generateVendors() {
+        SplittableRandom random = random("vendors");
+        List<String[]> vendors = new ArrayList<>(vendorCount);
+        List<Object[]> rows = new ArrayList<>();
+        for (int v = 0; v < vendorCount; v++) {
+            String code = String.format("SYN-V-%05d", v + 1);
+            String name = BRANDS[random.nextInt(BRANDS.length)] + " Recycling " + (v + 1);
+            String city = CITIES[random.nextInt(CITIES.length)];
+            vendors.add(new String[] {code, name, city});
+            rows.add(new Object[] {code, name, BigDecimal.valueOf(100 + random.nextInt(5000)), "VALID", city, "India",
+                    "RECYCLING"});
+        }
+        if (!exists("vendor", "vendor_code", "SYN-V-%")) {
+            insert("INSERT INTO vendor (vendor_code, vendor_name, vendor_capacity_tonnes, vendor_certification_status, city,"
+                    + " country, vendor_type, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, 1)", rows);
+            logger.info("Generated {} vendors", rows.size());
+        }
+        return vendors;
+    }
+
+    /**
+     * Products with 3 to 8 components each; a product weighs what its components do
+     */
+    private void generateProducts(List<double[]> components) {
+        long done = generatedRows("product", "sku_product_code", "SYN-P-");
+        if (components.isEmpty() || !resume("product", done, productCount)) {
+            return;
+        }
+        SplittableRandom random = null;
+        List<Object[]> products = new ArrayList<>(batchSize);
+        List<long[]> boms = new ArrayList<>(batchSize);
+        for (int p = (int) (done - done % RANDOM_BLOCK); p < productCount; p++) {
+            random = random("products", p, random);
+            int parts = 3 + random.nextInt(6);
+            long[] bom = new long[parts * 2];
+            double weight = 0;
+            for (int i = 0; i < parts; i++) {
+                double[] component = components.get(random.nextInt(components.size()));
+                int quantity = 1 + (random.nextInt(4) == 0 ? random.nextInt(4) : 0);
+                bom[i * 2] = (long) component[0];
+                bom[i * 2 + 1] = quantity;
+                weight += component[1] * quantity;
+            }
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            String group = GROUPS[random.nextInt(GROUPS.length)];
+            LocalDate manufactured = anchorDate.minusDays(random.nextInt(historyDays));
+            int lifecycleYears = 1 + random.nextInt(10);
+            Object[] product = {brand + " " + COMPONENTS[random.nextInt(COMPONENTS.length)] + " " + (100 + p % 900),
+                    String.format("SYN-P-%08d", p + 1), "Synthetic " + group.toLowerCase() + " product",
+                    BigDecimal.valueOf(weight).setScale(3, RoundingMode.HALF_UP), lifecycleYears,
+                    BigDecimal.valueOf(50 + random.nextInt(50)), Date.valueOf(manufactured),
+                    Date.valueOf(manufactured.plusYears(lifecycleYears)), Date.valueOf(manufactured.plusDays(random.nextInt(30)))};
+            if (p < done) {
+                // Drawn only to bring the stream to the first missing row
+                continue;
+            }
+            products.add(product);
+            boms.add(bom);
+            if (products.size() >= batchSize || p == productCount - 1) {
+                insertProducts(products, boms);
+                products.clear();
+                boms.clear();
+                progress("products", p + 1, productCount);
+            }
+        }
+    }
+
+    private void insertProducts(List<Object[]> products, List<long[]> boms) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("INSERT INTO product (product_name, sku_product_code, product_description, product_weight,"
+                    + " product_lifecycle_duration, compliance_target_percentage, product_manufacturing_date,"
+                    + " product_expiry_date, registration_date, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 1)", products);
+            List<String> skus = new ArrayList<>(products.size());
+            for (Object[] product : products) {
+                skus.add((String) product[1]);
+            }
+            Map<String, Long> ids = new HashMap<>();
+            namedJdbcTemplate.query("SELECT product_id, sku_product_code FROM product WHERE sku_product_code IN (:skus)",
+                    Map.of("skus", skus), rs -> {
+                        ids.put(rs.getString(2), rs.getLong(1));
+                    });
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < products.size(); i++) {
+                long productId = ids.get(skus.get(i));
+                long[] bom = boms.get(i);
+                for (int j = 0; j < bom.length; j += 2) {
+                    rows.add(new Object[] {productId, bom[j], BigDecimal.valueOf(bom[j + 1])});
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO product_component_compositions (product_id, component_id, quantity, notes,"
+                    + " is_active) VALUES (?, ?, ?, 'SYN-BOM', 1)", rows);
+        });
+    }
+
+    /**
+     * Recycle logs over the history window. Days are drawn in proportion to a yearly season
+     * (peaking in June, lowest in December), fewer on weekends, and a volume that grows 20%
+     * a year; quantities are log-normal per material.
+     */
+    private void generateRecycleLogs(List<String[]> vendors) {
+        long done = generatedRows("recycle_log", "batch_number", "SYN-L-");
+        if (vendors.isEmpty() || !resume("recycle_log", done, recycleLogCount)) {
+            return;
+        }
+        SplittableRandom random = null;
+        LocalDate firstDay = anchorDate.minusDays(historyDays);
+        double[] cumulative = new double[historyDays];
+        double total = 0;
+        for (int d = 0; d < historyDays; d++) {
+            LocalDate day = firstDay.plusDays(d);
+            double season = 1 + 0.35 * Math.sin(2 * Math.PI * (day.getDayOfYear() - 80) / 365.0);
+            double weekday = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY ? 0.55 : 1;
+            double trend = Math.pow(1.2, d / 365.0);
+            total += season * weekday * trend;
+            cumulative[d] = total;
+        }
+        RecycleLog.ProcessingMethod[] methods = RecycleLog.ProcessingMethod.values();
+        RecycleLog.QualityGrade[] grades = RecycleLog.QualityGrade.values();
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (long l = done - done % RANDOM_BLOCK; l < recycleLogCount; l++) {
+            random = random("recycle-logs", l, random);
+            int day = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            day = day >= 0 ? day : Math.min(historyDays - 1, -day - 1);
+            LocalDateTime recycledAt = firstDay.plusDays(day).atTime(6 + random.nextInt(14), random.nextInt(60));
+            int materialIndex = random.nextInt(MATERIALS.length);
+            double kilograms = Math.exp(4 + (materialIndex % 5) * 0.3 + random.nextGaussian() * 0.8);
+            String unit;
+            BigDecimal quantity;
+            int unitDraw = random.nextInt(20);
+            if (unitDraw == 0) {
+                unit = "pieces";
+                quantity = BigDecimal.valueOf(Math.max(1, Math.round(kilograms * 4)));
+            } else if (unitDraw <= 2) {
+                unit = "tonnes";
+                quantity = BigDecimal.valueOf(kilograms / 1000).setScale(2, RoundingMode.HALF_UP).max(new BigDecimal("0.01"));
+            } else {
+                unit = "kg";
+                quantity = BigDecimal.valueOf(kilograms).setScale(2, RoundingMode.HALF_UP);
+            }
+            String[] vendor = vendors.get(random.nextInt(vendors.size()));
+            RecycleLog.QualityGrade grade = grades[Math.min(grades.length - 1, (int) Math.abs(random.nextGaussian() * 1.3))];
+            double recovery = Math.max(5, Math.min(99, 92 - grade.ordinal() * 12 + random.nextGaussian() * 4));
+            Object[] row = {MATERIALS[materialIndex], quantity, unit, MassUnits.toGrams(quantity, unit),
+                    Timestamp.valueOf(recycledAt), vendor[1], vendor[0], vendor[2] + " Facility",
+                    methods[random.nextInt(10) < 7 ? 0 : random.nextInt(methods.length)].name(), grade.name(),
+                    String.format("SYN-L-%09d", l + 1), BigDecimal.valueOf(recovery).setScale(2, RoundingMode.HALF_UP)};
+            if (l < done) {
+                continue;
+            }
+            rows.add(row);
+            if (rows.size() >= batchSize || l == recycleLogCount - 1) {
+                insert("INSERT INTO recycle_log (recycle_log_id, material_type, quantity_recycled, unit, quantity_grams,"
+                        + " recycle_date, recycler_name, recycler_id, location, processing_method, quality_grade, batch_number,"
+                        + " recovery_rate, held_for_review, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 1)",
+                        RecycleLog.ID_SEQUENCE, rows);
+                rows.clear();
+                progress("recycle logs", l + 1, recycleLogCount);
+            }
+        }
+    }
+
+    /**
+     * Certifications issued over the last three years for one to three years; their status
+     * follows from the expiry date, with a few suspended or revoked
+     */
+    private void generateCertifications(List<String[]> vendors) {
+        long done = generatedRows("recycling_certification", "certification_number", "SYN-R-");
+        if (vendors.isEmpty() || !resume("recycling_certification", done, certificationCount)) {
+            return;
+        }
+        SplittableRandom random = null;
+        RecyclingCertification.CertificationType[] types = RecyclingCertification.CertificationType.values();
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int c = (int) (done - done % RANDOM_BLOCK); c < certificationCount; c++) {
+            random = random("certifications", c, random);
+            String[] vendor = vendors.get(random.nextInt(vendors.size()));
+            RecyclingCertification.CertificationType type = types[random.nextInt(types.length)];
+            LocalDate issued = anchorDate.minusDays(random.nextInt(3 * 365));
+            LocalDate expires = issued.plusYears(1 + random.nextInt(3));
+            RecyclingCertification.CertificationStatus status;
+            int statusDraw = random.nextInt(100);
+            if (statusDraw < 2) {
+                status = RecyclingCertification.CertificationStatus.SUSPENDED;
+            } else if (statusDraw < 3) {
+                status = RecyclingCertification.CertificationStatus.REVOKED;
+            } else if (expires.isBefore(anchorDate)) {
+                status = RecyclingCertification.CertificationStatus.EXPIRED;
+            } else if (expires.isBefore(anchorDate.plusDays(30))) {
+                status = RecyclingCertification.CertificationStatus.PENDING_RENEWAL;
+            } else {
+                status = RecyclingCertification.CertificationStatus.VALID;
+            }
+            Object[] row = {type.name().replace('_', ' ') + " Certificate", String.format("SYN-R-%07d", c + 1),
+                    type.name(), AUTHORITIES[random.nextInt(AUTHORITIES.length)], Date.valueOf(issued), Date.valueOf(expires),
+                    MATERIALS[random.nextInt(MATERIALS.length)], vendor[1], vendor[0], status.name()};
+            if (c < done) {
+                continue;
+            }
+            rows.add(row);
+            if (rows.size() >= batchSize || c == certificationCount - 1) {
+                insert("INSERT INTO recycling_certification (certification_name, certification_number, certification_type,"
+                        + " issuing_authority, issue_date, expiry_date, material_type, recycler_name, recycler_id,"
+                        + " certification_status, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1)", rows);
+                rows.clear();
+                progress("certifications", c + 1, certificationCount);
+            }
+        }
+    }
+
+    /**
+     * Tracing targets with progress; the status is derived as TracingTarget.updateProgress()
+     * does, against the anchor date instead of today
+     */
+    private void generateTargets() {
+        long done = generatedRows("tracing_target", "target_name", "SYN-T-");
+        if (!resume("tracing_target", done, targetCount)) {
+            return;
+        }
+        SplittableRandom random = null;
+        TracingTarget.TargetType[] types = TracingTarget.TargetType.values();
+        TracingTarget.PriorityLevel[] priorities = TracingTarget.PriorityLevel.values();
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int t = (int) (done - done % RANDOM_BLOCK); t < targetCount; t++) {
+            random = random("targets", t, random);
+            BigDecimal target = BigDecimal.valueOf(100L * (5 + random.nextInt(500)));
+            BigDecimal achieved = target.multiply(BigDecimal.valueOf(random.nextDouble() * 1.2)).setScale(2, RoundingMode.HALF_UP);
+            LocalDate startDate = anchorDate.minusDays(random.nextInt(historyDays));
+            LocalDate targetDate = startDate.plusDays(30 + random.nextInt(365));
+            BigDecimal progress = achieved.divide(target, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
+                    .setScale(2, RoundingMode.HALF_UP);
+            TracingTarget.TargetStatus status;
+            if (progress.compareTo(BigDecimal.valueOf(100)) >= 0) {
+                status = TracingTarget.TargetStatus.COMPLETED;
+            } else if (progress.compareTo(BigDecimal.valueOf(75)) >= 0) {
+                status = TracingTarget.TargetStatus.ON_TRACK;
+            } else if (anchorDate.isAfter(targetDate)) {
+                status = TracingTarget.TargetStatus.DELAYED;
+            } else {
+                status = TracingTarget.TargetStatus.IN_PROGRESS;
+            }
+            String material = MATERIALS[random.nextInt(MATERIALS.length)];
+            Object[] row = {String.format("SYN-T-%06d", t + 1), material, target, achieved, "kg",
+                    Date.valueOf(targetDate), Date.valueOf(startDate), types[random.nextInt(types.length)].name(),
+                    priorities[random.nextInt(priorities.length)].name(), status.name(),
+                    CITIES[random.nextInt(CITIES.length)], "Synthetic " + material.toLowerCase() + " target", progress,
+                    MassUnits.toGrams(target, "kg"), MassUnits.toGrams(achieved, "kg")};
+            if (t < done) {
+                continue;
+            }
+            rows.add(row);
+            if (rows.size() >= batchSize || t == targetCount - 1) {
+                insert("INSERT INTO tracing_target (target_id, target_name, material_type, target_quantity, achieved_quantity,"
+                        + " unit, target_date, start_date, target_type, priority_level, target_status, location, description,"
+                        + " progress_percentage, target_quantity_grams, achieved_quantity_grams, is_active)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 1)", TracingTarget.ID_SEQUENCE, rows);
+                rows.clear();
+                progress("targets", t + 1, targetCount);
+            }
+        }
+    }
+
+    /**
+     * Random stream of one table, independent of the order the tables are generated in
+     */
+    private SplittableRandom random(String table) {
+        return new SplittableRandom(seed * 31 + table.hashCode());
+    }
+
+    /**
+     * Stream of a batched table for the given row: a new one at the start of every block,
+     * otherwise the current one
+     */
+    private SplittableRandom random(String table, long row, SplittableRandom current) {
+        if (row % RANDOM_BLOCK != 0 && current != null) {
+            return current;
+        }
+        // The first value of a stream is a mixed function of its seed, so neighbouring blocks do not overlap
+        return new SplittableRandom(new SplittableRandom(seed * 31 + table.hashCode() + row / RANDOM_BLOCK).nextLong());
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+    }
+
+    /**
+     * Insert rows of a table keyed by a pooled sequence, with ids reserved from the sequence
+     */
+    private void insert(String sql, String idSequence, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        insert(sql, SequenceIds.withIds(jdbcTemplate, idSequence, rows));
+    }
+
+    private boolean exists(String table, String keyColumn, String pattern) {
+        Integer found = jdbcTemplate.queryForObject("SELECT CASE WHEN EXISTS (SELECT 1 FROM " + table + " WHERE "
+                + keyColumn + " LIKE ?) THEN 1 ELSE 0 END", Integer.class, pattern);
+        if (found != null && found == 1) {
+            logger.info("Synthetic {} rows already exist, skipping", table);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Rows of a batched table committed by an earlier run, read from its highest synthetic
+     * key: keys are numbered in generation order and committed a batch at a time
+     */
+    private long generatedRows(String table, String keyColumn, String prefix) {
+        return generatedRows("SELECT MAX(" + keyColumn + ") FROM " + table + " WHERE " + keyColumn + " LIKE '"
+                + prefix + "%'", prefix);
+    }
+
+    private long generatedRows(String sql, String prefix) {
+        String highest = jdbcTemplate.queryForObject(sql, String.class);
+        return highest != null ? Long.parseLong(highest.substring(prefix.length())) : 0;
+    }
+
+    /**
+     * Whether rows are missing from a batched table, logging where generation picks up
+     */
+    private boolean resume(String table, long done, long total) {
+        if (done >= total) {
+            logger.info("Synthetic {} rows already exist, skipping", table);
+            return false;
+        }
+        if (done > 0) {
+            logger.info("Resuming synthetic {} after {} of {}", table, done, total);
+        }
+        return true;
+    }
+
+    private Map<String, Long> idsByKey(String table, String idColumn, String keyColumn, String pattern) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT " + idColumn + ", " + keyColumn + " FROM " + table + " WHERE " + keyColumn + " LIKE ?",
+                rs -> {
+                    ids.put(rs.getString(2), rs.getLong(1));
+                }, pattern);
+        return ids;
+    }
+
+    private List<Long> orderedIds(String table, String idColumn, String keyColumn, String pattern) {
+        return jdbcTemplate.queryForList("SELECT " + idColumn + " FROM " + table + " WHERE " + keyColumn + " LIKE ?"
+                + " ORDER BY " + keyColumn, Long.class, pattern);
+    }
+
+    private void progress(String what, long done, long total) {
+        long step = Math.max(batchSize, total / 10);
+        if (done % step < batchSize || done == total) {
+            logger.info("Generated {} of {} {}", done, total, what);
+        }
+    }
+
+    /**
+     * Random split of 1 into the given number of shares
+     */
+    private static double[] shares(SplittableRandom random, int parts) {
+        double[] shares = new double[parts];
+        double total = 0;
+        for (int i = 0; i < parts; i++) {
+            shares[i] = 0.2 + random.nextDouble();
+            total += shares[i];
+        }
+        for (int i = 0; i < parts; i++) {
+            shares[i] /= total;
+        }
+        return shares;
+    }
+
+    private static double round(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP).doubleValue();
+    }
+}
@@ -0,0 +1,75 @@
+package epr.eprapiservices.controller;
+
+import epr.eprapiservices.service.CertificationAuditBundleService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for audit bundles of certification files
+ */
+@RestController
+@RequestMapping("/api/audit-bundles")
+@CrossOrigin(originPatterns = {"http://localhost:3000", "http://localhost:3001", "http://localhost:8080"}, allowCredentials = "true")
+public class AuditBundleController {
+
+    // Servlet async timeouts of zero or less never expire
+    private static final long NO_TIMEOUT = -1;
+
+    @Autowired
+    private CertificationAuditBundleService auditBundleService;
+
+    /**
+     * Download a ZIP of the certification files for a product group and/or date range,
+     * with a CSV manifest. The ZIP is streamed as it is built, without the async request
+     * timeout, as large bundles take longer than any sensible default.
+     */
+    @GetMapping("/certifications")
+    public WebAsyncTask<Void> downloadCertificationBundle(
+            @RequestParam(required = false) Integer productGroupId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "true") boolean includeRecyclingCertifications,
+            HttpServletResponse response) throws IOException {
+        List<CertificationAuditBundleService.BundleFile> files;
+        try {
+            files = auditBundleService.findBundleFiles(productGroupId, fromDate, toDate, includeRecyclingCertifications);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return null;
+        } catch (Exception e) {
+            response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return null;
+        }
+
+        StringBuilder fileName = new StringBuilder("certification-audit");
+        if (productGroupId != null) {
+            fileName.append("-group-").append(productGroupId);
+        }
+        if (fromDate != null) {
+            fileName.append("-from-").append(fromDate);
+        }
+        if (toDate != null) {
+            fileName.append("-to-").append(toDate);
+        }
+        fileName.append(".zip");
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName.toString()).build().toString());
+        return new WebAsyncTask<>(NO_TIMEOUT, () -> {
+            auditBundleService.writeBundle(files, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
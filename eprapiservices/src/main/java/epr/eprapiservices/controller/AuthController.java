@@ -5,7 +5,12 @@ import epr.eprapiservices.dto.LoginRequestDto;
 import epr.eprapiservices.dto.LoginResponseDto;
 import epr.eprapiservices.dto.UserDto;
 import epr.eprapiservices.exception.BusinessException;
+import epr.eprapiservices.security.LoginThrottleService;
+import epr.eprapiservices.security.PasswordHashingService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,24 +27,47 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginThrottleService loginThrottleService;
+    private final boolean trustForwardedFor;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, LoginThrottleService loginThrottleService,
+                          @Value("${app.security.login-throttle.trust-forwarded-for:false}") boolean trustForwardedFor) {
         this.authService = authService;
+        this.loginThrottleService = loginThrottleService;
+        this.trustForwardedFor = trustForwardedFor;
     }
 
     /**
      * User login endpoint.
      * Authenticates user credentials and returns JWT token.
+     * Throttled attempts are answered with 429 before any database or password work.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDto loginRequest) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDto loginRequest, HttpServletRequest request) {
+        String clientIp = clientIp(request);
+        long retryAfter = loginThrottleService.tryAcquire(loginRequest.getUsername(), clientIp);
+        if (retryAfter > 0) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "TOO_MANY_ATTEMPTS");
+            error.put("message", "Too many sign-in attempts, please try again later");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(error);
+        }
         try {
             LoginResponseDto response = authService.login(loginRequest);
+            loginThrottleService.recordSuccess(loginRequest.getUsername());
             return ResponseEntity.ok(response);
         } catch (BusinessException e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getErrorCode());
             error.put("message", e.getMessage());
+            if (PasswordHashingService.BUSY_ERROR_CODE.equals(e.getErrorCode())) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(error);
+            }
+            loginThrottleService.recordFailure(loginRequest.getUsername(), clientIp);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -85,14 +113,14 @@ public class AuthController {
 
     /**
      * User logout endpoint.
-     * For JWT tokens, logout is typically handled client-side by removing the token.
-     * This endpoint can be used for logging purposes or token blacklisting in the future.
+     * Revokes the presented token so it can no longer be used, even before it expires.
      */
     @PostMapping("/logout")
     public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
-        // For JWT tokens, logout is handled client-side
-        // This endpoint can be extended for token blacklisting or audit logging
-        
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            authService.logout(authHeader.substring(7));
+        }
+
         Map<String, String> response = new HashMap<>();
         response.put("message", "Logout successful");
         return ResponseEntity.ok(response);
@@ -126,4 +154,22 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
+
+    /**
+     * Login throttling counters (allowed and rejected attempts, lockouts, tracked keys).
+     */
+    @GetMapping("/throttle-stats")
+    public ResponseEntity<Map<String, Long>> getThrottleStats() {
+        return ResponseEntity.ok(loginThrottleService.getStats());
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                return forwardedFor.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
 }
@@ -0,0 +1,43 @@
+package epr.eprapiservices.controller;
+
+import epr.eprapiservices.dto.AutocompleteSuggestionDto;
+import epr.eprapiservices.service.AutocompleteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST Controller for name and code autocomplete of products, materials, components and vendors
+ */
+@RestController
+@RequestMapping("/api/autocomplete")
+@CrossOrigin(originPatterns = {"http://localhost:3000", "http://localhost:3001", "http://localhost:8080"}, allowCredentials = "true")
+public class AutocompleteController {
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    /**
+     * Get the best matches of a type (products, materials, components or vendors) for a
+     * prefix of any word of the name, or of the code
+     */
+    @GetMapping("/{type}")
+    public ResponseEntity<List<AutocompleteSuggestionDto>> autocomplete(
+            @PathVariable String type,
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            Optional<AutocompleteService.Type> autocompleteType = AutocompleteService.Type.fromPathName(type);
+            if (autocompleteType.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(autocompleteService.suggest(autocompleteType.get(), q, limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
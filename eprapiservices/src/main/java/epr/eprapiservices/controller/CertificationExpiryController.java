@@ -0,0 +1,47 @@
+package epr.eprapiservices.controller;
+
+import epr.eprapiservices.dto.ExpirySweepRunDto;
+import epr.eprapiservices.service.CertificationExpiryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for the scheduled certification expiry sweep
+ */
+@RestController
+@RequestMapping("/api/certification-expiry")
+@CrossOrigin(originPatterns = {"http://localhost:3000", "http://localhost:3001", "http://localhost:8080"}, allowCredentials = "true")
+public class CertificationExpiryController {
+
+    @Autowired
+    private CertificationExpiryService certificationExpiryService;
+
+    /**
+     * Run a sweep now; reports leaseAcquired=false if another node is already sweeping
+     */
+    @PostMapping("/run")
+    public ResponseEntity<ExpirySweepRunDto> runSweep() {
+        try {
+            return ResponseEntity.ok(certificationExpiryService.runSweep());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get the latest sweep on this node plus running totals
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("lastRun", certificationExpiryService.getLastRun());
+        response.put("totalRecyclingCertificationsExpired", certificationExpiryService.getTotalRecyclingCertificationsExpired());
+        response.put("totalProductCertificationsExpired", certificationExpiryService.getTotalProductCertificationsExpired());
+        return ResponseEntity.ok(response);
+    }
+}
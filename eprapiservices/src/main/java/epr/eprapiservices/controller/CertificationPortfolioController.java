@@ -0,0 +1,70 @@
+package epr.eprapiservices.controller;
+
+import epr.eprapiservices.dto.BulkCertificationDecisionDto;
+import epr.eprapiservices.dto.BulkCertificationOutcomeDto;
+import epr.eprapiservices.dto.CertificationStatsDto;
+import epr.eprapiservices.service.CertificationPortfolioService;
+import epr.eprapiservices.service.ProductCertificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for portfolio-wide product certification statistics and bulk review
+ */
+@RestController
+@RequestMapping("/api/certifications/portfolio")
+@CrossOrigin(originPatterns = {"http://localhost:3000", "http://localhost:3001", "http://localhost:8080"}, allowCredentials = "true")
+public class CertificationPortfolioController {
+
+    @Autowired
+    private CertificationPortfolioService certificationPortfolioService;
+
+    @Autowired
+    private ProductCertificationService productCertificationService;
+
+    /**
+     * Get certification counts for a page of products (e.g. ?productIds=1,2,3), one entry per product
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<CertificationStatsDto>> getStatsForProducts(
+            @RequestParam List<Integer> productIds,
+            @RequestParam(defaultValue = "30") int expiringWithinDays) {
+        try {
+            return ResponseEntity.ok(certificationPortfolioService.getStatsForProducts(productIds, expiringWithinDays));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Verify or reject many certifications at once; returns one outcome per certification ID
+     */
+    @PostMapping("/bulk-decision")
+    public ResponseEntity<List<BulkCertificationOutcomeDto>> applyBulkDecision(@RequestBody BulkCertificationDecisionDto request) {
+        try {
+            return ResponseEntity.ok(productCertificationService.applyBulkDecision(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get certification counts across all products
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<CertificationStatsDto> getPortfolioSummary() {
+        try {
+            return ResponseEntity.ok(certificationPortfolioService.getPortfolioSummary());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
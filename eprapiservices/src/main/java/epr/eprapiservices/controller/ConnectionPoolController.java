@@ -0,0 +1,34 @@
+package epr.eprapiservices.controller;
+
+import epr.eprapiservices.config.ConnectionPoolMetrics;
+import epr.eprapiservices.dto.ConnectionPoolStatsDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for the state of the database connection pools
+ */
+@RestController
+@RequestMapping("/api/connection-pools")
+@CrossOrigin(originPatterns = {"http://localhost:3000", "http://localhost:3001", "http://localhost:8080"}, allowCredentials = "true")
+public class ConnectionPoolController {
+
+    @Autowired
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
+    /**
+     * Get active, idle and pending connections and acquisition times of each pool
+     */
+    @GetMapping
+    public ResponseEntity<List<ConnectionPoolStatsDto>> getConnectionPools() {
+        try {
+            return ResponseEntity.ok(connectionPoolMetrics.getStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
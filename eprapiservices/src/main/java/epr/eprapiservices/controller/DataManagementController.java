@@ -3,16 +3,24 @@ package epr.eprapiservices.controller;
 import epr.eprapiservices.dao.repository.ProductGroupRepository;
 import epr.eprapiservices.dao.repository.ProductCategoryRepository;
 import epr.eprapiservices.dao.repository.ProductTypeRepository;
+import epr.eprapiservices.dto.DataResetJobDto;
+import epr.eprapiservices.dto.ProductImportJobDto;
+import epr.eprapiservices.service.DataResetService;
+import epr.eprapiservices.service.ProductDataImportService;
+import epr.eprapiservices.service.QuantityNormalizationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/data-management")
-@CrossOrigin(origins = "*")
+@CrossOrigin(originPatterns = {"http://localhost:3000", "http://localhost:3001", "http://localhost:8080"}, allowCredentials = "true")
 public class DataManagementController {
 
     @Autowired
@@ -24,94 +32,138 @@ public class DataManagementController {
     @Autowired
     private ProductTypeRepository productTypeRepository;
 
+    @Autowired
+    private QuantityNormalizationService quantityNormalizationService;
+
+    @Autowired
+    private ProductDataImportService productDataImportService;
+
+    @Autowired
+    private DataResetService dataResetService;
+
     @DeleteMapping("/clear-all")
     public ResponseEntity<Map<String, Object>> clearAllData() {
+        return startReset(null, "Data reset of all tables started");
+    }
+
+    @DeleteMapping("/clear-product-groups")
+    public ResponseEntity<Map<String, Object>> clearProductGroups() {
+        return startReset(List.of("productgroup"), "Product groups reset started");
+    }
+
+    @DeleteMapping("/clear-product-categories")
+    public ResponseEntity<Map<String, Object>> clearProductCategories() {
+        return startReset(List.of("productcategory"), "Product categories reset started");
+    }
+
+    @DeleteMapping("/clear-product-types")
+    public ResponseEntity<Map<String, Object>> clearProductTypes() {
+        return startReset(List.of("producttype"), "Product types reset started");
+    }
+
+    @PostMapping("/reset")
+    public ResponseEntity<Map<String, Object>> resetTables(@RequestParam(required = false) List<String> tables) {
+        return startReset(tables, "Data reset started");
+    }
+
+    @GetMapping("/reset/tables")
+    public ResponseEntity<List<String>> getResetTables() {
+        return ResponseEntity.ok(dataResetService.getTableNames());
+    }
+
+    @GetMapping("/reset/{jobId}")
+    public ResponseEntity<DataResetJobDto> getReset(@PathVariable String jobId) {
         try {
-            // Clear data in correct order due to foreign key constraints
-            long typesDeleted = productTypeRepository.count();
-            productTypeRepository.deleteAll();
-            
-            long categoriesDeleted = productCategoryRepository.count();
-            productCategoryRepository.deleteAll();
-            
-            long groupsDeleted = productGroupRepository.count();
-            productGroupRepository.deleteAll();
+            return dataResetService.getJob(jobId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "All product data cleared successfully");
-            response.put("deletedCounts", Map.of(
-                "productTypes", typesDeleted,
-                "productCategories", categoriesDeleted,
-                "productGroups", groupsDeleted
-            ));
+    @GetMapping("/reset")
+    public ResponseEntity<List<DataResetJobDto>> getResets() {
+        try {
+            return ResponseEntity.ok(dataResetService.getRecentJobs());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 
-            return ResponseEntity.ok(response);
+    @DeleteMapping("/reset/{jobId}")
+    public ResponseEntity<DataResetJobDto> cancelReset(@PathVariable String jobId) {
+        try {
+            return dataResetService.cancel(jobId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "Error clearing data: " + e.getMessage());
-            return ResponseEntity.internalServerError().body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    @DeleteMapping("/clear-product-groups")
-    public ResponseEntity<Map<String, Object>> clearProductGroups() {
+    @PostMapping("/backfill-quantities")
+    public ResponseEntity<Map<String, Object>> backfillQuantities() {
         try {
-            long count = productGroupRepository.count();
-            productGroupRepository.deleteAll();
+            Map<String, Integer> updated = quantityNormalizationService.backfill();
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Product groups cleared successfully");
-            response.put("deletedCount", count);
+            response.put("message", "Canonical quantities backfilled successfully");
+            response.put("updatedCounts", updated);
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
-            response.put("message", "Error clearing product groups: " + e.getMessage());
+            response.put("message", "Error backfilling quantities: " + e.getMessage());
             return ResponseEntity.internalServerError().body(response);
         }
     }
 
-    @DeleteMapping("/clear-product-categories")
-    public ResponseEntity<Map<String, Object>> clearProductCategories() {
+    @PostMapping("/import/products")
+    public ResponseEntity<Map<String, Object>> importProductData(@RequestParam("file") MultipartFile file) {
+        Map<String, Object> response = new HashMap<>();
         try {
-            long count = productCategoryRepository.count();
-            productCategoryRepository.deleteAll();
+            ProductImportJobDto job = productDataImportService.startImport(file);
 
-            Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Product categories cleared successfully");
-            response.put("deletedCount", count);
+            response.put("message", "Product data import started");
+            response.put("job", job);
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
             response.put("success", false);
-            response.put("message", "Error clearing product categories: " + e.getMessage());
+            response.put("message", "Error starting product data import: " + e.getMessage());
             return ResponseEntity.internalServerError().body(response);
         }
     }
 
-    @DeleteMapping("/clear-product-types")
-    public ResponseEntity<Map<String, Object>> clearProductTypes() {
+    @GetMapping("/import/products/{jobId}")
+    public ResponseEntity<ProductImportJobDto> getProductImport(@PathVariable String jobId) {
         try {
-            long count = productTypeRepository.count();
-            productTypeRepository.deleteAll();
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Product types cleared successfully");
-            response.put("deletedCount", count);
+            return productDataImportService.getJob(jobId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 
-            return ResponseEntity.ok(response);
+    @GetMapping("/import/products")
+    public ResponseEntity<List<ProductImportJobDto>> getProductImports() {
+        try {
+            return ResponseEntity.ok(productDataImportService.getRecentJobs());
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", "Error clearing product types: " + e.getMessage());
-            return ResponseEntity.internalServerError().body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
@@ -130,4 +182,29 @@ public class DataManagementController {
             return ResponseEntity.internalServerError().body(response);
         }
     }
+
+    private ResponseEntity<Map<String, Object>> startReset(List<String> tables, String message) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            DataResetJobDto job = dataResetService.startReset(tables);
+
+            response.put("success", true);
+            response.put("message", message);
+            response.put("job", job);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error starting data reset: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package epr.eprapiservices.controller;
+
+import epr.eprapiservices.dto.FileScrubReportDto;
+import epr.eprapiservices.service.CertificationFileScrubberService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the integrity scrubber of stored certification files
+ */
+@RestController
+@RequestMapping("/api/file-integrity")
+@CrossOrigin(originPatterns = {"http://localhost:3000", "http://localhost:3001", "http://localhost:8080"}, allowCredentials = "true")
+public class FileIntegrityController {
+
+    @Autowired
+    private CertificationFileScrubberService scrubberService;
+
+    /**
+     * Run a scrub now; reports leaseAcquired=false if another node is already scrubbing
+     */
+    @PostMapping("/scrub")
+    public ResponseEntity<FileScrubReportDto> runScrub() {
+        try {
+            return ResponseEntity.ok(scrubberService.runScrub());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get the report of the latest scrub on this node
+     */
+    @GetMapping("/last-report")
+    public ResponseEntity<FileScrubReportDto> getLastReport() {
+        FileScrubReportDto report = scrubberService.getLastReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
+    }
+}
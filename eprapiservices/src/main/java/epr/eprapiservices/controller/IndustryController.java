@@ -2,25 +2,30 @@ package epr.eprapiservices.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import epr.eprapiservices.Models.*;
 import epr.eprapiservices.Services.*;
+import epr.eprapiservices.service.ReferenceDataCacheService;
 
 @RestController
 @RequestMapping("/api/industry")
 public class IndustryController {
 	
 	  private final IndustryService service;
+	  private final ReferenceDataCacheService referenceDataCache;
 	  
-	  public IndustryController(IndustryService service) {
+	  public IndustryController(IndustryService service, ReferenceDataCacheService referenceDataCache) {
 	        this.service = service;
+	        this.referenceDataCache = referenceDataCache;
 	    }
 
 	  @GetMapping
-	  public List<Industry> getAll() {
-	    return this.service.getAll();
+	  public ResponseEntity<byte[]> getAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+	    return ReferenceDataResponses.of(referenceDataCache, ReferenceDataCacheService.Type.INDUSTRY,
+	            "all", ifNoneMatch, this.service::getAll);
 	  }
 	  @GetMapping("/{id}")
 	    public ResponseEntity<Industry> getIndustry(@PathVariable Integer id) {
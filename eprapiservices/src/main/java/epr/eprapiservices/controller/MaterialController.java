@@ -2,8 +2,10 @@ package epr.eprapiservices.controller;
 
 import epr.eprapiservices.entity.Material;
 import epr.eprapiservices.service.MaterialService;
+import epr.eprapiservices.service.ReferenceDataCacheService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,14 +21,18 @@ public class MaterialController {
     @Autowired
     private MaterialService materialService;
 
+    @Autowired
+    private ReferenceDataCacheService referenceDataCache;
+
     /**
      * Get all materials
      */
     @GetMapping
-    public ResponseEntity<List<Material>> getAllMaterials() {
+    public ResponseEntity<byte[]> getAllMaterials(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Material> materials = materialService.getAllMaterials();
-            return ResponseEntity.ok(materials);
+            return ReferenceDataResponses.of(referenceDataCache, ReferenceDataCacheService.Type.MATERIAL,
+                    "all", ifNoneMatch, materialService::getAllMaterials);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -0,0 +1,37 @@
+package epr.eprapiservices.controller;
+
+import epr.eprapiservices.dto.UserPermissionsDto;
+import epr.eprapiservices.security.AuthenticatedUser;
+import epr.eprapiservices.security.PermissionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for information about the authenticated user
+ */
+@RestController
+@RequestMapping("/api/me")
+@CrossOrigin(originPatterns = {"http://localhost:3000", "http://localhost:3001", "http://localhost:8080"}, allowCredentials = "true")
+public class MeController {
+
+    @Autowired
+    private PermissionService permissionService;
+
+    /**
+     * Get the effective page and module permissions of the authenticated user, for building the menu
+     */
+    @GetMapping("/permissions")
+    public ResponseEntity<UserPermissionsDto> getPermissions(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            return ResponseEntity.ok(permissionService.getUserPermissions(user.userId()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -4,6 +4,7 @@ package epr.eprapiservices.controller;
 import epr.eprapiservices.Models.Modules;
 import epr.eprapiservices.dao.repository.ModulesRepository;
 import epr.eprapiservices.Services.ModulesService;
+import epr.eprapiservices.service.ReferenceDataCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,15 +29,18 @@ import org.springframework.web.bind.annotation.RestController;
 public class ModulesController {
 
 	private final ModulesService service;
+	private final ReferenceDataCacheService referenceDataCache;
 
 	@Autowired
-	public ModulesController(ModulesService service) {
+	public ModulesController(ModulesService service, ReferenceDataCacheService referenceDataCache) {
 		this.service = service;
+		this.referenceDataCache = referenceDataCache;
 	}
 
 	@GetMapping
-	public List<Modules> getAllModules() {
-		return service.getAll();
+	public ResponseEntity<byte[]> getAllModules(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		return ReferenceDataResponses.of(referenceDataCache, ReferenceDataCacheService.Type.MODULE,
+				"all", ifNoneMatch, service::getAll);
 	}
 
 	@GetMapping("/{id}")
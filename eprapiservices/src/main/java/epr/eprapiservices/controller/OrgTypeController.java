@@ -6,11 +6,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import epr.eprapiservices.Models.*;
 import epr.eprapiservices.Services.*;
+import epr.eprapiservices.service.ReferenceDataCacheService;
 
 
 @RestController
@@ -18,14 +20,17 @@ import epr.eprapiservices.Services.*;
 public class OrgTypeController {
 	
 	  private final OrgTypeService service;
+	  private final ReferenceDataCacheService referenceDataCache;
 	  
-	  public OrgTypeController(OrgTypeService _service) {
+	  public OrgTypeController(OrgTypeService _service, ReferenceDataCacheService referenceDataCache) {
 	        this.service = _service;
+	        this.referenceDataCache = referenceDataCache;
 	    }
 
 	  @GetMapping
-	  public List<OrgType> getAllOrgTypes() {
-	    return this.service.getAll();
+	  public ResponseEntity<byte[]> getAllOrgTypes(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+	    return ReferenceDataResponses.of(referenceDataCache, ReferenceDataCacheService.Type.ORG_TYPE,
+	            "all", ifNoneMatch, this.service::getAll);
 	  }
 	  @GetMapping("/{id}")
 	    public ResponseEntity<OrgType> getAccount(@PathVariable Long id) {
@@ -8,8 +8,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 import epr.eprapiservices.Models.*;
 import epr.eprapiservices.Services.*;
+import epr.eprapiservices.service.ReferenceDataCacheService;
 
 import org.springframework.beans.factory.annotation.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,15 +20,18 @@ import org.springframework.web.bind.annotation.*;
 public class PagesController {
 
 	private final PagesService pagesService;
+	private final ReferenceDataCacheService referenceDataCache;
 
 	@Autowired
-	public PagesController(PagesService pagesService) {
+	public PagesController(PagesService pagesService, ReferenceDataCacheService referenceDataCache) {
 		this.pagesService = pagesService;
+		this.referenceDataCache = referenceDataCache;
 	}
 
 	@GetMapping
-	public List<Pages> getAllPages() {
-		return pagesService.getAllPages();
+	public ResponseEntity<byte[]> getAllPages(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		return ReferenceDataResponses.of(referenceDataCache, ReferenceDataCacheService.Type.PAGE,
+				"all", ifNoneMatch, pagesService::getAllPages);
 	}
 
 	@GetMapping("/{id}")
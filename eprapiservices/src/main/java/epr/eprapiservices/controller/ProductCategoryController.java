@@ -2,7 +2,9 @@ package epr.eprapiservices.controller;
 
 import epr.eprapiservices.entity.ProductCategory;
 import epr.eprapiservices.service.ProductCategoryService;
+import epr.eprapiservices.service.ReferenceDataCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,17 +26,22 @@ public class ProductCategoryController {
     @Autowired
     private ProductCategoryService productCategoryService;
 
+    @Autowired
+    private ReferenceDataCacheService referenceDataCache;
+
     /**
      * Get all product categories with filtering and sorting
      */
     @GetMapping
-    public ResponseEntity<List<ProductCategory>> getAllProductCategories(
+    public ResponseEntity<byte[]> getAllProductCategories(
             @RequestParam(defaultValue = "true") Boolean activeOnly,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortOrder) {
+            @RequestParam(defaultValue = "asc") String sortOrder,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<ProductCategory> categories = productCategoryService.getAllProductCategories(activeOnly, sortBy, sortOrder);
-            return ResponseEntity.ok(categories);
+            return ReferenceDataResponses.of(referenceDataCache, ReferenceDataCacheService.Type.PRODUCT_CATEGORY,
+                    activeOnly + ":" + sortBy + ":" + sortOrder, ifNoneMatch,
+                    () -> productCategoryService.getAllProductCategories(activeOnly, sortBy, sortOrder));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
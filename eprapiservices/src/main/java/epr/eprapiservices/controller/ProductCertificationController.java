@@ -1,22 +1,27 @@
 package epr.eprapiservices.controller;
 
 import epr.eprapiservices.entity.ProductCertification;
+import epr.eprapiservices.service.CertificationPreviewService;
 import epr.eprapiservices.service.ProductCertificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.validation.Valid;
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,6 +38,9 @@ public class ProductCertificationController {
     @Autowired
     private ProductCertificationService certificationService;
 
+    @Autowired
+    private CertificationPreviewService certificationPreviewService;
+
     /**
      * Get all certifications for a product
      */
@@ -179,6 +187,54 @@ public class ProductCertificationController {
         }
     }
 
+    /**
+     * Get a small JPEG preview of the certification file (JPG/PNG uploads only).
+     * The ETag is the stored file name, which changes on every upload; requests that pass it
+     * back as ?v= are cached for a year, others revalidate with If-None-Match.
+     * Returns 404 while the preview is still being generated.
+     */
+    @GetMapping("/{certificationId}/preview")
+    public ResponseEntity<Resource> getCertificationPreview(
+            @PathVariable Integer productId,
+            @PathVariable Long certificationId,
+            @RequestParam(required = false) String v,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            Optional<ProductCertification> certificationOpt = certificationService.getCertificationByIdAndProductId(certificationId, productId);
+            
+            if (certificationOpt.isEmpty() || !certificationOpt.get().hasFile()
+                    || !certificationPreviewService.isPreviewable(certificationOpt.get().getFileType())) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            ProductCertification certification = certificationOpt.get();
+            String version = Paths.get(certification.getFilePath()).getFileName().toString();
+            String etag = "\"" + version + "\"";
+            CacheControl cacheControl = version.equals(v)
+                    ? CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable()
+                    : CacheControl.noCache().cachePrivate();
+            
+            if (etag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+            }
+            
+            Path previewPath = certificationPreviewService.getPreviewPath(certification.getFilePath());
+            if (!Files.isReadable(previewPath)) {
+                certificationPreviewService.schedulePreview(certification.getFilePath(), certification.getFileType());
+                return ResponseEntity.notFound().build();
+            }
+            
+            return ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .body(new UrlResource(previewPath.toUri()));
+                    
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Verify a certification
      */
@@ -195,6 +251,8 @@ public class ProductCertificationController {
             
             ProductCertification verifiedCertification = certificationService.verifyCertification(certificationId, verifiedBy);
             return ResponseEntity.ok(verifiedCertification);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -220,6 +278,8 @@ public class ProductCertificationController {
             
             ProductCertification rejectedCertification = certificationService.rejectCertification(certificationId, rejectedBy, reason);
             return ResponseEntity.ok(rejectedCertification);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -2,7 +2,9 @@ package epr.eprapiservices.controller;
 
 import epr.eprapiservices.entity.ProductGroup;
 import epr.eprapiservices.service.ProductGroupService;
+import epr.eprapiservices.service.ReferenceDataCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,17 +24,22 @@ public class ProductGroupController {
     @Autowired
     private ProductGroupService productGroupService;
 
+    @Autowired
+    private ReferenceDataCacheService referenceDataCache;
+
     /**
      * Get all product groups with optional filtering and sorting
      */
     @GetMapping
-    public ResponseEntity<List<ProductGroup>> getAllProductGroups(
+    public ResponseEntity<byte[]> getAllProductGroups(
             @RequestParam(defaultValue = "true") Boolean activeOnly,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortOrder) {
+            @RequestParam(defaultValue = "asc") String sortOrder,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<ProductGroup> productGroups = productGroupService.getAllProductGroups(activeOnly, sortBy, sortOrder);
-            return ResponseEntity.ok(productGroups);
+            return ReferenceDataResponses.of(referenceDataCache, ReferenceDataCacheService.Type.PRODUCT_GROUP,
+                    activeOnly + ":" + sortBy + ":" + sortOrder, ifNoneMatch,
+                    () -> productGroupService.getAllProductGroups(activeOnly, sortBy, sortOrder));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -2,8 +2,10 @@ package epr.eprapiservices.controller;
 
 import epr.eprapiservices.entity.ProductType;
 import epr.eprapiservices.Services.ProductTypeService;
+import epr.eprapiservices.service.ReferenceDataCacheService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,20 +20,23 @@ import java.util.List;
 public class ProductTypeController {
 
     private final ProductTypeService productTypeService;
+    private final ReferenceDataCacheService referenceDataCache;
 
     @Autowired
-    public ProductTypeController(ProductTypeService productTypeService) {
+    public ProductTypeController(ProductTypeService productTypeService, ReferenceDataCacheService referenceDataCache) {
         this.productTypeService = productTypeService;
+        this.referenceDataCache = referenceDataCache;
     }
 
     /**
      * Get all product types
      */
     @GetMapping
-    public ResponseEntity<List<ProductType>> getAllProductTypes() {
+    public ResponseEntity<byte[]> getAllProductTypes(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<ProductType> productTypes = productTypeService.getAllActive();
-            return ResponseEntity.ok(productTypes);
+            return ReferenceDataResponses.of(referenceDataCache, ReferenceDataCacheService.Type.PRODUCT_TYPE,
+                    "active", ifNoneMatch, productTypeService::getAllActive);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -0,0 +1,72 @@
+package epr.eprapiservices.controller;
+
+import epr.eprapiservices.dto.MassBalanceFindingDto;
+import epr.eprapiservices.dto.ReconciliationRunDto;
+import epr.eprapiservices.service.MassBalanceReconciliationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for mass-balance reconciliation between recycle logs and recycling certifications
+ */
+@RestController
+@RequestMapping("/api/reconciliation")
+@CrossOrigin(originPatterns = {"http://localhost:3000", "http://localhost:3001", "http://localhost:8080"}, allowCredentials = "true")
+public class ReconciliationController {
+
+    @Autowired
+    private MassBalanceReconciliationService reconciliationService;
+
+    /**
+     * Run reconciliation over recyclers changed since the last run, or over everything when full=true
+     */
+    @PostMapping("/run")
+    public ResponseEntity<ReconciliationRunDto> runReconciliation(@RequestParam(defaultValue = "false") boolean full) {
+        try {
+            ReconciliationRunDto run = reconciliationService.runReconciliation(full);
+            return ResponseEntity.ok(run);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get the summary of the latest reconciliation run
+     */
+    @GetMapping("/last-run")
+    public ResponseEntity<ReconciliationRunDto> getLastRun() {
+        ReconciliationRunDto run = reconciliationService.getLastRun();
+        return run != null ? ResponseEntity.ok(run) : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Get reconciliation findings, by default only those with uncertified or over-claimed quantity
+     */
+    @GetMapping("/findings")
+    public ResponseEntity<List<MassBalanceFindingDto>> getFindings(
+            @RequestParam(defaultValue = "true") boolean discrepanciesOnly) {
+        try {
+            List<MassBalanceFindingDto> findings = reconciliationService.getFindings(discrepanciesOnly);
+            return ResponseEntity.ok(findings);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get reconciliation findings for a recycler
+     */
+    @GetMapping("/findings/recycler/{recyclerId}")
+    public ResponseEntity<List<MassBalanceFindingDto>> getFindingsByRecyclerId(@PathVariable String recyclerId) {
+        try {
+            List<MassBalanceFindingDto> findings = reconciliationService.getFindingsByRecyclerId(recyclerId);
+            return ResponseEntity.ok(findings);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package epr.eprapiservices.controller;
 
+import epr.eprapiservices.dto.ApproximateCountDto;
+import epr.eprapiservices.dto.ApproximateQuantilesDto;
+import epr.eprapiservices.dto.RecyclerLeaderboardEntryDto;
 import epr.eprapiservices.entity.RecycleLog;
 import epr.eprapiservices.service.RecycleLogService;
+import epr.eprapiservices.service.RecyclerLeaderboardService;
+import epr.eprapiservices.service.RecyclingMetricsSketchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -9,7 +14,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +31,12 @@ public class RecycleLogController {
     @Autowired
     private RecycleLogService recycleLogService;
 
+    @Autowired
+    private RecyclerLeaderboardService recyclerLeaderboardService;
+
+    @Autowired
+    private RecyclingMetricsSketchService recyclingMetricsSketchService;
+
     /**
      * Get all active recycle logs
      */
@@ -103,6 +116,53 @@ public class RecycleLogController {
         }
     }
 
+    /**
+     * Get recycle logs flagged as outliers and awaiting review
+     */
+    @GetMapping("/review-queue")
+    public ResponseEntity<List<RecycleLog>> getReviewQueue() {
+        try {
+            List<RecycleLog> recycleLogs = recycleLogService.getReviewQueue();
+            return ResponseEntity.ok(recycleLogs);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Approve a flagged recycle log
+     */
+    @PostMapping("/{id}/approve")
+    public ResponseEntity<RecycleLog> approveRecycleLog(@PathVariable Integer id) {
+        try {
+            RecycleLog approvedRecycleLog = recycleLogService.approveRecycleLog(id);
+            return ResponseEntity.ok(approvedRecycleLog);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Reject a flagged recycle log
+     */
+    @PostMapping("/{id}/reject")
+    public ResponseEntity<RecycleLog> rejectRecycleLog(@PathVariable Integer id) {
+        try {
+            RecycleLog rejectedRecycleLog = recycleLogService.rejectRecycleLog(id);
+            return ResponseEntity.ok(rejectedRecycleLog);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Search recycle logs by material type
      */
@@ -212,12 +272,12 @@ public class RecycleLogController {
     }
 
     /**
-     * Get total quantity recycled by material type
+     * Get total mass recycled by material type, in grams
      */
     @GetMapping("/stats/quantity/material-type/{materialType}")
-    public ResponseEntity<Double> getTotalQuantityByMaterialType(@PathVariable String materialType) {
+    public ResponseEntity<Long> getTotalQuantityByMaterialType(@PathVariable String materialType) {
         try {
-            Double totalQuantity = recycleLogService.getTotalQuantityByMaterialType(materialType);
+            Long totalQuantity = recycleLogService.getTotalQuantityByMaterialType(materialType);
             return ResponseEntity.ok(totalQuantity);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -225,18 +285,104 @@ public class RecycleLogController {
     }
 
     /**
-     * Get total quantity recycled by recycler
+     * Get total mass recycled by recycler, in grams
      */
     @GetMapping("/stats/quantity/recycler/{recyclerId}")
-    public ResponseEntity<Double> getTotalQuantityByRecycler(@PathVariable String recyclerId) {
+    public ResponseEntity<Long> getTotalQuantityByRecycler(@PathVariable String recyclerId) {
         try {
-            Double totalQuantity = recycleLogService.getTotalQuantityByRecycler(recyclerId);
+            Long totalQuantity = recycleLogService.getTotalQuantityByRecycler(recyclerId);
             return ResponseEntity.ok(totalQuantity);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Get top recyclers by quantity recycled for a material in a month (defaults to the current month)
+     */
+    @GetMapping("/stats/leaderboard/{materialType}")
+    public ResponseEntity<List<RecyclerLeaderboardEntryDto>> getRecyclerLeaderboard(
+            @PathVariable String materialType,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            YearMonth window = month != null ? month : YearMonth.now();
+            List<RecyclerLeaderboardEntryDto> leaderboard =
+                    recyclerLeaderboardService.getLeaderboard(materialType, window, limit);
+            return ResponseEntity.ok(leaderboard);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get approximate number of distinct recyclers in a date range
+     */
+    @GetMapping("/stats/approx/distinct-recyclers")
+    public ResponseEntity<ApproximateCountDto> estimateDistinctRecyclers(
+            @RequestParam(required = false) String materialType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            ApproximateCountDto count = recyclingMetricsSketchService.estimateDistinctRecyclers(materialType, startDate, endDate);
+            return ResponseEntity.ok(count);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get approximate number of distinct recycling locations in a date range
+     */
+    @GetMapping("/stats/approx/distinct-locations")
+    public ResponseEntity<ApproximateCountDto> estimateDistinctLocations(
+            @RequestParam(required = false) String materialType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            ApproximateCountDto count = recyclingMetricsSketchService.estimateDistinctLocations(materialType, startDate, endDate);
+            return ResponseEntity.ok(count);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get approximate recovery rate quantiles in a date range
+     */
+    @GetMapping("/stats/approx/recovery-rate-quantiles")
+    public ResponseEntity<ApproximateQuantilesDto> getRecoveryRateQuantiles(
+            @RequestParam(required = false) RecycleLog.ProcessingMethod processingMethod,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0.5,0.95") List<Double> quantiles) {
+        try {
+            ApproximateQuantilesDto result = recyclingMetricsSketchService.getRecoveryRateQuantiles(
+                    processingMethod, startDate, endDate, quantiles);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get approximate quantity recycled quantiles in a date range
+     */
+    @GetMapping("/stats/approx/quantity-quantiles")
+    public ResponseEntity<ApproximateQuantilesDto> getQuantityQuantiles(
+            @RequestParam(required = false) String materialType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0.5,0.95") List<Double> quantiles) {
+        try {
+            ApproximateQuantilesDto result = recyclingMetricsSketchService.getQuantityQuantiles(
+                    materialType, startDate, endDate, quantiles);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get recycling statistics by processing method
      */
@@ -0,0 +1,64 @@
+package epr.eprapiservices.controller;
+
+import epr.eprapiservices.service.ReferenceDataCacheService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Builds reference data responses from {@link ReferenceDataCacheService} snapshots.
+ * A request whose If-None-Match names the current snapshot gets 304 before anything is
+ * loaded; everything else gets the cached JSON body with its ETag, pre-gzipped when the
+ * caller accepts it and the snapshot has a gzipped copy. Browsers are told to revalidate
+ * every time, so a change is visible on the next request.
+ */
+final class ReferenceDataResponses {
+
+    private ReferenceDataResponses() {
+    }
+
+    static ResponseEntity<byte[]> of(ReferenceDataCacheService cache, ReferenceDataCacheService.Type type,
+                                     String variant, String ifNoneMatch, Supplier<?> loader) {
+        return respond(cache, type, variant, ifNoneMatch, false, false, loader);
+    }
+
+    /**
+     * As {@link #of(ReferenceDataCacheService, ReferenceDataCacheService.Type, String, String, Supplier)},
+     * negotiating the gzipped copy from the Accept-Encoding header
+     */
+    static ResponseEntity<byte[]> of(ReferenceDataCacheService cache, ReferenceDataCacheService.Type type,
+                                     String variant, String ifNoneMatch, String acceptEncoding, Supplier<?> loader) {
+        boolean acceptsGzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        return respond(cache, type, variant, ifNoneMatch, true, acceptsGzip, loader);
+    }
+
+    private static ResponseEntity<byte[]> respond(ReferenceDataCacheService cache, ReferenceDataCacheService.Type type,
+                                                  String variant, String ifNoneMatch, boolean negotiate,
+                                                  boolean acceptsGzip, Supplier<?> loader) {
+        // Only loads when there is no current snapshot, so a revalidation never reaches the database
+        ReferenceDataCacheService.Snapshot snapshot = cache.get(type, variant, loader);
+        boolean notModified = snapshot.matches(ifNoneMatch);
+        boolean gzip = negotiate && snapshot.gzippedBody() != null;
+        String etag = gzip && acceptsGzip ? snapshot.gzippedEtag() : snapshot.etag();
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache());
+        if (gzip) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (notModified) {
+            return response.build();
+        }
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (gzip && acceptsGzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzippedBody());
+        }
+        return response.body(snapshot.body());
+    }
+}
@@ -0,0 +1,39 @@
+package epr.eprapiservices.controller;
+
+import epr.eprapiservices.service.ProductTaxonomyService;
+import epr.eprapiservices.service.ReferenceDataCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the product taxonomy (groups, categories and product types)
+ */
+@RestController
+@RequestMapping("/api/taxonomy")
+@CrossOrigin(originPatterns = {"http://localhost:3000", "http://localhost:3001", "http://localhost:8080"}, allowCredentials = "true")
+public class TaxonomyController {
+
+    @Autowired
+    private ProductTaxonomyService productTaxonomyService;
+
+    @Autowired
+    private ReferenceDataCacheService referenceDataCache;
+
+    /**
+     * Get the whole taxonomy as a tree, served from the reference data cache
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<byte[]> getTaxonomyTree(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            return ReferenceDataResponses.of(referenceDataCache, ReferenceDataCacheService.Type.PRODUCT_TAXONOMY,
+                    "tree", ifNoneMatch, acceptEncoding, productTaxonomyService::getTaxonomyTree);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package epr.eprapiservices.dao.repository;
 
 import epr.eprapiservices.entity.Component;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,5 +18,13 @@ public interface ComponentRepository extends JpaRepository<Component, Long> {
     boolean existsByComponentCode(String componentCode);
     
     boolean existsByComponentCodeAndComponentIdNot(String componentCode, Long componentId);
-}
 
+    /**
+     * Autocomplete rows of active components: ID, name, code, sort order and the number of
+     * products using the component
+     */
+    @Query("SELECT c.componentId, c.componentName, c.componentCode, c.sortOrder, " +
+           "(SELECT COUNT(pcc) FROM ProductComponentComposition pcc WHERE pcc.component = c) " +
+           "FROM Component c WHERE c.isActive = true")
+    List<Object[]> findAutocompleteRows();
+}
@@ -53,4 +53,14 @@ public interface MaterialRepository extends JpaRepository<Material, Integer> {
      */
     @Query("SELECT m FROM Material m WHERE m.isActive = :isActive ORDER BY m.sortOrder, m.materialName")
     List<Material> findByIsActive(@Param("isActive") Boolean isActive);
+
+    /**
+     * Autocomplete rows of active materials: ID, name, code, sort order and the number of
+     * product and component compositions referencing the material
+     */
+    @Query("SELECT m.materialId, m.materialName, m.materialCode, m.sortOrder, " +
+           "(SELECT COUNT(pc) FROM ProductComposition pc WHERE pc.materialId = m.materialId) + " +
+           "(SELECT COUNT(cmc) FROM ComponentMaterialComposition cmc WHERE cmc.material = m) " +
+           "FROM Material m WHERE m.isActive = true")
+    List<Object[]> findAutocompleteRows();
 }
@@ -3,11 +3,20 @@ package epr.eprapiservices.dao.repository;
 
 import epr.eprapiservices.Models.Modules;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ModulesRepository extends JpaRepository<Modules, Long> {
 	// Additional query methods can be defined here if needed
 	// For example, you can define methods to find modules by specific attributes
 	// List<Modules> findByModuleName(String moduleName);
+
+	/**
+	 * Get module ID and parent module ID of every active module
+	 */
+	@Query("SELECT m.moduleId, m.parentmoduleId FROM Modules m WHERE m.isActive IS NULL OR m.isActive = true")
+	List<Object[]> findActiveModuleParents();
 }	
@@ -1,8 +1,16 @@
 package epr.eprapiservices.dao.repository;
 
-
 import epr.eprapiservices.Models.Pages;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface PagesRepository extends JpaRepository<Pages, Integer> {
+
+    /**
+     * Get page ID and module ID of every active page
+     */
+    @Query("SELECT p.pageId, p.moduleId FROM Pages p WHERE p.isActive IS NULL OR p.isActive = true")
+    List<Object[]> findActivePageModules();
 }
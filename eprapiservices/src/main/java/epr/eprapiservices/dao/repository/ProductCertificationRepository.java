@@ -1,12 +1,17 @@
 package epr.eprapiservices.dao.repository;
 
 import epr.eprapiservices.entity.ProductCertification;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -64,6 +69,85 @@ public interface ProductCertificationRepository extends JpaRepository<ProductCer
     @Query("SELECT pc FROM ProductCertification pc WHERE pc.expiryDate < :currentDate AND pc.isActive = true")
     List<ProductCertification> findExpiredCertifications(@Param("currentDate") LocalDate currentDate);
 
+    /**
+     * Find IDs of certifications in the given status whose expiry date is before the given
+     * date, locking the rows until the transaction ends so they can be expired by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pc.certificationId FROM ProductCertification pc WHERE pc.expiryDate < :asOf AND pc.status = :status AND pc.isActive = true")
+    List<Long> findIdsToExpire(@Param("asOf") LocalDate asOf, @Param("status") String status);
+
+    /**
+     * Flip the given certifications from the given status to EXPIRED
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProductCertification pc SET pc.status = 'EXPIRED', pc.version = pc.version + 1 " +
+           "WHERE pc.certificationId IN :ids AND pc.status = :status")
+    int expireCertifications(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    /**
+     * Get ID, version and product ID of the given active certifications
+     */
+    @Query("SELECT pc.certificationId, pc.version, pc.productId FROM ProductCertification pc " +
+           "WHERE pc.certificationId IN :certificationIds AND pc.isActive = true")
+    List<Object[]> findVersionsByIds(@Param("certificationIds") Collection<Long> certificationIds);
+
+    /**
+     * Record a verification decision on the given certifications that are still at the expected version
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ProductCertification pc SET pc.verificationStatus = :verificationStatus, " +
+           "pc.verificationDate = :verificationDate, pc.verifiedBy = :verifiedBy, " +
+           "pc.notes = COALESCE(:notes, pc.notes), pc.version = pc.version + 1 " +
+           "WHERE pc.certificationId IN :certificationIds AND pc.version = :version AND pc.isActive = true")
+    int applyVerificationDecision(@Param("certificationIds") Collection<Long> certificationIds,
+                                  @Param("version") Long version,
+                                  @Param("verificationStatus") String verificationStatus,
+                                  @Param("verificationDate") LocalDate verificationDate,
+                                  @Param("verifiedBy") String verifiedBy,
+                                  @Param("notes") String notes);
+
+    /**
+     * Get IDs of the given certifications that carry the given decision at the given version
+     */
+    @Query("SELECT pc.certificationId FROM ProductCertification pc WHERE pc.certificationId IN :certificationIds " +
+           "AND pc.version = :version AND pc.verificationStatus = :verificationStatus AND pc.verifiedBy = :verifiedBy")
+    List<Long> findIdsWithDecision(@Param("certificationIds") Collection<Long> certificationIds,
+                                   @Param("version") Long version,
+                                   @Param("verificationStatus") String verificationStatus,
+                                   @Param("verifiedBy") String verifiedBy);
+
+    /**
+     * Get ID, file path and content hash of every certification with a stored file, soft-deleted ones included
+     */
+    @Query("SELECT pc.certificationId, pc.filePath, pc.contentHash FROM ProductCertification pc " +
+           "WHERE pc.filePath IS NOT NULL AND pc.filePath <> ''")
+    List<Object[]> findStoredFileReferences();
+
+    /**
+     * Find active certifications with a stored file for an audit bundle: optionally limited to the
+     * products of one product group and to certifications in force at some point of a date range
+     */
+    @Query("SELECT pc FROM ProductCertification pc WHERE pc.filePath IS NOT NULL AND pc.filePath <> '' AND pc.isActive = true " +
+           "AND (:productGroupId IS NULL OR pc.productId IN " +
+           "(SELECT c.productId FROM ProductComposition c WHERE c.productGroupId = :productGroupId AND c.isActive = true)) " +
+           "AND (:fromDate IS NULL OR pc.expiryDate IS NULL OR pc.expiryDate >= :fromDate) " +
+           "AND (:toDate IS NULL OR pc.issueDate IS NULL OR pc.issueDate <= :toDate) " +
+           "ORDER BY pc.productId, pc.certificationId")
+    List<ProductCertification> findForAuditBundle(@Param("productGroupId") Integer productGroupId,
+                                                  @Param("fromDate") LocalDate fromDate,
+                                                  @Param("toDate") LocalDate toDate);
+
+    /**
+     * Record the content hash of a stored file that predates hashing
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductCertification pc SET pc.contentHash = :contentHash " +
+           "WHERE pc.certificationId = :certificationId AND pc.filePath = :filePath AND pc.contentHash IS NULL")
+    int recordContentHash(@Param("certificationId") Long certificationId, @Param("filePath") String filePath,
+                          @Param("contentHash") String contentHash);
+
     /**
      * Find certifications expiring soon (within specified days)
      */
@@ -95,6 +179,33 @@ public interface ProductCertificationRepository extends JpaRepository<ProductCer
     @Query("SELECT COUNT(pc) FROM ProductCertification pc WHERE pc.productId = :productId AND pc.isActive = true")
     Long countByProductId(@Param("productId") Integer productId);
 
+    /**
+     * Get certification counts per product for the given products: product ID, total, active,
+     * expired, expiring soon (after today and before :soon), verified and with file
+     */
+    @Query("SELECT pc.productId, COUNT(pc), " +
+           "SUM(CASE WHEN pc.status = 'ACTIVE' AND (pc.expiryDate IS NULL OR pc.expiryDate >= :today) THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN pc.expiryDate < :today THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN pc.expiryDate > :today AND pc.expiryDate < :soon THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN UPPER(pc.verificationStatus) = 'VERIFIED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN pc.filePath IS NOT NULL AND pc.filePath <> '' THEN 1 ELSE 0 END) " +
+           "FROM ProductCertification pc WHERE pc.productId IN :productIds AND pc.isActive = true GROUP BY pc.productId")
+    List<Object[]> getCertificationStatsByProductIds(@Param("productIds") Collection<Integer> productIds,
+                                                     @Param("today") LocalDate today, @Param("soon") LocalDate soon);
+
+    /**
+     * Get certification counts across all products: distinct products, total, active,
+     * expired, expiring soon (after today and before :soon), verified and with file
+     */
+    @Query("SELECT COUNT(DISTINCT pc.productId), COUNT(pc), " +
+           "SUM(CASE WHEN pc.status = 'ACTIVE' AND (pc.expiryDate IS NULL OR pc.expiryDate >= :today) THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN pc.expiryDate < :today THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN pc.expiryDate > :today AND pc.expiryDate < :soon THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN UPPER(pc.verificationStatus) = 'VERIFIED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN pc.filePath IS NOT NULL AND pc.filePath <> '' THEN 1 ELSE 0 END) " +
+           "FROM ProductCertification pc WHERE pc.isActive = true")
+    List<Object[]> getCertificationStatsSummary(@Param("today") LocalDate today, @Param("soon") LocalDate soon);
+
     /**
      * Count certifications by status
      */
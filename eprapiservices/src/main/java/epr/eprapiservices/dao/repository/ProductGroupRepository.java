@@ -64,4 +64,20 @@ public interface ProductGroupRepository extends JpaRepository<ProductGroup, Inte
      * Check if product group name exists
      */
     boolean existsByProductGroupNameIgnoreCase(String productGroupName);
+
+    /**
+     * Active product groups with their active categories and types, one row per type
+     * (or per category or group without children), ordered for building the taxonomy tree
+     */
+    @Query("SELECT pg.productGroupId, pg.productGroupName, pg.description, pg.sortOrder, " +
+           "pc.productCategoryId, pc.productCategoryName, pc.description, pc.sortOrder, " +
+           "pt.productTypeId, pt.productTypeName, pt.productTypeDescription, pt.sortOrder " +
+           "FROM ProductGroup pg " +
+           "LEFT JOIN ProductCategory pc ON pc.productGroupId = pg.productGroupId AND pc.isActive = true " +
+           "LEFT JOIN ProductType pt ON pt.productCategoryId = pc.productCategoryId AND pt.isActive = true " +
+           "WHERE pg.isActive = true " +
+           "ORDER BY pg.sortOrder ASC NULLS LAST, pg.productGroupName ASC, " +
+           "pc.sortOrder ASC NULLS LAST, pc.productCategoryName ASC, " +
+           "pt.sortOrder ASC NULLS LAST, pt.productTypeName ASC")
+    List<Object[]> findActiveTaxonomyRows();
 }
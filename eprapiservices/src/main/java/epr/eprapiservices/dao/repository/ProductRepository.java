@@ -102,6 +102,12 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.regulatoryCertificationsPath IS NOT NULL AND p.regulatoryCertificationsPath != '' ORDER BY p.productName")
     List<Product> findProductsWithCertifications();
 
+    /**
+     * Get the regulatory certification paths of all products, soft-deleted ones included
+     */
+    @Query("SELECT p.regulatoryCertificationsPath FROM Product p WHERE p.regulatoryCertificationsPath IS NOT NULL AND p.regulatoryCertificationsPath != ''")
+    List<String> findRegulatoryCertificationsPaths();
+
     /**
      * Find products without regulatory certifications
      */
@@ -129,4 +135,13 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND " +
            "p.complianceTargetPercentage >= :threshold ORDER BY p.complianceTargetPercentage DESC")
     List<Product> findHighComplianceProducts(@Param("threshold") java.math.BigDecimal threshold);
+
+    /**
+     * Autocomplete rows of active products: ID, name, SKU code, sort order (none) and the
+     * number of material compositions referencing the product
+     */
+    @Query("SELECT p.productId, p.productName, p.skuProductCode, NULL, " +
+           "(SELECT COUNT(pc) FROM ProductComposition pc WHERE pc.productId = p.productId) " +
+           "FROM Product p WHERE p.isActive = true")
+    List<Object[]> findAutocompleteRows();
 }
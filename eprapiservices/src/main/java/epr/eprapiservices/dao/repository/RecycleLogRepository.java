@@ -2,12 +2,16 @@ package epr.eprapiservices.dao.repository;
 
 import epr.eprapiservices.entity.RecycleLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for RecycleLog entity operations
@@ -39,6 +43,18 @@ public interface RecycleLogRepository extends JpaRepository<RecycleLog, Integer>
     @Query("SELECT r FROM RecycleLog r WHERE r.recyclerId = :recyclerId AND r.isActive = true ORDER BY r.recycleDate DESC")
     List<RecycleLog> findByRecyclerId(@Param("recyclerId") String recyclerId);
 
+    /**
+     * Stream all active recycle logs, for rebuilding in-memory aggregates
+     */
+    @Query("SELECT r FROM RecycleLog r WHERE r.isActive = true")
+    Stream<RecycleLog> streamAllActive();
+
+    /**
+     * Find active recycle logs for any of the given recycler IDs
+     */
+    @Query("SELECT r FROM RecycleLog r WHERE r.recyclerId IN :recyclerIds AND r.isActive = true")
+    List<RecycleLog> findActiveByRecyclerIdIn(@Param("recyclerIds") Collection<String> recyclerIds);
+
     /**
      * Find recycle logs by processing method
      */
@@ -70,29 +86,61 @@ public interface RecycleLogRepository extends JpaRepository<RecycleLog, Integer>
     List<RecycleLog> findByBatchNumber(@Param("batchNumber") String batchNumber);
 
     /**
-     * Get total quantity recycled by material type
+     * Get total mass recycled by material type, in grams
      */
-    @Query("SELECT COALESCE(SUM(r.quantityRecycled), 0) FROM RecycleLog r WHERE LOWER(r.materialType) = LOWER(:materialType) AND r.isActive = true")
-    Double getTotalQuantityByMaterialType(@Param("materialType") String materialType);
+    @Query("SELECT COALESCE(SUM(r.quantityGrams), 0) FROM RecycleLog r WHERE LOWER(r.materialType) = LOWER(:materialType) AND r.isActive = true AND r.heldForReview = false")
+    Long getTotalQuantityByMaterialType(@Param("materialType") String materialType);
 
     /**
-     * Get total quantity recycled by recycler
+     * Get total mass recycled by recycler, in grams
      */
-    @Query("SELECT COALESCE(SUM(r.quantityRecycled), 0) FROM RecycleLog r WHERE r.recyclerId = :recyclerId AND r.isActive = true")
-    Double getTotalQuantityByRecycler(@Param("recyclerId") String recyclerId);
+    @Query("SELECT COALESCE(SUM(r.quantityGrams), 0) FROM RecycleLog r WHERE r.recyclerId = :recyclerId AND r.isActive = true AND r.heldForReview = false")
+    Long getTotalQuantityByRecycler(@Param("recyclerId") String recyclerId);
 
     /**
-     * Get recycling statistics by processing method
+     * Get recycling statistics (count, total grams) by processing method
      */
-    @Query("SELECT r.processingMethod, COUNT(r), COALESCE(SUM(r.quantityRecycled), 0) FROM RecycleLog r WHERE r.isActive = true GROUP BY r.processingMethod")
+    @Query("SELECT r.processingMethod, COUNT(r), COALESCE(SUM(r.quantityGrams), 0) FROM RecycleLog r WHERE r.isActive = true AND r.heldForReview = false GROUP BY r.processingMethod")
     List<Object[]> getRecyclingStatsByProcessingMethod();
 
     /**
-     * Get recycling statistics by quality grade
+     * Get recycling statistics (count, total grams) by quality grade
      */
-    @Query("SELECT r.qualityGrade, COUNT(r), COALESCE(SUM(r.quantityRecycled), 0) FROM RecycleLog r WHERE r.isActive = true GROUP BY r.qualityGrade")
+    @Query("SELECT r.qualityGrade, COUNT(r), COALESCE(SUM(r.quantityGrams), 0) FROM RecycleLog r WHERE r.isActive = true AND r.heldForReview = false GROUP BY r.qualityGrade")
     List<Object[]> getRecyclingStatsByQualityGrade();
 
+    /**
+     * Get monthly mass rollups (grams) per recycler and material type
+     */
+    @Query("SELECT r.recyclerId, MAX(r.recyclerName), r.materialType, YEAR(r.recycleDate), MONTH(r.recycleDate), SUM(r.quantityGrams) " +
+           "FROM RecycleLog r WHERE r.recyclerId IS NOT NULL AND r.quantityGrams IS NOT NULL AND r.isActive = true AND r.heldForReview = false " +
+           "GROUP BY r.recyclerId, r.materialType, YEAR(r.recycleDate), MONTH(r.recycleDate)")
+    List<Object[]> getMonthlyQuantityByRecyclerAndMaterialType();
+
+    /**
+     * Get mass moments in grams (count, sum, sum of squares) per recycler and material type.
+     * Squares are taken in floating point since they overflow BIGINT for large loads.
+     */
+    @Query("SELECT COALESCE(r.recyclerId, r.recyclerName), r.materialType, COUNT(r), SUM(r.quantityGrams), " +
+           "SUM(CAST(r.quantityGrams AS Double) * CAST(r.quantityGrams AS Double)) " +
+           "FROM RecycleLog r WHERE r.quantityGrams IS NOT NULL AND r.isActive = true AND r.heldForReview = false " +
+           "GROUP BY COALESCE(r.recyclerId, r.recyclerName), r.materialType")
+    List<Object[]> getQuantityMomentsByRecyclerAndMaterialType();
+
+    /**
+     * Find recycle logs by review status
+     */
+    @Query("SELECT r FROM RecycleLog r WHERE r.reviewStatus = :reviewStatus AND r.isActive = true ORDER BY r.recycleDate DESC")
+    List<RecycleLog> findByReviewStatus(@Param("reviewStatus") RecycleLog.ReviewStatus reviewStatus);
+
+    /**
+     * Backfill the canonical mass for rows in one unit that predate it
+     */
+    @Modifying
+    @Query("UPDATE RecycleLog r SET r.quantityGrams = CAST(ROUND(r.quantityRecycled * :gramsPerUnit, 0) AS Long) " +
+           "WHERE r.quantityGrams IS NULL AND LOWER(TRIM(r.unit)) = :unit")
+    int backfillQuantityGrams(@Param("unit") String unit, @Param("gramsPerUnit") BigDecimal gramsPerUnit);
+
     /**
      * Get recent recycle logs (last 30 days)
      */
@@ -1,12 +1,17 @@
 package epr.eprapiservices.dao.repository;
 
 import epr.eprapiservices.entity.RecyclingCertification;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -63,6 +68,12 @@ public interface RecyclingCertificationRepository extends JpaRepository<Recyclin
     @Query("SELECT rc FROM RecyclingCertification rc WHERE rc.recyclerId = :recyclerId AND rc.isActive = true ORDER BY rc.expiryDate ASC")
     List<RecyclingCertification> findByRecyclerId(@Param("recyclerId") String recyclerId);
 
+    /**
+     * Find active certifications for any of the given recycler IDs
+     */
+    @Query("SELECT rc FROM RecyclingCertification rc WHERE rc.recyclerId IN :recyclerIds AND rc.isActive = true")
+    List<RecyclingCertification> findActiveByRecyclerIdIn(@Param("recyclerIds") Collection<String> recyclerIds);
+
     /**
      * Find certifications by status
      */
@@ -93,6 +104,14 @@ public interface RecyclingCertificationRepository extends JpaRepository<Recyclin
     @Query("SELECT rc FROM RecyclingCertification rc WHERE rc.issueDate BETWEEN :startDate AND :endDate AND rc.isActive = true ORDER BY rc.issueDate DESC")
     List<RecyclingCertification> findByIssueDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    /**
+     * Find active certifications with a stored file that were in force at some point of a date range
+     */
+    @Query("SELECT rc FROM RecyclingCertification rc WHERE rc.certificationFilePath IS NOT NULL AND rc.certificationFilePath <> '' " +
+           "AND rc.isActive = true AND (:fromDate IS NULL OR rc.expiryDate >= :fromDate) " +
+           "AND (:toDate IS NULL OR rc.issueDate <= :toDate) ORDER BY rc.certificationId")
+    List<RecyclingCertification> findForAuditBundle(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
     /**
      * Check if certification number exists (excluding specific ID)
      */
@@ -116,6 +135,25 @@ public interface RecyclingCertificationRepository extends JpaRepository<Recyclin
     @Query("SELECT rc.certificationStatus, COUNT(rc) FROM RecyclingCertification rc WHERE rc.isActive = true GROUP BY rc.certificationStatus")
     List<Object[]> getCertificationStatsByStatus();
 
+    /**
+     * Find IDs of valid certifications whose expiry date is before the given date, locking
+     * the rows until the transaction ends so they can be expired by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT rc.certificationId FROM RecyclingCertification rc WHERE rc.expiryDate < :asOf AND rc.certificationStatus = :status AND rc.isActive = true")
+    List<Integer> findIdsToExpire(@Param("asOf") LocalDate asOf,
+                                  @Param("status") RecyclingCertification.CertificationStatus status);
+
+    /**
+     * Flip the given certifications from the given status to EXPIRED
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RecyclingCertification rc SET rc.certificationStatus = :expired " +
+           "WHERE rc.certificationId IN :ids AND rc.certificationStatus = :status")
+    int expireCertifications(@Param("ids") Collection<Integer> ids,
+                             @Param("status") RecyclingCertification.CertificationStatus status,
+                             @Param("expired") RecyclingCertification.CertificationStatus expired);
+
     /**
      * Search certifications by multiple criteria
      */
@@ -1,8 +1,17 @@
 package epr.eprapiservices.dao.repository;
 
-
 import epr.eprapiservices.Models.RoleModuleaccess;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface RoleModuleaccessRepository extends JpaRepository<RoleModuleaccess, Integer> {
+
+    /**
+     * Get role ID, module ID, view and edit flags of every active module grant
+     */
+    @Query("SELECT a.roleId, a.moduleId, a.canView, a.canEdit FROM RoleModuleaccess a " +
+           "WHERE a.isActive IS NULL OR a.isActive = true")
+    List<Object[]> findActiveGrants();
 }
@@ -2,6 +2,16 @@ package epr.eprapiservices.dao.repository;
 
 import epr.eprapiservices.Models.Rolepageaccess;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface RolepageaccessRepository extends JpaRepository<Rolepageaccess, Integer> {
+
+    /**
+     * Get role ID, page ID, view and edit flags of every active page grant
+     */
+    @Query("SELECT a.roleId, a.pageId, a.canView, a.canEdit FROM Rolepageaccess a " +
+           "WHERE a.isActive IS NULL OR a.isActive = true")
+    List<Object[]> findActiveGrants();
 }
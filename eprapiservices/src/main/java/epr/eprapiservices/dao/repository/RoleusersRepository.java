@@ -2,6 +2,25 @@ package epr.eprapiservices.dao.repository;
 
 import epr.eprapiservices.Models.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface RoleusersRepository extends JpaRepository<RoleUsers, Integer> {
+
+    /**
+     * Get the names of the active roles assigned to a user
+     */
+    @Query("SELECT DISTINCT r.roleName FROM RoleUsers ru, Role r " +
+           "WHERE ru.roleId = r.roleid AND ru.userId = :userId " +
+           "AND (ru.isActive IS NULL OR ru.isActive = true) AND (r.isActive IS NULL OR r.isActive = true)")
+    List<String> findRoleNamesByUserId(@Param("userId") Integer userId);
+
+    /**
+     * Get the IDs of the active roles assigned to a user
+     */
+    @Query("SELECT DISTINCT r.roleid FROM RoleUsers ru, Role r WHERE ru.roleId = r.roleid AND ru.userId = :userId " +
+           "AND (ru.isActive IS NULL OR ru.isActive = true) AND (r.isActive IS NULL OR r.isActive = true)")
+    List<Long> findActiveRoleIdsByUserId(@Param("userId") Integer userId);
 }
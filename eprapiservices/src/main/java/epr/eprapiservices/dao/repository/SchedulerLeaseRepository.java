@@ -0,0 +1,47 @@
+package epr.eprapiservices.dao.repository;
+
+import epr.eprapiservices.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for SchedulerLease entity operations.
+ * Each statement commits in its own transaction, even when called inside another one, so
+ * other nodes see lease changes immediately.
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Take the lease if it has lapsed or is already ours; returns 1 if acquired, 0 otherwise
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.ownerId = :ownerId, l.leasedUntil = :leasedUntil " +
+           "WHERE l.leaseName = :leaseName AND (l.leasedUntil < :now OR l.ownerId = :ownerId)")
+    int tryAcquire(@Param("leaseName") String leaseName, @Param("ownerId") String ownerId,
+                   @Param("now") LocalDateTime now, @Param("leasedUntil") LocalDateTime leasedUntil);
+
+    /**
+     * Create the lease row, already lapsed; fails with a constraint violation if it exists
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("INSERT INTO SchedulerLease (leaseName, leasedUntil) VALUES (:leaseName, :leasedUntil)")
+    int create(@Param("leaseName") String leaseName, @Param("leasedUntil") LocalDateTime leasedUntil);
+
+    /**
+     * Give the lease up early if we still hold it
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.leasedUntil = :now WHERE l.leaseName = :leaseName AND l.ownerId = :ownerId")
+    int release(@Param("leaseName") String leaseName, @Param("ownerId") String ownerId, @Param("now") LocalDateTime now);
+}
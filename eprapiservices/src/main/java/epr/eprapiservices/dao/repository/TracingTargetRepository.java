@@ -2,10 +2,12 @@ package epr.eprapiservices.dao.repository;
 
 import epr.eprapiservices.entity.TracingTarget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -124,11 +126,20 @@ public interface TracingTargetRepository extends JpaRepository<TracingTarget, In
     List<Object[]> getTargetStatsByPriority();
 
     /**
-     * Get overall progress by material type
+     * Get overall progress by material type (target and achieved mass in grams, average progress)
      */
-    @Query("SELECT tt.materialType, COALESCE(SUM(tt.targetQuantity), 0), COALESCE(SUM(tt.achievedQuantity), 0), COALESCE(AVG(tt.progressPercentage), 0) FROM TracingTarget tt WHERE tt.isActive = true GROUP BY tt.materialType")
+    @Query("SELECT tt.materialType, COALESCE(SUM(tt.targetQuantityGrams), 0), COALESCE(SUM(tt.achievedQuantityGrams), 0), COALESCE(AVG(tt.progressPercentage), 0) FROM TracingTarget tt WHERE tt.isActive = true GROUP BY tt.materialType")
     List<Object[]> getProgressByMaterialType();
 
+    /**
+     * Backfill the canonical masses for rows in one unit that predate them
+     */
+    @Modifying
+    @Query("UPDATE TracingTarget tt SET tt.targetQuantityGrams = CAST(ROUND(tt.targetQuantity * :gramsPerUnit, 0) AS Long), " +
+           "tt.achievedQuantityGrams = CAST(ROUND(COALESCE(tt.achievedQuantity, 0) * :gramsPerUnit, 0) AS Long) " +
+           "WHERE tt.targetQuantityGrams IS NULL AND LOWER(TRIM(tt.unit)) = :unit")
+    int backfillQuantityGrams(@Param("unit") String unit, @Param("gramsPerUnit") BigDecimal gramsPerUnit);
+
     /**
      * Search targets by multiple criteria
      */
@@ -3,9 +3,11 @@ package epr.eprapiservices.dao.repository;
 
 import epr.eprapiservices.Models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +39,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Get the active flag of a user without loading the entity; a NULL flag counts as
+     * active, as in BaseModel, so the result is only empty for a missing user.
+     */
+    @Query("SELECT COALESCE(u.isActive, true) FROM User u WHERE u.userId = :userId")
+    Optional<Boolean> findIsActiveByUserId(@Param("userId") Integer userId);
+
+    /**
+     * Replace the stored password of a user with its hash.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.userId = :userId")
+    int updatePasswordHash(@Param("userId") Integer userId, @Param("passwordHash") String passwordHash);
+
     /**
      * Find users by active status.
      */
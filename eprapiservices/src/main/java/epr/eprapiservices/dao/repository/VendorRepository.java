@@ -64,4 +64,10 @@ public interface VendorRepository extends JpaRepository<Vendor, Integer> {
      * Check if vendor name exists
      */
     boolean existsByVendorNameIgnoreCase(String vendorName);
+
+    /**
+     * Autocomplete rows of active vendors: ID, name, code, sort order (none) and usage (none)
+     */
+    @Query("SELECT v.vendorId, v.vendorName, v.vendorCode, NULL, 0 FROM Vendor v WHERE v.isActive = true")
+    List<Object[]> findAutocompleteRows();
 }
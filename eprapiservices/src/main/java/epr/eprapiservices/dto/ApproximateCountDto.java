@@ -0,0 +1,44 @@
+package epr.eprapiservices.dto;
+
+/**
+ * DTO for an approximate distinct count computed from HyperLogLog sketches.
+ */
+public class ApproximateCountDto {
+
+    private long estimate;
+    private double relativeStandardError;
+
+    // Default constructor
+    public ApproximateCountDto() {}
+
+    // Constructor with parameters
+    public ApproximateCountDto(long estimate, double relativeStandardError) {
+        this.estimate = estimate;
+        this.relativeStandardError = relativeStandardError;
+    }
+
+    // Getters and Setters
+    public long getEstimate() {
+        return estimate;
+    }
+
+    public void setEstimate(long estimate) {
+        this.estimate = estimate;
+    }
+
+    public double getRelativeStandardError() {
+        return relativeStandardError;
+    }
+
+    public void setRelativeStandardError(double relativeStandardError) {
+        this.relativeStandardError = relativeStandardError;
+    }
+
+    @Override
+    public String toString() {
+        return "ApproximateCountDto{" +
+                "estimate=" + estimate +
+                ", relativeStandardError=" + relativeStandardError +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package epr.eprapiservices.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO for approximate quantiles computed from t-digest sketches.
+ * Quantiles are keyed by percentile label, e.g. "p50" or "p95".
+ */
+public class ApproximateQuantilesDto {
+
+    private long sampleCount;
+    private Map<String, Double> quantiles = new LinkedHashMap<>();
+
+    // Default constructor
+    public ApproximateQuantilesDto() {}
+
+    // Constructor with parameters
+    public ApproximateQuantilesDto(long sampleCount, Map<String, Double> quantiles) {
+        this.sampleCount = sampleCount;
+        this.quantiles = quantiles;
+    }
+
+    // Getters and Setters
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(long sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public Map<String, Double> getQuantiles() {
+        return quantiles;
+    }
+
+    public void setQuantiles(Map<String, Double> quantiles) {
+        this.quantiles = quantiles;
+    }
+
+    @Override
+    public String toString() {
+        return "ApproximateQuantilesDto{" +
+                "sampleCount=" + sampleCount +
+                ", quantiles=" + quantiles +
+                '}';
+    }
+}
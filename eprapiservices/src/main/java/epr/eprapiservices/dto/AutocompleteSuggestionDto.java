@@ -0,0 +1,54 @@
+package epr.eprapiservices.dto;
+
+/**
+ * DTO for one autocomplete suggestion: the entity's ID, display name and code.
+ */
+public class AutocompleteSuggestionDto {
+
+    private Long id;
+    private String label;
+    private String code;
+
+    // Default constructor
+    public AutocompleteSuggestionDto() {}
+
+    public AutocompleteSuggestionDto(Long id, String label, String code) {
+        this.id = id;
+        this.label = label;
+        this.code = code;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    @Override
+    public String toString() {
+        return "AutocompleteSuggestionDto{" +
+                "id=" + id +
+                ", label='" + label + '\'' +
+                ", code='" + code + '\'' +
+                '}';
+    }
+}
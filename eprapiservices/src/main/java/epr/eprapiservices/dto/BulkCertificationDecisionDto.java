@@ -0,0 +1,89 @@
+package epr.eprapiservices.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a bulk verify/reject request on product certifications.
+ * Each item may carry the version the reviewer saw; items without one are checked
+ * against the version read at the start of the request.
+ */
+public class BulkCertificationDecisionDto {
+
+    public enum Decision {
+        VERIFY,
+        REJECT
+    }
+
+    private Decision decision;
+    private String reviewedBy;
+    private String reason;
+    private List<Item> items = new ArrayList<>();
+
+    // Default constructor
+    public BulkCertificationDecisionDto() {}
+
+    // Getters and Setters
+    public Decision getDecision() {
+        return decision;
+    }
+
+    public void setDecision(Decision decision) {
+        this.decision = decision;
+    }
+
+    public String getReviewedBy() {
+        return reviewedBy;
+    }
+
+    public void setReviewedBy(String reviewedBy) {
+        this.reviewedBy = reviewedBy;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    /**
+     * One certification to decide on, with the optional expected version
+     */
+    public static class Item {
+        private Long certificationId;
+        private Long version;
+
+        public Item() {}
+
+        public Item(Long certificationId, Long version) {
+            this.certificationId = certificationId;
+            this.version = version;
+        }
+
+        public Long getCertificationId() {
+            return certificationId;
+        }
+
+        public void setCertificationId(Long certificationId) {
+            this.certificationId = certificationId;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package epr.eprapiservices.dto;
+
+/**
+ * DTO for the outcome of a bulk verify/reject request for one certification.
+ */
+public class BulkCertificationOutcomeDto {
+
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        VERSION_CONFLICT
+    }
+
+    private Long certificationId;
+    private Outcome outcome;
+    private Long version;
+
+    // Default constructor
+    public BulkCertificationOutcomeDto() {}
+
+    // Constructor with parameters
+    public BulkCertificationOutcomeDto(Long certificationId, Outcome outcome, Long version) {
+        this.certificationId = certificationId;
+        this.outcome = outcome;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public Long getCertificationId() {
+        return certificationId;
+    }
+
+    public void setCertificationId(Long certificationId) {
+        this.certificationId = certificationId;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    /**
+     * Version after the update when applied; the current version on a conflict
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkCertificationOutcomeDto{" +
+                "certificationId=" + certificationId +
+                ", outcome=" + outcome +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,110 @@
+package epr.eprapiservices.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for product certification counts, either for one product (productId set)
+ * or summarised across the portfolio (productCount and computedAt set).
+ */
+public class CertificationStatsDto {
+
+    private Integer productId;
+    private Long productCount;
+    private long total;
+    private long active;
+    private long expired;
+    private long expiringSoon;
+    private long verified;
+    private long withFile;
+    private LocalDateTime computedAt;
+
+    // Default constructor
+    public CertificationStatsDto() {}
+
+    // Getters and Setters
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Integer productId) {
+        this.productId = productId;
+    }
+
+    public Long getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(Long productCount) {
+        this.productCount = productCount;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getActive() {
+        return active;
+    }
+
+    public void setActive(long active) {
+        this.active = active;
+    }
+
+    public long getExpired() {
+        return expired;
+    }
+
+    public void setExpired(long expired) {
+        this.expired = expired;
+    }
+
+    public long getExpiringSoon() {
+        return expiringSoon;
+    }
+
+    public void setExpiringSoon(long expiringSoon) {
+        this.expiringSoon = expiringSoon;
+    }
+
+    public long getVerified() {
+        return verified;
+    }
+
+    public void setVerified(long verified) {
+        this.verified = verified;
+    }
+
+    public long getWithFile() {
+        return withFile;
+    }
+
+    public void setWithFile(long withFile) {
+        this.withFile = withFile;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CertificationStatsDto{" +
+                "productId=" + productId +
+                ", productCount=" + productCount +
+                ", total=" + total +
+                ", active=" + active +
+                ", expired=" + expired +
+                ", expiringSoon=" + expiringSoon +
+                ", verified=" + verified +
+                ", withFile=" + withFile +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+package epr.eprapiservices.dto;
+
+/**
+ * DTO for the state and acquisition statistics of one database connection pool.
+ */
+public class ConnectionPoolStatsDto {
+
+    private String poolName;
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int pendingThreads;
+    private int maxConnections;
+    private long connectionsAcquired;
+    private double averageAcquireMillis;
+    private double maxAcquireMillis;
+    private long connectionTimeouts;
+    private double averageUsageMillis;
+    private long connectionsCreated;
+
+    // Default constructor
+    public ConnectionPoolStatsDto() {}
+
+    // Getters and Setters
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public void setPoolName(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public void setActiveConnections(int activeConnections) {
+        this.activeConnections = activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public void setIdleConnections(int idleConnections) {
+        this.idleConnections = idleConnections;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public void setTotalConnections(int totalConnections) {
+        this.totalConnections = totalConnections;
+    }
+
+    public int getPendingThreads() {
+        return pendingThreads;
+    }
+
+    public void setPendingThreads(int pendingThreads) {
+        this.pendingThreads = pendingThreads;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public long getConnectionsAcquired() {
+        return connectionsAcquired;
+    }
+
+    public void setConnectionsAcquired(long connectionsAcquired) {
+        this.connectionsAcquired = connectionsAcquired;
+    }
+
+    public double getAverageAcquireMillis() {
+        return averageAcquireMillis;
+    }
+
+    public void setAverageAcquireMillis(double averageAcquireMillis) {
+        this.averageAcquireMillis = averageAcquireMillis;
+    }
+
+    public double getMaxAcquireMillis() {
+        return maxAcquireMillis;
+    }
+
+    public void setMaxAcquireMillis(double maxAcquireMillis) {
+        this.maxAcquireMillis = maxAcquireMillis;
+    }
+
+    public long getConnectionTimeouts() {
+        return connectionTimeouts;
+    }
+
+    public void setConnectionTimeouts(long connectionTimeouts) {
+        this.connectionTimeouts = connectionTimeouts;
+    }
+
+    public double getAverageUsageMillis() {
+        return averageUsageMillis;
+    }
+
+    public void setAverageUsageMillis(double averageUsageMillis) {
+        this.averageUsageMillis = averageUsageMillis;
+    }
+
+    public long getConnectionsCreated() {
+        return connectionsCreated;
+    }
+
+    public void setConnectionsCreated(long connectionsCreated) {
+        this.connectionsCreated = connectionsCreated;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStatsDto{" +
+                "poolName='" + poolName + '\'' +
+                ", activeConnections=" + activeConnections +
+                ", idleConnections=" + idleConnections +
+                ", pendingThreads=" + pendingThreads +
+                ", connectionsAcquired=" + connectionsAcquired +
+                ", averageAcquireMillis=" + averageAcquireMillis +
+                ", connectionTimeouts=" + connectionTimeouts +
+                '}';
+    }
+}
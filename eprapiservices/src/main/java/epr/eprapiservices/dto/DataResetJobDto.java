@@ -0,0 +1,155 @@
+package epr.eprapiservices.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO reporting the progress and outcome of one data reset job.
+ */
+public class DataResetJobDto {
+
+    private String jobId;
+    private List<String> tables = new ArrayList<>();
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String currentTable;
+    private long rowsTotal;
+    private long rowsDeleted;
+    private int percentComplete;
+    private Map<String, Long> deletedCounts = new LinkedHashMap<>();
+    private List<String> truncatedTables = new ArrayList<>();
+    private boolean cancelRequested;
+    private String message;
+    private long durationMillis;
+
+    // Default constructor
+    public DataResetJobDto() {}
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public List<String> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<String> tables) {
+        this.tables = tables;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getCurrentTable() {
+        return currentTable;
+    }
+
+    public void setCurrentTable(String currentTable) {
+        this.currentTable = currentTable;
+    }
+
+    public long getRowsTotal() {
+        return rowsTotal;
+    }
+
+    public void setRowsTotal(long rowsTotal) {
+        this.rowsTotal = rowsTotal;
+    }
+
+    public long getRowsDeleted() {
+        return rowsDeleted;
+    }
+
+    public void setRowsDeleted(long rowsDeleted) {
+        this.rowsDeleted = rowsDeleted;
+    }
+
+    public int getPercentComplete() {
+        return percentComplete;
+    }
+
+    public void setPercentComplete(int percentComplete) {
+        this.percentComplete = percentComplete;
+    }
+
+    public Map<String, Long> getDeletedCounts() {
+        return deletedCounts;
+    }
+
+    public void setDeletedCounts(Map<String, Long> deletedCounts) {
+        this.deletedCounts = deletedCounts;
+    }
+
+    public List<String> getTruncatedTables() {
+        return truncatedTables;
+    }
+
+    public void setTruncatedTables(List<String> truncatedTables) {
+        this.truncatedTables = truncatedTables;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "DataResetJobDto{" +
+                "jobId='" + jobId + '\'' +
+                ", tables=" + tables +
+                ", status='" + status + '\'' +
+                ", rowsDeleted=" + rowsDeleted +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
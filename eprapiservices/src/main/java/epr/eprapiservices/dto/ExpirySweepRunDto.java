@@ -0,0 +1,90 @@
+package epr.eprapiservices.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO summarising one certification expiry sweep.
+ */
+public class ExpirySweepRunDto {
+
+    private LocalDateTime runAt;
+    private LocalDate asOf;
+    private String nodeId;
+    private boolean leaseAcquired;
+    private int recyclingCertificationsExpired;
+    private int productCertificationsExpired;
+    private long durationMillis;
+
+    // Default constructor
+    public ExpirySweepRunDto() {}
+
+    // Getters and Setters
+    public LocalDateTime getRunAt() {
+        return runAt;
+    }
+
+    public void setRunAt(LocalDateTime runAt) {
+        this.runAt = runAt;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public boolean isLeaseAcquired() {
+        return leaseAcquired;
+    }
+
+    public void setLeaseAcquired(boolean leaseAcquired) {
+        this.leaseAcquired = leaseAcquired;
+    }
+
+    public int getRecyclingCertificationsExpired() {
+        return recyclingCertificationsExpired;
+    }
+
+    public void setRecyclingCertificationsExpired(int recyclingCertificationsExpired) {
+        this.recyclingCertificationsExpired = recyclingCertificationsExpired;
+    }
+
+    public int getProductCertificationsExpired() {
+        return productCertificationsExpired;
+    }
+
+    public void setProductCertificationsExpired(int productCertificationsExpired) {
+        this.productCertificationsExpired = productCertificationsExpired;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpirySweepRunDto{" +
+                "runAt=" + runAt +
+                ", nodeId='" + nodeId + '\'' +
+                ", leaseAcquired=" + leaseAcquired +
+                ", recyclingCertificationsExpired=" + recyclingCertificationsExpired +
+                ", productCertificationsExpired=" + productCertificationsExpired +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
@@ -0,0 +1,149 @@
+package epr.eprapiservices.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO summarising one integrity scrub of the certification upload directory.
+ * Missing files are referenced in the database but absent on disk; orphans are on
+ * disk but not referenced; corrupted files no longer match their recorded hash.
+ */
+public class FileScrubReportDto {
+
+    private LocalDateTime runAt;
+    private boolean leaseAcquired;
+    private long filesScanned;
+    private long filesHashed;
+    private long bytesHashed;
+    private int hashesRecorded;
+    private int orphansReclaimed;
+    private long bytesReclaimed;
+    private long durationMillis;
+    private List<String> missingFiles = new ArrayList<>();
+    private List<String> orphanedFiles = new ArrayList<>();
+    private List<String> corruptedFiles = new ArrayList<>();
+    private List<String> unreadableFiles = new ArrayList<>();
+
+    // Default constructor
+    public FileScrubReportDto() {}
+
+    // Getters and Setters
+    public LocalDateTime getRunAt() {
+        return runAt;
+    }
+
+    public void setRunAt(LocalDateTime runAt) {
+        this.runAt = runAt;
+    }
+
+    public boolean isLeaseAcquired() {
+        return leaseAcquired;
+    }
+
+    public void setLeaseAcquired(boolean leaseAcquired) {
+        this.leaseAcquired = leaseAcquired;
+    }
+
+    public long getFilesScanned() {
+        return filesScanned;
+    }
+
+    public void setFilesScanned(long filesScanned) {
+        this.filesScanned = filesScanned;
+    }
+
+    public long getFilesHashed() {
+        return filesHashed;
+    }
+
+    public void setFilesHashed(long filesHashed) {
+        this.filesHashed = filesHashed;
+    }
+
+    public long getBytesHashed() {
+        return bytesHashed;
+    }
+
+    public void setBytesHashed(long bytesHashed) {
+        this.bytesHashed = bytesHashed;
+    }
+
+    public int getHashesRecorded() {
+        return hashesRecorded;
+    }
+
+    public void setHashesRecorded(int hashesRecorded) {
+        this.hashesRecorded = hashesRecorded;
+    }
+
+    public int getOrphansReclaimed() {
+        return orphansReclaimed;
+    }
+
+    public void setOrphansReclaimed(int orphansReclaimed) {
+        this.orphansReclaimed = orphansReclaimed;
+    }
+
+    public long getBytesReclaimed() {
+        return bytesReclaimed;
+    }
+
+    public void setBytesReclaimed(long bytesReclaimed) {
+        this.bytesReclaimed = bytesReclaimed;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public List<String> getMissingFiles() {
+        return missingFiles;
+    }
+
+    public void setMissingFiles(List<String> missingFiles) {
+        this.missingFiles = missingFiles;
+    }
+
+    public List<String> getOrphanedFiles() {
+        return orphanedFiles;
+    }
+
+    public void setOrphanedFiles(List<String> orphanedFiles) {
+        this.orphanedFiles = orphanedFiles;
+    }
+
+    public List<String> getCorruptedFiles() {
+        return corruptedFiles;
+    }
+
+    public void setCorruptedFiles(List<String> corruptedFiles) {
+        this.corruptedFiles = corruptedFiles;
+    }
+
+    public List<String> getUnreadableFiles() {
+        return unreadableFiles;
+    }
+
+    public void setUnreadableFiles(List<String> unreadableFiles) {
+        this.unreadableFiles = unreadableFiles;
+    }
+
+    @Override
+    public String toString() {
+        return "FileScrubReportDto{" +
+                "runAt=" + runAt +
+                ", filesScanned=" + filesScanned +
+                ", bytesHashed=" + bytesHashed +
+                ", missing=" + missingFiles.size() +
+                ", orphaned=" + orphanedFiles.size() +
+                ", corrupted=" + corruptedFiles.size() +
+                ", orphansReclaimed=" + orphansReclaimed +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
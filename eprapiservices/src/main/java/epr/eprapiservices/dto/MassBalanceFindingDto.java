@@ -0,0 +1,113 @@
+package epr.eprapiservices.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the mass-balance reconciliation result of one recycler and material type.
+ * Logged mass (grams) is split into certified, uncertified (no certification covering
+ * the recycle date) and over-claimed (covered only by a suspended or revoked certification).
+ */
+public class MassBalanceFindingDto {
+
+    private String recyclerId;
+    private String materialType;
+    private long loggedQuantityGrams;
+    private long certifiedQuantityGrams;
+    private long uncertifiedQuantityGrams;
+    private long overClaimedQuantityGrams;
+    private List<Integer> uncertifiedLogIds = new ArrayList<>();
+    private List<Integer> overClaimedLogIds = new ArrayList<>();
+
+    // Default constructor
+    public MassBalanceFindingDto() {}
+
+    // Constructor with parameters
+    public MassBalanceFindingDto(String recyclerId, String materialType) {
+        this.recyclerId = recyclerId;
+        this.materialType = materialType;
+    }
+
+    /**
+     * Whether any logged quantity is not backed by a valid certification
+     */
+    public boolean hasDiscrepancy() {
+        return uncertifiedQuantityGrams > 0 || overClaimedQuantityGrams > 0;
+    }
+
+    // Getters and Setters
+    public String getRecyclerId() {
+        return recyclerId;
+    }
+
+    public void setRecyclerId(String recyclerId) {
+        this.recyclerId = recyclerId;
+    }
+
+    public String getMaterialType() {
+        return materialType;
+    }
+
+    public void setMaterialType(String materialType) {
+        this.materialType = materialType;
+    }
+
+    public long getLoggedQuantityGrams() {
+        return loggedQuantityGrams;
+    }
+
+    public void setLoggedQuantityGrams(long loggedQuantityGrams) {
+        this.loggedQuantityGrams = loggedQuantityGrams;
+    }
+
+    public long getCertifiedQuantityGrams() {
+        return certifiedQuantityGrams;
+    }
+
+    public void setCertifiedQuantityGrams(long certifiedQuantityGrams) {
+        this.certifiedQuantityGrams = certifiedQuantityGrams;
+    }
+
+    public long getUncertifiedQuantityGrams() {
+        return uncertifiedQuantityGrams;
+    }
+
+    public void setUncertifiedQuantityGrams(long uncertifiedQuantityGrams) {
+        this.uncertifiedQuantityGrams = uncertifiedQuantityGrams;
+    }
+
+    public long getOverClaimedQuantityGrams() {
+        return overClaimedQuantityGrams;
+    }
+
+    public void setOverClaimedQuantityGrams(long overClaimedQuantityGrams) {
+        this.overClaimedQuantityGrams = overClaimedQuantityGrams;
+    }
+
+    public List<Integer> getUncertifiedLogIds() {
+        return uncertifiedLogIds;
+    }
+
+    public void setUncertifiedLogIds(List<Integer> uncertifiedLogIds) {
+        this.uncertifiedLogIds = uncertifiedLogIds;
+    }
+
+    public List<Integer> getOverClaimedLogIds() {
+        return overClaimedLogIds;
+    }
+
+    public void setOverClaimedLogIds(List<Integer> overClaimedLogIds) {
+        this.overClaimedLogIds = overClaimedLogIds;
+    }
+
+    @Override
+    public String toString() {
+        return "MassBalanceFindingDto{" +
+                "recyclerId='" + recyclerId + '\'' +
+                ", materialType='" + materialType + '\'' +
+                ", loggedQuantityGrams=" + loggedQuantityGrams +
+                ", uncertifiedQuantityGrams=" + uncertifiedQuantityGrams +
+                ", overClaimedQuantityGrams=" + overClaimedQuantityGrams +
+                '}';
+    }
+}
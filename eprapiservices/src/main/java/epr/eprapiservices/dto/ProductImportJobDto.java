@@ -0,0 +1,184 @@
+package epr.eprapiservices.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO reporting the progress and outcome of one product data CSV import.
+ */
+public class ProductImportJobDto {
+
+    private String jobId;
+    private String fileName;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long bytesTotal;
+    private long bytesRead;
+    private int percentComplete;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsSkipped;
+    private Map<String, Long> insertedCounts = new LinkedHashMap<>();
+    private Map<String, Long> updatedCounts = new LinkedHashMap<>();
+    private List<String> errors = new ArrayList<>();
+    private String message;
+    private long durationMillis;
+    private long rowsPerSecond;
+
+    // Default constructor
+    public ProductImportJobDto() {}
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getBytesTotal() {
+        return bytesTotal;
+    }
+
+    public void setBytesTotal(long bytesTotal) {
+        this.bytesTotal = bytesTotal;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public int getPercentComplete() {
+        return percentComplete;
+    }
+
+    public void setPercentComplete(int percentComplete) {
+        this.percentComplete = percentComplete;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public void setRowsSkipped(long rowsSkipped) {
+        this.rowsSkipped = rowsSkipped;
+    }
+
+    public Map<String, Long> getInsertedCounts() {
+        return insertedCounts;
+    }
+
+    public void setInsertedCounts(Map<String, Long> insertedCounts) {
+        this.insertedCounts = insertedCounts;
+    }
+
+    public Map<String, Long> getUpdatedCounts() {
+        return updatedCounts;
+    }
+
+    public void setUpdatedCounts(Map<String, Long> updatedCounts) {
+        this.updatedCounts = updatedCounts;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductImportJobDto{" +
+                "jobId='" + jobId + '\'' +
+                ", fileName='" + fileName + '\'' +
+                ", status='" + status + '\'' +
+                ", rowsRead=" + rowsRead +
+                ", rowsImported=" + rowsImported +
+                ", rowsSkipped=" + rowsSkipped +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
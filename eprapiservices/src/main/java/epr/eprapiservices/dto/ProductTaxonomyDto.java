@@ -0,0 +1,223 @@
+package epr.eprapiservices.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the product taxonomy tree: active product groups, each with its active
+ * categories, each with its active product types.
+ */
+public class ProductTaxonomyDto {
+
+    private List<GroupNode> productGroups = new ArrayList<>();
+    private int categoryCount;
+    private int productTypeCount;
+
+    // Default constructor
+    public ProductTaxonomyDto() {}
+
+    // Getters and Setters
+    public List<GroupNode> getProductGroups() {
+        return productGroups;
+    }
+
+    public void setProductGroups(List<GroupNode> productGroups) {
+        this.productGroups = productGroups;
+    }
+
+    public int getCategoryCount() {
+        return categoryCount;
+    }
+
+    public void setCategoryCount(int categoryCount) {
+        this.categoryCount = categoryCount;
+    }
+
+    public int getProductTypeCount() {
+        return productTypeCount;
+    }
+
+    public void setProductTypeCount(int productTypeCount) {
+        this.productTypeCount = productTypeCount;
+    }
+
+    /**
+     * A product group and its categories
+     */
+    public static class GroupNode {
+        private Integer productGroupId;
+        private String productGroupName;
+        private String description;
+        private Integer sortOrder;
+        private List<CategoryNode> categories = new ArrayList<>();
+
+        public GroupNode() {}
+
+        public GroupNode(Integer productGroupId, String productGroupName, String description, Integer sortOrder) {
+            this.productGroupId = productGroupId;
+            this.productGroupName = productGroupName;
+            this.description = description;
+            this.sortOrder = sortOrder;
+        }
+
+        public Integer getProductGroupId() {
+            return productGroupId;
+        }
+
+        public void setProductGroupId(Integer productGroupId) {
+            this.productGroupId = productGroupId;
+        }
+
+        public String getProductGroupName() {
+            return productGroupName;
+        }
+
+        public void setProductGroupName(String productGroupName) {
+            this.productGroupName = productGroupName;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public Integer getSortOrder() {
+            return sortOrder;
+        }
+
+        public void setSortOrder(Integer sortOrder) {
+            this.sortOrder = sortOrder;
+        }
+
+        public List<CategoryNode> getCategories() {
+            return categories;
+        }
+
+        public void setCategories(List<CategoryNode> categories) {
+            this.categories = categories;
+        }
+    }
+
+    /**
+     * A product category and its product types
+     */
+    public static class CategoryNode {
+        private Integer productCategoryId;
+        private String productCategoryName;
+        private String description;
+        private Integer sortOrder;
+        private List<TypeNode> productTypes = new ArrayList<>();
+
+        public CategoryNode() {}
+
+        public CategoryNode(Integer productCategoryId, String productCategoryName, String description, Integer sortOrder) {
+            this.productCategoryId = productCategoryId;
+            this.productCategoryName = productCategoryName;
+            this.description = description;
+            this.sortOrder = sortOrder;
+        }
+
+        public Integer getProductCategoryId() {
+            return productCategoryId;
+        }
+
+        public void setProductCategoryId(Integer productCategoryId) {
+            this.productCategoryId = productCategoryId;
+        }
+
+        public String getProductCategoryName() {
+            return productCategoryName;
+        }
+
+        public void setProductCategoryName(String productCategoryName) {
+            this.productCategoryName = productCategoryName;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public Integer getSortOrder() {
+            return sortOrder;
+        }
+
+        public void setSortOrder(Integer sortOrder) {
+            this.sortOrder = sortOrder;
+        }
+
+        public List<TypeNode> getProductTypes() {
+            return productTypes;
+        }
+
+        public void setProductTypes(List<TypeNode> productTypes) {
+            this.productTypes = productTypes;
+        }
+    }
+
+    /**
+     * A product type, the leaf of the tree
+     */
+    public static class TypeNode {
+        private Integer productTypeId;
+        private String productTypeName;
+        private String description;
+        private Integer sortOrder;
+
+        public TypeNode() {}
+
+        public TypeNode(Integer productTypeId, String productTypeName, String description, Integer sortOrder) {
+            this.productTypeId = productTypeId;
+            this.productTypeName = productTypeName;
+            this.description = description;
+            this.sortOrder = sortOrder;
+        }
+
+        public Integer getProductTypeId() {
+            return productTypeId;
+        }
+
+        public void setProductTypeId(Integer productTypeId) {
+            this.productTypeId = productTypeId;
+        }
+
+        public String getProductTypeName() {
+            return productTypeName;
+        }
+
+        public void setProductTypeName(String productTypeName) {
+            this.productTypeName = productTypeName;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public Integer getSortOrder() {
+            return sortOrder;
+        }
+
+        public void setSortOrder(Integer sortOrder) {
+            this.sortOrder = sortOrder;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ProductTaxonomyDto{" +
+                "productGroups=" + productGroups.size() +
+                ", categoryCount=" + categoryCount +
+                ", productTypeCount=" + productTypeCount +
+                '}';
+    }
+}
@@ -0,0 +1,88 @@
+package epr.eprapiservices.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO summarising one mass-balance reconciliation run.
+ */
+public class ReconciliationRunDto {
+
+    private LocalDateTime runAt;
+    private boolean fullRun;
+    private int keysReconciled;
+    private int logsScanned;
+    private int certificationsScanned;
+    private int keysWithDiscrepancies;
+    private long durationMillis;
+
+    // Default constructor
+    public ReconciliationRunDto() {}
+
+    // Getters and Setters
+    public LocalDateTime getRunAt() {
+        return runAt;
+    }
+
+    public void setRunAt(LocalDateTime runAt) {
+        this.runAt = runAt;
+    }
+
+    public boolean isFullRun() {
+        return fullRun;
+    }
+
+    public void setFullRun(boolean fullRun) {
+        this.fullRun = fullRun;
+    }
+
+    public int getKeysReconciled() {
+        return keysReconciled;
+    }
+
+    public void setKeysReconciled(int keysReconciled) {
+        this.keysReconciled = keysReconciled;
+    }
+
+    public int getLogsScanned() {
+        return logsScanned;
+    }
+
+    public void setLogsScanned(int logsScanned) {
+        this.logsScanned = logsScanned;
+    }
+
+    public int getCertificationsScanned() {
+        return certificationsScanned;
+    }
+
+    public void setCertificationsScanned(int certificationsScanned) {
+        this.certificationsScanned = certificationsScanned;
+    }
+
+    public int getKeysWithDiscrepancies() {
+        return keysWithDiscrepancies;
+    }
+
+    public void setKeysWithDiscrepancies(int keysWithDiscrepancies) {
+        this.keysWithDiscrepancies = keysWithDiscrepancies;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ReconciliationRunDto{" +
+                "runAt=" + runAt +
+                ", fullRun=" + fullRun +
+                ", keysReconciled=" + keysReconciled +
+                ", keysWithDiscrepancies=" + keysWithDiscrepancies +
+                ", durationMillis=" + durationMillis +
+                '}';
+    }
+}
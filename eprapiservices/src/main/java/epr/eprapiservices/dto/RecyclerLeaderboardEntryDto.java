@@ -0,0 +1,66 @@
+package epr.eprapiservices.dto;
+
+/**
+ * DTO for a single row of the recycler leaderboard.
+ */
+public class RecyclerLeaderboardEntryDto {
+
+    private int rank;
+    private String recyclerId;
+    private String recyclerName;
+    private long totalQuantityGrams;
+
+    // Default constructor
+    public RecyclerLeaderboardEntryDto() {}
+
+    // Constructor with parameters
+    public RecyclerLeaderboardEntryDto(int rank, String recyclerId, String recyclerName, long totalQuantityGrams) {
+        this.rank = rank;
+        this.recyclerId = recyclerId;
+        this.recyclerName = recyclerName;
+        this.totalQuantityGrams = totalQuantityGrams;
+    }
+
+    // Getters and Setters
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public String getRecyclerId() {
+        return recyclerId;
+    }
+
+    public void setRecyclerId(String recyclerId) {
+        this.recyclerId = recyclerId;
+    }
+
+    public String getRecyclerName() {
+        return recyclerName;
+    }
+
+    public void setRecyclerName(String recyclerName) {
+        this.recyclerName = recyclerName;
+    }
+
+    public long getTotalQuantityGrams() {
+        return totalQuantityGrams;
+    }
+
+    public void setTotalQuantityGrams(long totalQuantityGrams) {
+        this.totalQuantityGrams = totalQuantityGrams;
+    }
+
+    @Override
+    public String toString() {
+        return "RecyclerLeaderboardEntryDto{" +
+                "rank=" + rank +
+                ", recyclerId='" + recyclerId + '\'' +
+                ", recyclerName='" + recyclerName + '\'' +
+                ", totalQuantityGrams=" + totalQuantityGrams +
+                '}';
+    }
+}
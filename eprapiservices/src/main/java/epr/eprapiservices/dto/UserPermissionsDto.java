@@ -0,0 +1,70 @@
+package epr.eprapiservices.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the effective page and module permissions of a user.
+ */
+public class UserPermissionsDto {
+
+    private Integer userId;
+    private List<Integer> viewablePageIds;
+    private List<Integer> editablePageIds;
+    private List<Integer> viewableModuleIds;
+    private List<Integer> editableModuleIds;
+
+    // Default constructor
+    public UserPermissionsDto() {}
+
+    // Getters and Setters
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    public List<Integer> getViewablePageIds() {
+        return viewablePageIds;
+    }
+
+    public void setViewablePageIds(List<Integer> viewablePageIds) {
+        this.viewablePageIds = viewablePageIds;
+    }
+
+    public List<Integer> getEditablePageIds() {
+        return editablePageIds;
+    }
+
+    public void setEditablePageIds(List<Integer> editablePageIds) {
+        this.editablePageIds = editablePageIds;
+    }
+
+    public List<Integer> getViewableModuleIds() {
+        return viewableModuleIds;
+    }
+
+    public void setViewableModuleIds(List<Integer> viewableModuleIds) {
+        this.viewableModuleIds = viewableModuleIds;
+    }
+
+    public List<Integer> getEditableModuleIds() {
+        return editableModuleIds;
+    }
+
+    public void setEditableModuleIds(List<Integer> editableModuleIds) {
+        this.editableModuleIds = editableModuleIds;
+    }
+
+    @Override
+    public String toString() {
+        return "UserPermissionsDto{" +
+                "userId=" + userId +
+                ", viewablePageIds=" + viewablePageIds +
+                ", editablePageIds=" + editablePageIds +
+                ", viewableModuleIds=" + viewableModuleIds +
+                ", editableModuleIds=" + editableModuleIds +
+                '}';
+    }
+}
@@ -2,6 +2,7 @@ package epr.eprapiservices.entity;
 
 import epr.eprapiservices.Models.BaseModel;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import epr.eprapiservices.event.SearchIndexEntityListener;
 import jakarta.persistence.*;
 
 import java.util.ArrayList;
@@ -9,6 +10,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "components")
+@EntityListeners(SearchIndexEntityListener.class)
 public class Component extends BaseModel {
 
     @Id
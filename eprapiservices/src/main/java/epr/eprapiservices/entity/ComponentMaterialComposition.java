@@ -1,6 +1,7 @@
 package epr.eprapiservices.entity;
 
 import epr.eprapiservices.Models.BaseModel;
+import epr.eprapiservices.util.SequenceIds;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
@@ -11,8 +12,14 @@ import java.math.BigDecimal;
 @Table(name = "component_material_compositions")
 public class ComponentMaterialComposition extends BaseModel {
 
+    /**
+     * Sequence of the ids; pooled, so inserts can be batched
+     */
+    public static final String ID_SEQUENCE = "component_material_compositions_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = SequenceIds.BLOCK_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -1,12 +1,15 @@
 package epr.eprapiservices.entity;
 
 import epr.eprapiservices.Models.BaseModel;
+import epr.eprapiservices.event.ReferenceDataEntityListener;
+import epr.eprapiservices.event.SearchIndexEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(name = "material")
+@EntityListeners({ReferenceDataEntityListener.class, SearchIndexEntityListener.class})
 public class Material extends BaseModel {
 
     @Id
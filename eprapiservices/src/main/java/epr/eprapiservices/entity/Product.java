@@ -2,6 +2,7 @@ package epr.eprapiservices.entity;
 
 import epr.eprapiservices.Models.BaseModel;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import epr.eprapiservices.event.SearchIndexEntityListener;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,6 +14,7 @@ import java.util.List;
  */
 @Entity
 @Table(name = "product")
+@EntityListeners(SearchIndexEntityListener.class)
 public class Product extends BaseModel {
 
     @Id
@@ -1,6 +1,7 @@
 package epr.eprapiservices.entity;
 
 import epr.eprapiservices.Models.BaseModel;
+import epr.eprapiservices.event.ReferenceDataEntityListener;
 import jakarta.persistence.*;
 
 /**
@@ -8,6 +9,7 @@ import jakarta.persistence.*;
  */
 @Entity
 @Table(name = "productcategory")
+@EntityListeners(ReferenceDataEntityListener.class)
 public class ProductCategory extends BaseModel {
 
     @Id
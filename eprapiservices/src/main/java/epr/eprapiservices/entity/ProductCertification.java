@@ -74,6 +74,10 @@ public class ProductCertification extends BaseModel {
     @Column(name = "fileSize")
     private Long fileSize;
 
+    @Size(max = 64, message = "Content hash must not exceed 64 characters")
+    @Column(name = "contentHash", length = 64)
+    private String contentHash; // SHA-256 of the stored file, hex encoded
+
     @Column(name = "compliancePercentage")
     private Double compliancePercentage;
 
@@ -92,6 +96,10 @@ public class ProductCertification extends BaseModel {
     @Column(name = "notes", length = 500)
     private String notes;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version; // Optimistic lock, bumped on every update
+
     // Relationship with Product
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "productId", insertable = false, updatable = false)
@@ -263,6 +271,22 @@ public class ProductCertification extends BaseModel {
         return notes;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public void setNotes(String notes) {
         this.notes = notes;
     }
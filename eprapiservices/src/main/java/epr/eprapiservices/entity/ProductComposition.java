@@ -1,6 +1,7 @@
 package epr.eprapiservices.entity;
 
 import epr.eprapiservices.Models.BaseModel;
+import epr.eprapiservices.util.SequenceIds;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 
@@ -11,8 +12,14 @@ import java.math.BigDecimal;
 @Table(name = "productcomposition")
 public class ProductComposition extends BaseModel {
 
+    /**
+     * Sequence of the ids; pooled, so inserts can be batched
+     */
+    public static final String ID_SEQUENCE = "productcomposition_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = SequenceIds.BLOCK_SIZE)
     @Column(name = "productCompositionId")
     private Integer productCompositionId;
 
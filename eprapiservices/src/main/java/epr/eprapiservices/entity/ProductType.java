@@ -1,10 +1,12 @@
 package epr.eprapiservices.entity;
 
 import epr.eprapiservices.Models.BaseModel;
+import epr.eprapiservices.event.ReferenceDataEntityListener;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "producttype")
+@EntityListeners(ReferenceDataEntityListener.class)
 public class ProductType extends BaseModel {
 
     @Id
@@ -1,6 +1,8 @@
 package epr.eprapiservices.entity;
 
 import epr.eprapiservices.Models.BaseModel;
+import epr.eprapiservices.util.MassUnits;
+import epr.eprapiservices.util.SequenceIds;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
@@ -13,8 +15,14 @@ import java.time.LocalDateTime;
 @Table(name = "recycle_log")
 public class RecycleLog extends BaseModel {
 
+    /**
+     * Sequence of the ids; pooled, so inserts can be batched
+     */
+    public static final String ID_SEQUENCE = "recycle_log_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = SequenceIds.BLOCK_SIZE)
     @Column(name = "recycleLogId")
     private Integer recycleLogId;
 
@@ -34,6 +42,9 @@ public class RecycleLog extends BaseModel {
     @Column(name = "unit", nullable = false, length = 20)
     private String unit; // kg, tonnes, pieces, etc.
 
+    @Column(name = "quantityGrams")
+    private Long quantityGrams; // Canonical mass, derived from quantityRecycled and unit; null for non-mass units
+
     @NotNull(message = "Recycle date is required")
     @Column(name = "recycleDate", nullable = false)
     private LocalDateTime recycleDate;
@@ -76,6 +87,16 @@ public class RecycleLog extends BaseModel {
     @Column(name = "recoveryRate", precision = 5, scale = 2)
     private BigDecimal recoveryRate; // Percentage
 
+    @Column(name = "anomalyScore", precision = 10, scale = 2)
+    private BigDecimal anomalyScore; // Set when the log was flagged as an outlier
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reviewStatus")
+    private ReviewStatus reviewStatus;
+
+    @Column(name = "heldForReview", nullable = false)
+    private Boolean heldForReview = false; // Excluded from aggregates until approved
+
     // Enums
     public enum ProcessingMethod {
         MECHANICAL_RECYCLING,
@@ -94,6 +115,12 @@ public class RecycleLog extends BaseModel {
         MIXED
     }
 
+    public enum ReviewStatus {
+        PENDING_REVIEW,
+        APPROVED,
+        REJECTED
+    }
+
     // Default constructor
     public RecycleLog() {
         this.recycleDate = LocalDateTime.now();
@@ -112,6 +139,37 @@ public class RecycleLog extends BaseModel {
         this.location = location;
     }
 
+    // Copy constructor, used to capture a detached snapshot of a log
+    public RecycleLog(RecycleLog source) {
+        this.recycleLogId = source.recycleLogId;
+        this.materialType = source.materialType;
+        this.quantityRecycled = source.quantityRecycled;
+        this.unit = source.unit;
+        this.quantityGrams = MassUnits.toGrams(source.quantityRecycled, source.unit);
+        this.recycleDate = source.recycleDate;
+        this.recyclerName = source.recyclerName;
+        this.recyclerId = source.recyclerId;
+        this.location = source.location;
+        this.processingMethod = source.processingMethod;
+        this.qualityGrade = source.qualityGrade;
+        this.notes = source.notes;
+        this.batchNumber = source.batchNumber;
+        this.recoveryRate = source.recoveryRate;
+        this.anomalyScore = source.anomalyScore;
+        this.reviewStatus = source.reviewStatus;
+        this.heldForReview = source.heldForReview;
+        this.isActive = source.isActive;
+    }
+
+    /**
+     * Derive the canonical mass from quantity and unit before every write
+     */
+    @PrePersist
+    @PreUpdate
+    protected void normalizeQuantity() {
+        this.quantityGrams = MassUnits.toGrams(quantityRecycled, unit);
+    }
+
     // Getters and Setters
     public Integer getRecycleLogId() {
         return recycleLogId;
@@ -145,6 +203,10 @@ public class RecycleLog extends BaseModel {
         this.unit = unit;
     }
 
+    public Long getQuantityGrams() {
+        return quantityGrams;
+    }
+
     public LocalDateTime getRecycleDate() {
         return recycleDate;
     }
@@ -217,6 +279,30 @@ public class RecycleLog extends BaseModel {
         this.recoveryRate = recoveryRate;
     }
 
+    public BigDecimal getAnomalyScore() {
+        return anomalyScore;
+    }
+
+    public void setAnomalyScore(BigDecimal anomalyScore) {
+        this.anomalyScore = anomalyScore;
+    }
+
+    public ReviewStatus getReviewStatus() {
+        return reviewStatus;
+    }
+
+    public void setReviewStatus(ReviewStatus reviewStatus) {
+        this.reviewStatus = reviewStatus;
+    }
+
+    public Boolean getHeldForReview() {
+        return heldForReview != null ? heldForReview : false;
+    }
+
+    public void setHeldForReview(Boolean heldForReview) {
+        this.heldForReview = heldForReview;
+    }
+
     @Override
     public String toString() {
         return "RecycleLog{" +
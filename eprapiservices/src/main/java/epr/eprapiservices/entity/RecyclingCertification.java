@@ -123,6 +123,26 @@ public class RecyclingCertification extends BaseModel {
         this.recyclerName = recyclerName;
     }
 
+    // Copy constructor, used to capture a detached snapshot of a certification
+    public RecyclingCertification(RecyclingCertification source) {
+        this.certificationId = source.certificationId;
+        this.certificationName = source.certificationName;
+        this.certificationNumber = source.certificationNumber;
+        this.certificationType = source.certificationType;
+        this.issuingAuthority = source.issuingAuthority;
+        this.issueDate = source.issueDate;
+        this.expiryDate = source.expiryDate;
+        this.materialType = source.materialType;
+        this.recyclerName = source.recyclerName;
+        this.recyclerId = source.recyclerId;
+        this.certificationStatus = source.certificationStatus;
+        this.certificationFilePath = source.certificationFilePath;
+        this.description = source.description;
+        this.scope = source.scope;
+        this.standards = source.standards;
+        this.isActive = source.isActive;
+    }
+
     // Getters and Setters
     public Integer getCertificationId() {
         return certificationId;
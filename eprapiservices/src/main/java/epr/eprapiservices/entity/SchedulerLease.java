@@ -0,0 +1,67 @@
+package epr.eprapiservices.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a named, time-limited lease on a scheduled job.
+ * Lets several application nodes share one database while only one of them
+ * runs a given job at a time.
+ */
+@Entity
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "leaseName", length = 100)
+    private String leaseName;
+
+    @Column(name = "ownerId", length = 200)
+    private String ownerId;
+
+    @Column(name = "leasedUntil", nullable = false)
+    private LocalDateTime leasedUntil;
+
+    // Default constructor
+    public SchedulerLease() {}
+
+    // Constructor with required fields
+    public SchedulerLease(String leaseName, LocalDateTime leasedUntil) {
+        this.leaseName = leaseName;
+        this.leasedUntil = leasedUntil;
+    }
+
+    // Getters and Setters
+    public String getLeaseName() {
+        return leaseName;
+    }
+
+    public void setLeaseName(String leaseName) {
+        this.leaseName = leaseName;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public LocalDateTime getLeasedUntil() {
+        return leasedUntil;
+    }
+
+    public void setLeasedUntil(LocalDateTime leasedUntil) {
+        this.leasedUntil = leasedUntil;
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulerLease{" +
+                "leaseName='" + leaseName + '\'' +
+                ", ownerId='" + ownerId + '\'' +
+                ", leasedUntil=" + leasedUntil +
+                '}';
+    }
+}
@@ -1,6 +1,8 @@
 package epr.eprapiservices.entity;
 
 import epr.eprapiservices.Models.BaseModel;
+import epr.eprapiservices.util.MassUnits;
+import epr.eprapiservices.util.SequenceIds;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
@@ -13,8 +15,14 @@ import java.time.LocalDate;
 @Table(name = "tracing_target")
 public class TracingTarget extends BaseModel {
 
+    /**
+     * Sequence of the ids; pooled, so inserts can be batched
+     */
+    public static final String ID_SEQUENCE = "tracing_target_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = SequenceIds.BLOCK_SIZE)
     @Column(name = "targetId")
     private Integer targetId;
 
@@ -89,6 +97,12 @@ public class TracingTarget extends BaseModel {
     @Column(name = "notes", length = 500)
     private String notes;
 
+    @Column(name = "targetQuantityGrams")
+    private Long targetQuantityGrams; // Canonical mass, derived from targetQuantity and unit
+
+    @Column(name = "achievedQuantityGrams")
+    private Long achievedQuantityGrams; // Canonical mass, derived from achievedQuantity and unit
+
     // Enums
     public enum TargetType {
         COLLECTION_TARGET,
@@ -161,6 +175,16 @@ public class TracingTarget extends BaseModel {
         }
     }
 
+    /**
+     * Derive the canonical masses from the quantities and unit before every write
+     */
+    @PrePersist
+    @PreUpdate
+    protected void normalizeQuantities() {
+        this.targetQuantityGrams = MassUnits.toGrams(targetQuantity, unit);
+        this.achievedQuantityGrams = MassUnits.toGrams(achievedQuantity, unit);
+    }
+
     // Getters and Setters
     public Integer getTargetId() {
         return targetId;
@@ -292,6 +316,14 @@ public class TracingTarget extends BaseModel {
         this.notes = notes;
     }
 
+    public Long getTargetQuantityGrams() {
+        return targetQuantityGrams;
+    }
+
+    public Long getAchievedQuantityGrams() {
+        return achievedQuantityGrams;
+    }
+
     @Override
     public String toString() {
         return "TracingTarget{" +
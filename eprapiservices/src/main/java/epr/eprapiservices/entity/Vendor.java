@@ -1,6 +1,7 @@
 package epr.eprapiservices.entity;
 
 import epr.eprapiservices.Models.BaseModel;
+import epr.eprapiservices.event.SearchIndexEntityListener;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 
@@ -9,6 +10,7 @@ import java.math.BigDecimal;
  */
 @Entity
 @Table(name = "vendor")
+@EntityListeners(SearchIndexEntityListener.class)
 public class Vendor extends BaseModel {
 
     @Id
@@ -0,0 +1,25 @@
+package epr.eprapiservices.event;
+
+/**
+ * Event published whenever a role, role assignment, page or module grant, page or
+ * module is created, updated or deleted.
+ */
+public class AccessControlChangedEvent {
+
+    private final String entityName;
+
+    public AccessControlChangedEvent(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    @Override
+    public String toString() {
+        return "AccessControlChangedEvent{" +
+                "entityName='" + entityName + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,27 @@
+package epr.eprapiservices.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener on the access control entities, publishing an {@link AccessControlChangedEvent}
+ * for every write whichever service or repository makes it. Instantiated by Spring through
+ * Hibernate's bean container.
+ */
+public class AccessControlEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AccessControlEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        eventPublisher.publishEvent(new AccessControlChangedEvent(entity.getClass().getSimpleName()));
+    }
+}
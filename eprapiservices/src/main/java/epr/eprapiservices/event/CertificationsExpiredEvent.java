@@ -0,0 +1,46 @@
+package epr.eprapiservices.event;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Event published after an expiry sweep has flipped certifications to EXPIRED.
+ * Carries the IDs matched just before the bulk update, so caches can evict them.
+ */
+public class CertificationsExpiredEvent {
+
+    private final LocalDate asOf;
+    private final List<Integer> recyclingCertificationIds;
+    private final List<Long> productCertificationIds;
+
+    public CertificationsExpiredEvent(LocalDate asOf, List<Integer> recyclingCertificationIds,
+                                      List<Long> productCertificationIds) {
+        this.asOf = asOf;
+        this.recyclingCertificationIds = List.copyOf(recyclingCertificationIds);
+        this.productCertificationIds = List.copyOf(productCertificationIds);
+    }
+
+    /**
+     * Date the sweep ran for; certifications expiring before it were flipped
+     */
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public List<Integer> getRecyclingCertificationIds() {
+        return recyclingCertificationIds;
+    }
+
+    public List<Long> getProductCertificationIds() {
+        return productCertificationIds;
+    }
+
+    @Override
+    public String toString() {
+        return "CertificationsExpiredEvent{" +
+                "asOf=" + asOf +
+                ", recyclingCertifications=" + recyclingCertificationIds.size() +
+                ", productCertifications=" + productCertificationIds.size() +
+                '}';
+    }
+}
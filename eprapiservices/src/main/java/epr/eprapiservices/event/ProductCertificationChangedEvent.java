@@ -0,0 +1,32 @@
+package epr.eprapiservices.event;
+
+/**
+ * Event published whenever a product certification is created, updated, verified,
+ * rejected, has its file replaced or is soft deleted.
+ */
+public class ProductCertificationChangedEvent {
+
+    private final Long certificationId;
+    private final Integer productId;
+
+    public ProductCertificationChangedEvent(Long certificationId, Integer productId) {
+        this.certificationId = certificationId;
+        this.productId = productId;
+    }
+
+    public Long getCertificationId() {
+        return certificationId;
+    }
+
+    public Integer getProductId() {
+        return productId;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductCertificationChangedEvent{" +
+                "certificationId=" + certificationId +
+                ", productId=" + productId +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package epr.eprapiservices.event;
+
+import epr.eprapiservices.entity.RecycleLog;
+
+/**
+ * Event published whenever a recycle log is created, updated or soft deleted.
+ * Carries detached snapshots of the log before and after the change so that
+ * in-memory aggregates can apply the difference incrementally.
+ */
+public class RecycleLogChangedEvent {
+
+    private final RecycleLog previous;
+    private final RecycleLog current;
+
+    public RecycleLogChangedEvent(RecycleLog previous, RecycleLog current) {
+        this.previous = previous;
+        this.current = current;
+    }
+
+    /**
+     * Snapshot before the change, or null for a newly created log
+     */
+    public RecycleLog getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Snapshot after the change; inactive for a soft-deleted log
+     */
+    public RecycleLog getCurrent() {
+        return current;
+    }
+
+    /**
+     * Whether a snapshot counts towards aggregates: active and not held for review
+     */
+    public static boolean isCounted(RecycleLog recycleLog) {
+        return recycleLog != null && recycleLog.getIsActive() && !recycleLog.getHeldForReview();
+    }
+
+    @Override
+    public String toString() {
+        return "RecycleLogChangedEvent{" +
+                "previous=" + previous +
+                ", current=" + current +
+                '}';
+    }
+}
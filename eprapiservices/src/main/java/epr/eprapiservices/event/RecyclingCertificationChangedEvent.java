@@ -0,0 +1,40 @@
+package epr.eprapiservices.event;
+
+import epr.eprapiservices.entity.RecyclingCertification;
+
+/**
+ * Event published whenever a recycling certification is created, updated or soft deleted.
+ * Carries detached snapshots of the certification before and after the change.
+ */
+public class RecyclingCertificationChangedEvent {
+
+    private final RecyclingCertification previous;
+    private final RecyclingCertification current;
+
+    public RecyclingCertificationChangedEvent(RecyclingCertification previous, RecyclingCertification current) {
+        this.previous = previous;
+        this.current = current;
+    }
+
+    /**
+     * Snapshot before the change, or null for a newly created certification
+     */
+    public RecyclingCertification getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Snapshot after the change; inactive for a soft-deleted certification
+     */
+    public RecyclingCertification getCurrent() {
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "RecyclingCertificationChangedEvent{" +
+                "previous=" + previous +
+                ", current=" + current +
+                '}';
+    }
+}
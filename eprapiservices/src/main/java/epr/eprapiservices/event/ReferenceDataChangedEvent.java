@@ -0,0 +1,25 @@
+package epr.eprapiservices.event;
+
+/**
+ * Event published whenever a reference data entity (product group, category or type,
+ * material, industry, organisation type, module or page) is created, updated or deleted.
+ */
+public class ReferenceDataChangedEvent {
+
+    private final Class<?> entityType;
+
+    public ReferenceDataChangedEvent(Class<?> entityType) {
+        this.entityType = entityType;
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenceDataChangedEvent{" +
+                "entityType=" + entityType.getSimpleName() +
+                '}';
+    }
+}
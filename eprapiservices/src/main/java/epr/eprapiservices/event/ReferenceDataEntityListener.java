@@ -0,0 +1,27 @@
+package epr.eprapiservices.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener on the reference data entities, publishing a {@link ReferenceDataChangedEvent}
+ * for every write whichever service or repository makes it. Instantiated by Spring through
+ * Hibernate's bean container.
+ */
+public class ReferenceDataEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReferenceDataEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(entity.getClass()));
+    }
+}
@@ -0,0 +1,32 @@
+package epr.eprapiservices.event;
+
+/**
+ * Event published whenever a searchable entity (product, material, component or vendor)
+ * is created, updated or deleted, carrying the entity as written.
+ */
+public class SearchIndexChangedEvent {
+
+    private final Object entity;
+    private final boolean removed;
+
+    public SearchIndexChangedEvent(Object entity, boolean removed) {
+        this.entity = entity;
+        this.removed = removed;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchIndexChangedEvent{" +
+                "entity=" + entity.getClass().getSimpleName() +
+                ", removed=" + removed +
+                '}';
+    }
+}
@@ -0,0 +1,31 @@
+package epr.eprapiservices.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener on the searchable entities, publishing a {@link SearchIndexChangedEvent}
+ * for every write whichever service or repository makes it. Instantiated by Spring through
+ * Hibernate's bean container.
+ */
+public class SearchIndexEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SearchIndexEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        eventPublisher.publishEvent(new SearchIndexChangedEvent(entity, false));
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        eventPublisher.publishEvent(new SearchIndexChangedEvent(entity, true));
+    }
+}
@@ -0,0 +1,25 @@
+package epr.eprapiservices.event;
+
+/**
+ * Event published whenever a user is updated (including activation and deactivation)
+ * or deleted.
+ */
+public class UserStatusChangedEvent {
+
+    private final Integer userId;
+
+    public UserStatusChangedEvent(Integer userId) {
+        this.userId = userId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String toString() {
+        return "UserStatusChangedEvent{" +
+                "userId=" + userId +
+                '}';
+    }
+}
@@ -0,0 +1,8 @@
+package epr.eprapiservices.security;
+
+import java.util.List;
+
+/**
+ * Principal of a request authenticated by {@link JwtAuthenticationFilter}
+ */
+public record AuthenticatedUser(Integer userId, String username, List<String> roles) {}
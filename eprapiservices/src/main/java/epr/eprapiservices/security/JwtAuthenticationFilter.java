@@ -0,0 +1,79 @@
+package epr.eprapiservices.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filter authenticating requests from the bearer token alone.
+ * The user ID, roles and active flag come from the token's claims; the only other
+ * check is the cached user status, so a deactivated user is shut out without a
+ * database round trip per request. Requests without a valid token pass through
+ * unauthenticated and are left to the authorization rules.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenVerificationService tokenVerificationService;
+    private final UserStatusCache userStatusCache;
+
+    public JwtAuthenticationFilter(TokenVerificationService tokenVerificationService, UserStatusCache userStatusCache) {
+        this.tokenVerificationService = tokenVerificationService;
+        this.userStatusCache = userStatusCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            tokenVerificationService.verify(header.substring(BEARER_PREFIX.length()))
+                    .filter(token -> !Boolean.FALSE.equals(token.claims().get("active", Boolean.class)))
+                    .filter(token -> userStatusCache.isActive(token.userId()))
+                    .ifPresent(token -> authenticate(token, request));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static void authenticate(TokenVerificationService.VerifiedToken token, HttpServletRequest request) {
+        List<String> roles = rolesOf(token);
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (String role : roles) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + role.trim().toUpperCase(Locale.ROOT).replace(' ', '_')));
+        }
+        AuthenticatedUser principal = new AuthenticatedUser(token.userId(), token.username(), roles);
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    private static List<String> rolesOf(TokenVerificationService.VerifiedToken token) {
+        Object claim = token.claims().get("roles");
+        if (!(claim instanceof List<?> values)) {
+            // Tokens issued before roles were embedded carry none
+            return List.of();
+        }
+        List<String> roles = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value != null) {
+                roles.add(value.toString());
+            }
+        }
+        return roles;
+    }
+}
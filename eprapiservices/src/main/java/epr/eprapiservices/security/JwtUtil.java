@@ -2,12 +2,14 @@ package epr.eprapiservices.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -23,16 +25,36 @@ public class JwtUtil {
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private long jwtExpirationMs;
 
+    // Built once from the secret; the parser is immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
 
     /**
      * Generate JWT token for a user.
      */
     public String generateToken(String username, Integer userId) {
+        return generateToken(username, userId, List.of(), true);
+    }
+
+    /**
+     * Generate JWT token carrying what request authentication needs (user ID, role
+     * names and active flag at issue time), so requests are authenticated from claims.
+     */
+    public String generateToken(String username, Integer userId, List<String> roles, boolean active) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
+        claims.put("roles", roles);
+        claims.put("active", active);
         return createToken(claims, username);
     }
 
@@ -80,28 +102,18 @@ public class JwtUtil {
 
     /**
      * Extract all claims from JWT token.
+     * Verifies the signature and rejects expired tokens (ExpiredJwtException).
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    /**
-     * Check if JWT token is expired.
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Claims extractAllClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
      * Validate JWT token.
      */
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
     }
 
     /**
@@ -109,8 +121,7 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            return !extractAllClaims(token).getExpiration().before(new Date());
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
@@ -0,0 +1,291 @@
+package epr.eprapiservices.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Service throttling login attempts before any database or password work is done.
+ * Every username and client IP has a token bucket; an attempt needs a token from both.
+ * Consecutive failures lock the key out, for a period that doubles with every further
+ * failure up to a maximum; a success clears the username's failures, and failures are
+ * forgotten once none has happened for the failure window.
+ * Bucket state is an immutable value swapped with compare-and-set, so the check is
+ * lock-free. Keys whose lockout has expired, whose failures have decayed and whose bucket
+ * has refilled are purged on a schedule. The maps are capped: once full, new keys are not
+ * tracked and their attempts are throttled by the other key only, so a flood of new
+ * usernames or addresses cannot lock anyone else out.
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottleService.class);
+
+    private static final long EAGER_PURGE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Limits userLimits;
+    private final Limits ipLimits;
+    private final int userFailuresBeforeLockout;
+    private final int ipFailuresBeforeLockout;
+    private final long lockoutNanos;
+    private final long maxLockoutNanos;
+    private final long failureWindowNanos;
+    private final int maxEntries;
+
+    private final Map<String, AtomicReference<BucketState>> userBuckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicReference<BucketState>> ipBuckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong allowed = new AtomicLong();
+    private final AtomicLong rejectedByUser = new AtomicLong();
+    private final AtomicLong rejectedByIp = new AtomicLong();
+    private final AtomicLong rejectedByLockout = new AtomicLong();
+    private final AtomicLong lockouts = new AtomicLong();
+    private final AtomicLong untracked = new AtomicLong();
+    private final AtomicLong lastEagerPurgeNanos = new AtomicLong(System.nanoTime());
+
+    // Source of the current time in nanoseconds, replaced in tests
+    private LongSupplier nanoClock = System::nanoTime;
+
+    public LoginThrottleService(@Value("${app.security.login-throttle.user-capacity:5}") int userCapacity,
+                                @Value("${app.security.login-throttle.user-refill-per-minute:5}") int userRefillPerMinute,
+                                @Value("${app.security.login-throttle.ip-capacity:30}") int ipCapacity,
+                                @Value("${app.security.login-throttle.ip-refill-per-minute:60}") int ipRefillPerMinute,
+                                @Value("${app.security.login-throttle.user-failures-before-lockout:5}") int userFailuresBeforeLockout,
+                                @Value("${app.security.login-throttle.ip-failures-before-lockout:20}") int ipFailuresBeforeLockout,
+                                @Value("${app.security.login-throttle.lockout-seconds:60}") long lockoutSeconds,
+                                @Value("${app.security.login-throttle.max-lockout-seconds:900}") long maxLockoutSeconds,
+                                @Value("${app.security.login-throttle.failure-window-seconds:900}") long failureWindowSeconds,
+                                @Value("${app.security.login-throttle.max-entries:100000}") int maxEntries) {
+        this.userLimits = new Limits(userCapacity, userRefillPerMinute);
+        this.ipLimits = new Limits(ipCapacity, ipRefillPerMinute);
+        this.userFailuresBeforeLockout = userFailuresBeforeLockout;
+        this.ipFailuresBeforeLockout = ipFailuresBeforeLockout;
+        this.lockoutNanos = TimeUnit.SECONDS.toNanos(lockoutSeconds);
+        this.maxLockoutNanos = TimeUnit.SECONDS.toNanos(maxLockoutSeconds);
+        this.failureWindowNanos = TimeUnit.SECONDS.toNanos(failureWindowSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Take a token for a login attempt; returns 0 if the attempt may proceed, otherwise
+     * the number of seconds after which it is worth retrying. A key that cannot be
+     * tracked because its map is full does not limit the attempt.
+     */
+    public long tryAcquire(String username, String clientIp) {
+        long now = nanoClock.getAsLong();
+        AtomicReference<BucketState> user = bucket(userBuckets, normalize(username), userLimits, now);
+        AtomicReference<BucketState> ip = bucket(ipBuckets, clientIp != null ? clientIp : "unknown", ipLimits, now);
+        if (user == null || ip == null) {
+            untracked.incrementAndGet();
+        }
+
+        long lockedFor = Math.max(lockRemaining(user, now), lockRemaining(ip, now));
+        if (lockedFor > 0) {
+            rejectedByLockout.incrementAndGet();
+            return toRetrySeconds(lockedFor);
+        }
+        long ipWait = ip != null ? take(ip, ipLimits, now) : 0;
+        if (ipWait > 0) {
+            rejectedByIp.incrementAndGet();
+            return toRetrySeconds(ipWait);
+        }
+        long userWait = user != null ? take(user, userLimits, now) : 0;
+        if (userWait > 0) {
+            rejectedByUser.incrementAndGet();
+            return toRetrySeconds(userWait);
+        }
+        allowed.incrementAndGet();
+        return 0;
+    }
+
+    /**
+     * Record a failed login (wrong password or unknown user) against the keys that are tracked
+     */
+    public void recordFailure(String username, String clientIp) {
+        long now = nanoClock.getAsLong();
+        AtomicReference<BucketState> user = bucket(userBuckets, normalize(username), userLimits, now);
+        if (user != null) {
+            recordFailure(user, userFailuresBeforeLockout, now);
+        }
+        // Many users can share an IP (offices behind NAT), so it takes more failures to lock one
+        AtomicReference<BucketState> ip = bucket(ipBuckets, clientIp != null ? clientIp : "unknown", ipLimits, now);
+        if (ip != null) {
+            recordFailure(ip, ipFailuresBeforeLockout, now);
+        }
+    }
+
+    /**
+     * Record a successful login, clearing the username's failures and lockout
+     */
+    public void recordSuccess(String username) {
+        AtomicReference<BucketState> user = userBuckets.get(normalize(username));
+        if (user != null) {
+            user.updateAndGet(state -> state.withFailures(0, state.lastFailureNanos(), false, 0));
+        }
+    }
+
+    /**
+     * Counters of allowed and rejected attempts, lockouts and tracked keys
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("allowed", allowed.get());
+        stats.put("rejectedByUser", rejectedByUser.get());
+        stats.put("rejectedByIp", rejectedByIp.get());
+        stats.put("rejectedByLockout", rejectedByLockout.get());
+        stats.put("lockouts", lockouts.get());
+        stats.put("untracked", untracked.get());
+        stats.put("trackedUsers", (long) userBuckets.size());
+        stats.put("trackedIps", (long) ipBuckets.size());
+        return stats;
+    }
+
+    /**
+     * Drop keys whose lockout has expired, whose failures have decayed and whose bucket
+     * has refilled
+     */
+    @Scheduled(fixedDelayString = "${app.security.login-throttle.purge-interval-ms:60000}")
+    public void purgeIdle() {
+        long now = nanoClock.getAsLong();
+        int before = userBuckets.size() + ipBuckets.size();
+        purgeIdle(userBuckets, userLimits, now);
+        purgeIdle(ipBuckets, ipLimits, now);
+        int purged = before - userBuckets.size() - ipBuckets.size();
+        if (purged > 0) {
+            logger.debug("Purged {} idle login throttle entries", purged);
+        }
+    }
+
+    /**
+     * Bucket of a key, created if there is room; null when the map is full
+     */
+    private AtomicReference<BucketState> bucket(Map<String, AtomicReference<BucketState>> buckets, String key,
+                                                Limits limits, long now) {
+        AtomicReference<BucketState> bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxEntries) {
+            // At most one eager purge a second, so a flood of new keys cannot turn it into a scan per request
+            long lastPurge = lastEagerPurgeNanos.get();
+            if (now - lastPurge > EAGER_PURGE_INTERVAL_NANOS && lastEagerPurgeNanos.compareAndSet(lastPurge, now)) {
+                purgeIdle(buckets, limits, now);
+            }
+            if (buckets.size() >= maxEntries) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicReference<>(new BucketState(limits.capacityMicros(), now, 0, now, false, 0)));
+    }
+
+    /**
+     * Take one token; returns 0 on success or the nanoseconds until a token is available
+     */
+    private static long take(AtomicReference<BucketState> bucket, Limits limits, long now) {
+        while (true) {
+            BucketState current = bucket.get();
+            long tokens = limits.refill(current, now);
+            if (tokens < Limits.MICROS_PER_TOKEN) {
+                return (Limits.MICROS_PER_TOKEN - tokens) * limits.nanosPerMicroToken();
+            }
+            BucketState next = new BucketState(tokens - Limits.MICROS_PER_TOKEN, now, current.failures(),
+                    current.lastFailureNanos(), current.locked(), current.lockedUntilNanos());
+            if (bucket.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private void recordFailure(AtomicReference<BucketState> bucket, int failuresBeforeLockout, long now) {
+        while (true) {
+            BucketState current = bucket.get();
+            int failures = current.failures(now, failureWindowNanos) + 1;
+            long lockedUntil = current.lockedUntilNanos();
+            boolean locking = failures >= failuresBeforeLockout;
+            if (locking) {
+                // 1x, 2x, 4x ... the base lockout for every failure past the threshold
+                int doublings = Math.min(failures - failuresBeforeLockout, 30);
+                long duration = Math.min(maxLockoutNanos, lockoutNanos << doublings);
+                if (duration < 0) {
+                    duration = maxLockoutNanos;
+                }
+                lockedUntil = Math.max(current.lockRemaining(now), duration) + now;
+            }
+            boolean locked = locking || current.lockRemaining(now) > 0;
+            if (bucket.compareAndSet(current, current.withFailures(failures, now, locked, lockedUntil))) {
+                if (locking) {
+                    lockouts.incrementAndGet();
+                }
+                return;
+            }
+        }
+    }
+
+    private void purgeIdle(Map<String, AtomicReference<BucketState>> buckets, Limits limits, long now) {
+        buckets.values().removeIf(bucket -> {
+            BucketState state = bucket.get();
+            return state.lockRemaining(now) == 0 && state.failures(now, failureWindowNanos) == 0
+                    && limits.refill(state, now) >= limits.capacityMicros();
+        });
+    }
+
+    private static long lockRemaining(AtomicReference<BucketState> bucket, long now) {
+        return bucket != null ? bucket.get().lockRemaining(now) : 0;
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toRetrySeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L));
+    }
+
+    /**
+     * Token count (in millionths of a token), time of the last refill, consecutive
+     * failures with the time of the last one, and lockout end (only meaningful while
+     * locked, as nanoTime may be negative)
+     */
+    private record BucketState(long tokenMicros, long refilledAtNanos, int failures, long lastFailureNanos,
+                               boolean locked, long lockedUntilNanos) {
+        private BucketState withFailures(int failures, long lastFailureNanos, boolean locked, long lockedUntilNanos) {
+            return new BucketState(tokenMicros, refilledAtNanos, failures, lastFailureNanos, locked, lockedUntilNanos);
+        }
+
+        /**
+         * Failures still counted, none once the window has passed since the last one
+         */
+        private int failures(long now, long windowNanos) {
+            return now - lastFailureNanos < windowNanos ? failures : 0;
+        }
+
+        private long lockRemaining(long now) {
+            return locked ? Math.max(0, lockedUntilNanos - now) : 0;
+        }
+    }
+
+    private record Limits(long capacityMicros, long nanosPerMicroToken) {
+        private static final long MICROS_PER_TOKEN = 1_000_000L;
+
+        private Limits(int capacity, int refillPerMinute) {
+            this(Math.max(1, capacity) * MICROS_PER_TOKEN,
+                    Math.max(1, TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute) / MICROS_PER_TOKEN));
+        }
+
+        private long refill(BucketState state, long now) {
+            long elapsed = Math.max(0, now - state.refilledAtNanos());
+            return Math.min(capacityMicros, state.tokenMicros() + elapsed / nanosPerMicroToken);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package epr.eprapiservices.security;
+
+import epr.eprapiservices.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service running password hashing and verification on a dedicated, bounded pool.
+ * BCrypt is deliberately expensive, so it is kept off the request threads' CPU budget:
+ * at most the configured number of hashes run at once, a short queue absorbs bursts, and
+ * once the queue is full (or a hash waits too long) the caller fails fast with
+ * LOGIN_BUSY instead of piling up behind the rest of the API.
+ */
+@Service
+public class PasswordHashingService {
+
+    public static final String BUSY_ERROR_CODE = "LOGIN_BUSY";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    // Verified against when the user does not exist, so unknown usernames take as long as wrong passwords
+    private final String dummyHash;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${app.security.password-hashing.threads:0}") int threads,
+                                  @Value("${app.security.password-hashing.queue-capacity:32}") int queueCapacity,
+                                  @Value("${app.security.password-hashing.timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.dummyHash = passwordEncoder.encode("dummy-password-for-unknown-users");
+    }
+
+    /**
+     * Check a password against a stored value, which may be a BCrypt hash or a legacy
+     * plaintext password; throws BusinessException(LOGIN_BUSY) when the pool is saturated
+     */
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (!isHashed(storedPassword)) {
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        return run(() -> passwordEncoder.matches(rawPassword, storedPassword));
+    }
+
+    /**
+     * Spend the same effort as a verification without a user to verify against
+     */
+    public void matchesNothing(String rawPassword) {
+        if (rawPassword != null) {
+            run(() -> passwordEncoder.matches(rawPassword, dummyHash));
+        }
+    }
+
+    /**
+     * Hash a password; throws BusinessException(LOGIN_BUSY) when the pool is saturated
+     */
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Whether a stored password is a BCrypt hash rather than legacy plaintext
+     */
+    public boolean isHashed(String storedPassword) {
+        return storedPassword != null && storedPassword.length() == 60
+                && (storedPassword.startsWith("$2a$") || storedPassword.startsWith("$2b$") || storedPassword.startsWith("$2y$"));
+    }
+
+    /**
+     * Number of hashing tasks waiting for a thread
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static BusinessException busy() {
+        return new BusinessException(BUSY_ERROR_CODE, "Too many sign-ins in progress, please try again shortly");
+    }
+}
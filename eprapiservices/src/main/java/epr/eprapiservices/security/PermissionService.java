@@ -0,0 +1,244 @@
+package epr.eprapiservices.security;
+
+import epr.eprapiservices.dao.repository.ModulesRepository;
+import epr.eprapiservices.dao.repository.PagesRepository;
+import epr.eprapiservices.dao.repository.RoleModuleaccessRepository;
+import epr.eprapiservices.dao.repository.RolepageaccessRepository;
+import epr.eprapiservices.dao.repository.RoleusersRepository;
+import epr.eprapiservices.dto.UserPermissionsDto;
+import epr.eprapiservices.event.AccessControlChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service resolving effective page and module permissions from roles, role assignments
+ * and the Rolepageaccess/RoleModuleaccess grants.
+ * Every role is compiled once into bitsets indexed by page and module ID, with module
+ * grants applied to the module's sub-modules and pages and edit implying view. A user's
+ * permissions are the union of their roles' bitsets, cached per user, so a check is a
+ * map lookup and a bit test. Everything is dropped whenever an access control entity
+ * changes; the TTL covers changes made on other nodes or outside JPA.
+ */
+@Service
+public class PermissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionService.class);
+
+    /**
+     * Level of access to a page or module
+     */
+    public enum Access { VIEW, EDIT }
+
+    private final RoleusersRepository roleUsersRepository;
+    private final RolepageaccessRepository pageAccessRepository;
+    private final RoleModuleaccessRepository moduleAccessRepository;
+    private final PagesRepository pagesRepository;
+    private final ModulesRepository modulesRepository;
+    private final long ttlNanos;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile CompiledRoles compiledRoles;
+    private final Map<Integer, Permissions> userPermissions = new ConcurrentHashMap<>();
+
+    public PermissionService(RoleusersRepository roleUsersRepository,
+                             RolepageaccessRepository pageAccessRepository,
+                             RoleModuleaccessRepository moduleAccessRepository,
+                             PagesRepository pagesRepository,
+                             ModulesRepository modulesRepository,
+                             @Value("${app.security.permissions-ttl-seconds:300}") long ttlSeconds) {
+        this.roleUsersRepository = roleUsersRepository;
+        this.pageAccessRepository = pageAccessRepository;
+        this.moduleAccessRepository = moduleAccessRepository;
+        this.pagesRepository = pagesRepository;
+        this.modulesRepository = modulesRepository;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    /**
+     * Whether a user has the given access to a page
+     */
+    public boolean hasAccess(Integer userId, int pageId, Access access) {
+        if (userId == null || pageId < 0) {
+            return false;
+        }
+        Permissions permissions = getPermissions(userId);
+        return (access == Access.EDIT ? permissions.pageEdit() : permissions.pageView()).get(pageId);
+    }
+
+    /**
+     * Whether a user has the given access to a module
+     */
+    public boolean hasModuleAccess(Integer userId, int moduleId, Access access) {
+        if (userId == null || moduleId < 0) {
+            return false;
+        }
+        Permissions permissions = getPermissions(userId);
+        return (access == Access.EDIT ? permissions.moduleEdit() : permissions.moduleView()).get(moduleId);
+    }
+
+    /**
+     * Effective permissions of a user, as ID lists for the web UI menu
+     */
+    public UserPermissionsDto getUserPermissions(Integer userId) {
+        Permissions permissions = getPermissions(userId);
+        UserPermissionsDto dto = new UserPermissionsDto();
+        dto.setUserId(userId);
+        dto.setViewablePageIds(permissions.pageView().stream().boxed().toList());
+        dto.setEditablePageIds(permissions.pageEdit().stream().boxed().toList());
+        dto.setViewableModuleIds(permissions.moduleView().stream().boxed().toList());
+        dto.setEditableModuleIds(permissions.moduleEdit().stream().boxed().toList());
+        return dto;
+    }
+
+    /**
+     * Drop all compiled permissions
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        compiledRoles = null;
+        userPermissions.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccessControlChanged(AccessControlChangedEvent event) {
+        invalidate();
+    }
+
+    private Permissions getPermissions(Integer userId) {
+        long now = System.nanoTime();
+        Permissions cached = userPermissions.get(userId);
+        if (cached != null && cached.generation() == generation.get() && now - cached.compiledAtNanos() < ttlNanos) {
+            return cached;
+        }
+        long currentGeneration = generation.get();
+        CompiledRoles roles = getCompiledRoles(currentGeneration, now);
+        BitSet pageView = new BitSet();
+        BitSet pageEdit = new BitSet();
+        BitSet moduleView = new BitSet();
+        BitSet moduleEdit = new BitSet();
+        for (Long roleId : roleUsersRepository.findActiveRoleIdsByUserId(userId)) {
+            Permissions role = roles.byRole().get(roleId.intValue());
+            if (role != null) {
+                pageView.or(role.pageView());
+                pageEdit.or(role.pageEdit());
+                moduleView.or(role.moduleView());
+                moduleEdit.or(role.moduleEdit());
+            }
+        }
+        Permissions compiled = new Permissions(pageView, pageEdit, moduleView, moduleEdit, currentGeneration, now);
+        // A change committed while compiling must not be overwritten by stale permissions
+        if (generation.get() == currentGeneration) {
+            userPermissions.put(userId, compiled);
+        }
+        return compiled;
+    }
+
+    private CompiledRoles getCompiledRoles(long currentGeneration, long now) {
+        CompiledRoles roles = compiledRoles;
+        if (roles != null && roles.generation() == currentGeneration && now - roles.compiledAtNanos() < ttlNanos) {
+            return roles;
+        }
+        synchronized (this) {
+            roles = compiledRoles;
+            if (roles != null && roles.generation() == currentGeneration && now - roles.compiledAtNanos() < ttlNanos) {
+                return roles;
+            }
+            roles = compileRoles(currentGeneration, now);
+            if (generation.get() == currentGeneration) {
+                compiledRoles = roles;
+            }
+            return roles;
+        }
+    }
+
+    private CompiledRoles compileRoles(long currentGeneration, long now) {
+        // Module hierarchy and page placement, so module grants reach sub-modules and pages
+        Map<Integer, List<Integer>> childModules = new HashMap<>();
+        for (Object[] row : modulesRepository.findActiveModuleParents()) {
+            if (row[1] != null) {
+                childModules.computeIfAbsent(((Number) row[1]).intValue(), k -> new ArrayList<>())
+                        .add(((Number) row[0]).intValue());
+            }
+        }
+        Map<Integer, List<Integer>> modulePages = new HashMap<>();
+        for (Object[] row : pagesRepository.findActivePageModules()) {
+            if (row[0] != null && row[1] != null) {
+                modulePages.computeIfAbsent(((Number) row[1]).intValue(), k -> new ArrayList<>())
+                        .add(((Number) row[0]).intValue());
+            }
+        }
+
+        Map<Integer, Permissions> byRole = new HashMap<>();
+        for (Object[] row : moduleAccessRepository.findActiveGrants()) {
+            if (row[0] == null || row[1] == null) {
+                continue;
+            }
+            Permissions role = byRole.computeIfAbsent(((Number) row[0]).intValue(), k -> Permissions.empty(currentGeneration, now));
+            boolean edit = Boolean.TRUE.equals(row[3]);
+            boolean view = edit || Boolean.TRUE.equals(row[2]);
+            if (view) {
+                grantModule(role, ((Number) row[1]).intValue(), edit, childModules, modulePages, new BitSet());
+            }
+        }
+        for (Object[] row : pageAccessRepository.findActiveGrants()) {
+            if (row[0] == null || row[1] == null) {
+                continue;
+            }
+            Permissions role = byRole.computeIfAbsent(((Number) row[0]).intValue(), k -> Permissions.empty(currentGeneration, now));
+            int pageId = ((Number) row[1]).intValue();
+            boolean edit = Boolean.TRUE.equals(row[3]);
+            if (edit || Boolean.TRUE.equals(row[2])) {
+                role.pageView().set(pageId);
+            }
+            if (edit) {
+                role.pageEdit().set(pageId);
+            }
+        }
+        logger.debug("Compiled permissions for {} roles", byRole.size());
+        return new CompiledRoles(byRole, currentGeneration, now);
+    }
+
+    private static void grantModule(Permissions role, int moduleId, boolean edit, Map<Integer, List<Integer>> childModules,
+                                    Map<Integer, List<Integer>> modulePages, BitSet visited) {
+        if (moduleId < 0 || visited.get(moduleId)) {
+            return;
+        }
+        visited.set(moduleId);
+        role.moduleView().set(moduleId);
+        if (edit) {
+            role.moduleEdit().set(moduleId);
+        }
+        for (Integer pageId : modulePages.getOrDefault(moduleId, List.of())) {
+            role.pageView().set(pageId);
+            if (edit) {
+                role.pageEdit().set(pageId);
+            }
+        }
+        for (Integer child : childModules.getOrDefault(moduleId, List.of())) {
+            grantModule(role, child, edit, childModules, modulePages, visited);
+        }
+    }
+
+    /**
+     * Page and module bitsets of a role or user; never modified once published
+     */
+    private record Permissions(BitSet pageView, BitSet pageEdit, BitSet moduleView, BitSet moduleEdit,
+                               long generation, long compiledAtNanos) {
+        private static Permissions empty(long generation, long compiledAtNanos) {
+            return new Permissions(new BitSet(), new BitSet(), new BitSet(), new BitSet(), generation, compiledAtNanos);
+        }
+    }
+
+    private record CompiledRoles(Map<Integer, Permissions> byRole, long generation, long compiledAtNanos) {}
+}
@@ -1,34 +1,57 @@
 package epr.eprapiservices.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
  * Security configuration for the EPR Vault application.
- * Currently configured for development with minimal security.
- * TODO: Implement proper authentication and authorization for production.
+ * Requests carrying a bearer token are authenticated statelessly from its claims.
+ * Authentication is only required when app.security.enforce-authentication is set,
+ * which stays off until every web UI service sends its token.
  */
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    @Value("${app.security.enforce-authentication:false}")
+    private boolean enforceAuthentication;
+
     /**
      * Configure HTTP security.
-     * Currently permits all requests for development purposes.
-     * TODO: Implement proper security rules for production.
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, TokenVerificationService tokenVerificationService,
+                                           UserStatusCache userStatusCache) throws Exception {
         http
-            .csrf(csrf -> csrf.disable()) // Disable CSRF for API development
-            .authorizeHttpRequests(authz -> authz
-                .anyRequest().permitAll() // Allow all requests for now
+            .csrf(csrf -> csrf.disable()) // Token-based API, no cookies to protect
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new JwtAuthenticationFilter(tokenVerificationService, userStatusCache),
+                    UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
+
+        if (enforceAuthentication) {
+            http.authorizeHttpRequests(authz -> authz
+                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers("/api/auth/login", "/api/auth/validate", "/api/auth/logout", "/error").permitAll()
+                .anyRequest().authenticated()
+            );
+        } else {
+            http.authorizeHttpRequests(authz -> authz
+                .anyRequest().permitAll()
             );
+        }
 
         return http.build();
     }
@@ -38,7 +61,7 @@ public class SecurityConfig {
      * Using BCrypt for secure password storage.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
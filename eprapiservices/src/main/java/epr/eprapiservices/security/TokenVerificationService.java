@@ -0,0 +1,146 @@
+package epr.eprapiservices.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Service verifying JWT tokens once and serving repeat requests from memory.
+ * Verified claims are kept in a bounded LRU keyed by the SHA-256 of the token (raw
+ * bearer tokens are never held) until the token expires, so a request carrying a known
+ * token costs a hash and a map lookup instead of a signature check.
+ * Revoked tokens are remembered until they would have expired anyway. Revocations are
+ * held in memory on the node that received them.
+ */
+@Service
+public class TokenVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenVerificationService.class);
+
+    private final JwtUtil jwtUtil;
+    private final Map<String, VerifiedToken> cache;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // Source of the current time in milliseconds, replaced in tests
+    private LongSupplier millisClock = System::currentTimeMillis;
+
+    public TokenVerificationService(JwtUtil jwtUtil,
+                                    @Value("${jwt.verification-cache.max-entries:10000}") int maxEntries) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Verify a token, returning its claims if the signature is valid and it is neither
+     * expired nor revoked
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String tokenHash = hash(token);
+        if (revoked.containsKey(tokenHash)) {
+            return Optional.empty();
+        }
+        long now = millisClock.getAsLong();
+        VerifiedToken cached = cache.get(tokenHash);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                return Optional.of(cached);
+            }
+            cache.remove(tokenHash);
+            return Optional.empty();
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (claims.getExpiration() == null || claims.getExpiration().getTime() <= now) {
+            return Optional.empty();
+        }
+        VerifiedToken verified = new VerifiedToken(tokenHash, claims.getSubject(),
+                claims.get("userId", Integer.class), claims.getExpiration().getTime(), claims);
+        cache.put(tokenHash, verified);
+        return Optional.of(verified);
+    }
+
+    /**
+     * Revoke a token until it expires; returns false if the token was not valid anyway
+     */
+    public boolean revoke(String token) {
+        Optional<VerifiedToken> verified = verify(token);
+        if (verified.isEmpty()) {
+            return false;
+        }
+        revoked.put(verified.get().tokenHash(), verified.get().expiresAtMillis());
+        cache.remove(verified.get().tokenHash());
+        return true;
+    }
+
+    /**
+     * Number of verified tokens currently cached
+     */
+    public int getCachedTokenCount() {
+        return cache.size();
+    }
+
+    /**
+     * Number of revoked tokens that have not expired yet
+     */
+    public int getRevokedTokenCount() {
+        return revoked.size();
+    }
+
+    /**
+     * Drop revocations and cache entries of tokens that have expired
+     */
+    @Scheduled(fixedDelayString = "${jwt.verification-cache.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = millisClock.getAsLong();
+        int revocations = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        synchronized (cache) {
+            cache.values().removeIf(token -> token.expiresAtMillis() <= now);
+        }
+        if (revoked.size() < revocations) {
+            logger.debug("Purged {} expired token revocations", revocations - revoked.size());
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Claims of a verified token
+     */
+    public record VerifiedToken(String tokenHash, String username, Integer userId, long expiresAtMillis, Claims claims) {}
+}
@@ -0,0 +1,87 @@
+package epr.eprapiservices.security;
+
+import epr.eprapiservices.dao.repository.UserRepository;
+import epr.eprapiservices.event.UserStatusChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of whether users are active, consulted on every authenticated
+ * request. Entries are dropped as soon as a user change commits on this node; the TTL
+ * bounds how long a change made on another node can go unnoticed. Expired entries are
+ * purged periodically, and once the cache is full new users are looked up uncached.
+ */
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+    // Source of the current time in nanoseconds, replaced in tests
+    private LongSupplier nanoClock = System::nanoTime;
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${app.security.user-status-ttl-seconds:30}") long ttlSeconds,
+                           @Value("${app.security.user-status-max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Whether the user exists and is active
+     */
+    public boolean isActive(Integer userId) {
+        if (userId == null) {
+            return false;
+        }
+        long now = nanoClock.getAsLong();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.loadedAtNanos() < ttlNanos) {
+            return entry.active();
+        }
+        boolean active = userRepository.findIsActiveByUserId(userId).map(flag -> !Boolean.FALSE.equals(flag)).orElse(false);
+        if (entry != null || entries.size() < maxEntries) {
+            entries.put(userId, new Entry(active, now));
+        } else {
+            purgeExpired();
+            if (entries.size() < maxEntries) {
+                entries.put(userId, new Entry(active, now));
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Drop entries older than the TTL
+     */
+    @Scheduled(fixedDelayString = "${app.security.user-status-purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = nanoClock.getAsLong();
+        entries.values().removeIf(entry -> now - entry.loadedAtNanos() >= ttlNanos);
+    }
+
+    /**
+     * Forget the cached status of a user
+     */
+    public void invalidate(Integer userId) {
+        if (userId != null) {
+            entries.remove(userId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    private record Entry(boolean active, long loadedAtNanos) {}
+}
@@ -0,0 +1,286 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.Models.BaseModel;
+import epr.eprapiservices.dao.repository.ComponentRepository;
+import epr.eprapiservices.dao.repository.MaterialRepository;
+import epr.eprapiservices.dao.repository.ProductRepository;
+import epr.eprapiservices.dao.repository.VendorRepository;
+import epr.eprapiservices.dto.AutocompleteSuggestionDto;
+import epr.eprapiservices.entity.Component;
+import epr.eprapiservices.entity.Material;
+import epr.eprapiservices.entity.Product;
+import epr.eprapiservices.entity.Vendor;
+import epr.eprapiservices.event.SearchIndexChangedEvent;
+import epr.eprapiservices.util.PrefixIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service answering autocomplete queries for products, materials, components and vendors
+ * from in-memory prefix indexes, one per type, instead of LIKE scans per keystroke.
+ * A type is loaded on its first query. Writes through JPA update its entries after commit
+ * and mark the index for rebuild; the rebuild happens on the next query, from memory, so a
+ * bulk write costs one rebuild. Results are ranked by usage (how many compositions refer to
+ * the entity), then sort order, then name. Usage only changes with the compositions, so
+ * loaded types are reloaded from the database periodically.
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    /**
+     * Autocomplete types, by the name used in the URL
+     */
+    public enum Type {
+        PRODUCTS("products"),
+        MATERIALS("materials"),
+        COMPONENTS("components"),
+        VENDORS("vendors");
+
+        private final String pathName;
+
+        Type(String pathName) {
+            this.pathName = pathName;
+        }
+
+        public static Optional<Type> fromPathName(String pathName) {
+            for (Type type : values()) {
+                if (type.pathName.equalsIgnoreCase(pathName)) {
+                    return Optional.of(type);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong(Entry::usage).reversed()
+            .thenComparingInt(Entry::sortOrder)
+            .thenComparing(Entry::label, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(Entry::id);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    @Autowired
+    private ComponentRepository componentRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Value("${app.autocomplete.max-results:10}")
+    private int maxResults;
+
+    private final Map<Type, TypeIndex> indexes = new EnumMap<>(Type.class);
+
+    public AutocompleteService() {
+        for (Type type : Type.values()) {
+            indexes.put(type, new TypeIndex());
+        }
+    }
+
+    /**
+     * Best entries of a type having a name word or code starting with the query
+     */
+    public List<AutocompleteSuggestionDto> suggest(Type type, String query, int limit) {
+        Snapshot snapshot = getSnapshot(type);
+        int[] ranks = snapshot.index().search(query, Math.min(limit, maxResults));
+        List<AutocompleteSuggestionDto> suggestions = new ArrayList<>(ranks.length);
+        for (int rank : ranks) {
+            Entry entry = snapshot.ranked()[rank];
+            suggestions.add(new AutocompleteSuggestionDto(entry.id(), entry.label(), entry.code()));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Reload every loaded type from the database, picking up usage changes
+     */
+    @Scheduled(fixedDelayString = "${app.autocomplete.refresh-interval-ms:600000}")
+    public void refresh() {
+        for (Map.Entry<Type, TypeIndex> index : indexes.entrySet()) {
+            if (index.getValue().snapshot != null) {
+                index.getValue().lock.lock();
+                try {
+                    load(index.getKey(), index.getValue());
+                } catch (RuntimeException e) {
+                    logger.warn("Could not refresh {} autocomplete index", index.getKey(), e);
+                } finally {
+                    index.getValue().lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop every index, for writes made past JPA; each type is loaded again on its next query
+     */
+    public void invalidateAll() {
+        for (TypeIndex index : indexes.values()) {
+            // A load in progress sees the change and does not publish its snapshot
+            index.changes.incrementAndGet();
+            index.snapshot = null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSearchIndexChanged(SearchIndexChangedEvent event) {
+        Object entity = event.getEntity();
+        Type type = typeOf(entity);
+        if (type == null) {
+            return;
+        }
+        TypeIndex index = indexes.get(type);
+        index.changes.incrementAndGet();
+        if (index.snapshot == null) {
+            // Not loaded yet; the first query reads the change from the database
+            return;
+        }
+        Entry entry = toEntry(entity);
+        if (entry == null) {
+            return;
+        }
+        if (event.isRemoved() || entry.label() == null || Boolean.FALSE.equals(((BaseModel) entity).getIsActive())) {
+            index.entries.remove(entry.id());
+        } else {
+            // The entity does not know its usage, so keep the last one loaded
+            Entry previous = index.entries.get(entry.id());
+            index.entries.put(entry.id(), previous == null ? entry : entry.withUsage(previous.usage()));
+        }
+        index.dirty = true;
+    }
+
+    private Snapshot getSnapshot(Type type) {
+        TypeIndex index = indexes.get(type);
+        Snapshot snapshot = index.snapshot;
+        if (snapshot == null) {
+            index.lock.lock();
+            try {
+                snapshot = index.snapshot;
+                return snapshot != null ? snapshot : load(type, index);
+            } finally {
+                index.lock.unlock();
+            }
+        }
+        // A query arriving during a rebuild is answered from the previous snapshot
+        if (index.dirty && index.lock.tryLock()) {
+            try {
+                if (index.dirty) {
+                    index.dirty = false;
+                    index.snapshot = rebuild(index.entries.values());
+                }
+            } finally {
+                index.lock.unlock();
+            }
+        }
+        Snapshot current = index.snapshot;
+        return current != null ? current : snapshot;
+    }
+
+    private Snapshot load(Type type, TypeIndex index) {
+        long changesBefore = index.changes.get();
+        List<Object[]> rows = switch (type) {
+            case PRODUCTS -> productRepository.findAutocompleteRows();
+            case MATERIALS -> materialRepository.findAutocompleteRows();
+            case COMPONENTS -> componentRepository.findAutocompleteRows();
+            case VENDORS -> vendorRepository.findAutocompleteRows();
+        };
+        Map<Long, Entry> entries = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            if (row[0] == null || row[1] == null) {
+                continue;
+            }
+            long id = ((Number) row[0]).longValue();
+            entries.put(id, new Entry(id, (String) row[1], (String) row[2],
+                    row[3] != null ? ((Number) row[3]).intValue() : Integer.MAX_VALUE,
+                    row[4] != null ? ((Number) row[4]).longValue() : 0));
+        }
+        index.entries.clear();
+        index.entries.putAll(entries);
+        Snapshot snapshot = rebuild(entries.values());
+        index.dirty = false;
+        // A write committed while loading may be missing from the rows, so load again next time
+        index.snapshot = index.changes.get() == changesBefore ? snapshot : null;
+        logger.debug("Loaded {} autocomplete index: {} entries", type, entries.size());
+        return snapshot;
+    }
+
+    private Snapshot rebuild(Collection<Entry> entries) {
+        Entry[] ranked = entries.toArray(new Entry[0]);
+        Arrays.sort(ranked, RANKING);
+        List<List<String>> keysByRank = new ArrayList<>(ranked.length);
+        for (Entry entry : ranked) {
+            keysByRank.add(PrefixIndex.keysOf(entry.label(), entry.code()));
+        }
+        return new Snapshot(ranked, PrefixIndex.build(keysByRank, maxResults));
+    }
+
+    private static Type typeOf(Object entity) {
+        if (entity instanceof Product) {
+            return Type.PRODUCTS;
+        } else if (entity instanceof Material) {
+            return Type.MATERIALS;
+        } else if (entity instanceof Component) {
+            return Type.COMPONENTS;
+        } else if (entity instanceof Vendor) {
+            return Type.VENDORS;
+        }
+        return null;
+    }
+
+    private static Entry toEntry(Object entity) {
+        if (entity instanceof Product product && product.getProductId() != null) {
+            return new Entry(product.getProductId(), product.getProductName(), product.getSkuProductCode(), Integer.MAX_VALUE, 0);
+        } else if (entity instanceof Material material && material.getMaterialId() != null) {
+            return new Entry(material.getMaterialId(), material.getMaterialName(), material.getMaterialCode(),
+                    material.getSortOrder() != null ? material.getSortOrder() : Integer.MAX_VALUE, 0);
+        } else if (entity instanceof Component component && component.getComponentId() != null) {
+            return new Entry(component.getComponentId(), component.getComponentName(), component.getComponentCode(),
+                    component.getSortOrder() != null ? component.getSortOrder() : Integer.MAX_VALUE, 0);
+        } else if (entity instanceof Vendor vendor && vendor.getVendorId() != null) {
+            return new Entry(vendor.getVendorId(), vendor.getVendorName(), vendor.getVendorCode(), Integer.MAX_VALUE, 0);
+        }
+        return null;
+    }
+
+    private record Entry(long id, String label, String code, int sortOrder, long usage) {
+        private Entry withUsage(long usage) {
+            return new Entry(id, label, code, sortOrder, usage);
+        }
+    }
+
+    /**
+     * Entries in rank order and the index over them; never modified once published
+     */
+    private record Snapshot(Entry[] ranked, PrefixIndex index) {}
+
+    private static final class TypeIndex {
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicLong changes = new AtomicLong();
+        private volatile Snapshot snapshot;
+        private volatile boolean dirty;
+    }
+}
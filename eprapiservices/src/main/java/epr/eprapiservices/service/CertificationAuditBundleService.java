@@ -0,0 +1,303 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.ProductCertificationRepository;
+import epr.eprapiservices.dao.repository.ProductGroupRepository;
+import epr.eprapiservices.dao.repository.RecyclingCertificationRepository;
+import epr.eprapiservices.entity.ProductCertification;
+import epr.eprapiservices.entity.RecyclingCertification;
+import epr.eprapiservices.util.UploadPaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service building ZIP audit bundles of certification files.
+ * The bundle is written straight to the caller's stream: each file is read through a
+ * {@link FileChannel} into one fixed buffer, so memory use does not depend on file or
+ * bundle size. The CSV manifest goes last, as it records the size and SHA-256 measured
+ * while streaming and lists files that could not be included. Stored paths are resolved
+ * against the upload directory and files outside it are never opened.
+ */
+@Service
+public class CertificationAuditBundleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificationAuditBundleService.class);
+
+    static final String MANIFEST_ENTRY = "manifest.csv";
+
+    static final String ERROR_ENTRY_SUFFIX = ".ERROR.txt";
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    // Formats that are already compressed are stored without spending CPU on deflate
+    private static final Set<String> COMPRESSED_TYPES = Set.of(
+            "pdf", "jpg", "jpeg", "png", "gif", "zip", "docx", "xlsx", "pptx");
+
+    private static final String[] MANIFEST_HEADER = {
+            "entry", "source", "certificationId", "productId", "recyclerId", "certificationName",
+            "certificateNumber", "certificationType", "issuingAuthority", "issueDate", "expiryDate",
+            "status", "verificationStatus", "originalFileName", "sizeBytes", "sha256", "fileStatus"};
+
+    // Manifest columns filled in while streaming
+    private static final int SIZE_BYTES = 14;
+    private static final int SHA256 = 15;
+    private static final int FILE_STATUS = 16;
+
+    @Autowired
+    private ProductCertificationRepository productCertificationRepository;
+
+    @Autowired
+    private RecyclingCertificationRepository recyclingCertificationRepository;
+
+    @Autowired
+    private ProductGroupRepository productGroupRepository;
+
+    @Value("${app.upload.dir:uploads/certifications}")
+    private String uploadDir;
+
+    /**
+     * Collect the files of an audit bundle. Product certifications are limited to the
+     * products of the group when one is given; recycling certifications belong to
+     * recyclers rather than products, so only the date range applies to them.
+     * Dates select certifications in force at some point of the range.
+     */
+    @Transactional(readOnly = true)
+    public List<BundleFile> findBundleFiles(Integer productGroupId, LocalDate fromDate, LocalDate toDate,
+                                            boolean includeRecyclingCertifications) {
+        if (productGroupId == null && fromDate == null && toDate == null) {
+            throw new IllegalArgumentException("A product group or a date range is required");
+        }
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("fromDate must not be after toDate");
+        }
+        if (productGroupId != null && !productGroupRepository.existsById(productGroupId)) {
+            throw new IllegalArgumentException("Product group not found with id: " + productGroupId);
+        }
+
+        List<BundleFile> files = new ArrayList<>();
+        for (ProductCertification certification
+                : productCertificationRepository.findForAuditBundle(productGroupId, fromDate, toDate)) {
+            String originalName = certification.getFileName() != null
+                    ? certification.getFileName() : fileNameOf(certification.getFilePath());
+            files.add(new BundleFile(
+                    "product-certifications/" + certification.getProductId() + "/"
+                            + certification.getCertificationId() + "_" + sanitize(originalName),
+                    "PRODUCT", String.valueOf(certification.getCertificationId()),
+                    String.valueOf(certification.getProductId()), null,
+                    certification.getCertificationName(), certification.getCertificateNumber(),
+                    certification.getCertificationType(), certification.getIssuingAuthority(),
+                    certification.getIssueDate(), certification.getExpiryDate(), certification.getStatus(),
+                    certification.getVerificationStatus(), originalName, certification.getFilePath(),
+                    certification.getContentHash()));
+        }
+        if (includeRecyclingCertifications) {
+            for (RecyclingCertification certification
+                    : recyclingCertificationRepository.findForAuditBundle(fromDate, toDate)) {
+                String originalName = fileNameOf(certification.getCertificationFilePath());
+                files.add(new BundleFile(
+                        "recycling-certifications/" + certification.getCertificationId() + "_" + sanitize(originalName),
+                        "RECYCLING", String.valueOf(certification.getCertificationId()), null,
+                        certification.getRecyclerId(), certification.getCertificationName(),
+                        certification.getCertificationNumber(), enumName(certification.getCertificationType()),
+                        certification.getIssuingAuthority(), certification.getIssueDate(),
+                        certification.getExpiryDate(), enumName(certification.getCertificationStatus()), null,
+                        originalName, certification.getCertificationFilePath(), null));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Write the bundle as a ZIP to the given stream. Files that are missing or cannot be
+     * opened are skipped and flagged in the manifest instead of failing the whole bundle;
+     * paths leading outside the upload directory are skipped and flagged REJECTED.
+     * A file whose read fails partway stays in the ZIP as far as it was read, with an
+     * ".ERROR.txt" entry next to it and TRUNCATED in the manifest. The stream itself is
+     * finished but not closed.
+     */
+    public void writeBundle(List<BundleFile> files, OutputStream out) throws IOException {
+        Path root = UploadPaths.root(uploadDir);
+        ZipOutputStream zip = new ZipOutputStream(out);
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        List<String[]> manifestRows = new ArrayList<>(files.size());
+        int included = 0;
+        for (BundleFile file : files) {
+            String[] row = file.toManifestRow();
+            manifestRows.add(row);
+            copyFile(root, file, zip, buffer, row);
+            if (row[FILE_STATUS].startsWith("INCLUDED")) {
+                included++;
+            }
+        }
+
+        zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+        zip.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+        Writer writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        writeCsvRow(writer, MANIFEST_HEADER);
+        for (String[] row : manifestRows) {
+            writeCsvRow(writer, row);
+        }
+        writer.flush();
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+        logger.info("Wrote certification audit bundle: {} of {} files included", included, files.size());
+    }
+
+    private static void copyFile(Path root, BundleFile file, ZipOutputStream zip, ByteBuffer buffer, String[] row)
+            throws IOException {
+        Path path = UploadPaths.resolveWithin(root, file.filePath());
+        if (path == null) {
+            logger.warn("Rejected certification {} file path outside the upload directory: {}",
+                    file.certificationId(), file.filePath());
+            row[FILE_STATUS] = "REJECTED";
+            return;
+        }
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+            row[FILE_STATUS] = "MISSING";
+            return;
+        }
+        try (channel) {
+            MessageDigest digest = newSha256();
+            zip.setLevel(COMPRESSED_TYPES.contains(extensionOf(file.entryName()))
+                    ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+            zip.putNextEntry(new ZipEntry(file.entryName()));
+            long size = 0;
+            while (true) {
+                int read;
+                try {
+                    buffer.clear();
+                    read = channel.read(buffer);
+                } catch (IOException e) {
+                    // The entry is already part of the stream and cannot be taken back, so an
+                    // error entry next to it marks it as incomplete; failed writes to the
+                    // response propagate
+                    logger.warn("Failed to read {} for audit bundle after {} bytes: {}", path, size, e.getMessage());
+                    zip.closeEntry();
+                    writeErrorEntry(zip, file.entryName(), size, e);
+                    row[SIZE_BYTES] = String.valueOf(size);
+                    row[FILE_STATUS] = "TRUNCATED";
+                    return;
+                }
+                if (read == -1) {
+                    break;
+                }
+                digest.update(buffer.array(), 0, read);
+                zip.write(buffer.array(), 0, read);
+                size += read;
+            }
+            zip.closeEntry();
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            row[SIZE_BYTES] = String.valueOf(size);
+            row[SHA256] = sha256;
+            row[FILE_STATUS] = file.recordedHash() != null && !file.recordedHash().equalsIgnoreCase(sha256)
+                    ? "INCLUDED_HASH_MISMATCH" : "INCLUDED";
+        }
+    }
+
+    private static void writeErrorEntry(ZipOutputStream zip, String entryName, long size, IOException e) throws IOException {
+        zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+        zip.putNextEntry(new ZipEntry(entryName + ERROR_ENTRY_SUFFIX));
+        zip.write(("Reading the source file failed after " + size + " bytes, so " + entryName
+                + " in this bundle is incomplete: " + e.getMessage() + "\n").getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String fileNameOf(String filePath) {
+        if (filePath == null) {
+            return "file";
+        }
+        String normalized = filePath.replace('\\', '/');
+        String name = normalized.substring(normalized.lastIndexOf('/') + 1);
+        return name.isEmpty() ? "file" : name;
+    }
+
+    private static String sanitize(String fileName) {
+        String sanitized = fileName.replaceAll("[^A-Za-z0-9._-]", "_");
+        return sanitized.isEmpty() ? "file" : sanitized;
+    }
+
+    private static String extensionOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One file of an audit bundle with the certification details listed in the manifest
+     */
+    public record BundleFile(String entryName, String source, String certificationId, String productId,
+                             String recyclerId, String certificationName, String certificateNumber,
+                             String certificationType, String issuingAuthority, LocalDate issueDate,
+                             LocalDate expiryDate, String status, String verificationStatus,
+                             String originalFileName, String filePath, String recordedHash) {
+
+        private String[] toManifestRow() {
+            return new String[] {
+                    entryName, source, certificationId, productId, recyclerId, certificationName,
+                    certificateNumber, certificationType, issuingAuthority,
+                    issueDate != null ? issueDate.toString() : null,
+                    expiryDate != null ? expiryDate.toString() : null,
+                    status, verificationStatus, originalFileName, null, null, null};
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.ProductCertificationRepository;
+import epr.eprapiservices.dao.repository.RecyclingCertificationRepository;
+import epr.eprapiservices.dto.ExpirySweepRunDto;
+import epr.eprapiservices.entity.RecyclingCertification;
+import epr.eprapiservices.event.CertificationsExpiredEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service flipping lapsed recycling and product certifications to EXPIRED.
+ * Each sweep locks the lapsed rows and expires them by ID with set-based UPDATEs in one
+ * transaction of its own, guarded by a database lease so that only one node sweeps at a
+ * time when several share the database.
+ */
+@Service
+public class CertificationExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificationExpiryService.class);
+
+    static final String LEASE_NAME = "certification-expiry-sweep";
+
+    // SQL Server caps a statement at 2100 parameters
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private RecyclingCertificationRepository recyclingCertificationRepository;
+
+    @Autowired
+    private ProductCertificationRepository productCertificationRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.certification-expiry.lease-seconds:300}")
+    private long leaseSeconds;
+
+    private final AtomicLong totalRecyclingCertificationsExpired = new AtomicLong();
+    private final AtomicLong totalProductCertificationsExpired = new AtomicLong();
+
+    private TransactionTemplate sweepTransaction;
+    private volatile ExpirySweepRunDto lastRun;
+
+    @PostConstruct
+    public void init() {
+        // The sweep commits before the lease is released, even when called inside a transaction
+        sweepTransaction = new TransactionTemplate(transactionManager);
+        sweepTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Scheduled sweep; a no-op on nodes that do not win the lease
+     */
+    @Scheduled(initialDelayString = "${app.certification-expiry.initial-delay-ms:60000}",
+               fixedDelayString = "${app.certification-expiry.interval-ms:3600000}")
+    public void scheduledSweep() {
+        try {
+            runSweep();
+        } catch (Exception e) {
+            logger.error("Certification expiry sweep failed", e);
+        }
+    }
+
+    /**
+     * Expire every certification whose expiry date has passed
+     */
+    public ExpirySweepRunDto runSweep() {
+        long started = System.nanoTime();
+        ExpirySweepRunDto run = new ExpirySweepRunDto();
+        run.setRunAt(LocalDateTime.now());
+        run.setAsOf(LocalDate.now());
+        run.setNodeId(schedulerLeaseService.getNodeId());
+
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+            logger.debug("Skipping certification expiry sweep, lease held by another node");
+            return run;
+        }
+        run.setLeaseAcquired(true);
+        try {
+            // Lock, list and expire in one transaction, so the event names exactly the rows changed
+            Expired expired = sweepTransaction.execute(status -> expire(run.getAsOf()));
+            run.setRecyclingCertificationsExpired(expired.recyclingIds().size());
+            run.setProductCertificationsExpired(expired.productIds().size());
+            totalRecyclingCertificationsExpired.addAndGet(expired.recyclingIds().size());
+            totalProductCertificationsExpired.addAndGet(expired.productIds().size());
+            if (!expired.recyclingIds().isEmpty() || !expired.productIds().isEmpty()) {
+                eventPublisher.publishEvent(new CertificationsExpiredEvent(run.getAsOf(), expired.recyclingIds(),
+                        expired.productIds()));
+            }
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+
+        run.setDurationMillis((System.nanoTime() - started) / 1_000_000);
+        lastRun = run;
+        logger.info("Certification expiry sweep expired {} recycling and {} product certifications in {} ms",
+                run.getRecyclingCertificationsExpired(), run.getProductCertificationsExpired(), run.getDurationMillis());
+        return run;
+    }
+
+    private Expired expire(LocalDate asOf) {
+        List<Integer> recyclingIds = recyclingCertificationRepository.findIdsToExpire(
+                asOf, RecyclingCertification.CertificationStatus.VALID);
+        for (int i = 0; i < recyclingIds.size(); i += IN_CLAUSE_CHUNK_SIZE) {
+            recyclingCertificationRepository.expireCertifications(
+                    recyclingIds.subList(i, Math.min(i + IN_CLAUSE_CHUNK_SIZE, recyclingIds.size())),
+                    RecyclingCertification.CertificationStatus.VALID, RecyclingCertification.CertificationStatus.EXPIRED);
+        }
+        List<Long> productIds = productCertificationRepository.findIdsToExpire(asOf, "ACTIVE");
+        for (int i = 0; i < productIds.size(); i += IN_CLAUSE_CHUNK_SIZE) {
+            productCertificationRepository.expireCertifications(
+                    productIds.subList(i, Math.min(i + IN_CLAUSE_CHUNK_SIZE, productIds.size())), "ACTIVE");
+        }
+        return new Expired(recyclingIds, productIds);
+    }
+
+    /**
+     * Get the summary of the latest sweep this node ran, or null if none has run yet
+     */
+    public ExpirySweepRunDto getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Recycling certifications expired by this node since startup
+     */
+    public long getTotalRecyclingCertificationsExpired() {
+        return totalRecyclingCertificationsExpired.get();
+    }
+
+    /**
+     * Product certifications expired by this node since startup
+     */
+    public long getTotalProductCertificationsExpired() {
+        return totalProductCertificationsExpired.get();
+    }
+
+    private record Expired(List<Integer> recyclingIds, List<Long> productIds) {
+    }
+}
@@ -0,0 +1,316 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.ProductCertificationRepository;
+import epr.eprapiservices.dao.repository.ProductRepository;
+import epr.eprapiservices.dto.FileScrubReportDto;
+import epr.eprapiservices.util.UploadPaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service scrubbing the certification upload directory against the database.
+ * Walks the directory once, hashes referenced files on a bounded number of reader
+ * threads sharing a bytes-per-second budget (so request I/O is not starved), and
+ * reports files that are missing, orphaned or no longer match their recorded hash.
+ * Stored paths may be bare file names, which are resolved against the upload directory,
+ * and soft-deleted rows still count as references. When enabled, orphans older than a
+ * grace period (which covers uploads whose row is not yet committed) are deleted.
+ * Runs under a database lease, one node at a time.
+ */
+@Service
+public class CertificationFileScrubberService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificationFileScrubberService.class);
+
+    static final String LEASE_NAME = "certification-file-scrub";
+
+    private static final String PREVIEW_SUFFIX = ".preview.jpg";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ProductCertificationRepository certificationRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${app.upload.dir:uploads/certifications}")
+    private String uploadDir;
+
+    @Value("${app.scrubber.readers:2}")
+    private int readers;
+
+    @Value("${app.scrubber.max-bytes-per-second:10485760}")
+    private long maxBytesPerSecond;
+
+    @Value("${app.scrubber.reclaim-orphans:false}")
+    private boolean reclaimOrphans;
+
+    @Value("${app.scrubber.orphan-grace-minutes:60}")
+    private long orphanGraceMinutes;
+
+    @Value("${app.scrubber.lease-seconds:3600}")
+    private long leaseSeconds;
+
+    private volatile FileScrubReportDto lastReport;
+
+    /**
+     * Scheduled scrub; a no-op on nodes that do not win the lease
+     */
+    @Scheduled(initialDelayString = "${app.scrubber.initial-delay-ms:600000}",
+               fixedDelayString = "${app.scrubber.interval-ms:86400000}")
+    public void scheduledScrub() {
+        try {
+            runScrub();
+        } catch (Exception e) {
+            logger.error("Certification file scrub failed", e);
+        }
+    }
+
+    /**
+     * Scrub the upload directory now
+     */
+    public FileScrubReportDto runScrub() throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        FileScrubReportDto report = new FileScrubReportDto();
+        report.setRunAt(LocalDateTime.now());
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+            logger.debug("Skipping certification file scrub, lease held by another node");
+            return report;
+        }
+        report.setLeaseAcquired(true);
+        try {
+            scrub(report);
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+        report.setDurationMillis((System.nanoTime() - started) / 1_000_000);
+        lastReport = report;
+        logger.info("Certification file scrub: {}", report);
+        return report;
+    }
+
+    /**
+     * Get the report of the latest scrub this node ran, or null if none has run yet
+     */
+    public FileScrubReportDto getLastReport() {
+        return lastReport;
+    }
+
+    private void scrub(FileScrubReportDto report) throws IOException, InterruptedException {
+        Path root = UploadPaths.root(uploadDir);
+
+        // Database references, keyed by normalised absolute path
+        Map<Path, FileReference> certificationFiles = new LinkedHashMap<>();
+        for (Object[] row : certificationRepository.findStoredFileReferences()) {
+            String filePath = (String) row[1];
+            certificationFiles.put(UploadPaths.resolve(root, filePath), new FileReference((Long) row[0], filePath, (String) row[2]));
+        }
+        Set<Path> productPaths = new HashSet<>();
+        for (String path : productRepository.findRegulatoryCertificationsPaths()) {
+            Path normalized = UploadPaths.resolve(root, path);
+            if (normalized != null && normalized.startsWith(root)) {
+                productPaths.add(normalized);
+            }
+        }
+
+        // One pass over the directory, taking sizes and timestamps from the walk itself
+        Map<Path, BasicFileAttributes> onDisk = new HashMap<>();
+        if (Files.isDirectory(root)) {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (attributes.isRegularFile()) {
+                        onDisk.put(file.toAbsolutePath().normalize(), attributes);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    report.getUnreadableFiles().add(file.toString());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        report.setFilesScanned(onDisk.size());
+
+        for (Map.Entry<Path, FileReference> entry : certificationFiles.entrySet()) {
+            if (entry.getKey() != null && !onDisk.containsKey(entry.getKey()) && !Files.isRegularFile(entry.getKey())) {
+                report.getMissingFiles().add(entry.getValue().filePath());
+            }
+        }
+        for (Path path : productPaths) {
+            if (!onDisk.containsKey(path) && !Files.isDirectory(path)) {
+                report.getMissingFiles().add(root.relativize(path).toString());
+            }
+        }
+
+        Instant orphanCutoff = Instant.now().minus(Duration.ofMinutes(orphanGraceMinutes));
+        for (Map.Entry<Path, BasicFileAttributes> entry : onDisk.entrySet()) {
+            Path path = entry.getKey();
+            if (isReferenced(path, certificationFiles.keySet(), productPaths)) {
+                continue;
+            }
+            report.getOrphanedFiles().add(root.relativize(path).toString());
+            if (reclaimOrphans && entry.getValue().lastModifiedTime().toInstant().isBefore(orphanCutoff)) {
+                try {
+                    if (Files.deleteIfExists(path)) {
+                        report.setOrphansReclaimed(report.getOrphansReclaimed() + 1);
+                        report.setBytesReclaimed(report.getBytesReclaimed() + entry.getValue().size());
+                    }
+                } catch (IOException e) {
+                    logger.warn("Failed to reclaim orphaned file {}: {}", path, e.getMessage());
+                }
+            }
+        }
+
+        hashReferencedFiles(certificationFiles, onDisk, report);
+        Collections.sort(report.getMissingFiles());
+        Collections.sort(report.getOrphanedFiles());
+        Collections.sort(report.getCorruptedFiles());
+    }
+
+    private void hashReferencedFiles(Map<Path, FileReference> certificationFiles, Map<Path, BasicFileAttributes> onDisk,
+                                     FileScrubReportDto report) throws InterruptedException {
+        ByteRateLimiter limiter = new ByteRateLimiter(maxBytesPerSecond);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, readers), runnable -> {
+            Thread thread = new Thread(runnable, "certification-scrubber");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<Path, Future<String>> hashes = new LinkedHashMap<>();
+            for (Path path : certificationFiles.keySet()) {
+                if (path != null && onDisk.containsKey(path)) {
+                    hashes.put(path, pool.submit(() -> sha256(path, limiter)));
+                }
+            }
+            for (Map.Entry<Path, Future<String>> entry : hashes.entrySet()) {
+                FileReference reference = certificationFiles.get(entry.getKey());
+                String actual;
+                try {
+                    actual = entry.getValue().get();
+                } catch (ExecutionException e) {
+                    report.getUnreadableFiles().add(reference.filePath());
+                    continue;
+                }
+                report.setFilesHashed(report.getFilesHashed() + 1);
+                report.setBytesHashed(report.getBytesHashed() + onDisk.get(entry.getKey()).size());
+                if (reference.contentHash() == null) {
+                    report.setHashesRecorded(report.getHashesRecorded()
+                            + certificationRepository.recordContentHash(reference.certificationId(), reference.filePath(), actual));
+                } else if (!reference.contentHash().equalsIgnoreCase(actual)) {
+                    report.getCorruptedFiles().add(reference.filePath());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static boolean isReferenced(Path path, Set<Path> certificationFiles, Set<Path> productPaths) {
+        String name = path.getFileName().toString();
+        if (name.endsWith(PREVIEW_SUFFIX)) {
+            // A preview lives and dies with its source file
+            path = path.resolveSibling(name.substring(0, name.length() - PREVIEW_SUFFIX.length()));
+        }
+        if (certificationFiles.contains(path)) {
+            return true;
+        }
+        for (Path productPath : productPaths) {
+            if (path.startsWith(productPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sha256(Path path, ByteRateLimiter limiter) throws IOException, InterruptedException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                limiter.acquire(read);
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private record FileReference(Long certificationId, String filePath, String contentHash) {}
+
+    /**
+     * Byte budget shared by all reader threads: each read reserves its share of the
+     * timeline and sleeps until the reservation starts.
+     */
+    private static final class ByteRateLimiter {
+        private final long bytesPerSecond;
+        private long nextFreeNanos = System.nanoTime();
+
+        private ByteRateLimiter(long bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        private void acquire(int bytes) throws InterruptedException {
+            if (bytesPerSecond <= 0 || bytes <= 0) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                nextFreeNanos = Math.max(nextFreeNanos, now);
+                waitNanos = nextFreeNanos - now;
+                nextFreeNanos += bytes * 1_000_000_000L / bytesPerSecond;
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.ProductCertificationRepository;
+import epr.eprapiservices.dto.CertificationStatsDto;
+import epr.eprapiservices.event.CertificationsExpiredEvent;
+import epr.eprapiservices.event.ProductCertificationChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service computing product certification counts with aggregate queries instead of
+ * loading certifications: per product for a page of product IDs in one GROUP BY,
+ * and a portfolio-wide summary that is cached until a certification changes
+ * (or the TTL passes, since "expiring soon" moves with the calendar).
+ */
+@Service
+public class CertificationPortfolioService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int DEFAULT_EXPIRING_WITHIN_DAYS = 30;
+
+    @Autowired
+    private ProductCertificationRepository certificationRepository;
+
+    @Value("${app.certification-stats.summary-ttl-seconds:300}")
+    private long summaryTtlSeconds;
+
+    private volatile CachedSummary cachedSummary;
+
+    /**
+     * Get certification counts for each of the given products, in request order.
+     * Products without certifications are returned with zero counts.
+     */
+    @Transactional(readOnly = true)
+    public List<CertificationStatsDto> getStatsForProducts(Collection<Integer> productIds, int expiringWithinDays) {
+        Map<Integer, CertificationStatsDto> stats = new LinkedHashMap<>();
+        for (Integer productId : new LinkedHashSet<>(productIds)) {
+            if (productId != null) {
+                CertificationStatsDto empty = new CertificationStatsDto();
+                empty.setProductId(productId);
+                stats.put(productId, empty);
+            }
+        }
+        if (stats.size() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_PAGE_SIZE + " product IDs can be requested at once");
+        }
+        if (stats.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        LocalDate today = LocalDate.now();
+        for (Object[] row : certificationRepository.getCertificationStatsByProductIds(
+                stats.keySet(), today, today.plusDays(expiringWithinDays))) {
+            fill(stats.get((Integer) row[0]), row);
+        }
+        return new ArrayList<>(stats.values());
+    }
+
+    /**
+     * Get certification counts across the whole portfolio (default expiring-soon window)
+     */
+    @Transactional(readOnly = true)
+    public CertificationStatsDto getPortfolioSummary() {
+        CachedSummary cached = cachedSummary;
+        if (cached != null && cached.expiresAt().isAfter(LocalDateTime.now())) {
+            return cached.summary();
+        }
+        LocalDate today = LocalDate.now();
+        Object[] row = certificationRepository.getCertificationStatsSummary(
+                today, today.plusDays(DEFAULT_EXPIRING_WITHIN_DAYS)).get(0);
+        CertificationStatsDto summary = new CertificationStatsDto();
+        summary.setProductCount(toLong(row[0]));
+        fill(summary, row);
+        summary.setComputedAt(LocalDateTime.now());
+        cachedSummary = new CachedSummary(summary, summary.getComputedAt().plusSeconds(summaryTtlSeconds));
+        return summary;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCertificationChanged(ProductCertificationChangedEvent event) {
+        cachedSummary = null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCertificationsExpired(CertificationsExpiredEvent event) {
+        if (!event.getProductCertificationIds().isEmpty()) {
+            cachedSummary = null;
+        }
+    }
+
+    private static void fill(CertificationStatsDto stats, Object[] row) {
+        stats.setTotal(toLong(row[1]));
+        stats.setActive(toLong(row[2]));
+        stats.setExpired(toLong(row[3]));
+        stats.setExpiringSoon(toLong(row[4]));
+        stats.setVerified(toLong(row[5]));
+        stats.setWithFile(toLong(row[6]));
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private record CachedSummary(CertificationStatsDto summary, LocalDateTime expiresAt) {}
+}
@@ -0,0 +1,198 @@
+package epr.eprapiservices.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service generating small JPEG previews of certification image files.
+ * Previews are written beside the original as {@code <file>.preview.jpg} by a bounded
+ * worker pool, so uploads never wait for them; when the queue is full a request is
+ * dropped and the preview is generated again the next time it is asked for.
+ * Large scans are decoded with source subsampling so only about the preview's
+ * resolution is ever held in memory.
+ */
+@Service
+public class CertificationPreviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificationPreviewService.class);
+
+    private static final String PREVIEW_SUFFIX = ".preview.jpg";
+    private static final Set<String> PREVIEWABLE_TYPES = Set.of("jpg", "jpeg", "png");
+
+    @Value("${app.preview.max-dimension:320}")
+    private int maxDimension;
+
+    @Value("${app.preview.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    private final ThreadPoolExecutor executor;
+    private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+
+    public CertificationPreviewService(@Value("${app.preview.threads:2}") int threads,
+                                       @Value("${app.preview.queue-capacity:200}") int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "certification-preview-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Whether previews can be generated for a file type (extension without the dot).
+     * PDFs are not rendered: there is no PDF rasteriser on the classpath.
+     */
+    public boolean isPreviewable(String fileType) {
+        return fileType != null && PREVIEWABLE_TYPES.contains(fileType.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Path of the preview belonging to a stored certification file
+     */
+    public Path getPreviewPath(String filePath) {
+        return Paths.get(filePath + PREVIEW_SUFFIX);
+    }
+
+    /**
+     * Queue preview generation for a stored file; returns false if the file type has
+     * no previews or the queue is full
+     */
+    public boolean schedulePreview(String filePath, String fileType) {
+        if (filePath == null || !isPreviewable(fileType)) {
+            return false;
+        }
+        Path source = Paths.get(filePath);
+        if (!pending.add(source)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generatePreview(source, getPreviewPath(filePath));
+                } catch (Exception e) {
+                    logger.warn("Failed to generate preview for {}: {}", source, e.getMessage());
+                } finally {
+                    pending.remove(source);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(source);
+            logger.debug("Preview queue full, skipping {}", source);
+            return false;
+        }
+    }
+
+    /**
+     * Delete the preview of a stored file, if any
+     */
+    public void deletePreview(String filePath) {
+        try {
+            Files.deleteIfExists(getPreviewPath(filePath));
+        } catch (IOException e) {
+            logger.warn("Failed to delete preview for {}: {}", filePath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generatePreview(Path source, Path target) throws IOException {
+        if (!Files.isReadable(source)) {
+            return;
+        }
+        BufferedImage image = readSubsampled(source);
+        if (image == null) {
+            return;
+        }
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        // JPEG has no alpha, so flatten transparent PNGs onto white
+        BufferedImage preview = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = preview.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        writeJpeg(preview, temp);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private BufferedImage readSubsampled(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longestSide / (maxDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
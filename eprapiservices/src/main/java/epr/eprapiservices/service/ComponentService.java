@@ -23,14 +23,17 @@ public class ComponentService {
     @Autowired
     private MaterialRepository materialRepository;
 
+    @Transactional(readOnly = true)
     public List<Component> getAllComponents() {
         return componentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Component> getActiveComponents() {
         return componentRepository.findByIsActive(true);
     }
 
+    @Transactional(readOnly = true)
     public Component getComponentById(Long id) {
         return componentRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Component not found with id: " + id));
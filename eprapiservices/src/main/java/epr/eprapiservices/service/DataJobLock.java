@@ -0,0 +1,41 @@
+package epr.eprapiservices.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock shared by the jobs that rewrite the product and material tables wholesale (data
+ * resets and product data imports), so at most one of them runs at a time. It is claimed
+ * with a single compare-and-set when a job is queued and released when the job finishes.
+ */
+@Component
+public class DataJobLock {
+
+    private final AtomicReference<String> holder = new AtomicReference<>();
+
+    /**
+     * Claim the lock for a job; throws IllegalStateException naming the job that holds it
+     */
+    public void acquire(String job) {
+        if (!holder.compareAndSet(null, job)) {
+            String current = holder.get();
+            throw new IllegalStateException("Cannot start the " + job + " while "
+                    + (current != null ? "the " + current : "another data job") + " is running");
+        }
+    }
+
+    /**
+     * Release the lock if the given job holds it
+     */
+    public void release(String job) {
+        holder.compareAndSet(job, null);
+    }
+
+    /**
+     * Job holding the lock, or null
+     */
+    public String getHolder() {
+        return holder.get();
+    }
+}
@@ -0,0 +1,375 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dto.DataResetJobDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service clearing the product, material, vendor, recycling and certification tables.
+ * Tables are cleared children first on a background thread with set-based statements:
+ * TRUNCATE when no foreign key refers to the table, otherwise DELETE over primary key
+ * ranges of at most app.reset.batch-size ids, each in its own transaction, so locks and
+ * the transaction log stay bounded and a job can be cancelled between batches. Jobs run
+ * one at a time, never alongside a product data import (see {@link DataJobLock}), and
+ * report per-table counts through {@link #getJob(String)}. Rows are removed past JPA,
+ * so the in-memory caches and aggregates are rebuilt afterwards.
+ */
+@Service
+public class DataResetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataResetService.class);
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final String JOB_NAME = "data reset";
+
+    /**
+     * Tables that can be reset, children before the tables they refer to
+     */
+    private static final Map<String, String> ID_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        ID_COLUMNS.put("product_component_compositions", "id");
+        ID_COLUMNS.put("component_material_compositions", "id");
+        ID_COLUMNS.put("productcomposition", "product_composition_id");
+        ID_COLUMNS.put("materialcomposition", "material_composition_id");
+        ID_COLUMNS.put("productcertifications", "certification_id");
+        ID_COLUMNS.put("recycle_log", "recycle_log_id");
+        ID_COLUMNS.put("recycling_certification", "certification_id");
+        ID_COLUMNS.put("tracing_target", "target_id");
+        ID_COLUMNS.put("product", "product_id");
+        ID_COLUMNS.put("components", "component_id");
+        ID_COLUMNS.put("material", "material_id");
+        ID_COLUMNS.put("vendor", "vendor_id");
+        ID_COLUMNS.put("producttype", "product_type_id");
+        ID_COLUMNS.put("productcategory", "product_category_id");
+        ID_COLUMNS.put("productgroup", "product_group_id");
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DataJobLock dataJobLock;
+
+    @Autowired
+    private ReferenceDataCacheService referenceDataCacheService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private RecyclingMetricsSketchService recyclingMetricsSketchService;
+
+    @Autowired
+    private RecycleLogAnomalyService recycleLogAnomalyService;
+
+    @Autowired
+    private RecyclerLeaderboardService recyclerLeaderboardService;
+
+    @Value("${app.reset.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.reset.truncate:true}")
+    private boolean truncateEnabled;
+
+    @Value("${app.reset.statement-timeout-seconds:120}")
+    private int statementTimeoutSeconds;
+
+    @Value("${app.reset.max-recent-jobs:20}")
+    private int maxRecentJobs;
+
+    private JdbcTemplate jdbcTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ResetJob> jobs = new LinkedHashMap<>();
+
+    public DataResetService() {
+        this.executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "data-reset");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PostConstruct
+    public void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setQueryTimeout(statementTimeoutSeconds);
+    }
+
+    /**
+     * Names of the tables that can be reset, in the order they are cleared
+     */
+    public List<String> getTableNames() {
+        return new ArrayList<>(ID_COLUMNS.keySet());
+    }
+
+    /**
+     * Queue a reset of the given tables, or of all of them when none are given; throws
+     * IllegalStateException while another reset or a product data import is running
+     */
+    public DataResetJobDto startReset(List<String> tables) {
+        Set<String> requested = new LinkedHashSet<>();
+        if (tables != null) {
+            for (String table : tables) {
+                String name = table.trim().toLowerCase(Locale.ROOT);
+                if (!ID_COLUMNS.containsKey(name)) {
+                    throw new IllegalArgumentException("Unknown table: " + table + ". Expected one of " + ID_COLUMNS.keySet());
+                }
+                requested.add(name);
+            }
+        }
+        List<String> ordered = new ArrayList<>();
+        for (String table : ID_COLUMNS.keySet()) {
+            if (requested.isEmpty() || requested.contains(table)) {
+                ordered.add(table);
+            }
+        }
+        ResetJob job = new ResetJob(UUID.randomUUID().toString(), ordered);
+        dataJobLock.acquire(JOB_NAME);
+        synchronized (jobs) {
+            jobs.put(job.jobId, job);
+            while (jobs.size() > maxRecentJobs) {
+                jobs.remove(jobs.keySet().iterator().next());
+            }
+        }
+        executor.execute(() -> runReset(job));
+        return job.toDto();
+    }
+
+    /**
+     * Ask a running reset to stop after its current batch; tables already cleared stay cleared
+     */
+    public Optional<DataResetJobDto> cancel(String jobId) {
+        synchronized (jobs) {
+            ResetJob job = jobs.get(jobId);
+            if (job == null) {
+                return Optional.empty();
+            }
+            job.cancelRequested = true;
+            return Optional.of(job.toDto());
+        }
+    }
+
+    /**
+     * Progress of a reset started since the application started
+     */
+    public Optional<DataResetJobDto> getJob(String jobId) {
+        synchronized (jobs) {
+            ResetJob job = jobs.get(jobId);
+            return job != null ? Optional.of(job.toDto()) : Optional.empty();
+        }
+    }
+
+    /**
+     * Most recent resets, newest first
+     */
+    public List<DataResetJobDto> getRecentJobs() {
+        List<DataResetJobDto> recent = new ArrayList<>();
+        synchronized (jobs) {
+            for (ResetJob job : jobs.values()) {
+                recent.add(0, job.toDto());
+            }
+        }
+        return recent;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runReset(ResetJob job) {
+        job.start();
+        logger.info("Starting data reset {} of {}", job.jobId, job.tables);
+        String finalStatus = STATUS_COMPLETED;
+        String finalMessage = null;
+        try {
+            for (String table : job.tables) {
+                job.rowsTotal += count(table);
+            }
+            for (String table : job.tables) {
+                if (job.cancelRequested) {
+                    break;
+                }
+                job.currentTable = table;
+                clear(job, table);
+            }
+            if (job.cancelRequested) {
+                finalStatus = STATUS_CANCELLED;
+                finalMessage = "Cancelled after deleting " + job.rowsDeleted + " rows";
+            }
+        } catch (RuntimeException e) {
+            logger.error("Data reset {} failed", job.jobId, e);
+            finalStatus = STATUS_FAILED;
+            finalMessage = e.getMessage();
+        } finally {
+            job.currentTable = null;
+            refreshCaches(job);
+            // Finished only once the next reset can start
+            job.finish(finalStatus, finalMessage);
+            dataJobLock.release(JOB_NAME);
+        }
+        logger.info("Data reset {} {}: {} rows in {} ms, {}", job.jobId, job.status, job.rowsDeleted,
+                job.durationMillis(), job.deletedCounts);
+    }
+
+    private void clear(ResetJob job, String table) {
+        if (truncateEnabled && !isReferenced(table)) {
+            long rows = count(table);
+            try {
+                jdbcTemplate.execute("TRUNCATE TABLE " + table);
+                job.truncated(table, rows);
+                return;
+            } catch (DataAccessException e) {
+                // Missing permissions or an unreported reference; deleting in batches still works
+                logger.warn("Could not truncate {}, deleting in batches instead: {}", table, e.getMessage());
+            }
+        }
+        String idColumn = ID_COLUMNS.get(table);
+        String nextId = "SELECT MIN(" + idColumn + ") FROM " + table;
+        String delete = "DELETE FROM " + table + " WHERE " + idColumn + " >= ? AND " + idColumn + " < ?";
+        job.deleted(table, 0);
+        Long from;
+        // Each statement commits on its own; jumping to the lowest remaining id skips gaps
+        while (!job.cancelRequested && (from = jdbcTemplate.queryForObject(nextId, Long.class)) != null) {
+            job.deleted(table, jdbcTemplate.update(delete, from, from + batchSize));
+        }
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Whether a foreign key refers to the table, which rules out TRUNCATE even when the
+     * referring table is empty
+     */
+    private boolean isReferenced(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            try (ResultSet keys = metaData.getExportedKeys(connection.getCatalog(), null, name)) {
+                return keys.next();
+            }
+        }));
+    }
+
+    private void refreshCaches(ResetJob job) {
+        try {
+            referenceDataCacheService.invalidateAll();
+            autocompleteService.invalidateAll();
+            if (job.tables.contains("recycle_log") && job.deletedCounts.containsKey("recycle_log")) {
+                recyclingMetricsSketchService.rebuild();
+                recycleLogAnomalyService.rebuild();
+                recyclerLeaderboardService.rebuild();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh caches after data reset {}", job.jobId, e);
+        }
+    }
+
+    private static final class ResetJob {
+        private final String jobId;
+        private final List<String> tables;
+        private final Map<String, Long> deletedCounts = new LinkedHashMap<>();
+        private final List<String> truncatedTables = new ArrayList<>();
+        private volatile String status = STATUS_QUEUED;
+        private volatile String message;
+        private volatile String currentTable;
+        private volatile boolean cancelRequested;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long startedNanos;
+        private volatile long finishedNanos;
+        private volatile long rowsTotal;
+        private volatile long rowsDeleted;
+
+        private ResetJob(String jobId, List<String> tables) {
+            this.jobId = jobId;
+            this.tables = tables;
+        }
+
+        private void start() {
+            startedAt = LocalDateTime.now();
+            startedNanos = System.nanoTime();
+            status = STATUS_RUNNING;
+        }
+
+        private void finish(String finalStatus, String finalMessage) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            message = finalMessage;
+            status = finalStatus;
+        }
+
+        private synchronized void deleted(String table, long count) {
+            deletedCounts.merge(table, count, Long::sum);
+            rowsDeleted += count;
+        }
+
+        private synchronized void truncated(String table, long count) {
+            truncatedTables.add(table);
+            deleted(table, count);
+        }
+
+        private long durationMillis() {
+            if (startedNanos == 0) {
+                return 0;
+            }
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            return TimeUnit.NANOSECONDS.toMillis(end - startedNanos);
+        }
+
+        private synchronized DataResetJobDto toDto() {
+            DataResetJobDto dto = new DataResetJobDto();
+            dto.setJobId(jobId);
+            dto.setTables(new ArrayList<>(tables));
+            dto.setStatus(status);
+            dto.setMessage(message);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setCurrentTable(currentTable);
+            dto.setRowsTotal(rowsTotal);
+            dto.setRowsDeleted(rowsDeleted);
+            dto.setPercentComplete(rowsTotal > 0 ? (int) Math.min(100, rowsDeleted * 100 / rowsTotal)
+                    : STATUS_COMPLETED.equals(status) ? 100 : 0);
+            dto.setDeletedCounts(new LinkedHashMap<>(deletedCounts));
+            dto.setTruncatedTables(new ArrayList<>(truncatedTables));
+            dto.setCancelRequested(cancelRequested);
+            dto.setDurationMillis(durationMillis());
+            return dto;
+        }
+    }
+}
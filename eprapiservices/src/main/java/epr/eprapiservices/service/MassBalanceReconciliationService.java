@@ -0,0 +1,296 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dto.MassBalanceFindingDto;
+import epr.eprapiservices.dto.ReconciliationRunDto;
+import epr.eprapiservices.event.RecycleLogChangedEvent;
+import epr.eprapiservices.event.RecyclingCertificationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service reconciling logged recycling quantities against recycling certifications.
+ * Counted logs and certification validity intervals are read from one query ordered by
+ * recycler, so the database does the sort and only one recycler's rows are held at a time;
+ * within a recycler both sides are sorted by (material, date) and merge-joined in a single
+ * pass. After the first full run only recyclers whose logs or certifications changed since
+ * the previous run are reconciled again.
+ * Logs without a recycler ID cannot be attributed to a certification and are not reconciled.
+ */
+@Service
+public class MassBalanceReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MassBalanceReconciliationService.class);
+
+    // SQL Server caps a statement at 2100 parameters; the recycler IDs are bound twice
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private static final String LOG_ROWS = "SELECT 0 AS row_kind, recycler_id, material_type, recycle_log_id AS row_id,"
+            + " CAST(recycle_date AS DATE) AS start_date, CAST(NULL AS DATE) AS end_date, quantity_grams,"
+            + " 0 AS withdrawn FROM recycle_log WHERE recycler_id IS NOT NULL AND is_active = 1 AND held_for_review = 0"
+            + " AND recycle_date IS NOT NULL AND quantity_grams IS NOT NULL";
+
+    // Suspended or revoked certifications never back a claim, even within their dates;
+    // expired ones still back logs dated inside their validity interval
+    private static final String CERTIFICATION_ROWS = "SELECT 1, recycler_id, material_type, certification_id, issue_date,"
+            + " expiry_date, CAST(NULL AS BIGINT), CASE WHEN certification_status IN ('SUSPENDED', 'REVOKED') THEN 1 ELSE 0 END"
+            + " FROM recycling_certification WHERE recycler_id IS NOT NULL AND is_active = 1"
+            + " AND issue_date IS NOT NULL AND expiry_date IS NOT NULL";
+
+    private static final Comparator<CertificationRow> BY_EXPIRY = Comparator.comparing(CertificationRow::expiryDate);
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final Map<ReconciliationKey, MassBalanceFindingDto> findings = new ConcurrentHashMap<>();
+    private final Set<String> dirtyRecyclerIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean fullRunRequired = true;
+    private volatile ReconciliationRunDto lastRun;
+
+    /**
+     * Mark the recycler of a changed recycle log for the next incremental run
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecycleLogChanged(RecycleLogChangedEvent event) {
+        markDirty(event.getPrevious() != null ? event.getPrevious().getRecyclerId() : null);
+        markDirty(event.getCurrent() != null ? event.getCurrent().getRecyclerId() : null);
+    }
+
+    /**
+     * Mark the recycler of a changed certification for the next incremental run
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecyclingCertificationChanged(RecyclingCertificationChangedEvent event) {
+        markDirty(event.getPrevious() != null ? event.getPrevious().getRecyclerId() : null);
+        markDirty(event.getCurrent() != null ? event.getCurrent().getRecyclerId() : null);
+    }
+
+    /**
+     * Run reconciliation. Falls back to a full run until one has completed. Recyclers
+     * marked for the run are marked again if it fails, so the next run retries them.
+     */
+    @Transactional(readOnly = true)
+    public synchronized ReconciliationRunDto runReconciliation(boolean full) {
+        long startNanos = System.nanoTime();
+        boolean fullRun = full || fullRunRequired;
+
+        Set<String> recyclerIds = new HashSet<>(dirtyRecyclerIds);
+        dirtyRecyclerIds.removeAll(recyclerIds);
+
+        MergeScan scan = new MergeScan();
+        try {
+            if (fullRun) {
+                jdbcTemplate.query(LOG_ROWS + " UNION ALL " + CERTIFICATION_ROWS + " ORDER BY recycler_id", Map.of(), scan);
+            } else {
+                List<String> ids = new ArrayList<>(recyclerIds);
+                for (int i = 0; i < ids.size(); i += IN_CLAUSE_CHUNK_SIZE) {
+                    List<String> chunk = ids.subList(i, Math.min(i + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+                    jdbcTemplate.query(LOG_ROWS + " AND recycler_id IN (:recyclerIds) UNION ALL " + CERTIFICATION_ROWS
+                            + " AND recycler_id IN (:recyclerIds) ORDER BY recycler_id", Map.of("recyclerIds", chunk), scan);
+                }
+            }
+            scan.finish();
+        } catch (RuntimeException e) {
+            dirtyRecyclerIds.addAll(recyclerIds);
+            throw e;
+        }
+
+        List<MassBalanceFindingDto> results = scan.results;
+        if (fullRun) {
+            findings.clear();
+            fullRunRequired = false;
+        } else {
+            findings.keySet().removeIf(key -> recyclerIds.contains(key.recyclerId()));
+        }
+        for (MassBalanceFindingDto result : results) {
+            findings.put(new ReconciliationKey(result.getRecyclerId(), result.getMaterialType()), result);
+        }
+
+        ReconciliationRunDto run = new ReconciliationRunDto();
+        run.setRunAt(LocalDateTime.now());
+        run.setFullRun(fullRun);
+        run.setKeysReconciled(results.size());
+        run.setLogsScanned(scan.logsScanned);
+        run.setCertificationsScanned(scan.certificationsScanned);
+        run.setKeysWithDiscrepancies((int) results.stream().filter(MassBalanceFindingDto::hasDiscrepancy).count());
+        run.setDurationMillis((System.nanoTime() - startNanos) / 1_000_000);
+        lastRun = run;
+        logger.info("Mass-balance reconciliation finished: {}", run);
+        return run;
+    }
+
+    /**
+     * Get reconciliation results from the latest runs
+     */
+    public List<MassBalanceFindingDto> getFindings(boolean discrepanciesOnly) {
+        return findings.values().stream()
+                .filter(finding -> !discrepanciesOnly || finding.hasDiscrepancy())
+                .sorted(Comparator.comparing(MassBalanceFindingDto::getRecyclerId)
+                        .thenComparing(MassBalanceFindingDto::getMaterialType))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get reconciliation results for a single recycler
+     */
+    public List<MassBalanceFindingDto> getFindingsByRecyclerId(String recyclerId) {
+        return findings.values().stream()
+                .filter(finding -> finding.getRecyclerId().equals(recyclerId))
+                .sorted(Comparator.comparing(MassBalanceFindingDto::getMaterialType))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the summary of the latest run, or null if none has run yet
+     */
+    public ReconciliationRunDto getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Sort both sides of one recycler by (material, date) and sweep each key group once.
+     * Certifications enter the active set when their issue date is reached and leave it
+     * once their expiry date has passed.
+     */
+    private static List<MassBalanceFindingDto> mergeJoin(List<LogRow> logs, List<CertificationRow> certifications) {
+        logs.sort(Comparator.comparing(LogRow::key).thenComparing(LogRow::recycleDate));
+        certifications.sort(Comparator.comparing(CertificationRow::key).thenComparing(CertificationRow::issueDate));
+
+        List<MassBalanceFindingDto> results = new ArrayList<>();
+        int logIndex = 0;
+        int certIndex = 0;
+        while (logIndex < logs.size()) {
+            ReconciliationKey key = logs.get(logIndex).key();
+            while (certIndex < certifications.size() && certifications.get(certIndex).key().compareTo(key) < 0) {
+                certIndex++;
+            }
+            int certEnd = certIndex;
+            while (certEnd < certifications.size() && certifications.get(certEnd).key().compareTo(key) == 0) {
+                certEnd++;
+            }
+
+            MassBalanceFindingDto finding = new MassBalanceFindingDto(key.recyclerId(), key.materialType());
+            PriorityQueue<CertificationRow> backing = new PriorityQueue<>(BY_EXPIRY);
+            PriorityQueue<CertificationRow> withdrawn = new PriorityQueue<>(BY_EXPIRY);
+
+            while (logIndex < logs.size() && logs.get(logIndex).key().compareTo(key) == 0) {
+                LogRow log = logs.get(logIndex++);
+                while (certIndex < certEnd && !certifications.get(certIndex).issueDate().isAfter(log.recycleDate())) {
+                    CertificationRow certification = certifications.get(certIndex++);
+                    (certification.withdrawn() ? withdrawn : backing).add(certification);
+                }
+                evictExpired(backing, log.recycleDate());
+                evictExpired(withdrawn, log.recycleDate());
+
+                finding.setLoggedQuantityGrams(finding.getLoggedQuantityGrams() + log.quantityGrams());
+                if (!backing.isEmpty()) {
+                    finding.setCertifiedQuantityGrams(finding.getCertifiedQuantityGrams() + log.quantityGrams());
+                } else if (!withdrawn.isEmpty()) {
+                    finding.setOverClaimedQuantityGrams(finding.getOverClaimedQuantityGrams() + log.quantityGrams());
+                    finding.getOverClaimedLogIds().add(log.recycleLogId());
+                } else {
+                    finding.setUncertifiedQuantityGrams(finding.getUncertifiedQuantityGrams() + log.quantityGrams());
+                    finding.getUncertifiedLogIds().add(log.recycleLogId());
+                }
+            }
+            certIndex = certEnd;
+            results.add(finding);
+        }
+        return results;
+    }
+
+    private static void evictExpired(PriorityQueue<CertificationRow> active, LocalDate date) {
+        while (!active.isEmpty() && active.peek().expiryDate().isBefore(date)) {
+            active.poll();
+        }
+    }
+
+    private void markDirty(String recyclerId) {
+        if (recyclerId != null) {
+            dirtyRecyclerIds.add(recyclerId);
+        }
+    }
+
+    private static ReconciliationKey keyOf(ResultSet rs) throws SQLException {
+        return new ReconciliationKey(rs.getString("recycler_id"), normalizeMaterialType(rs.getString("material_type")));
+    }
+
+    private static String normalizeMaterialType(String materialType) {
+        return materialType == null ? "" : materialType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Rows of the ordered query, collected one recycler at a time. Recycler IDs differing
+     * only in case are kept in one group, as a case-insensitive collation may interleave
+     * them; the join key still tells them apart.
+     */
+    private static final class MergeScan implements RowCallbackHandler {
+        private final List<MassBalanceFindingDto> results = new ArrayList<>();
+        private final List<LogRow> logs = new ArrayList<>();
+        private final List<CertificationRow> certifications = new ArrayList<>();
+        private String recyclerId;
+        private int logsScanned;
+        private int certificationsScanned;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            ReconciliationKey key = keyOf(rs);
+            if (recyclerId != null && !recyclerId.equalsIgnoreCase(key.recyclerId())) {
+                finish();
+            }
+            recyclerId = key.recyclerId();
+            if (rs.getInt("row_kind") == 0) {
+                logs.add(new LogRow(rs.getInt("row_id"), key, rs.getObject("start_date", LocalDate.class),
+                        rs.getLong("quantity_grams")));
+                logsScanned++;
+            } else {
+                certifications.add(new CertificationRow(key, rs.getObject("start_date", LocalDate.class),
+                        rs.getObject("end_date", LocalDate.class), rs.getInt("withdrawn") == 1));
+                certificationsScanned++;
+            }
+        }
+
+        private void finish() {
+            results.addAll(mergeJoin(logs, certifications));
+            logs.clear();
+            certifications.clear();
+        }
+    }
+
+    private record LogRow(int recycleLogId, ReconciliationKey key, LocalDate recycleDate, long quantityGrams) {
+    }
+
+    private record CertificationRow(ReconciliationKey key, LocalDate issueDate, LocalDate expiryDate, boolean withdrawn) {
+    }
+
+    /**
+     * Join key: one recycler and one (normalised) material type
+     */
+    private record ReconciliationKey(String recyclerId, String materialType) implements Comparable<ReconciliationKey> {
+        @Override
+        public int compareTo(ReconciliationKey other) {
+            int byRecycler = recyclerId.compareTo(other.recyclerId);
+            return byRecycler != 0 ? byRecycler : materialType.compareTo(other.materialType);
+        }
+    }
+}
@@ -22,6 +22,7 @@ public class ProductCategoryService {
     /**
      * Get all active product categories
      */
+    @Transactional(readOnly = true)
     public List<ProductCategory> getAllActiveProductCategories() {
         return productCategoryRepository.findAllActive();
     }
@@ -29,6 +30,7 @@ public class ProductCategoryService {
     /**
      * Get all product categories with filtering and sorting
      */
+    @Transactional(readOnly = true)
     public List<ProductCategory> getAllProductCategories(Boolean activeOnly, String sortBy, String sortOrder) {
         if (activeOnly) {
             return productCategoryRepository.findAllActiveSorted(sortBy, sortOrder);
@@ -40,6 +42,7 @@ public class ProductCategoryService {
     /**
      * Get product category by ID
      */
+    @Transactional(readOnly = true)
     public Optional<ProductCategory> getProductCategoryById(Integer productCategoryId) {
         return productCategoryRepository.findById(productCategoryId);
     }
@@ -47,6 +50,7 @@ public class ProductCategoryService {
     /**
      * Get product category by name
      */
+    @Transactional(readOnly = true)
     public Optional<ProductCategory> getProductCategoryByName(String productCategoryName) {
         return productCategoryRepository.findByProductCategoryName(productCategoryName);
     }
@@ -116,6 +120,7 @@ public class ProductCategoryService {
     /**
      * Search product categories by name
      */
+    @Transactional(readOnly = true)
     public List<ProductCategory> searchProductCategoriesByName(String name) {
         return productCategoryRepository.findByProductCategoryNameContainingIgnoreCase(name);
     }
@@ -123,6 +128,7 @@ public class ProductCategoryService {
     /**
      * Search product categories by name or description
      */
+    @Transactional(readOnly = true)
     public List<ProductCategory> searchProductCategories(String searchTerm) {
         return productCategoryRepository.searchByNameOrDescription(searchTerm);
     }
@@ -130,6 +136,7 @@ public class ProductCategoryService {
     /**
      * Check if category name exists
      */
+    @Transactional(readOnly = true)
     public boolean isCategoryNameExists(String categoryName) {
         return productCategoryRepository.existsByProductCategoryNameIgnoreCase(categoryName);
     }
@@ -139,6 +146,7 @@ public class ProductCategoryService {
     /**
      * Check if category name is available for update
      */
+    @Transactional(readOnly = true)
     public boolean isCategoryNameAvailable(String categoryName, Integer excludeId) {
         if (excludeId == null) {
             return !isCategoryNameExists(categoryName);
@@ -151,6 +159,7 @@ public class ProductCategoryService {
     /**
      * Get count of active categories
      */
+    @Transactional(readOnly = true)
     public long getActiveCount() {
         return productCategoryRepository.countActiveCategories();
     }
@@ -158,6 +167,7 @@ public class ProductCategoryService {
     /**
      * Get all categories ordered by sort order
      */
+    @Transactional(readOnly = true)
     public List<ProductCategory> getAllCategoriesBySortOrder() {
         return productCategoryRepository.findAllActiveBySortOrder();
     }
@@ -165,6 +175,7 @@ public class ProductCategoryService {
     /**
      * Get next sort order value
      */
+    @Transactional(readOnly = true)
     public Integer getNextSortOrder() {
         return productCategoryRepository.getNextSortOrder();
     }
@@ -172,6 +183,7 @@ public class ProductCategoryService {
     /**
      * Validate product category data
      */
+    @Transactional(readOnly = true)
     public boolean validateProductCategory(ProductCategory productCategory) {
         if (productCategory == null) {
             return false;
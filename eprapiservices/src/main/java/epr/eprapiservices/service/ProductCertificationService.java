@@ -2,20 +2,37 @@ package epr.eprapiservices.service;
 
 import epr.eprapiservices.entity.ProductCertification;
 import epr.eprapiservices.dao.repository.ProductCertificationRepository;
+import epr.eprapiservices.dto.BulkCertificationDecisionDto;
+import epr.eprapiservices.dto.BulkCertificationOutcomeDto;
+import epr.eprapiservices.dto.CertificationStatsDto;
+import epr.eprapiservices.event.ProductCertificationChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 /**
@@ -26,9 +43,21 @@ import java.util.UUID;
 @Transactional
 public class ProductCertificationService {
 
+    // Keeps each IN list well under SQL Server's 2100 parameter limit
+    private static final int BULK_DECISION_BATCH_SIZE = 500;
+
     @Autowired
     private ProductCertificationRepository certificationRepository;
 
+    @Autowired
+    private CertificationPortfolioService certificationPortfolioService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CertificationPreviewService certificationPreviewService;
+
     @Value("${app.upload.dir:uploads/certifications}")
     private String uploadDir;
 
@@ -38,6 +67,7 @@ public class ProductCertificationService {
     /**
      * Get all certifications for a product
      */
+    @Transactional(readOnly = true)
     public List<ProductCertification> getCertificationsByProductId(Integer productId) {
         return certificationRepository.findByProductIdAndIsActiveTrue(productId);
     }
@@ -45,6 +75,7 @@ public class ProductCertificationService {
     /**
      * Get certification by ID
      */
+    @Transactional(readOnly = true)
     public Optional<ProductCertification> getCertificationById(Long certificationId) {
         return certificationRepository.findById(certificationId)
                 .filter(cert -> cert.getIsActive());
@@ -53,6 +84,7 @@ public class ProductCertificationService {
     /**
      * Get certification by ID and product ID
      */
+    @Transactional(readOnly = true)
     public Optional<ProductCertification> getCertificationByIdAndProductId(Long certificationId, Integer productId) {
         return certificationRepository.findByCertificationIdAndProductIdAndIsActiveTrue(certificationId, productId);
     }
@@ -71,7 +103,7 @@ public class ProductCertificationService {
             certification.setVerificationStatus("NOT_VERIFIED");
         }
         
-        return certificationRepository.save(certification);
+        return publishChange(certificationRepository.save(certification));
     }
 
     /**
@@ -102,7 +134,7 @@ public class ProductCertificationService {
         existing.setVerifiedBy(updatedCertification.getVerifiedBy());
         existing.setNotes(updatedCertification.getNotes());
         
-        return certificationRepository.save(existing);
+        return publishChange(certificationRepository.save(existing));
     }
 
     /**
@@ -124,7 +156,7 @@ public class ProductCertificationService {
         
         // Soft delete
         certification.setIsActive(false);
-        certificationRepository.save(certification);
+        publishChange(certificationRepository.save(certification));
     }
 
     /**
@@ -148,7 +180,7 @@ public class ProductCertificationService {
         }
         
         // Save new file
-        String fileName = saveFile(file);
+        String fileName = saveFile(file, certification);
         String filePath = uploadDir + "/" + fileName;
         
         // Update certification with file info
@@ -157,12 +189,15 @@ public class ProductCertificationService {
         certification.setFileType(getFileExtension(file.getOriginalFilename()));
         certification.setFileSize(file.getSize());
         
-        return certificationRepository.save(certification);
+        ProductCertification savedCertification = publishChange(certificationRepository.save(certification));
+        certificationPreviewService.schedulePreview(filePath, savedCertification.getFileType());
+        return savedCertification;
     }
 
     /**
      * Get certifications by type
      */
+    @Transactional(readOnly = true)
     public List<ProductCertification> getCertificationsByType(String certificationType) {
         return certificationRepository.findByCertificationTypeAndIsActiveTrue(certificationType);
     }
@@ -170,6 +205,7 @@ public class ProductCertificationService {
     /**
      * Get certifications by status
      */
+    @Transactional(readOnly = true)
     public List<ProductCertification> getCertificationsByStatus(String status) {
         return certificationRepository.findByStatusAndIsActiveTrue(status);
     }
@@ -177,6 +213,7 @@ public class ProductCertificationService {
     /**
      * Get expired certifications
      */
+    @Transactional(readOnly = true)
     public List<ProductCertification> getExpiredCertifications() {
         return certificationRepository.findExpiredCertifications(LocalDate.now());
     }
@@ -184,6 +221,7 @@ public class ProductCertificationService {
     /**
      * Get certifications expiring soon
      */
+    @Transactional(readOnly = true)
     public List<ProductCertification> getCertificationsExpiringSoon(int days) {
         LocalDate currentDate = LocalDate.now();
         LocalDate futureDate = currentDate.plusDays(days);
@@ -193,6 +231,7 @@ public class ProductCertificationService {
     /**
      * Search certifications
      */
+    @Transactional(readOnly = true)
     public List<ProductCertification> searchCertifications(String searchTerm) {
         return certificationRepository.searchCertifications(searchTerm);
     }
@@ -200,6 +239,7 @@ public class ProductCertificationService {
     /**
      * Get all certification types
      */
+    @Transactional(readOnly = true)
     public List<String> getAllCertificationTypes() {
         return certificationRepository.findAllCertificationTypes();
     }
@@ -207,6 +247,7 @@ public class ProductCertificationService {
     /**
      * Get all issuing authorities
      */
+    @Transactional(readOnly = true)
     public List<String> getAllIssuingAuthorities() {
         return certificationRepository.findAllIssuingAuthorities();
     }
@@ -226,7 +267,7 @@ public class ProductCertificationService {
         certification.setVerificationDate(LocalDate.now());
         certification.setVerifiedBy(verifiedBy);
         
-        return certificationRepository.save(certification);
+        return publishChange(certificationRepository.save(certification));
     }
 
     /**
@@ -245,24 +286,116 @@ public class ProductCertificationService {
         certification.setVerifiedBy(rejectedBy);
         certification.setNotes(reason);
         
-        return certificationRepository.save(certification);
+        return publishChange(certificationRepository.save(certification));
     }
 
     /**
-     * Get certification statistics for a product
+     * Verify or reject many certifications at once, with one UPDATE per batch (and expected version).
+     * Returns one outcome per requested ID, in request order; certifications changed since the
+     * expected version are reported as conflicts and left untouched.
      */
-    public CertificationStats getCertificationStats(Integer productId) {
-        List<ProductCertification> certifications = getCertificationsByProductId(productId);
+    public List<BulkCertificationOutcomeDto> applyBulkDecision(BulkCertificationDecisionDto request) {
+        if (request.getDecision() == null) {
+            throw new IllegalArgumentException("Decision is required");
+        }
+        if (request.getReviewedBy() == null || request.getReviewedBy().trim().isEmpty()) {
+            throw new IllegalArgumentException("Reviewed by is required");
+        }
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Items are required");
+        }
+        boolean verify = request.getDecision() == BulkCertificationDecisionDto.Decision.VERIFY;
+        String verificationStatus = verify ? "VERIFIED" : "REJECTED";
+        String notes = verify ? null : request.getReason();
+        LocalDate today = LocalDate.now();
+
+        Map<Long, Long> expectedVersions = new LinkedHashMap<>();
+        for (BulkCertificationDecisionDto.Item item : request.getItems()) {
+            if (item != null && item.getCertificationId() != null) {
+                expectedVersions.putIfAbsent(item.getCertificationId(), item.getVersion());
+            }
+        }
+
+        Map<Long, BulkCertificationOutcomeDto> outcomes = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>(expectedVersions.keySet());
+        for (int from = 0; from < ids.size(); from += BULK_DECISION_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BULK_DECISION_BATCH_SIZE, ids.size()));
+            Map<Long, Long> currentVersions = new HashMap<>();
+            Map<Long, Integer> productIds = new HashMap<>();
+            for (Object[] row : certificationRepository.findVersionsByIds(batch)) {
+                currentVersions.put((Long) row[0], (Long) row[1]);
+                productIds.put((Long) row[0], (Integer) row[2]);
+            }
+
+            Map<Long, List<Long>> idsByVersion = new TreeMap<>();
+            for (Long id : batch) {
+                Long current = currentVersions.get(id);
+                Long expected = expectedVersions.get(id) != null ? expectedVersions.get(id) : current;
+                if (current == null) {
+                    outcomes.put(id, new BulkCertificationOutcomeDto(id, BulkCertificationOutcomeDto.Outcome.NOT_FOUND, null));
+                } else if (!current.equals(expected)) {
+                    outcomes.put(id, new BulkCertificationOutcomeDto(id, BulkCertificationOutcomeDto.Outcome.VERSION_CONFLICT, current));
+                } else {
+                    idsByVersion.computeIfAbsent(expected, v -> new ArrayList<>()).add(id);
+                }
+            }
 
-        long total = certifications.size();
-        long verified = certifications.stream().mapToLong(cert -> cert.isVerified() ? 1 : 0).sum();
-        long expired = certifications.stream().mapToLong(cert -> cert.isExpired() ? 1 : 0).sum();
-        long expiringSoon = certifications.stream().mapToLong(cert -> cert.isExpiringSoon(30) ? 1 : 0).sum();
+            for (Map.Entry<Long, List<Long>> group : idsByVersion.entrySet()) {
+                long newVersion = group.getKey() + 1;
+                int updated = certificationRepository.applyVerificationDecision(group.getValue(), group.getKey(),
+                        verificationStatus, today, request.getReviewedBy(), notes);
+                // Rows we updated stay locked by this transaction, so a short count can be resolved exactly
+                Set<Long> applied = updated == group.getValue().size()
+                        ? new HashSet<>(group.getValue())
+                        : new HashSet<>(certificationRepository.findIdsWithDecision(
+                                group.getValue(), newVersion, verificationStatus, request.getReviewedBy()));
+                List<Long> conflicts = new ArrayList<>();
+                for (Long id : group.getValue()) {
+                    if (applied.contains(id)) {
+                        outcomes.put(id, new BulkCertificationOutcomeDto(id, BulkCertificationOutcomeDto.Outcome.APPLIED, newVersion));
+                        eventPublisher.publishEvent(new ProductCertificationChangedEvent(id, productIds.get(id)));
+                    } else {
+                        conflicts.add(id);
+                    }
+                }
+                if (!conflicts.isEmpty()) {
+                    Map<Long, Long> latest = new HashMap<>();
+                    for (Object[] row : certificationRepository.findVersionsByIds(conflicts)) {
+                        latest.put((Long) row[0], (Long) row[1]);
+                    }
+                    for (Long id : conflicts) {
+                        outcomes.put(id, latest.containsKey(id)
+                                ? new BulkCertificationOutcomeDto(id, BulkCertificationOutcomeDto.Outcome.VERSION_CONFLICT, latest.get(id))
+                                : new BulkCertificationOutcomeDto(id, BulkCertificationOutcomeDto.Outcome.NOT_FOUND, null));
+                    }
+                }
+            }
+        }
 
-        return new CertificationStats(total, verified, expired, expiringSoon);
+        List<BulkCertificationOutcomeDto> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            results.add(outcomes.get(id));
+        }
+        return results;
+    }
+
+    /**
+     * Get certification statistics for a product
+     */
+    @Transactional(readOnly = true)
+    public CertificationStats getCertificationStats(Integer productId) {
+        CertificationStatsDto stats = certificationPortfolioService.getStatsForProducts(
+                List.of(productId), CertificationPortfolioService.DEFAULT_EXPIRING_WITHIN_DAYS).get(0);
+        return new CertificationStats(stats.getTotal(), stats.getVerified(), stats.getExpired(), stats.getExpiringSoon());
     }
 
     // Private helper methods
+
+    private ProductCertification publishChange(ProductCertification certification) {
+        eventPublisher.publishEvent(new ProductCertificationChangedEvent(
+                certification.getCertificationId(), certification.getProductId()));
+        return certification;
+    }
     
     private void validateCertification(ProductCertification certification) {
         if (certification.getCertificationName() == null || certification.getCertificationName().trim().isEmpty()) {
@@ -316,7 +449,7 @@ public class ProductCertificationService {
         return fileName.substring(fileName.lastIndexOf('.') + 1);
     }
 
-    private String saveFile(MultipartFile file) throws IOException {
+    private String saveFile(MultipartFile file, ProductCertification certification) throws IOException {
         // Create upload directory if it doesn't exist
         Path uploadPath = Paths.get(uploadDir);
         if (!Files.exists(uploadPath)) {
@@ -328,17 +461,30 @@ public class ProductCertificationService {
         String fileExtension = getFileExtension(originalFileName);
         String uniqueFileName = UUID.randomUUID().toString() + "." + fileExtension;
         
-        // Save file
+        // Save file, hashing it on the way so the integrity scrubber can detect corruption later
         Path filePath = uploadPath.resolve(uniqueFileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        MessageDigest digest = newSha256();
+        try (InputStream input = new DigestInputStream(file.getInputStream(), digest)) {
+            Files.copy(input, filePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        certification.setContentHash(HexFormat.of().formatHex(digest.digest()));
         
         return uniqueFileName;
     }
 
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     private void deleteFile(String filePath) {
         try {
             Path path = Paths.get(filePath);
             Files.deleteIfExists(path);
+            certificationPreviewService.deletePreview(filePath);
         } catch (IOException e) {
             // Log error but don't throw exception
             System.err.println("Failed to delete file: " + filePath + ", Error: " + e.getMessage());
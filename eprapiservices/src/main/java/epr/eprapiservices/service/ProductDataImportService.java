@@ -0,0 +1,989 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dto.ProductImportJobDto;
+import epr.eprapiservices.entity.ComponentMaterialComposition;
+import epr.eprapiservices.entity.ProductComposition;
+import epr.eprapiservices.util.CsvReader;
+import epr.eprapiservices.util.SequenceIds;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service importing product data CSV files (the productsdata.csv format: product group,
+ * category and type, model number, product name, component, materials, composition and
+ * weight ranges) into the taxonomy, product, component, material and composition tables.
+ * The file is streamed in chunks, one transaction per chunk. Existing natural keys are
+ * loaded into hash maps once per import, so each chunk resolves its rows in memory and
+ * writes only what is new or changed with batched JDBC statements; ids of inserted rows
+ * are read back by natural key. Imports run one at a time on a background thread, never
+ * alongside a data reset (see {@link DataJobLock}), and report their progress through {@link #getJob(String)}. Importing the same file again
+ * inserts nothing.
+ */
+@Service
+public class ProductDataImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductDataImportService.class);
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final String JOB_NAME = "product data import";
+
+    // SQL Server accepts at most 2100 parameters per statement
+    private static final int MAX_IN_LIST = 1000;
+    private static final int MATERIAL_NAME_LENGTH = 100;
+    private static final int CODE_LENGTH = 50;
+
+    private static final Pattern RANGE = Pattern.compile(
+            "(\\d+(?:\\.\\d+)?)\\s*%?\\s*(?:(?:-|–|to)\\s*(\\d+(?:\\.\\d+)?)\\s*%?)?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern MATERIAL_SHARE = Pattern.compile("(.*?)\\s*\\(([^()]*)\\)\\s*");
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReferenceDataCacheService referenceDataCacheService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private DataJobLock dataJobLock;
+
+    @Value("${app.import.chunk-rows:5000}")
+    private int chunkRows;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.import.max-errors:100}")
+    private int maxErrors;
+
+    @Value("${app.import.max-recent-jobs:20}")
+    private int maxRecentJobs;
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicReference<ImportJob> activeJob = new AtomicReference<>();
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    public ProductDataImportService() {
+        this.executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "product-data-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Store an uploaded CSV file and queue its import; throws IllegalStateException while
+     * another import or a data reset is running
+     */
+    public ProductImportJobDto startImport(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), file.getSize());
+        dataJobLock.acquire(JOB_NAME);
+        activeJob.set(job);
+        Path path;
+        try {
+            // The upload is only readable during the request, so copy it before going async
+            path = Files.createTempFile("product-import-", ".csv");
+            file.transferTo(path);
+        } catch (IOException | RuntimeException e) {
+            activeJob.set(null);
+            dataJobLock.release(JOB_NAME);
+            throw e;
+        }
+        synchronized (jobs) {
+            jobs.put(job.jobId, job);
+            while (jobs.size() > maxRecentJobs) {
+                jobs.remove(jobs.keySet().iterator().next());
+            }
+        }
+        executor.execute(() -> runImport(job, path));
+        return job.toDto();
+    }
+
+    /**
+     * Progress of an import started since the application started
+     */
+    public Optional<ProductImportJobDto> getJob(String jobId) {
+        synchronized (jobs) {
+            ImportJob job = jobs.get(jobId);
+            return job != null ? Optional.of(job.toDto()) : Optional.empty();
+        }
+    }
+
+    /**
+     * Most recent imports, newest first
+     */
+    public List<ProductImportJobDto> getRecentJobs() {
+        List<ProductImportJobDto> recent = new ArrayList<>();
+        synchronized (jobs) {
+            for (ImportJob job : jobs.values()) {
+                recent.add(0, job.toDto());
+            }
+        }
+        return recent;
+    }
+
+    /**
+     * Whether an import is queued or running
+     */
+    public boolean isImportRunning() {
+        return activeJob.get() != null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void runImport(ImportJob job, Path path) {
+        job.start();
+        logger.info("Starting product data import {} of {} ({} bytes)", job.jobId, job.fileName, job.bytesTotal);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try (CountingInputStream in = new CountingInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024));
+             CsvReader csv = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            ImportState state = transaction.execute(status -> preload());
+            Columns columns = Columns.resolve(csv.readRecord());
+            List<ImportRow> chunk = new ArrayList<>(chunkRows);
+            String lastTypeKey = null;
+            String lastProductName = null;
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                job.bytesRead = in.count;
+                if (isBlank(record)) {
+                    continue;
+                }
+                job.rowsRead++;
+                ImportRow row;
+                try {
+                    row = parseRow(record, columns);
+                } catch (IllegalArgumentException e) {
+                    job.skip("Line " + csv.getLineNumber() + ": " + e.getMessage(), maxErrors);
+                    continue;
+                }
+                // A model listed over several rows names its product on the first one only
+                String typeKey = row.group + "|" + row.category + "|" + row.type;
+                if (!typeKey.equals(lastTypeKey)) {
+                    lastTypeKey = typeKey;
+                    lastProductName = null;
+                }
+                if (row.productName != null) {
+                    lastProductName = row.productName;
+                } else if (row.sku != null) {
+                    row.productName = lastProductName != null ? lastProductName : row.sku;
+                }
+                chunk.add(row);
+                if (chunk.size() >= chunkRows) {
+                    writeChunk(transaction, chunk, state, job);
+                    chunk.clear();
+                }
+            }
+            writeChunk(transaction, chunk, state, job);
+            job.bytesRead = job.bytesTotal;
+            job.finish(STATUS_COMPLETED, null);
+            logger.info("Product data import {} completed: {} rows in {} ms", job.jobId, job.rowsImported,
+                    job.durationMillis());
+        } catch (Exception e) {
+            job.finish(STATUS_FAILED, e.getMessage());
+            logger.error("Product data import {} failed after {} rows", job.jobId, job.rowsImported, e);
+        } finally {
+            // Rows were written with JDBC, past the entity listeners that invalidate the caches
+            referenceDataCacheService.invalidateAll();
+            autocompleteService.invalidateAll();
+            activeJob.set(null);
+            dataJobLock.release(JOB_NAME);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warn("Could not delete import file {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private ImportRow parseRow(List<String> record, Columns columns) {
+        ImportRow row = new ImportRow();
+        row.group = required(record, columns.group, "ProductGroup");
+        row.category = required(record, columns.category, "ProductCategory");
+        row.type = required(record, columns.type, "ProductType");
+        row.component = required(record, columns.component, "Component");
+        row.sku = cell(record, columns.modelNo);
+        row.productName = cell(record, columns.productName);
+        row.materials = parseMaterials(required(record, columns.material, "Material"));
+        row.share = parseRange(cell(record, columns.composition), "Material Composition (%)");
+        row.weight = parseRange(cell(record, columns.weight), "Weight (kg)");
+        return row;
+    }
+
+    /**
+     * Split a material cell such as "Glass (70%), LED/QD Film (30%)" into materials with their
+     * share of the component. Materials without a share split what the others leave evenly:
+     * one such material alone is 100%, several are 0% up to the remainder each.
+     */
+    static List<MaterialShare> parseMaterials(String cell) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < cell.length(); i++) {
+            char c = cell.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth = Math.max(0, depth - 1);
+            } else if ((c == ',' || c == ';') && depth == 0) {
+                parts.add(cell.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(cell.substring(start));
+
+        List<String> names = new ArrayList<>();
+        List<BigDecimal[]> ranges = new ArrayList<>();
+        BigDecimal explicitTotal = BigDecimal.ZERO;
+        int unlabeled = 0;
+        for (String part : parts) {
+            String name = part.trim();
+            BigDecimal[] range = null;
+            Matcher share = MATERIAL_SHARE.matcher(name);
+            if (share.matches() && share.group(2).contains("%")) {
+                range = parseRange(share.group(2).trim(), "Material");
+                name = share.group(1).trim();
+            }
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.length() > MATERIAL_NAME_LENGTH) {
+                name = name.substring(0, MATERIAL_NAME_LENGTH).trim();
+            }
+            names.add(name);
+            ranges.add(range);
+            if (range != null) {
+                explicitTotal = explicitTotal.add(midpoint(range));
+            } else {
+                unlabeled++;
+            }
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("missing Material");
+        }
+        BigDecimal remainder = HUNDRED.subtract(explicitTotal).max(BigDecimal.ZERO);
+        List<MaterialShare> materials = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            BigDecimal[] range = ranges.get(i);
+            if (range != null) {
+                materials.add(new MaterialShare(names.get(i), range[0], range[1], midpoint(range)));
+            } else if (unlabeled == 1) {
+                materials.add(new MaterialShare(names.get(i), remainder, remainder, remainder));
+            } else {
+                materials.add(new MaterialShare(names.get(i), BigDecimal.ZERO, remainder,
+                        remainder.divide(BigDecimal.valueOf(unlabeled), 4, RoundingMode.HALF_UP)));
+            }
+        }
+        return materials;
+    }
+
+    /**
+     * Parse "40 - 50", "50-60", "1.0 - 1.5", "10 to 15" or a single number into {min, max};
+     * null for an empty cell
+     */
+    static BigDecimal[] parseRange(String text, String column) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        Matcher matcher = RANGE.matcher(text.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("invalid " + column + " value '" + text + "'");
+        }
+        BigDecimal low = new BigDecimal(matcher.group(1));
+        BigDecimal high = matcher.group(2) != null ? new BigDecimal(matcher.group(2)) : low;
+        return low.compareTo(high) <= 0 ? new BigDecimal[] {low, high} : new BigDecimal[] {high, low};
+    }
+
+    private void writeChunk(TransactionTemplate transaction, List<ImportRow> chunk, ImportState state, ImportJob job) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transaction.executeWithoutResult(status -> {
+            writeTaxonomy(chunk, state, job);
+            writeMaterials(chunk, state, job);
+            writeComponents(chunk, state, job);
+            writeProducts(chunk, state, job);
+            writeCompositions(chunk, state, job);
+        });
+        job.rowsImported += chunk.size();
+    }
+
+    private void writeTaxonomy(List<ImportRow> chunk, ImportState state, ImportJob job) {
+        Map<String, String> newGroups = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            String key = key(row.group);
+            if (!state.groups.containsKey(key)) {
+                newGroups.putIfAbsent(key, row.group);
+            }
+        }
+        if (!newGroups.isEmpty()) {
+            List<Object[]> inserts = new ArrayList<>();
+            for (String group : newGroups.values()) {
+                inserts.add(new Object[] {group, group + " products and related items", ++state.maxGroupSort});
+            }
+            batch("INSERT INTO productgroup (product_group_name, description, sort_order, is_active) VALUES (?, ?, ?, 1)",
+                    inserts);
+            selectIn("SELECT product_group_id, product_group_name FROM productgroup WHERE product_group_name IN (:values)"
+                    + " ORDER BY product_group_id", newGroups.values(),
+                    rs -> state.groups.putIfAbsent(key(rs.getString(2)), rs.getLong(1)));
+            job.inserted("productGroups", inserts.size());
+        }
+
+        Map<String, ImportRow> newCategories = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            row.groupId = state.groups.get(key(row.group));
+            String key = row.groupId + "|" + key(row.category);
+            if (!state.categories.containsKey(key)) {
+                newCategories.putIfAbsent(key, row);
+            }
+        }
+        if (!newCategories.isEmpty()) {
+            List<Object[]> inserts = new ArrayList<>();
+            Set<String> names = new HashSet<>();
+            for (ImportRow row : newCategories.values()) {
+                int sortOrder = state.categorySorts.merge(row.groupId, 1, Integer::sum);
+                inserts.add(new Object[] {row.category, row.category + " in " + row.group + " category", sortOrder, row.groupId});
+                names.add(row.category);
+            }
+            batch("INSERT INTO productcategory (product_category_name, description, sort_order, product_group_id, is_active)"
+                    + " VALUES (?, ?, ?, ?, 1)", inserts);
+            selectIn("SELECT product_category_id, product_group_id, product_category_name FROM productcategory"
+                    + " WHERE product_category_name IN (:values) ORDER BY product_category_id", names,
+                    rs -> state.categories.putIfAbsent(rs.getLong(2) + "|" + key(rs.getString(3)), rs.getLong(1)));
+            job.inserted("productCategories", inserts.size());
+        }
+
+        Map<String, ImportRow> newTypes = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            row.categoryId = state.categories.get(row.groupId + "|" + key(row.category));
+            String key = row.categoryId + "|" + key(row.type);
+            if (!state.types.containsKey(key)) {
+                newTypes.putIfAbsent(key, row);
+            }
+        }
+        if (!newTypes.isEmpty()) {
+            List<Object[]> inserts = new ArrayList<>();
+            Set<String> names = new HashSet<>();
+            for (ImportRow row : newTypes.values()) {
+                int sortOrder = state.typeSorts.merge(row.categoryId, 1, Integer::sum);
+                inserts.add(new Object[] {row.type, row.type + " " + row.category, sortOrder, row.categoryId});
+                names.add(row.type);
+            }
+            batch("INSERT INTO producttype (product_type_name, product_type_description, sort_order, product_category_id,"
+                    + " is_active) VALUES (?, ?, ?, ?, 1)", inserts);
+            selectIn("SELECT product_type_id, product_category_id, product_type_name FROM producttype"
+                    + " WHERE product_type_name IN (:values) ORDER BY product_type_id", names,
+                    rs -> state.types.putIfAbsent(rs.getLong(2) + "|" + key(rs.getString(3)), rs.getLong(1)));
+            job.inserted("productTypes", inserts.size());
+        }
+    }
+
+    private void writeMaterials(List<ImportRow> chunk, ImportState state, ImportJob job) {
+        Map<String, String> newMaterials = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            for (MaterialShare material : row.materials) {
+                String key = key(material.name());
+                if (!state.materials.containsKey(key)) {
+                    newMaterials.putIfAbsent(key, material.name());
+                }
+            }
+        }
+        if (newMaterials.isEmpty()) {
+            return;
+        }
+        List<Object[]> inserts = new ArrayList<>();
+        for (String name : newMaterials.values()) {
+            String code = slug(name);
+            String base = code;
+            for (int suffix = 2; !state.materialCodes.add(code); suffix++) {
+                String end = "-" + suffix;
+                code = base.substring(0, Math.min(base.length(), CODE_LENGTH - end.length())) + end;
+            }
+            inserts.add(new Object[] {code, name, name + " (imported)"});
+        }
+        batch("INSERT INTO material (material_code, material_name, description, sort_order, is_active) VALUES (?, ?, ?, 1, 1)",
+                inserts);
+        selectIn("SELECT material_id, material_name FROM material WHERE material_name IN (:values) ORDER BY material_id",
+                newMaterials.values(), rs -> state.materials.putIfAbsent(key(rs.getString(2)), rs.getLong(1)));
+        job.inserted("materials", inserts.size());
+    }
+
+    private void writeComponents(List<ImportRow> chunk, ImportState state, ImportJob job) {
+        Map<String, ImportRow> changed = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            row.componentCode = componentCode(row.category, row.type, row.component);
+            if (!state.touchedComponents.contains(row.componentCode)) {
+                changed.putIfAbsent(row.componentCode, row);
+            }
+        }
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (ImportRow row : changed.values()) {
+            String label = row.type + " " + row.component;
+            String description = row.component + " of " + row.category + " " + row.type;
+            Double weight = row.weight != null ? midpoint(row.weight).doubleValue() : null;
+            Long id = state.components.get(row.componentCode);
+            if (id != null) {
+                updates.add(new Object[] {row.component, label, description, weight, id});
+            } else {
+                inserts.add(new Object[] {row.component, row.componentCode, description, weight, label});
+            }
+            state.touchedComponents.add(row.componentCode);
+        }
+        if (!updates.isEmpty()) {
+            batch("UPDATE components SET component_name = ?, component_label = ?, description = ?, component_weight = ?"
+                    + " WHERE component_id = ?", updates);
+            job.updated("components", updates.size());
+        }
+        if (!inserts.isEmpty()) {
+            List<String> codes = new ArrayList<>();
+            for (Object[] insert : inserts) {
+                codes.add((String) insert[1]);
+            }
+            batch("INSERT INTO components (component_name, component_code, description, sort_order, component_weight,"
+                    + " component_label, is_active) VALUES (?, ?, ?, 1, ?, ?, 1)", inserts);
+            selectIn("SELECT component_id, component_code FROM components WHERE component_code IN (:values)", codes,
+                    rs -> state.components.put(rs.getString(2).toUpperCase(Locale.ROOT), rs.getLong(1)));
+            job.inserted("components", inserts.size());
+        }
+    }
+
+    private void writeProducts(List<ImportRow> chunk, ImportState state, ImportJob job) {
+        Map<String, ImportRow> changed = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            if (row.sku != null && !state.touchedProducts.contains(key(row.sku))) {
+                changed.putIfAbsent(key(row.sku), row);
+            }
+        }
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<String> skus = new ArrayList<>();
+        Date today = Date.valueOf(LocalDate.now());
+        for (Map.Entry<String, ImportRow> entry : changed.entrySet()) {
+            ImportRow row = entry.getValue();
+            Long id = state.products.get(entry.getKey());
+            if (id != null) {
+                updates.add(new Object[] {row.productName, id});
+            } else {
+                inserts.add(new Object[] {row.productName, row.sku, today});
+                skus.add(row.sku);
+            }
+            state.touchedProducts.add(entry.getKey());
+        }
+        if (!updates.isEmpty()) {
+            batch("UPDATE product SET product_name = ? WHERE product_id = ?", updates);
+            job.updated("products", updates.size());
+        }
+        if (!inserts.isEmpty()) {
+            batch("INSERT INTO product (product_name, sku_product_code, registration_date, is_active) VALUES (?, ?, ?, 1)",
+                    inserts);
+            selectIn("SELECT product_id, sku_product_code FROM product WHERE sku_product_code IN (:values)"
+                    + " ORDER BY product_id", skus, rs -> state.products.putIfAbsent(key(rs.getString(2)), rs.getLong(1)));
+            job.inserted("products", inserts.size());
+        }
+    }
+
+    private void writeCompositions(List<ImportRow> chunk, ImportState state, ImportJob job) {
+        Map<PairKey, Object[]> componentMaterials = new LinkedHashMap<>();
+        Map<PairKey, BigDecimal> productComponents = new LinkedHashMap<>();
+        Map<PairKey, BigDecimal[]> productMaterials = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            long componentId = state.components.get(row.componentCode);
+            Long productId = row.sku != null ? state.products.get(key(row.sku)) : null;
+            BigDecimal componentWeight = row.weight != null ? midpoint(row.weight) : BigDecimal.ZERO;
+            BigDecimal componentShare = row.share != null ? midpoint(row.share) : BigDecimal.ZERO;
+            for (MaterialShare material : row.materials) {
+                long materialId = state.materials.get(key(material.name()));
+                BigDecimal fraction = material.estimate().divide(HUNDRED, 6, RoundingMode.HALF_UP);
+                BigDecimal weight = componentWeight.multiply(fraction);
+                PairKey componentMaterial = new PairKey(componentId, materialId);
+                if (!state.touchedComponentMaterials.contains(componentMaterial)) {
+                    componentMaterials.putIfAbsent(componentMaterial, new Object[] {weight.setScale(3, RoundingMode.HALF_UP),
+                            material.minPercentage().setScale(2, RoundingMode.HALF_UP),
+                            material.maxPercentage().setScale(2, RoundingMode.HALF_UP)});
+                }
+                if (productId != null) {
+                    // The product is made of the same material through several components
+                    BigDecimal[] totals = productMaterials.computeIfAbsent(new PairKey(productId, materialId),
+                            k -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.valueOf(row.groupId)});
+                    totals[0] = totals[0].add(weight);
+                    totals[1] = totals[1].add(componentShare.multiply(fraction));
+                }
+            }
+            if (productId != null) {
+                productComponents.merge(new PairKey(productId, componentId), BigDecimal.ONE, BigDecimal::add);
+            }
+            row.componentId = componentId;
+            row.productId = productId;
+        }
+
+        if (!componentMaterials.isEmpty()) {
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            for (Map.Entry<PairKey, Object[]> entry : componentMaterials.entrySet()) {
+                PairKey key = entry.getKey();
+                Object[] values = entry.getValue();
+                if (state.componentMaterials.contains(key)) {
+                    updates.add(new Object[] {values[0], values[1], values[2], key.first(), key.second()});
+                } else {
+                    inserts.add(new Object[] {key.first(), key.second(), values[0], values[1], values[2]});
+                    state.componentMaterials.add(key);
+                }
+                state.touchedComponentMaterials.add(key);
+            }
+            batch("UPDATE component_material_compositions SET weight = ?, min_percentage = ?, max_percentage = ?"
+                    + " WHERE component_id = ? AND material_id = ?", updates);
+            batch("INSERT INTO component_material_compositions (id, component_id, material_id, weight, min_percentage,"
+                    + " max_percentage, is_active) VALUES (?, ?, ?, ?, ?, ?, 1)",
+                    SequenceIds.withIds(jdbcTemplate.getJdbcOperations(), ComponentMaterialComposition.ID_SEQUENCE, inserts));
+            job.updated("componentMaterialCompositions", updates.size());
+            job.inserted("componentMaterialCompositions", inserts.size());
+        }
+
+        if (!productComponents.isEmpty()) {
+            Map<PairKey, String> notes = new HashMap<>();
+            for (ImportRow row : chunk) {
+                if (row.productId != null && row.share != null) {
+                    notes.putIfAbsent(new PairKey(row.productId, row.componentId), "Share of product: "
+                            + formatRange(row.share) + "%");
+                }
+            }
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> overwrites = new ArrayList<>();
+            List<Object[]> increments = new ArrayList<>();
+            for (Map.Entry<PairKey, BigDecimal> entry : productComponents.entrySet()) {
+                PairKey key = entry.getKey();
+                BigDecimal quantity = entry.getValue();
+                String note = notes.get(key);
+                if (state.touchedProductComponents.contains(key)) {
+                    increments.add(new Object[] {quantity, key.first(), key.second()});
+                } else if (state.productComponents.contains(key)) {
+                    overwrites.add(new Object[] {quantity, note, key.first(), key.second()});
+                } else {
+                    inserts.add(new Object[] {key.first(), key.second(), quantity, note});
+                    state.productComponents.add(key);
+                }
+                state.touchedProductComponents.add(key);
+            }
+            batch("UPDATE product_component_compositions SET quantity = quantity + ? WHERE product_id = ? AND component_id = ?",
+                    increments);
+            batch("UPDATE product_component_compositions SET quantity = ?, notes = ? WHERE product_id = ? AND component_id = ?",
+                    overwrites);
+            batch("INSERT INTO product_component_compositions (product_id, component_id, quantity, notes, is_active)"
+                    + " VALUES (?, ?, ?, ?, 1)", inserts);
+            job.updated("productComponentCompositions", overwrites.size() + increments.size());
+            job.inserted("productComponentCompositions", inserts.size());
+        }
+
+        if (!productMaterials.isEmpty()) {
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> overwrites = new ArrayList<>();
+            List<Object[]> increments = new ArrayList<>();
+            for (Map.Entry<PairKey, BigDecimal[]> entry : productMaterials.entrySet()) {
+                PairKey key = entry.getKey();
+                BigDecimal weight = entry.getValue()[0].setScale(3, RoundingMode.HALF_UP);
+                BigDecimal percentage = entry.getValue()[1].setScale(2, RoundingMode.HALF_UP);
+                long groupId = entry.getValue()[2].longValue();
+                if (state.touchedProductMaterials.contains(key)) {
+                    increments.add(new Object[] {weight, percentage, key.first(), key.second()});
+                } else if (state.productMaterials.contains(key)) {
+                    overwrites.add(new Object[] {weight, percentage, groupId, key.first(), key.second()});
+                } else {
+                    inserts.add(new Object[] {key.first(), key.second(), groupId, weight, percentage});
+                    state.productMaterials.add(key);
+                }
+                state.touchedProductMaterials.add(key);
+            }
+            batch("UPDATE productcomposition SET weight = weight + ?, composition_percentage = composition_percentage + ?"
+                    + " WHERE product_id = ? AND material_id = ?", increments);
+            batch("UPDATE productcomposition SET weight = ?, composition_percentage = ?, product_group_id = ?"
+                    + " WHERE product_id = ? AND material_id = ?", overwrites);
+            batch("INSERT INTO productcomposition (product_composition_id, product_id, material_id, product_group_id, weight,"
+                    + " composition_percentage, is_active) VALUES (?, ?, ?, ?, ?, ?, 1)",
+                    SequenceIds.withIds(jdbcTemplate.getJdbcOperations(), ProductComposition.ID_SEQUENCE, inserts));
+            job.updated("productCompositions", overwrites.size() + increments.size());
+            job.inserted("productCompositions", inserts.size());
+        }
+    }
+
+    /**
+     * Load the natural keys of every table the import writes to
+     */
+    private ImportState preload() {
+        ImportState state = new ImportState();
+        query("SELECT product_group_id, product_group_name, sort_order FROM productgroup ORDER BY product_group_id", rs -> {
+            state.groups.putIfAbsent(key(rs.getString(2)), rs.getLong(1));
+            state.maxGroupSort = Math.max(state.maxGroupSort, rs.getInt(3));
+        });
+        query("SELECT product_category_id, product_group_id, product_category_name, sort_order FROM productcategory"
+                + " ORDER BY product_category_id", rs -> {
+            state.categories.putIfAbsent(rs.getLong(2) + "|" + key(rs.getString(3)), rs.getLong(1));
+            state.categorySorts.merge(rs.getLong(2), rs.getInt(4), Math::max);
+        });
+        query("SELECT product_type_id, product_category_id, product_type_name, sort_order FROM producttype"
+                + " ORDER BY product_type_id", rs -> {
+            state.types.putIfAbsent(rs.getLong(2) + "|" + key(rs.getString(3)), rs.getLong(1));
+            state.typeSorts.merge(rs.getLong(2), rs.getInt(4), Math::max);
+        });
+        query("SELECT material_id, material_name, material_code FROM material ORDER BY material_id", rs -> {
+            state.materials.putIfAbsent(key(rs.getString(2)), rs.getLong(1));
+            if (rs.getString(3) != null) {
+                state.materialCodes.add(rs.getString(3).toUpperCase(Locale.ROOT));
+            }
+        });
+        query("SELECT component_id, component_code FROM components",
+                rs -> state.components.put(rs.getString(2).toUpperCase(Locale.ROOT), rs.getLong(1)));
+        query("SELECT product_id, sku_product_code FROM product WHERE sku_product_code IS NOT NULL ORDER BY product_id",
+                rs -> state.products.putIfAbsent(key(rs.getString(2)), rs.getLong(1)));
+        query("SELECT component_id, material_id FROM component_material_compositions",
+                rs -> state.componentMaterials.add(new PairKey(rs.getLong(1), rs.getLong(2))));
+        query("SELECT product_id, component_id FROM product_component_compositions",
+                rs -> state.productComponents.add(new PairKey(rs.getLong(1), rs.getLong(2))));
+        query("SELECT product_id, material_id FROM productcomposition WHERE product_id IS NOT NULL AND material_id IS NOT NULL",
+                rs -> state.productMaterials.add(new PairKey(rs.getLong(1), rs.getLong(2))));
+        return state;
+    }
+
+    private void query(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.getJdbcOperations().query(sql, handler);
+    }
+
+    private void selectIn(String sql, Collection<String> values, RowCallbackHandler handler) {
+        List<String> list = new ArrayList<>(values);
+        for (int from = 0; from < list.size(); from += MAX_IN_LIST) {
+            List<String> slice = list.subList(from, Math.min(list.size(), from + MAX_IN_LIST));
+            jdbcTemplate.query(sql, Map.of("values", slice), handler);
+        }
+    }
+
+    private void batch(String sql, List<Object[]> args) {
+        for (int from = 0; from < args.size(); from += batchSize) {
+            jdbcTemplate.getJdbcOperations().batchUpdate(sql, args.subList(from, Math.min(args.size(), from + batchSize)));
+        }
+    }
+
+    /**
+     * Component code from the category, type and component names: "TV-32-SCREEN-PANEL".
+     * Components are specific to their product type, as their weights are.
+     */
+    private static String componentCode(String category, String type, String component) {
+        String code = slug(category + " " + type + " " + component);
+        if (code.length() <= CODE_LENGTH) {
+            return code;
+        }
+        String hash = String.format("%08X", code.hashCode());
+        return code.substring(0, CODE_LENGTH - hash.length() - 1) + "-" + hash;
+    }
+
+    private static String slug(String text) {
+        StringBuilder slug = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                slug.append(Character.toUpperCase(c));
+            } else if (slug.length() > 0 && slug.charAt(slug.length() - 1) != '-') {
+                slug.append('-');
+            }
+        }
+        while (slug.length() > 0 && slug.charAt(slug.length() - 1) == '-') {
+            slug.setLength(slug.length() - 1);
+        }
+        return slug.length() > CODE_LENGTH ? slug.substring(0, CODE_LENGTH) : slug.toString();
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static BigDecimal midpoint(BigDecimal[] range) {
+        return range[0].add(range[1]).divide(BigDecimal.valueOf(2), 4, RoundingMode.HALF_UP);
+    }
+
+    private static String formatRange(BigDecimal[] range) {
+        return range[0].compareTo(range[1]) == 0 ? range[0].toPlainString()
+                : range[0].toPlainString() + "-" + range[1].toPlainString();
+    }
+
+    private static boolean isBlank(List<String> record) {
+        for (String field : record) {
+            if (!field.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String cell(List<String> record, int column) {
+        if (column < 0 || column >= record.size()) {
+            return null;
+        }
+        String value = record.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String required(List<String> record, int column, String name) {
+        String value = cell(record, column);
+        if (value == null) {
+            throw new IllegalArgumentException("missing " + name);
+        }
+        return value;
+    }
+
+    /**
+     * Positions of the columns, found by header name
+     */
+    private record Columns(int group, int category, int type, int modelNo, int productName, int component,
+                           int material, int composition, int weight) {
+
+        static Columns resolve(List<String> header) {
+            if (header == null) {
+                throw new IllegalArgumentException("File has no header row");
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                positions.putIfAbsent(header.get(i).toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", ""), i);
+            }
+            Columns columns = new Columns(find(positions, "productgroup"), find(positions, "productcategory"),
+                    find(positions, "producttype"), find(positions, "productmodelno", "modelno", "sku"),
+                    find(positions, "productname", "product"), find(positions, "component"),
+                    find(positions, "material"), find(positions, "materialcomposition"),
+                    find(positions, "weightkgapprox", "weightkg", "weight"));
+            if (columns.group < 0 || columns.category < 0 || columns.type < 0 || columns.component < 0
+                    || columns.material < 0) {
+                throw new IllegalArgumentException("Header must have ProductGroup, ProductCategory, ProductType,"
+                        + " Component and Material columns");
+            }
+            return columns;
+        }
+
+        private static int find(Map<String, Integer> positions, String... names) {
+            for (String name : names) {
+                Integer position = positions.get(name);
+                if (position != null) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * One material of a component with its share in percent: the range given, and the
+     * value used to estimate weights
+     */
+    record MaterialShare(String name, BigDecimal minPercentage, BigDecimal maxPercentage, BigDecimal estimate) {}
+
+    private record PairKey(long first, long second) {}
+
+    private static final class ImportRow {
+        private String group;
+        private String category;
+        private String type;
+        private String sku;
+        private String productName;
+        private String component;
+        private List<MaterialShare> materials;
+        private BigDecimal[] share;
+        private BigDecimal[] weight;
+        private String componentCode;
+        private Long groupId;
+        private Long categoryId;
+        private Long componentId;
+        private Long productId;
+    }
+
+    /**
+     * Natural keys of the existing rows, by lower-cased name, plus what this import has
+     * written so far; only used by the import thread
+     */
+    private static final class ImportState {
+        private final Map<String, Long> groups = new HashMap<>();
+        private final Map<String, Long> categories = new HashMap<>();
+        private final Map<String, Long> types = new HashMap<>();
+        private final Map<String, Long> materials = new HashMap<>();
+        private final Set<String> materialCodes = new HashSet<>();
+        private final Map<String, Long> components = new HashMap<>();
+        private final Map<String, Long> products = new HashMap<>();
+        private final Set<PairKey> componentMaterials = new HashSet<>();
+        private final Set<PairKey> productComponents = new HashSet<>();
+        private final Set<PairKey> productMaterials = new HashSet<>();
+        private final Map<Long, Integer> categorySorts = new HashMap<>();
+        private final Map<Long, Integer> typeSorts = new HashMap<>();
+        private int maxGroupSort;
+        // Rows written by this import: updated once, then only added to
+        private final Set<String> touchedComponents = new HashSet<>();
+        private final Set<String> touchedProducts = new HashSet<>();
+        private final Set<PairKey> touchedComponentMaterials = new HashSet<>();
+        private final Set<PairKey> touchedProductComponents = new HashSet<>();
+        private final Set<PairKey> touchedProductMaterials = new HashSet<>();
+    }
+
+    private static final class ImportJob {
+        private final String jobId;
+        private final String fileName;
+        private final long bytesTotal;
+        private final Map<String, Long> insertedCounts = new LinkedHashMap<>();
+        private final Map<String, Long> updatedCounts = new LinkedHashMap<>();
+        private final List<String> errors = new ArrayList<>();
+        private volatile String status = STATUS_QUEUED;
+        private volatile String message;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long startedNanos;
+        private volatile long finishedNanos;
+        private volatile long bytesRead;
+        private volatile long rowsRead;
+        private volatile long rowsImported;
+        private volatile long rowsSkipped;
+
+        private ImportJob(String jobId, String fileName, long bytesTotal) {
+            this.jobId = jobId;
+            this.fileName = fileName;
+            this.bytesTotal = bytesTotal;
+        }
+
+        private void start() {
+            startedAt = LocalDateTime.now();
+            startedNanos = System.nanoTime();
+            status = STATUS_RUNNING;
+        }
+
+        private void finish(String finalStatus, String finalMessage) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            message = finalMessage;
+            status = finalStatus;
+        }
+
+        private synchronized void skip(String error, int maxErrors) {
+            rowsSkipped++;
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+            }
+        }
+
+        private synchronized void inserted(String table, long count) {
+            if (count > 0) {
+                insertedCounts.merge(table, count, Long::sum);
+            }
+        }
+
+        private synchronized void updated(String table, long count) {
+            if (count > 0) {
+                updatedCounts.merge(table, count, Long::sum);
+            }
+        }
+
+        private long durationMillis() {
+            if (startedNanos == 0) {
+                return 0;
+            }
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            return TimeUnit.NANOSECONDS.toMillis(end - startedNanos);
+        }
+
+        private synchronized ProductImportJobDto toDto() {
+            ProductImportJobDto dto = new ProductImportJobDto();
+            dto.setJobId(jobId);
+            dto.setFileName(fileName);
+            dto.setStatus(status);
+            dto.setMessage(message);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setBytesTotal(bytesTotal);
+            dto.setBytesRead(bytesRead);
+            dto.setPercentComplete(bytesTotal > 0 ? (int) Math.min(100, bytesRead * 100 / bytesTotal) : 0);
+            dto.setRowsRead(rowsRead);
+            dto.setRowsImported(rowsImported);
+            dto.setRowsSkipped(rowsSkipped);
+            dto.setInsertedCounts(new LinkedHashMap<>(insertedCounts));
+            dto.setUpdatedCounts(new LinkedHashMap<>(updatedCounts));
+            dto.setErrors(new ArrayList<>(errors));
+            long durationMillis = durationMillis();
+            dto.setDurationMillis(durationMillis);
+            dto.setRowsPerSecond(durationMillis > 0 ? rowsImported * 1000 / durationMillis : 0);
+            return dto;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
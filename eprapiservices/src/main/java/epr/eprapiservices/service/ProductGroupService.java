@@ -22,6 +22,7 @@ public class ProductGroupService {
     /**
      * Get all active product groups
      */
+    @Transactional(readOnly = true)
     public List<ProductGroup> getAllActiveProductGroups() {
         return productGroupRepository.findAllActive();
     }
@@ -29,6 +30,7 @@ public class ProductGroupService {
     /**
      * Get all product groups with optional filtering and sorting
      */
+    @Transactional(readOnly = true)
     public List<ProductGroup> getAllProductGroups(Boolean activeOnly, String sortBy, String sortOrder) {
         if (activeOnly) {
             return productGroupRepository.findAllActiveSorted(sortBy, sortOrder);
@@ -40,6 +42,7 @@ public class ProductGroupService {
     /**
      * Get product group by ID
      */
+    @Transactional(readOnly = true)
     public Optional<ProductGroup> getProductGroupById(Integer productGroupId) {
         return productGroupRepository.findById(productGroupId);
     }
@@ -47,6 +50,7 @@ public class ProductGroupService {
     /**
      * Get product group by name
      */
+    @Transactional(readOnly = true)
     public Optional<ProductGroup> getProductGroupByName(String productGroupName) {
         return productGroupRepository.findByProductGroupName(productGroupName);
     }
@@ -54,6 +58,7 @@ public class ProductGroupService {
     /**
      * Search product groups by name
      */
+    @Transactional(readOnly = true)
     public List<ProductGroup> searchProductGroupsByName(String name) {
         return productGroupRepository.findByProductGroupNameContainingIgnoreCase(name);
     }
@@ -122,6 +127,7 @@ public class ProductGroupService {
     /**
      * Check if product group name exists
      */
+    @Transactional(readOnly = true)
     public boolean isProductGroupNameExists(String productGroupName) {
         return productGroupRepository.existsByProductGroupNameIgnoreCase(productGroupName);
     }
@@ -129,6 +135,7 @@ public class ProductGroupService {
     /**
      * Get all product groups (including inactive)
      */
+    @Transactional(readOnly = true)
     public List<ProductGroup> getAllProductGroups() {
         return productGroupRepository.findAll();
     }
@@ -0,0 +1,56 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.ProductGroupRepository;
+import epr.eprapiservices.dto.ProductTaxonomyDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service building the product group → category → type tree.
+ * The three tables come back from one joined query already in tree order, so the tree
+ * is assembled in a single pass over the rows.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProductTaxonomyService {
+
+    @Autowired
+    private ProductGroupRepository productGroupRepository;
+
+    /**
+     * Active product groups with their active categories and product types
+     */
+    public ProductTaxonomyDto getTaxonomyTree() {
+        ProductTaxonomyDto tree = new ProductTaxonomyDto();
+        ProductTaxonomyDto.GroupNode group = null;
+        ProductTaxonomyDto.CategoryNode category = null;
+        int categoryCount = 0;
+        int productTypeCount = 0;
+        for (Object[] row : productGroupRepository.findActiveTaxonomyRows()) {
+            Integer groupId = (Integer) row[0];
+            if (group == null || !groupId.equals(group.getProductGroupId())) {
+                group = new ProductTaxonomyDto.GroupNode(groupId, (String) row[1], (String) row[2], (Integer) row[3]);
+                tree.getProductGroups().add(group);
+                category = null;
+            }
+            Integer categoryId = (Integer) row[4];
+            if (categoryId == null) {
+                continue;
+            }
+            if (category == null || !categoryId.equals(category.getProductCategoryId())) {
+                category = new ProductTaxonomyDto.CategoryNode(categoryId, (String) row[5], (String) row[6], (Integer) row[7]);
+                group.getCategories().add(category);
+                categoryCount++;
+            }
+            if (row[8] != null) {
+                category.getProductTypes().add(new ProductTaxonomyDto.TypeNode(
+                        (Integer) row[8], (String) row[9], (String) row[10], (Integer) row[11]));
+                productTypeCount++;
+            }
+        }
+        tree.setCategoryCount(categoryCount);
+        tree.setProductTypeCount(productTypeCount);
+        return tree;
+    }
+}
@@ -0,0 +1,68 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.RecycleLogRepository;
+import epr.eprapiservices.dao.repository.TracingTargetRepository;
+import epr.eprapiservices.util.MassUnits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service backfilling the canonical gram columns of recycle logs and tracing targets.
+ * New and updated rows are normalised by the entities themselves; this covers rows written
+ * before the columns existed, with one set-based UPDATE per registered unit spelling.
+ * Runs ahead of the startup rebuilds of the in-memory aggregates, which read the gram columns.
+ */
+@Service
+public class QuantityNormalizationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuantityNormalizationService.class);
+
+    @Autowired
+    private RecycleLogRepository recycleLogRepository;
+
+    @Autowired
+    private TracingTargetRepository tracingTargetRepository;
+
+    /**
+     * Backfill missing gram values on startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfillOnStartup() {
+        Map<String, Integer> updated = backfill();
+        if (updated.get("recycleLogs") > 0 || updated.get("tracingTargets") > 0) {
+            logger.info("Backfilled canonical quantities for {} recycle logs and {} tracing targets",
+                    updated.get("recycleLogs"), updated.get("tracingTargets"));
+        }
+    }
+
+    /**
+     * Backfill missing gram values; returns the number of rows updated per table.
+     * Rows in units that are not masses keep a null gram value and stay out of mass totals.
+     */
+    @Transactional
+    public Map<String, Integer> backfill() {
+        int recycleLogs = 0;
+        int tracingTargets = 0;
+        for (Map.Entry<String, BigDecimal> unit : MassUnits.registeredUnits().entrySet()) {
+            recycleLogs += recycleLogRepository.backfillQuantityGrams(unit.getKey(), unit.getValue());
+            tracingTargets += tracingTargetRepository.backfillQuantityGrams(unit.getKey(), unit.getValue());
+        }
+        Map<String, Integer> updated = new LinkedHashMap<>();
+        updated.put("recycleLogs", recycleLogs);
+        updated.put("tracingTargets", tracingTargets);
+        return updated;
+    }
+}
@@ -0,0 +1,207 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.RecycleLogRepository;
+import epr.eprapiservices.entity.RecycleLog;
+import epr.eprapiservices.event.RecycleLogChangedEvent;
+import epr.eprapiservices.util.MassUnits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service screening incoming recycle logs for outlying quantities (compared in grams,
+ * so logs filed in different units share one baseline).
+ * Keeps running statistics per recycler and material type in memory (Welford mean and
+ * variance plus an EWMA), so each log is scored in O(1) on the write path. A log is an
+ * outlier when its quantity is more than the configured number of standard deviations
+ * from the mean, or more than the configured factor above or below the EWMA.
+ * Statistics only learn from counted logs, so held outliers do not shift the baseline.
+ */
+@Service
+public class RecycleLogAnomalyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecycleLogAnomalyService.class);
+
+    // anomalyScore is stored as DECIMAL(10, 2)
+    private static final double MAX_STORED_SCORE = 99_999_999.99;
+
+    @Autowired
+    private RecycleLogRepository recycleLogRepository;
+
+    @Value("${app.anomaly.z-score-threshold:4.0}")
+    private double zScoreThreshold;
+
+    @Value("${app.anomaly.ewma-ratio-threshold:10.0}")
+    private double ewmaRatioThreshold;
+
+    @Value("${app.anomaly.ewma-alpha:0.2}")
+    private double ewmaAlpha;
+
+    @Value("${app.anomaly.min-samples:5}")
+    private int minSamples;
+
+    @Value("${app.anomaly.hold-outliers:true}")
+    private boolean holdOutliers;
+
+    private final Map<StatsKey, RunningStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Seed statistics from per-key count, sum and sum of squares, read from the primary
+     * so a lagging replica cannot undo changes already applied incrementally
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        Map<StatsKey, RunningStats> rebuilt = new HashMap<>();
+        for (Object[] row : recycleLogRepository.getQuantityMomentsByRecyclerAndMaterialType()) {
+            StatsKey key = new StatsKey((String) row[0], normalizeMaterialType((String) row[1]));
+            rebuilt.computeIfAbsent(key, k -> new RunningStats()).addMoments(
+                    ((Number) row[2]).longValue(), ((Number) row[3]).doubleValue(), ((Number) row[4]).doubleValue());
+        }
+        stats.clear();
+        stats.putAll(rebuilt);
+        logger.info("Seeded anomaly statistics for {} recycler/material pairs", rebuilt.size());
+    }
+
+    /**
+     * Keep statistics in step with committed changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecycleLogChanged(RecycleLogChangedEvent event) {
+        if (RecycleLogChangedEvent.isCounted(event.getPrevious())) {
+            RecycleLog previous = event.getPrevious();
+            RunningStats running = stats.get(keyOf(previous));
+            if (running != null && previous.getQuantityGrams() != null) {
+                running.remove(previous.getQuantityGrams());
+            }
+        }
+        if (RecycleLogChangedEvent.isCounted(event.getCurrent())) {
+            RecycleLog current = event.getCurrent();
+            if (current.getQuantityGrams() != null) {
+                stats.computeIfAbsent(keyOf(current), k -> new RunningStats())
+                        .add(current.getQuantityGrams(), ewmaAlpha);
+            }
+        }
+    }
+
+    /**
+     * Score a log about to be written and flag it for review if it is an outlier
+     */
+    public void screen(RecycleLog recycleLog) {
+        recycleLog.setAnomalyScore(null);
+        recycleLog.setReviewStatus(null);
+        recycleLog.setHeldForReview(false);
+        // The canonical column is only filled at flush, so convert here
+        Long grams = MassUnits.toGrams(recycleLog.getQuantityRecycled(), recycleLog.getUnit());
+        if (grams == null) {
+            return;
+        }
+        RunningStats running = stats.get(keyOf(recycleLog));
+        if (running == null) {
+            return;
+        }
+        double score = running.score(grams,
+                minSamples, zScoreThreshold, ewmaRatioThreshold);
+        if (score > 0) {
+            recycleLog.setAnomalyScore(BigDecimal.valueOf(Math.min(score, MAX_STORED_SCORE)).setScale(2, RoundingMode.HALF_UP));
+            recycleLog.setReviewStatus(RecycleLog.ReviewStatus.PENDING_REVIEW);
+            recycleLog.setHeldForReview(holdOutliers);
+        }
+    }
+
+    private static StatsKey keyOf(RecycleLog recycleLog) {
+        String recycler = recycleLog.getRecyclerId() != null ? recycleLog.getRecyclerId() : recycleLog.getRecyclerName();
+        return new StatsKey(recycler, normalizeMaterialType(recycleLog.getMaterialType()));
+    }
+
+    private static String normalizeMaterialType(String materialType) {
+        return materialType == null ? "" : materialType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Statistics key: one recycler and one (normalised) material type
+     */
+    private record StatsKey(String recycler, String materialType) {}
+
+    /**
+     * Welford running mean/variance with removal, plus an exponentially weighted mean
+     */
+    private static final class RunningStats {
+        private long count;
+        private double mean;
+        private double m2;
+        private double ewma;
+
+        private synchronized void add(double x, double alpha) {
+            count++;
+            double delta = x - mean;
+            mean += delta / count;
+            m2 += delta * (x - mean);
+            ewma = count == 1 ? x : alpha * x + (1 - alpha) * ewma;
+        }
+
+        private synchronized void remove(double x) {
+            if (count <= 1) {
+                count = 0;
+                mean = 0;
+                m2 = 0;
+                ewma = 0;
+                return;
+            }
+            double previousMean = (count * mean - x) / (count - 1);
+            m2 = Math.max(0, m2 - (x - mean) * (x - previousMean));
+            mean = previousMean;
+            count--;
+        }
+
+        private synchronized void addMoments(long n, double sum, double sumOfSquares) {
+            if (n <= 0) {
+                return;
+            }
+            double otherMean = sum / n;
+            double otherM2 = Math.max(0, sumOfSquares - sum * otherMean);
+            long total = count + n;
+            double delta = otherMean - mean;
+            m2 += otherM2 + delta * delta * count * n / total;
+            mean += delta * n / total;
+            count = total;
+            ewma = mean;
+        }
+
+        /**
+         * Outlier score (z-score or EWMA ratio), or 0 if the value is not an outlier
+         */
+        private synchronized double score(double x, int minSamples, double zThreshold, double ratioThreshold) {
+            if (count < minSamples) {
+                return 0;
+            }
+            double stdDev = Math.sqrt(m2 / (count - 1));
+            if (stdDev > 0) {
+                double z = Math.abs(x - mean) / stdDev;
+                if (z > zThreshold) {
+                    return z;
+                }
+            }
+            if (ewma > 0 && x > 0) {
+                double ratio = Math.max(x / ewma, ewma / x);
+                if (ratio > ratioThreshold) {
+                    return ratio;
+                }
+            }
+            return 0;
+        }
+    }
+}
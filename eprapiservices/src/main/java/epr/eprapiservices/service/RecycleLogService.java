@@ -2,12 +2,16 @@ package epr.eprapiservices.service;
 
 import epr.eprapiservices.dao.repository.RecycleLogRepository;
 import epr.eprapiservices.entity.RecycleLog;
+import epr.eprapiservices.event.RecycleLogChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -20,9 +24,16 @@ public class RecycleLogService {
     @Autowired
     private RecycleLogRepository recycleLogRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private RecycleLogAnomalyService recycleLogAnomalyService;
+
     /**
      * Get all active recycle logs
      */
+    @Transactional(readOnly = true)
     public List<RecycleLog> getAllActiveRecycleLogs() {
         return recycleLogRepository.findAllActive();
     }
@@ -30,6 +41,7 @@ public class RecycleLogService {
     /**
      * Get recycle log by ID
      */
+    @Transactional(readOnly = true)
     public Optional<RecycleLog> getRecycleLogById(Integer recycleLogId) {
         return recycleLogRepository.findById(recycleLogId);
     }
@@ -39,7 +51,10 @@ public class RecycleLogService {
      */
     public RecycleLog createRecycleLog(RecycleLog recycleLog) {
         recycleLog.setRecycleLogId(null); // Ensure it's a new entity
-        return recycleLogRepository.save(recycleLog);
+        recycleLogAnomalyService.screen(recycleLog);
+        RecycleLog savedRecycleLog = recycleLogRepository.save(recycleLog);
+        eventPublisher.publishEvent(new RecycleLogChangedEvent(null, new RecycleLog(savedRecycleLog)));
+        return savedRecycleLog;
     }
 
     /**
@@ -49,6 +64,7 @@ public class RecycleLogService {
         Optional<RecycleLog> optionalRecycleLog = recycleLogRepository.findById(recycleLogId);
         if (optionalRecycleLog.isPresent()) {
             RecycleLog existingRecycleLog = optionalRecycleLog.get();
+            RecycleLog previous = new RecycleLog(existingRecycleLog);
             
             // Update fields
             existingRecycleLog.setMaterialType(recycleLogDetails.getMaterialType());
@@ -63,8 +79,14 @@ public class RecycleLogService {
             existingRecycleLog.setNotes(recycleLogDetails.getNotes());
             existingRecycleLog.setBatchNumber(recycleLogDetails.getBatchNumber());
             existingRecycleLog.setRecoveryRate(recycleLogDetails.getRecoveryRate());
+            // A reviewer's decision stands until the quantity or date it was made on changes
+            if (!isReviewed(previous) || quantityOrDateChanged(previous, existingRecycleLog)) {
+                recycleLogAnomalyService.screen(existingRecycleLog);
+            }
             
-            return recycleLogRepository.save(existingRecycleLog);
+            RecycleLog savedRecycleLog = recycleLogRepository.save(existingRecycleLog);
+            eventPublisher.publishEvent(new RecycleLogChangedEvent(previous, new RecycleLog(savedRecycleLog)));
+            return savedRecycleLog;
         } else {
             throw new RuntimeException("RecycleLog not found with id: " + recycleLogId);
         }
@@ -77,16 +99,69 @@ public class RecycleLogService {
         Optional<RecycleLog> optionalRecycleLog = recycleLogRepository.findById(recycleLogId);
         if (optionalRecycleLog.isPresent()) {
             RecycleLog recycleLog = optionalRecycleLog.get();
+            RecycleLog previous = new RecycleLog(recycleLog);
             recycleLog.setIsActive(false);
             recycleLogRepository.save(recycleLog);
+            eventPublisher.publishEvent(new RecycleLogChangedEvent(previous, new RecycleLog(recycleLog)));
         } else {
             throw new RuntimeException("RecycleLog not found with id: " + recycleLogId);
         }
     }
 
+    /**
+     * Get recycle logs flagged as outliers and awaiting review
+     */
+    @Transactional(readOnly = true)
+    public List<RecycleLog> getReviewQueue() {
+        return recycleLogRepository.findByReviewStatus(RecycleLog.ReviewStatus.PENDING_REVIEW);
+    }
+
+    /**
+     * Approve a flagged recycle log so it counts towards aggregates
+     */
+    public RecycleLog approveRecycleLog(Integer recycleLogId) {
+        return review(recycleLogId, RecycleLog.ReviewStatus.APPROVED);
+    }
+
+    /**
+     * Reject a flagged recycle log, keeping it out of aggregates
+     */
+    public RecycleLog rejectRecycleLog(Integer recycleLogId) {
+        return review(recycleLogId, RecycleLog.ReviewStatus.REJECTED);
+    }
+
+    private RecycleLog review(Integer recycleLogId, RecycleLog.ReviewStatus decision) {
+        RecycleLog recycleLog = recycleLogRepository.findById(recycleLogId)
+                .orElseThrow(() -> new RuntimeException("RecycleLog not found with id: " + recycleLogId));
+        if (recycleLog.getReviewStatus() != RecycleLog.ReviewStatus.PENDING_REVIEW) {
+            throw new IllegalStateException("RecycleLog is not awaiting review: " + recycleLogId);
+        }
+        RecycleLog previous = new RecycleLog(recycleLog);
+        recycleLog.setReviewStatus(decision);
+        recycleLog.setHeldForReview(decision == RecycleLog.ReviewStatus.REJECTED);
+        RecycleLog savedRecycleLog = recycleLogRepository.save(recycleLog);
+        eventPublisher.publishEvent(new RecycleLogChangedEvent(previous, new RecycleLog(savedRecycleLog)));
+        return savedRecycleLog;
+    }
+
+    private static boolean isReviewed(RecycleLog recycleLog) {
+        return recycleLog.getReviewStatus() == RecycleLog.ReviewStatus.APPROVED
+                || recycleLog.getReviewStatus() == RecycleLog.ReviewStatus.REJECTED;
+    }
+
+    private static boolean quantityOrDateChanged(RecycleLog previous, RecycleLog current) {
+        BigDecimal before = previous.getQuantityRecycled();
+        BigDecimal after = current.getQuantityRecycled();
+        boolean quantityChanged = before == null || after == null ? before != after : before.compareTo(after) != 0;
+        return quantityChanged
+                || !Objects.equals(previous.getUnit(), current.getUnit())
+                || !Objects.equals(previous.getRecycleDate(), current.getRecycleDate());
+    }
+
     /**
      * Search recycle logs by material type
      */
+    @Transactional(readOnly = true)
     public List<RecycleLog> searchByMaterialType(String materialType) {
         return recycleLogRepository.findByMaterialTypeContainingIgnoreCase(materialType);
     }
@@ -94,6 +169,7 @@ public class RecycleLogService {
     /**
      * Search recycle logs by recycler name
      */
+    @Transactional(readOnly = true)
     public List<RecycleLog> searchByRecyclerName(String recyclerName) {
         return recycleLogRepository.findByRecyclerNameContainingIgnoreCase(recyclerName);
     }
@@ -101,6 +177,7 @@ public class RecycleLogService {
     /**
      * Get recycle logs by recycler ID
      */
+    @Transactional(readOnly = true)
     public List<RecycleLog> getRecycleLogsByRecyclerId(String recyclerId) {
         return recycleLogRepository.findByRecyclerId(recyclerId);
     }
@@ -108,6 +185,7 @@ public class RecycleLogService {
     /**
      * Get recycle logs by processing method
      */
+    @Transactional(readOnly = true)
     public List<RecycleLog> getRecycleLogsByProcessingMethod(RecycleLog.ProcessingMethod processingMethod) {
         return recycleLogRepository.findByProcessingMethod(processingMethod);
     }
@@ -115,6 +193,7 @@ public class RecycleLogService {
     /**
      * Get recycle logs by quality grade
      */
+    @Transactional(readOnly = true)
     public List<RecycleLog> getRecycleLogsByQualityGrade(RecycleLog.QualityGrade qualityGrade) {
         return recycleLogRepository.findByQualityGrade(qualityGrade);
     }
@@ -122,6 +201,7 @@ public class RecycleLogService {
     /**
      * Get recycle logs by date range
      */
+    @Transactional(readOnly = true)
     public List<RecycleLog> getRecycleLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return recycleLogRepository.findByRecycleDateBetween(startDate, endDate);
     }
@@ -129,6 +209,7 @@ public class RecycleLogService {
     /**
      * Search recycle logs by location
      */
+    @Transactional(readOnly = true)
     public List<RecycleLog> searchByLocation(String location) {
         return recycleLogRepository.findByLocationContainingIgnoreCase(location);
     }
@@ -136,27 +217,31 @@ public class RecycleLogService {
     /**
      * Get recycle logs by batch number
      */
+    @Transactional(readOnly = true)
     public List<RecycleLog> getRecycleLogsByBatchNumber(String batchNumber) {
         return recycleLogRepository.findByBatchNumber(batchNumber);
     }
 
     /**
-     * Get total quantity recycled by material type
+     * Get total mass recycled by material type, in grams
      */
-    public Double getTotalQuantityByMaterialType(String materialType) {
+    @Transactional(readOnly = true)
+    public Long getTotalQuantityByMaterialType(String materialType) {
         return recycleLogRepository.getTotalQuantityByMaterialType(materialType);
     }
 
     /**
-     * Get total quantity recycled by recycler
+     * Get total mass recycled by recycler, in grams
      */
-    public Double getTotalQuantityByRecycler(String recyclerId) {
+    @Transactional(readOnly = true)
+    public Long getTotalQuantityByRecycler(String recyclerId) {
         return recycleLogRepository.getTotalQuantityByRecycler(recyclerId);
     }
 
     /**
      * Get recycling statistics by processing method
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getRecyclingStatsByProcessingMethod() {
         return recycleLogRepository.getRecyclingStatsByProcessingMethod();
     }
@@ -164,6 +249,7 @@ public class RecycleLogService {
     /**
      * Get recycling statistics by quality grade
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getRecyclingStatsByQualityGrade() {
         return recycleLogRepository.getRecyclingStatsByQualityGrade();
     }
@@ -171,6 +257,7 @@ public class RecycleLogService {
     /**
      * Get recent recycle logs (last 30 days)
      */
+    @Transactional(readOnly = true)
     public List<RecycleLog> getRecentRecycleLogs() {
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
         return recycleLogRepository.findRecentRecycleLogs(thirtyDaysAgo);
@@ -179,6 +266,7 @@ public class RecycleLogService {
     /**
      * Search recycle logs by multiple criteria
      */
+    @Transactional(readOnly = true)
     public List<RecycleLog> searchRecycleLogs(String materialType, String recyclerName, String location,
                                             RecycleLog.ProcessingMethod processingMethod, 
                                             RecycleLog.QualityGrade qualityGrade) {
@@ -189,6 +277,7 @@ public class RecycleLogService {
     /**
      * Validate recycle log data
      */
+    @Transactional(readOnly = true)
     public boolean validateRecycleLog(RecycleLog recycleLog) {
         if (recycleLog == null) {
             return false;
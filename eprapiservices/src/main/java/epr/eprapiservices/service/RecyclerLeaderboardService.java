@@ -0,0 +1,270 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.RecycleLogRepository;
+import epr.eprapiservices.dto.RecyclerLeaderboardEntryDto;
+import epr.eprapiservices.entity.RecycleLog;
+import epr.eprapiservices.event.RecycleLogChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service maintaining monthly, per-material top-K recycler leaderboards.
+ * Boards are rebuilt from monthly rollups on startup and then kept up to date
+ * incrementally from committed recycle log changes, so reads never hit the database.
+ */
+@Service
+public class RecyclerLeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecyclerLeaderboardService.class);
+
+    @Autowired
+    private RecycleLogRepository recycleLogRepository;
+
+    @Value("${app.leaderboard.size:20}")
+    private int leaderboardSize;
+
+    private final Map<BoardKey, Board> boards = new ConcurrentHashMap<>();
+
+    /**
+     * Rebuild all boards from the monthly rollup query, read from the primary so a
+     * lagging replica cannot undo changes already applied incrementally
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        Map<BoardKey, Board> rebuilt = new HashMap<>();
+        for (Object[] row : recycleLogRepository.getMonthlyQuantityByRecyclerAndMaterialType()) {
+            String recyclerId = (String) row[0];
+            String recyclerName = (String) row[1];
+            BoardKey key = new BoardKey(YearMonth.of(((Number) row[3]).intValue(), ((Number) row[4]).intValue()),
+                    normalizeMaterialType((String) row[2]));
+            rebuilt.computeIfAbsent(key, k -> new Board(leaderboardSize))
+                    .add(recyclerId, recyclerName, ((Number) row[5]).longValue());
+        }
+        boards.clear();
+        boards.putAll(rebuilt);
+        logger.info("Rebuilt {} recycler leaderboards", rebuilt.size());
+    }
+
+    /**
+     * Apply a committed recycle log change to the affected boards
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecycleLogChanged(RecycleLogChangedEvent event) {
+        if (RecycleLogChangedEvent.isCounted(event.getPrevious())) {
+            apply(event.getPrevious(), true);
+        }
+        if (RecycleLogChangedEvent.isCounted(event.getCurrent())) {
+            apply(event.getCurrent(), false);
+        }
+    }
+
+    /**
+     * Get the top recyclers for a material in a month, highest mass first
+     */
+    public List<RecyclerLeaderboardEntryDto> getLeaderboard(String materialType, YearMonth month, int limit) {
+        Board board = boards.get(new BoardKey(month, normalizeMaterialType(materialType)));
+        if (board == null) {
+            return Collections.emptyList();
+        }
+        List<RecyclerLeaderboardEntryDto> snapshot = board.snapshot;
+        return limit < snapshot.size() ? snapshot.subList(0, Math.max(limit, 0)) : snapshot;
+    }
+
+    private void apply(RecycleLog recycleLog, boolean reverse) {
+        if (recycleLog.getRecyclerId() == null || recycleLog.getRecycleDate() == null
+                || recycleLog.getMaterialType() == null || recycleLog.getQuantityGrams() == null) {
+            return;
+        }
+        BoardKey key = new BoardKey(YearMonth.from(recycleLog.getRecycleDate()),
+                normalizeMaterialType(recycleLog.getMaterialType()));
+        long delta = reverse ? -recycleLog.getQuantityGrams() : recycleLog.getQuantityGrams();
+        boards.computeIfAbsent(key, k -> new Board(leaderboardSize))
+                .add(recycleLog.getRecyclerId(), recycleLog.getRecyclerName(), delta);
+    }
+
+    private static String normalizeMaterialType(String materialType) {
+        return materialType == null ? "" : materialType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Key of a single board: one calendar month of one material type
+     */
+    private record BoardKey(YearMonth month, String materialType) {}
+
+    /**
+     * Running total (grams) of one recycler within a board
+     */
+    private static final class Standing {
+        private final String recyclerId;
+        private String recyclerName;
+        private long total;
+        private int heapIndex = -1;
+
+        private Standing(String recyclerId) {
+            this.recyclerId = recyclerId;
+        }
+    }
+
+    /**
+     * Top-K structure: a hash index of every recycler's total plus a bounded
+     * min-heap holding the current top K, with each standing tracking its heap slot.
+     * Increases are O(log K); only a decrease of a top-K member needs a scan for
+     * its replacement. Readers get an immutable, pre-ranked snapshot.
+     */
+    private static final class Board {
+        private static final Comparator<Standing> BY_TOTAL = Comparator
+                .comparingLong((Standing s) -> s.total)
+                .thenComparing(s -> s.recyclerId, Comparator.reverseOrder());
+
+        private final Map<String, Standing> index = new HashMap<>();
+        private final Standing[] heap;
+        private int heapSize;
+        private volatile List<RecyclerLeaderboardEntryDto> snapshot = Collections.emptyList();
+
+        private Board(int capacity) {
+            this.heap = new Standing[Math.max(capacity, 1)];
+        }
+
+        private synchronized void add(String recyclerId, String recyclerName, long delta) {
+            if (delta == 0) {
+                return;
+            }
+            Standing standing = index.computeIfAbsent(recyclerId, Standing::new);
+            if (recyclerName != null) {
+                standing.recyclerName = recyclerName;
+            }
+            standing.total += delta;
+
+            if (standing.total <= 0) {
+                index.remove(recyclerId);
+                if (standing.heapIndex >= 0) {
+                    removeAt(standing.heapIndex);
+                    promoteBestOutsider();
+                }
+            } else if (standing.heapIndex >= 0) {
+                if (delta > 0) {
+                    siftDown(standing.heapIndex);
+                } else {
+                    siftUp(standing.heapIndex);
+                    promoteBestOutsider();
+                }
+            } else if (heapSize < heap.length) {
+                insert(standing);
+            } else if (BY_TOTAL.compare(standing, heap[0]) > 0) {
+                heap[0].heapIndex = -1;
+                place(standing, 0);
+                siftDown(0);
+            }
+            publishSnapshot();
+        }
+
+        /**
+         * After a member shrank or left, swap in the best non-member if it now ranks higher
+         */
+        private void promoteBestOutsider() {
+            Standing best = null;
+            for (Standing candidate : index.values()) {
+                if (candidate.heapIndex < 0 && (best == null || BY_TOTAL.compare(candidate, best) > 0)) {
+                    best = candidate;
+                }
+            }
+            if (best == null) {
+                return;
+            }
+            if (heapSize < heap.length) {
+                insert(best);
+            } else if (BY_TOTAL.compare(best, heap[0]) > 0) {
+                heap[0].heapIndex = -1;
+                place(best, 0);
+                siftDown(0);
+            }
+        }
+
+        private void insert(Standing standing) {
+            place(standing, heapSize++);
+            siftUp(standing.heapIndex);
+        }
+
+        private void removeAt(int i) {
+            heap[i].heapIndex = -1;
+            Standing last = heap[--heapSize];
+            heap[heapSize] = null;
+            if (i != heapSize) {
+                place(last, i);
+                siftDown(i);
+                siftUp(last.heapIndex);
+            }
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (BY_TOTAL.compare(heap[i], heap[parent]) >= 0) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < heapSize && BY_TOTAL.compare(heap[left], heap[smallest]) < 0) {
+                    smallest = left;
+                }
+                if (right < heapSize && BY_TOTAL.compare(heap[right], heap[smallest]) < 0) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            Standing tmp = heap[i];
+            place(heap[j], i);
+            place(tmp, j);
+        }
+
+        private void place(Standing standing, int i) {
+            heap[i] = standing;
+            standing.heapIndex = i;
+        }
+
+        private void publishSnapshot() {
+            Standing[] top = Arrays.copyOf(heap, heapSize);
+            Arrays.sort(top, BY_TOTAL.reversed());
+            List<RecyclerLeaderboardEntryDto> entries = new ArrayList<>(top.length);
+            for (int i = 0; i < top.length; i++) {
+                entries.add(new RecyclerLeaderboardEntryDto(i + 1, top[i].recyclerId,
+                        top[i].recyclerName, top[i].total));
+            }
+            snapshot = Collections.unmodifiableList(entries);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package epr.eprapiservices.service;
 
 import epr.eprapiservices.dao.repository.RecyclingCertificationRepository;
 import epr.eprapiservices.entity.RecyclingCertification;
+import epr.eprapiservices.event.RecyclingCertificationChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +22,16 @@ public class RecyclingCertificationService {
     @Autowired
     private RecyclingCertificationRepository recyclingCertificationRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CertificationExpiryService certificationExpiryService;
+
     /**
      * Get all active recycling certifications
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> getAllActiveCertifications() {
         return recyclingCertificationRepository.findAllActive();
     }
@@ -30,6 +39,7 @@ public class RecyclingCertificationService {
     /**
      * Get certification by ID
      */
+    @Transactional(readOnly = true)
     public Optional<RecyclingCertification> getCertificationById(Integer certificationId) {
         return recyclingCertificationRepository.findById(certificationId);
     }
@@ -37,6 +47,7 @@ public class RecyclingCertificationService {
     /**
      * Get certification by certification number
      */
+    @Transactional(readOnly = true)
     public Optional<RecyclingCertification> getCertificationByNumber(String certificationNumber) {
         return recyclingCertificationRepository.findByCertificationNumber(certificationNumber);
     }
@@ -51,7 +62,9 @@ public class RecyclingCertificationService {
         }
         
         certification.setCertificationId(null); // Ensure it's a new entity
-        return recyclingCertificationRepository.save(certification);
+        RecyclingCertification savedCertification = recyclingCertificationRepository.save(certification);
+        eventPublisher.publishEvent(new RecyclingCertificationChangedEvent(null, new RecyclingCertification(savedCertification)));
+        return savedCertification;
     }
 
     /**
@@ -61,6 +74,7 @@ public class RecyclingCertificationService {
         Optional<RecyclingCertification> optionalCertification = recyclingCertificationRepository.findById(certificationId);
         if (optionalCertification.isPresent()) {
             RecyclingCertification existingCertification = optionalCertification.get();
+            RecyclingCertification previous = new RecyclingCertification(existingCertification);
             
             // Check if certification number is being changed and if it already exists
             if (!existingCertification.getCertificationNumber().equals(certificationDetails.getCertificationNumber())) {
@@ -86,7 +100,9 @@ public class RecyclingCertificationService {
             existingCertification.setScope(certificationDetails.getScope());
             existingCertification.setStandards(certificationDetails.getStandards());
             
-            return recyclingCertificationRepository.save(existingCertification);
+            RecyclingCertification savedCertification = recyclingCertificationRepository.save(existingCertification);
+            eventPublisher.publishEvent(new RecyclingCertificationChangedEvent(previous, new RecyclingCertification(savedCertification)));
+            return savedCertification;
         } else {
             throw new RuntimeException("RecyclingCertification not found with id: " + certificationId);
         }
@@ -99,8 +115,10 @@ public class RecyclingCertificationService {
         Optional<RecyclingCertification> optionalCertification = recyclingCertificationRepository.findById(certificationId);
         if (optionalCertification.isPresent()) {
             RecyclingCertification certification = optionalCertification.get();
+            RecyclingCertification previous = new RecyclingCertification(certification);
             certification.setIsActive(false);
             recyclingCertificationRepository.save(certification);
+            eventPublisher.publishEvent(new RecyclingCertificationChangedEvent(previous, new RecyclingCertification(certification)));
         } else {
             throw new RuntimeException("RecyclingCertification not found with id: " + certificationId);
         }
@@ -109,6 +127,7 @@ public class RecyclingCertificationService {
     /**
      * Search certifications by name
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> searchByName(String name) {
         return recyclingCertificationRepository.findByCertificationNameContainingIgnoreCase(name);
     }
@@ -116,6 +135,7 @@ public class RecyclingCertificationService {
     /**
      * Get certifications by type
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> getCertificationsByType(RecyclingCertification.CertificationType type) {
         return recyclingCertificationRepository.findByCertificationType(type);
     }
@@ -123,6 +143,7 @@ public class RecyclingCertificationService {
     /**
      * Search certifications by issuing authority
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> searchByIssuingAuthority(String authority) {
         return recyclingCertificationRepository.findByIssuingAuthorityContainingIgnoreCase(authority);
     }
@@ -130,6 +151,7 @@ public class RecyclingCertificationService {
     /**
      * Search certifications by material type
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> searchByMaterialType(String materialType) {
         return recyclingCertificationRepository.findByMaterialTypeContainingIgnoreCase(materialType);
     }
@@ -137,6 +159,7 @@ public class RecyclingCertificationService {
     /**
      * Search certifications by recycler name
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> searchByRecyclerName(String recyclerName) {
         return recyclingCertificationRepository.findByRecyclerNameContainingIgnoreCase(recyclerName);
     }
@@ -144,6 +167,7 @@ public class RecyclingCertificationService {
     /**
      * Get certifications by recycler ID
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> getCertificationsByRecyclerId(String recyclerId) {
         return recyclingCertificationRepository.findByRecyclerId(recyclerId);
     }
@@ -151,6 +175,7 @@ public class RecyclingCertificationService {
     /**
      * Get certifications by status
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> getCertificationsByStatus(RecyclingCertification.CertificationStatus status) {
         return recyclingCertificationRepository.findByCertificationStatus(status);
     }
@@ -158,6 +183,7 @@ public class RecyclingCertificationService {
     /**
      * Get certifications expiring within specified days
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> getCertificationsExpiringWithinDays(int days) {
         LocalDate expiryDate = LocalDate.now().plusDays(days);
         return recyclingCertificationRepository.findCertificationsExpiringBefore(expiryDate);
@@ -166,6 +192,7 @@ public class RecyclingCertificationService {
     /**
      * Get expired certifications
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> getExpiredCertifications() {
         return recyclingCertificationRepository.findExpiredCertifications();
     }
@@ -173,6 +200,7 @@ public class RecyclingCertificationService {
     /**
      * Get valid certifications
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> getValidCertifications() {
         return recyclingCertificationRepository.findValidCertifications();
     }
@@ -180,6 +208,7 @@ public class RecyclingCertificationService {
     /**
      * Get certifications by date range
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> getCertificationsByDateRange(LocalDate startDate, LocalDate endDate) {
         return recyclingCertificationRepository.findByIssueDateBetween(startDate, endDate);
     }
@@ -187,6 +216,7 @@ public class RecyclingCertificationService {
     /**
      * Check if certification number exists
      */
+    @Transactional(readOnly = true)
     public boolean isCertificationNumberExists(String certificationNumber) {
         return recyclingCertificationRepository.existsByCertificationNumberIgnoreCase(certificationNumber);
     }
@@ -194,6 +224,7 @@ public class RecyclingCertificationService {
     /**
      * Get certification statistics by type
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getCertificationStatsByType() {
         return recyclingCertificationRepository.getCertificationStatsByType();
     }
@@ -201,6 +232,7 @@ public class RecyclingCertificationService {
     /**
      * Get certification statistics by status
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getCertificationStatsByStatus() {
         return recyclingCertificationRepository.getCertificationStatsByStatus();
     }
@@ -208,6 +240,7 @@ public class RecyclingCertificationService {
     /**
      * Search certifications by multiple criteria
      */
+    @Transactional(readOnly = true)
     public List<RecyclingCertification> searchCertifications(String certificationName,
                                                            RecyclingCertification.CertificationType certificationType,
                                                            String issuingAuthority, String materialType,
@@ -218,19 +251,16 @@ public class RecyclingCertificationService {
     }
 
     /**
-     * Update certification status based on expiry date
+     * Update certification status based on expiry date (runs the bulk expiry sweep)
      */
     public void updateExpiredCertifications() {
-        List<RecyclingCertification> expiredCertifications = getExpiredCertifications();
-        for (RecyclingCertification certification : expiredCertifications) {
-            certification.setCertificationStatus(RecyclingCertification.CertificationStatus.EXPIRED);
-            recyclingCertificationRepository.save(certification);
-        }
+        certificationExpiryService.runSweep();
     }
 
     /**
      * Validate certification data
      */
+    @Transactional(readOnly = true)
     public boolean validateCertification(RecyclingCertification certification) {
         if (certification == null) {
             return false;
@@ -0,0 +1,242 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.RecycleLogRepository;
+import epr.eprapiservices.dto.ApproximateCountDto;
+import epr.eprapiservices.dto.ApproximateQuantilesDto;
+import epr.eprapiservices.entity.RecycleLog;
+import epr.eprapiservices.event.RecycleLogChangedEvent;
+import epr.eprapiservices.util.HyperLogLog;
+import epr.eprapiservices.util.TDigest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Service keeping mergeable approximate sketches of recycling metrics per day:
+ * HyperLogLog for distinct recyclers and locations per material, and t-digest for
+ * recovery rate per processing method and mass recycled (grams) per material.
+ * Range queries merge the daily sketches instead of scanning recycle_log.
+ * See {@link HyperLogLog} and {@link TDigest} for the error bounds.
+ *
+ * Sketches cannot subtract, so new logs are added directly while a day touched by an
+ * update or delete is marked dirty and rebuilt from its rows on the next query.
+ */
+@Service
+public class RecyclingMetricsSketchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecyclingMetricsSketchService.class);
+
+    @Autowired
+    private RecycleLogRepository recycleLogRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final NavigableMap<LocalDate, DayBucket> buckets = new ConcurrentSkipListMap<>();
+    private final Set<LocalDate> dirtyDays = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Build all day buckets by streaming the active recycle logs once, from the primary
+     * so a lagging replica cannot undo changes already applied incrementally
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        Map<LocalDate, DayBucket> rebuilt = new HashMap<>();
+        try (Stream<RecycleLog> logs = recycleLogRepository.streamAllActive()) {
+            logs.forEach(log -> {
+                if (log.getRecycleDate() != null) {
+                    rebuilt.computeIfAbsent(log.getRecycleDate().toLocalDate(), day -> new DayBucket()).add(log);
+                }
+                entityManager.detach(log);
+            });
+        }
+        buckets.clear();
+        buckets.putAll(rebuilt);
+        dirtyDays.clear();
+        logger.info("Built recycling metric sketches for {} days", rebuilt.size());
+    }
+
+    /**
+     * Apply a committed recycle log change to the day buckets
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecycleLogChanged(RecycleLogChangedEvent event) {
+        RecycleLog previous = event.getPrevious();
+        RecycleLog current = event.getCurrent();
+        if (RecycleLogChangedEvent.isCounted(previous)) {
+            markDirty(previous);
+            markDirty(current);
+        } else if (RecycleLogChangedEvent.isCounted(current) && current.getRecycleDate() != null) {
+            buckets.computeIfAbsent(current.getRecycleDate().toLocalDate(), day -> new DayBucket()).add(current);
+        }
+    }
+
+    /**
+     * Estimate distinct recyclers in a date range, optionally for one material type
+     */
+    public ApproximateCountDto estimateDistinctRecyclers(String materialType, LocalDate startDate, LocalDate endDate) {
+        HyperLogLog merged = new HyperLogLog();
+        for (DayBucket bucket : bucketsBetween(startDate, endDate)) {
+            bucket.mergeRecyclers(normalizeMaterialType(materialType), merged);
+        }
+        return new ApproximateCountDto(merged.estimate(), HyperLogLog.RELATIVE_STANDARD_ERROR);
+    }
+
+    /**
+     * Estimate distinct recycling locations in a date range, optionally for one material type
+     */
+    public ApproximateCountDto estimateDistinctLocations(String materialType, LocalDate startDate, LocalDate endDate) {
+        HyperLogLog merged = new HyperLogLog();
+        for (DayBucket bucket : bucketsBetween(startDate, endDate)) {
+            bucket.mergeLocations(normalizeMaterialType(materialType), merged);
+        }
+        return new ApproximateCountDto(merged.estimate(), HyperLogLog.RELATIVE_STANDARD_ERROR);
+    }
+
+    /**
+     * Approximate recovery rate quantiles in a date range, optionally for one processing method
+     */
+    public ApproximateQuantilesDto getRecoveryRateQuantiles(RecycleLog.ProcessingMethod processingMethod,
+                                                            LocalDate startDate, LocalDate endDate,
+                                                            List<Double> quantiles) {
+        TDigest merged = new TDigest();
+        for (DayBucket bucket : bucketsBetween(startDate, endDate)) {
+            bucket.mergeRecoveryRates(processingMethod, merged);
+        }
+        return toQuantiles(merged, quantiles);
+    }
+
+    /**
+     * Approximate mass recycled quantiles (grams) in a date range, optionally for one material type
+     */
+    public ApproximateQuantilesDto getQuantityQuantiles(String materialType, LocalDate startDate, LocalDate endDate,
+                                                        List<Double> quantiles) {
+        TDigest merged = new TDigest();
+        for (DayBucket bucket : bucketsBetween(startDate, endDate)) {
+            bucket.mergeQuantities(normalizeMaterialType(materialType), merged);
+        }
+        return toQuantiles(merged, quantiles);
+    }
+
+    private Iterable<DayBucket> bucketsBetween(LocalDate startDate, LocalDate endDate) {
+        for (LocalDate day : dirtyDays) {
+            if (!day.isBefore(startDate) && !day.isAfter(endDate)) {
+                rebuildDay(day);
+            }
+        }
+        return buckets.subMap(startDate, true, endDate, true).values();
+    }
+
+    private void rebuildDay(LocalDate day) {
+        dirtyDays.remove(day);
+        DayBucket bucket = new DayBucket();
+        for (RecycleLog log : recycleLogRepository.findByRecycleDateBetween(day.atStartOfDay(), day.atTime(LocalTime.MAX))) {
+            bucket.add(log);
+        }
+        buckets.put(day, bucket);
+    }
+
+    private void markDirty(RecycleLog recycleLog) {
+        if (recycleLog != null && recycleLog.getRecycleDate() != null) {
+            dirtyDays.add(recycleLog.getRecycleDate().toLocalDate());
+        }
+    }
+
+    private static ApproximateQuantilesDto toQuantiles(TDigest digest, List<Double> quantiles) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (Double q : quantiles) {
+            String label = "p" + BigDecimal.valueOf(q * 100).stripTrailingZeros().toPlainString();
+            double value = digest.quantile(q);
+            values.put(label, Double.isNaN(value) ? null : value);
+        }
+        return new ApproximateQuantilesDto(digest.size(), values);
+    }
+
+    private static String normalizeMaterialType(String materialType) {
+        return materialType == null ? null : materialType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sketches of one calendar day, keyed by material type or processing method
+     */
+    private static final class DayBucket {
+        private final Map<String, HyperLogLog> recyclersByMaterial = new HashMap<>();
+        private final Map<String, HyperLogLog> locationsByMaterial = new HashMap<>();
+        private final Map<String, TDigest> quantitiesByMaterial = new HashMap<>();
+        private final Map<RecycleLog.ProcessingMethod, TDigest> recoveryRatesByMethod =
+                new EnumMap<>(RecycleLog.ProcessingMethod.class);
+
+        private synchronized void add(RecycleLog log) {
+            String material = normalizeMaterialType(log.getMaterialType());
+            if (material == null || !RecycleLogChangedEvent.isCounted(log)) {
+                return;
+            }
+            recyclersByMaterial.computeIfAbsent(material, k -> new HyperLogLog())
+                    .add(log.getRecyclerId() != null ? log.getRecyclerId() : log.getRecyclerName());
+            locationsByMaterial.computeIfAbsent(material, k -> new HyperLogLog()).add(log.getLocation());
+            if (log.getQuantityGrams() != null) {
+                quantitiesByMaterial.computeIfAbsent(material, k -> new TDigest())
+                        .add(log.getQuantityGrams());
+            }
+            if (log.getRecoveryRate() != null && log.getProcessingMethod() != null) {
+                recoveryRatesByMethod.computeIfAbsent(log.getProcessingMethod(), k -> new TDigest())
+                        .add(log.getRecoveryRate().doubleValue());
+            }
+        }
+
+        private synchronized void mergeRecyclers(String material, HyperLogLog target) {
+            mergeSketches(recyclersByMaterial, material, target);
+        }
+
+        private synchronized void mergeLocations(String material, HyperLogLog target) {
+            mergeSketches(locationsByMaterial, material, target);
+        }
+
+        private synchronized void mergeQuantities(String material, TDigest target) {
+            for (Map.Entry<String, TDigest> entry : quantitiesByMaterial.entrySet()) {
+                if (material == null || material.equals(entry.getKey())) {
+                    target.merge(entry.getValue());
+                }
+            }
+        }
+
+        private synchronized void mergeRecoveryRates(RecycleLog.ProcessingMethod method, TDigest target) {
+            for (Map.Entry<RecycleLog.ProcessingMethod, TDigest> entry : recoveryRatesByMethod.entrySet()) {
+                if (method == null || method == entry.getKey()) {
+                    target.merge(entry.getValue());
+                }
+            }
+        }
+
+        private static void mergeSketches(Map<String, HyperLogLog> sketches, String material, HyperLogLog target) {
+            for (Map.Entry<String, HyperLogLog> entry : sketches.entrySet()) {
+                if (material == null || material.equals(entry.getKey())) {
+                    target.merge(entry.getValue());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package epr.eprapiservices.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import epr.eprapiservices.Models.Industry;
+import epr.eprapiservices.Models.Modules;
+import epr.eprapiservices.Models.OrgType;
+import epr.eprapiservices.Models.Pages;
+import epr.eprapiservices.entity.Material;
+import epr.eprapiservices.entity.ProductCategory;
+import epr.eprapiservices.entity.ProductGroup;
+import epr.eprapiservices.entity.ProductType;
+import epr.eprapiservices.event.ReferenceDataChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service caching the serialized responses of the reference data tables.
+ * Every type holds an immutable map of snapshots (the JSON body, gzipped up front when
+ * large, and a strong ETag taken from its SHA-256), one per query variant, replaced as a
+ * whole on every change. A write to any entity the type depends on bumps its version and
+ * drops its snapshots, so the next read rebuilds them; the TTL covers changes made on
+ * other nodes or outside JPA. A snapshot built while the version moved is served once
+ * but not stored. Snapshots are loaded in read-write transactions so they come from the
+ * primary: a replica may still lag behind the change that invalidated them.
+ */
+@Service
+public class ReferenceDataCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCacheService.class);
+
+    /**
+     * Reference data types, each with the entity whose writes invalidate it
+     */
+    public enum Type {
+        PRODUCT_GROUP(ProductGroup.class),
+        PRODUCT_CATEGORY(ProductCategory.class),
+        PRODUCT_TYPE(ProductType.class),
+        MATERIAL(Material.class),
+        INDUSTRY(Industry.class),
+        ORG_TYPE(OrgType.class),
+        MODULE(Modules.class),
+        PAGE(Pages.class),
+        PRODUCT_TAXONOMY(ProductGroup.class, ProductCategory.class, ProductType.class);
+
+        private final List<Class<?>> entityClasses;
+
+        Type(Class<?>... entityClasses) {
+            this.entityClasses = List.of(entityClasses);
+        }
+
+        public boolean dependsOn(Class<?> entityClass) {
+            for (Class<?> dependency : entityClasses) {
+                if (dependency.isAssignableFrom(entityClass)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.reference-data.cache-ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.reference-data.max-variants-per-type:32}")
+    private int maxVariantsPerType;
+
+    @Value("${app.reference-data.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    private TransactionTemplate loadTransaction;
+    private long ttlNanos;
+
+    private final Map<Type, TypeCache> caches = new EnumMap<>(Type.class);
+
+    public ReferenceDataCacheService() {
+        for (Type type : Type.values()) {
+            caches.put(type, new TypeCache());
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        loadTransaction = new TransactionTemplate(transactionManager);
+        ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    private Optional<Snapshot> peek(Type type, String variant) {
+        TypeCache cache = caches.get(type);
+        Snapshot snapshot = cache.snapshots.get(variant);
+        if (snapshot != null && snapshot.version() == cache.version.get()
+                && System.nanoTime() - snapshot.builtAtNanos() < ttlNanos) {
+            return Optional.of(snapshot);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Snapshot of a list variant, loading it from the primary and serializing it when
+     * there is no current one
+     */
+    public Snapshot get(Type type, String variant, Supplier<?> loader) {
+        Optional<Snapshot> current = peek(type, variant);
+        if (current.isPresent()) {
+            return current.get();
+        }
+        TypeCache cache = caches.get(type);
+        synchronized (cache) {
+            current = peek(type, variant);
+            if (current.isPresent()) {
+                return current.get();
+            }
+            long version = cache.version.get();
+            byte[] body = loadTransaction.execute(status -> serialize(loader.get()));
+            byte[] gzippedBody = body.length >= gzipMinBytes ? gzip(body) : null;
+            Snapshot snapshot = new Snapshot(body, gzippedBody, etag(body), version, System.nanoTime());
+            // A change committed while loading must not be overwritten by stale data
+            if (cache.version.get() == version) {
+                Map<String, Snapshot> snapshots = new HashMap<>(cache.snapshots);
+                snapshots.values().removeIf(existing -> existing.version() != version);
+                if (snapshots.size() < maxVariantsPerType || snapshots.containsKey(variant)) {
+                    snapshots.put(variant, snapshot);
+                }
+                cache.snapshots = Map.copyOf(snapshots);
+            }
+            logger.debug("Built {} reference data snapshot '{}' ({} bytes)", type, variant, body.length);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Drop the snapshots of one type
+     */
+    public void invalidate(Type type) {
+        TypeCache cache = caches.get(type);
+        cache.version.incrementAndGet();
+        cache.snapshots = Map.of();
+    }
+
+    /**
+     * Drop the snapshots of every type
+     */
+    public void invalidateAll() {
+        for (Type type : Type.values()) {
+            invalidate(type);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        for (Type type : Type.values()) {
+            if (type.dependsOn(event.getEntityType())) {
+                invalidate(type);
+            }
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize reference data", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not compress reference data", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Serialized response with its strong ETag, plus a gzipped copy for larger bodies;
+     * neither body is modified once built
+     */
+    public record Snapshot(byte[] body, byte[] gzippedBody, String etag, long version, long builtAtNanos) {
+
+        /**
+         * ETag of the gzipped copy, which is a different representation of the same data
+         */
+        public String gzippedEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        /**
+         * Whether an If-None-Match header value names this snapshot
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                // If-None-Match uses weak comparison
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag) || (gzippedBody != null && tag.equals(gzippedEtag()))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class TypeCache {
+        private final AtomicLong version = new AtomicLong();
+        private volatile Map<String, Snapshot> snapshots = Map.of();
+    }
+}
@@ -0,0 +1,76 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.SchedulerLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Service handing out database-backed leases for scheduled jobs.
+ * A lease is a single row per job; acquiring it is one conditional UPDATE that only
+ * succeeds when the previous holder's lease has lapsed, so at most one node runs the
+ * job at a time and a crashed node's lease simply expires.
+ */
+@Service
+public class SchedulerLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLeaseService.class);
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Value("${app.node-id:}")
+    private String configuredNodeId;
+
+    private volatile String nodeId;
+
+    /**
+     * Try to take the named lease for the given duration
+     */
+    public boolean tryAcquire(String leaseName, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        if (schedulerLeaseRepository.tryAcquire(leaseName, getNodeId(), now, now.plus(duration)) == 1) {
+            return true;
+        }
+        if (!schedulerLeaseRepository.existsById(leaseName)) {
+            createLease(leaseName);
+            return schedulerLeaseRepository.tryAcquire(leaseName, getNodeId(), now, now.plus(duration)) == 1;
+        }
+        return false;
+    }
+
+    /**
+     * Release the named lease if this node holds it
+     */
+    public void release(String leaseName) {
+        schedulerLeaseRepository.release(leaseName, getNodeId(), LocalDateTime.now());
+    }
+
+    /**
+     * Identifier of this node as recorded on the leases it holds
+     */
+    public String getNodeId() {
+        if (nodeId == null) {
+            nodeId = configuredNodeId != null && !configuredNodeId.isBlank()
+                    ? configuredNodeId
+                    : ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return nodeId;
+    }
+
+    private void createLease(String leaseName) {
+        try {
+            schedulerLeaseRepository.create(leaseName, LocalDateTime.of(1970, 1, 1, 0, 0));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the row first
+            logger.debug("Lease {} was created concurrently", leaseName);
+        }
+    }
+}
@@ -23,6 +23,7 @@ public class TracingTargetService {
     /**
      * Get all active tracing targets
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> getAllActiveTargets() {
         return tracingTargetRepository.findAllActive();
     }
@@ -30,6 +31,7 @@ public class TracingTargetService {
     /**
      * Get target by ID
      */
+    @Transactional(readOnly = true)
     public Optional<TracingTarget> getTargetById(Integer targetId) {
         return tracingTargetRepository.findById(targetId);
     }
@@ -108,6 +110,7 @@ public class TracingTargetService {
     /**
      * Search targets by name
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> searchByTargetName(String name) {
         return tracingTargetRepository.findByTargetNameContainingIgnoreCase(name);
     }
@@ -115,6 +118,7 @@ public class TracingTargetService {
     /**
      * Search targets by material type
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> searchByMaterialType(String materialType) {
         return tracingTargetRepository.findByMaterialTypeContainingIgnoreCase(materialType);
     }
@@ -122,6 +126,7 @@ public class TracingTargetService {
     /**
      * Get targets by target type
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> getTargetsByType(TracingTarget.TargetType targetType) {
         return tracingTargetRepository.findByTargetType(targetType);
     }
@@ -129,6 +134,7 @@ public class TracingTargetService {
     /**
      * Get targets by priority level
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> getTargetsByPriority(TracingTarget.PriorityLevel priorityLevel) {
         return tracingTargetRepository.findByPriorityLevel(priorityLevel);
     }
@@ -136,6 +142,7 @@ public class TracingTargetService {
     /**
      * Get targets by status
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> getTargetsByStatus(TracingTarget.TargetStatus targetStatus) {
         return tracingTargetRepository.findByTargetStatus(targetStatus);
     }
@@ -143,6 +150,7 @@ public class TracingTargetService {
     /**
      * Search targets by responsible party
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> searchByResponsibleParty(String responsibleParty) {
         return tracingTargetRepository.findByResponsiblePartyContainingIgnoreCase(responsibleParty);
     }
@@ -150,6 +158,7 @@ public class TracingTargetService {
     /**
      * Search targets by location
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> searchByLocation(String location) {
         return tracingTargetRepository.findByLocationContainingIgnoreCase(location);
     }
@@ -157,6 +166,7 @@ public class TracingTargetService {
     /**
      * Get targets by date range
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> getTargetsByDateRange(LocalDate startDate, LocalDate endDate) {
         return tracingTargetRepository.findByTargetDateBetween(startDate, endDate);
     }
@@ -164,6 +174,7 @@ public class TracingTargetService {
     /**
      * Get overdue targets
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> getOverdueTargets() {
         return tracingTargetRepository.findOverdueTargets();
     }
@@ -171,6 +182,7 @@ public class TracingTargetService {
     /**
      * Get targets due within specified days
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> getTargetsDueWithinDays(int days) {
         LocalDate dueDate = LocalDate.now().plusDays(days);
         return tracingTargetRepository.findTargetsDueBefore(dueDate);
@@ -179,6 +191,7 @@ public class TracingTargetService {
     /**
      * Get active targets (not completed, cancelled, or exceeded)
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> getActiveTargets() {
         return tracingTargetRepository.findActiveTargets();
     }
@@ -186,6 +199,7 @@ public class TracingTargetService {
     /**
      * Get completed targets
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> getCompletedTargets() {
         return tracingTargetRepository.findCompletedTargets();
     }
@@ -193,6 +207,7 @@ public class TracingTargetService {
     /**
      * Get high priority targets
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> getHighPriorityTargets() {
         return tracingTargetRepository.findHighPriorityTargets();
     }
@@ -200,6 +215,7 @@ public class TracingTargetService {
     /**
      * Get targets at risk
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> getTargetsAtRisk() {
         return tracingTargetRepository.findTargetsAtRisk();
     }
@@ -207,6 +223,7 @@ public class TracingTargetService {
     /**
      * Get target statistics by type
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getTargetStatsByType() {
         return tracingTargetRepository.getTargetStatsByType();
     }
@@ -214,6 +231,7 @@ public class TracingTargetService {
     /**
      * Get target statistics by status
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getTargetStatsByStatus() {
         return tracingTargetRepository.getTargetStatsByStatus();
     }
@@ -221,6 +239,7 @@ public class TracingTargetService {
     /**
      * Get target statistics by priority level
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getTargetStatsByPriority() {
         return tracingTargetRepository.getTargetStatsByPriority();
     }
@@ -228,6 +247,7 @@ public class TracingTargetService {
     /**
      * Get overall progress by material type
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getProgressByMaterialType() {
         return tracingTargetRepository.getProgressByMaterialType();
     }
@@ -235,6 +255,7 @@ public class TracingTargetService {
     /**
      * Search targets by multiple criteria
      */
+    @Transactional(readOnly = true)
     public List<TracingTarget> searchTargets(String targetName, String materialType,
                                            TracingTarget.TargetType targetType,
                                            TracingTarget.PriorityLevel priorityLevel,
@@ -258,6 +279,7 @@ public class TracingTargetService {
     /**
      * Validate target data
      */
+    @Transactional(readOnly = true)
     public boolean validateTarget(TracingTarget target) {
         if (target == null) {
             return false;
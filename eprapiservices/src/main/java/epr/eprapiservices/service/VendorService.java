@@ -22,6 +22,7 @@ public class VendorService {
     /**
      * Get all active vendors
      */
+    @Transactional(readOnly = true)
     public List<Vendor> getAllActiveVendors() {
         return vendorRepository.findAllActive();
     }
@@ -29,6 +30,7 @@ public class VendorService {
     /**
      * Get vendor by ID
      */
+    @Transactional(readOnly = true)
     public Optional<Vendor> getVendorById(Integer vendorId) {
         return vendorRepository.findById(vendorId);
     }
@@ -36,6 +38,7 @@ public class VendorService {
     /**
      * Get vendor by vendor code
      */
+    @Transactional(readOnly = true)
     public Optional<Vendor> getVendorByCode(String vendorCode) {
         return vendorRepository.findByVendorCode(vendorCode);
     }
@@ -43,6 +46,7 @@ public class VendorService {
     /**
      * Search vendors by name
      */
+    @Transactional(readOnly = true)
     public List<Vendor> searchVendorsByName(String name) {
         return vendorRepository.findByVendorNameContainingIgnoreCase(name);
     }
@@ -50,6 +54,7 @@ public class VendorService {
     /**
      * Get vendors by certification status
      */
+    @Transactional(readOnly = true)
     public List<Vendor> getVendorsByCertificationStatus(Vendor.CertificationStatus status) {
         return vendorRepository.findByVendorCertificationStatus(status);
     }
@@ -132,6 +137,7 @@ public class VendorService {
     /**
      * Check if vendor code exists
      */
+    @Transactional(readOnly = true)
     public boolean isVendorCodeExists(String vendorCode) {
         return vendorRepository.existsByVendorCodeIgnoreCase(vendorCode);
     }
@@ -139,6 +145,7 @@ public class VendorService {
     /**
      * Check if vendor name exists
      */
+    @Transactional(readOnly = true)
     public boolean isVendorNameExists(String vendorName) {
         return vendorRepository.existsByVendorNameIgnoreCase(vendorName);
     }
@@ -0,0 +1,137 @@
+package epr.eprapiservices.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for RFC 4180 CSV: comma separated, fields optionally double-quoted,
+ * doubled quotes inside quoted fields, and line breaks inside quoted fields. Records are
+ * read one at a time through a fixed buffer, and fields and records are capped in length,
+ * so memory does not depend on file size even when a quote is never closed. A leading
+ * byte order mark is skipped.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    public static final int DEFAULT_MAX_FIELD_LENGTH = 64 * 1024;
+    public static final int DEFAULT_MAX_RECORD_LENGTH = 1024 * 1024;
+
+    private final Reader reader;
+    private final int maxFieldLength;
+    private final int maxRecordLength;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean started;
+    private long lineNumber;
+
+    public CsvReader(Reader reader) {
+        this(reader, DEFAULT_MAX_FIELD_LENGTH, DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    public CsvReader(Reader reader, int maxFieldLength, int maxRecordLength) {
+        this.reader = reader;
+        this.maxFieldLength = maxFieldLength;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Read the next record; returns null at the end of the input. Throws IOException when
+     * a field or record exceeds its limit, which usually means an unclosed quote.
+     */
+    public List<String> readRecord() throws IOException {
+        if (!started) {
+            started = true;
+            if (fill() && buffer[position] == BYTE_ORDER_MARK) {
+                position++;
+            }
+        }
+        if (position >= limit && !fill()) {
+            return null;
+        }
+        lineNumber++;
+        long startLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        int recordLength = 0;
+        while (position < limit || fill()) {
+            char c = buffer[position++];
+            if (++recordLength > maxRecordLength) {
+                throw new IOException("Record starting on line " + startLine + " is longer than "
+                        + maxRecordLength + " characters" + (quoted ? " (unclosed quote?)" : ""));
+            }
+            if (quoted) {
+                if (c == '"') {
+                    if ((position < limit || fill()) && buffer[position] == '"') {
+                        append(field, '"', startLine);
+                        position++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    append(field, c, startLine);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && (position < limit || fill()) && buffer[position] == '\n') {
+                    position++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, c, startLine);
+                fieldStart = false;
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Line on which the last record read ended
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void append(StringBuilder field, char c, long startLine) throws IOException {
+        if (field.length() >= maxFieldLength) {
+            throw new IOException("Field in the record starting on line " + startLine + " is longer than "
+                    + maxFieldLength + " characters");
+        }
+        field.append(c);
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            position = 0;
+            limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
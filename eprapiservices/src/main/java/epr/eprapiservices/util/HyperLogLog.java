@@ -0,0 +1,121 @@
+package epr.eprapiservices.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Mergeable HyperLogLog sketch for approximate distinct counts.
+ *
+ * Uses 2^12 = 4096 one-byte registers, giving a relative standard error of
+ * 1.04 / sqrt(4096) ~ 1.6%; about 95% of estimates fall within 3.3% of the true count.
+ * Small sketches stay in an exact sparse mode (a set of 64-bit hashes) and only
+ * switch to registers past {@link #SPARSE_LIMIT} distinct values, so low-cardinality
+ * buckets are exact and cheap. Not thread-safe.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 12;
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+    public static final double RELATIVE_STANDARD_ERROR = 1.04 / Math.sqrt(REGISTER_COUNT);
+
+    private static final int SPARSE_LIMIT = 256;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    private Set<Long> sparse = new HashSet<>();
+    private byte[] registers;
+
+    /**
+     * Add a value; null values are ignored
+     */
+    public void add(String value) {
+        if (value != null) {
+            addHash(hash(value));
+        }
+    }
+
+    /**
+     * Fold another sketch into this one
+     */
+    public void merge(HyperLogLog other) {
+        if (other.registers == null) {
+            for (long hash : other.sparse) {
+                addHash(hash);
+            }
+            return;
+        }
+        toDense();
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Estimated number of distinct values added
+     */
+    public long estimate() {
+        if (registers == null) {
+            return sparse.size();
+        }
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            // Linear counting is more accurate in the small range
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private void addHash(long hash) {
+        if (registers == null) {
+            sparse.add(hash);
+            if (sparse.size() > SPARSE_LIMIT) {
+                toDense();
+            }
+            return;
+        }
+        int index = (int) (hash >>> (64 - PRECISION));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    private void toDense() {
+        if (registers != null) {
+            return;
+        }
+        registers = new byte[REGISTER_COUNT];
+        Set<Long> hashes = sparse;
+        sparse = null;
+        for (long hash : hashes) {
+            addHash(hash);
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over UTF-8 bytes followed by the MurmurHash3 finaliser
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,67 @@
+package epr.eprapiservices.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registry of mass units and their conversion to the canonical unit (whole grams).
+ * Unit strings are matched case-insensitively after trimming. Units that are not
+ * masses (pieces, litres, ...) have no canonical value and are left out of mass totals.
+ */
+public final class MassUnits {
+
+    private static final Map<String, BigDecimal> GRAMS_PER_UNIT;
+
+    static {
+        Map<String, BigDecimal> units = new LinkedHashMap<>();
+        register(units, "1", "g", "gm", "gms", "gram", "grams");
+        register(units, "0.001", "mg", "milligram", "milligrams");
+        register(units, "1000", "kg", "kgs", "kilo", "kilos", "kilogram", "kilograms");
+        register(units, "100000", "q", "quintal", "quintals");
+        // "ton" is read as the metric tonne, which is what EPR returns are filed in
+        register(units, "1000000", "t", "mt", "tonne", "tonnes", "ton", "tons", "metric ton", "metric tons");
+        register(units, "453.59237", "lb", "lbs", "pound", "pounds");
+        register(units, "28.349523125", "oz", "ounce", "ounces");
+        GRAMS_PER_UNIT = Collections.unmodifiableMap(units);
+    }
+
+    private MassUnits() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Grams per one of the given unit, or null if the unit is not a known mass unit
+     */
+    public static BigDecimal gramsPerUnit(String unit) {
+        return unit == null ? null : GRAMS_PER_UNIT.get(unit.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Convert a quantity to whole grams (half-up), or null if the unit is not a mass unit
+     */
+    public static Long toGrams(BigDecimal quantity, String unit) {
+        BigDecimal factor = gramsPerUnit(unit);
+        if (quantity == null || factor == null) {
+            return null;
+        }
+        return quantity.multiply(factor).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * All registered unit spellings with their grams-per-unit factor
+     */
+    public static Map<String, BigDecimal> registeredUnits() {
+        return GRAMS_PER_UNIT;
+    }
+
+    private static void register(Map<String, BigDecimal> units, String gramsPerUnit, String... aliases) {
+        BigDecimal factor = new BigDecimal(gramsPerUnit);
+        for (String alias : aliases) {
+            units.put(alias, factor);
+        }
+    }
+}
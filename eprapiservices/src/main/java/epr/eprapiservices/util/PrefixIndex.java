@@ -0,0 +1,211 @@
+package epr.eprapiservices.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable prefix index for autocomplete over a ranked list of entries.
+ * Keys are stored as one sorted array, the leaf order of a trie, so every prefix maps to
+ * one contiguous range found by binary search, without a node object per character.
+ * Entries are identified by their rank (0 is best), so the top results of a range are
+ * its smallest ranks. Prefixes whose range is too long to scan per keystroke (the upper
+ * levels of the trie) have their top results precomputed; every other range is short.
+ */
+public final class PrefixIndex {
+
+    private static final int MAX_KEY_LENGTH = 48;
+    private static final int MAX_SCANNED_KEYS = 256;
+
+    private static final PrefixIndex EMPTY = new PrefixIndex(new String[0], new int[0], Map.of(), 0);
+
+    private final String[] keys;
+    private final int[] ranks;
+    private final Map<String, int[]> precomputedTop;
+    private final int maxResults;
+
+    private PrefixIndex(String[] keys, int[] ranks, Map<String, int[]> precomputedTop, int maxResults) {
+        this.keys = keys;
+        this.ranks = ranks;
+        this.precomputedTop = precomputedTop;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Build an index; keysByRank holds the keys of each entry, best ranked entry first
+     */
+    public static PrefixIndex build(List<List<String>> keysByRank, int maxResults) {
+        if (keysByRank.isEmpty() || maxResults <= 0) {
+            return EMPTY;
+        }
+        List<KeyRank> pairs = new ArrayList<>();
+        for (int rank = 0; rank < keysByRank.size(); rank++) {
+            for (String key : keysByRank.get(rank)) {
+                pairs.add(new KeyRank(key, rank));
+            }
+        }
+        pairs.sort((a, b) -> {
+            int byKey = a.key().compareTo(b.key());
+            return byKey != 0 ? byKey : Integer.compare(a.rank(), b.rank());
+        });
+        String[] keys = new String[pairs.size()];
+        int[] ranks = new int[pairs.size()];
+        for (int i = 0; i < pairs.size(); i++) {
+            keys[i] = pairs.get(i).key();
+            ranks[i] = pairs.get(i).rank();
+        }
+        Map<String, int[]> precomputedTop = new HashMap<>();
+        precompute(keys, ranks, 0, keys.length, 0, maxResults, precomputedTop);
+        return new PrefixIndex(keys, ranks, Map.copyOf(precomputedTop), maxResults);
+    }
+
+    /**
+     * Ranks of the best entries having a key that starts with the normalized query, best first
+     */
+    public int[] search(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.length() > MAX_KEY_LENGTH) {
+            prefix = prefix.substring(0, MAX_KEY_LENGTH);
+        }
+        limit = Math.min(limit, maxResults);
+        if (prefix.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+        int[] top = precomputedTop.get(prefix);
+        if (top != null) {
+            return Arrays.copyOf(top, Math.min(limit, top.length));
+        }
+        int low = lowerBound(prefix);
+        int high = low;
+        while (high < keys.length && keys[high].startsWith(prefix)) {
+            high++;
+        }
+        return topRanks(ranks, low, high, limit);
+    }
+
+    /**
+     * Number of keys in the index
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Keys of an entry: its normalized label, the label from every later word on (so
+     * "bottle" finds "Glass Bottle") and its normalized code
+     */
+    public static List<String> keysOf(String label, String code) {
+        List<String> keys = new ArrayList<>(4);
+        String normalized = normalize(label);
+        if (!normalized.isEmpty()) {
+            keys.add(truncate(normalized));
+            for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+                keys.add(truncate(normalized.substring(i + 1)));
+            }
+        }
+        String normalizedCode = normalize(code);
+        if (!normalizedCode.isEmpty() && !keys.contains(normalizedCode)) {
+            keys.add(truncate(normalizedCode));
+        }
+        return keys;
+    }
+
+    /**
+     * Lower-case a text and reduce every run of other characters than letters and digits to one space
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    /**
+     * Store the top ranks of every prefix of the [low, high) range, which shares its first
+     * depth characters, whose range is too long to scan
+     */
+    private static void precompute(String[] keys, int[] ranks, int low, int high, int depth, int maxResults,
+                                   Map<String, int[]> precomputedTop) {
+        if (high - low <= MAX_SCANNED_KEYS) {
+            return;
+        }
+        if (depth > 0) {
+            precomputedTop.put(keys[low].substring(0, depth), topRanks(ranks, low, high, maxResults));
+        }
+        // Keys equal to the prefix sort first and have no child
+        int child = low;
+        while (child < high && keys[child].length() == depth) {
+            child++;
+        }
+        while (child < high) {
+            char c = keys[child].charAt(depth);
+            int end = child + 1;
+            while (end < high && keys[end].charAt(depth) == c) {
+                end++;
+            }
+            precompute(keys, ranks, child, end, depth + 1, maxResults, precomputedTop);
+            child = end;
+        }
+    }
+
+    /**
+     * Smallest distinct ranks of the [low, high) range, sorted, kept by insertion
+     */
+    private static int[] topRanks(int[] ranks, int low, int high, int limit) {
+        int[] best = new int[limit];
+        int size = 0;
+        for (int i = low; i < high; i++) {
+            int rank = ranks[i];
+            if (size == limit && rank >= best[size - 1]) {
+                continue;
+            }
+            int position = Arrays.binarySearch(best, 0, size, rank);
+            if (position >= 0) {
+                continue;
+            }
+            position = -position - 1;
+            int moved = Math.min(size, limit - 1) - position;
+            System.arraycopy(best, position, best, position + 1, moved);
+            best[position] = rank;
+            size = Math.min(size + 1, limit);
+        }
+        return Arrays.copyOf(best, size);
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private record KeyRank(String key, int rank) {}
+}
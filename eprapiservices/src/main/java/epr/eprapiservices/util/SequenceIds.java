@@ -0,0 +1,57 @@
+package epr.eprapiservices.util;
+
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ids from the database sequences of the high-volume entities, for rows inserted with plain
+ * JDBC. Each sequence value reserves the block of {@link #BLOCK_SIZE} ids starting at it,
+ * the way Hibernate's pooled-lo optimizer hands them out to the entities, so JDBC and JPA
+ * inserts never use the same id.
+ */
+public final class SequenceIds {
+
+    /**
+     * Increment of the sequences and allocation size of their entity generators; changing it
+     * needs the sequences altered to the same increment
+     */
+    public static final int BLOCK_SIZE = 50;
+
+    private SequenceIds() {
+    }
+
+    /**
+     * Reserve ids for the given number of rows, one sequence call per block
+     */
+    public static long[] next(JdbcOperations jdbc, String sequence, int count) {
+        long[] ids = new long[count];
+        for (int from = 0; from < count; from += BLOCK_SIZE) {
+            Long low = jdbc.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+            if (low == null) {
+                throw new IllegalStateException("Sequence " + sequence + " returned no value");
+            }
+            for (int i = from; i < Math.min(count, from + BLOCK_SIZE); i++) {
+                ids[i] = low + (i - from);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Copies of the rows with a reserved id in front of each
+     */
+    public static List<Object[]> withIds(JdbcOperations jdbc, String sequence, List<Object[]> rows) {
+        long[] ids = next(jdbc, sequence, rows.size());
+        List<Object[]> withIds = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            Object[] copy = new Object[row.length + 1];
+            copy[0] = ids[i];
+            System.arraycopy(row, 0, copy, 1, row.length);
+            withIds.add(copy);
+        }
+        return withIds;
+    }
+}
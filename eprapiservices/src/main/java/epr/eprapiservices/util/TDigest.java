@@ -0,0 +1,180 @@
+package epr.eprapiservices.util;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable t-digest sketch for approximate quantiles (merging variant).
+ *
+ * Centroid size is capped at 4 * n * q * (1 - q) / compression, so centroids are
+ * small near the tails and large near the median. With the default compression of 100
+ * the sketch holds at most a few hundred centroids regardless of input size, and the
+ * rank error of a quantile estimate is typically below 1% at the median and well below
+ * 0.5% at p5/p95 and beyond. Estimates are exact at the minimum and maximum. Not thread-safe.
+ */
+public final class TDigest {
+
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+    private double[] means = new double[0];
+    private double[] weights = new double[0];
+    private int centroidCount;
+
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int bufferCount;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        this.compression = compression;
+        int bufferSize = (int) (5 * compression);
+        this.bufferMeans = new double[bufferSize];
+        this.bufferWeights = new double[bufferSize];
+    }
+
+    /**
+     * Add a single observation
+     */
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * Fold another digest into this one
+     */
+    public void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroidCount; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        if (other.totalWeight > 0) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    /**
+     * Total number of observations
+     */
+    public long size() {
+        return Math.round(totalWeight + sumBufferWeights());
+    }
+
+    /**
+     * Estimated value at quantile q (0..1), or NaN if the digest is empty
+     */
+    public double quantile(double q) {
+        compress();
+        if (centroidCount == 0) {
+            return Double.NaN;
+        }
+        if (centroidCount == 1 || q <= 0) {
+            return q <= 0 ? min : means[0];
+        }
+        if (q >= 1) {
+            return max;
+        }
+
+        double index = q * totalWeight;
+        double firstCenter = weights[0] / 2;
+        if (index < firstCenter) {
+            return min + (means[0] - min) * (index / firstCenter);
+        }
+        double cumulative = firstCenter;
+        for (int i = 0; i < centroidCount - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (index < cumulative + gap) {
+                double fraction = (index - cumulative) / gap;
+                return means[i] + (means[i + 1] - means[i]) * fraction;
+            }
+            cumulative += gap;
+        }
+        double lastHalf = weights[centroidCount - 1] / 2;
+        double fraction = lastHalf == 0 ? 1 : Math.min(1, (index - cumulative) / lastHalf);
+        return means[centroidCount - 1] + (max - means[centroidCount - 1]) * fraction;
+    }
+
+    private void add(double mean, double weight) {
+        if (Double.isNaN(mean)) {
+            return;
+        }
+        if (bufferCount == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[bufferCount] = mean;
+        bufferWeights[bufferCount] = weight;
+        bufferCount++;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+
+    /**
+     * Merge buffered points and existing centroids in a single sorted pass
+     */
+    private void compress() {
+        if (bufferCount == 0) {
+            return;
+        }
+        int n = centroidCount + bufferCount;
+        double[] allMeans = Arrays.copyOf(means, n);
+        double[] allWeights = Arrays.copyOf(weights, n);
+        System.arraycopy(bufferMeans, 0, allMeans, centroidCount, bufferCount);
+        System.arraycopy(bufferWeights, 0, allWeights, centroidCount, bufferCount);
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(allMeans[a], allMeans[b]));
+
+        double newTotal = totalWeight + sumBufferWeights();
+        double[] newMeans = new double[n];
+        double[] newWeights = new double[n];
+        int count = 0;
+        double weightSoFar = 0;
+        double currentMean = allMeans[order[0]];
+        double currentWeight = allWeights[order[0]];
+        for (int k = 1; k < n; k++) {
+            double mean = allMeans[order[k]];
+            double weight = allWeights[order[k]];
+            double proposed = currentWeight + weight;
+            double q0 = weightSoFar / newTotal;
+            double q2 = (weightSoFar + proposed) / newTotal;
+            double limit = 4 * newTotal * Math.min(q0 * (1 - q0), q2 * (1 - q2)) / compression;
+            if (proposed <= limit) {
+                currentMean += (mean - currentMean) * weight / proposed;
+                currentWeight = proposed;
+            } else {
+                newMeans[count] = currentMean;
+                newWeights[count] = currentWeight;
+                count++;
+                weightSoFar += currentWeight;
+                currentMean = mean;
+                currentWeight = weight;
+            }
+        }
+        newMeans[count] = currentMean;
+        newWeights[count] = currentWeight;
+        count++;
+
+        means = Arrays.copyOf(newMeans, count);
+        weights = Arrays.copyOf(newWeights, count);
+        centroidCount = count;
+        totalWeight = newTotal;
+        bufferCount = 0;
+    }
+
+    private double sumBufferWeights() {
+        double sum = 0;
+        for (int i = 0; i < bufferCount; i++) {
+            sum += bufferWeights[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,50 @@
+package epr.eprapiservices.util;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Resolution of stored certification file paths. Product uploads store a bare file name,
+ * certification uploads store the upload directory followed by the file name, and older
+ * rows may hold absolute paths, so every reader resolves them the same way here.
+ */
+public final class UploadPaths {
+
+    private UploadPaths() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Resolve the configured upload directory to a normalised absolute path
+     */
+    public static Path root(String uploadDir) {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Resolve a stored path to a normalised absolute path, or null if it is not a valid path.
+     * Relative paths that already lead into the upload directory from the working directory
+     * are kept; any other relative path is taken relative to the upload directory.
+     */
+    public static Path resolve(Path root, String storedPath) {
+        try {
+            Path stored = Paths.get(storedPath);
+            if (stored.isAbsolute()) {
+                return stored.normalize();
+            }
+            Path fromWorkingDirectory = stored.toAbsolutePath().normalize();
+            return fromWorkingDirectory.startsWith(root) ? fromWorkingDirectory : root.resolve(stored).normalize();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Resolve a stored path and confine it to the upload directory: null if it is not a
+     * valid path or leads outside the directory, through ".." or an absolute path
+     */
+    public static Path resolveWithin(Path root, String storedPath) {
+        Path resolved = resolve(root, storedPath);
+        return resolved != null && resolved.startsWith(root) && !resolved.equals(root) ? resolved : null;
+    }
+}
@@ -337,5 +337,118 @@ BEGIN
     FOREIGN KEY (productGroupId) REFERENCES productgroup(productGroupId);
 END
 
+-- Add anomaly review columns to recycle_log
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID(N'[dbo].[recycle_log]') AND name = 'anomalyScore')
+BEGIN
+    ALTER TABLE recycle_log ADD anomalyScore DECIMAL(10, 2) NULL;
+END
+
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID(N'[dbo].[recycle_log]') AND name = 'reviewStatus')
+BEGIN
+    ALTER TABLE recycle_log ADD reviewStatus VARCHAR(20) NULL;
+END
+
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID(N'[dbo].[recycle_log]') AND name = 'heldForReview')
+BEGIN
+    ALTER TABLE recycle_log ADD heldForReview BIT NOT NULL CONSTRAINT DF_recycle_log_heldForReview DEFAULT 0;
+END
+
+-- Add canonical mass columns (grams); existing rows are backfilled by the application on startup
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID(N'[dbo].[recycle_log]') AND name = 'quantityGrams')
+BEGIN
+    ALTER TABLE recycle_log ADD quantityGrams BIGINT NULL;
+END
+
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID(N'[dbo].[tracing_target]') AND name = 'targetQuantityGrams')
+BEGIN
+    ALTER TABLE tracing_target ADD targetQuantityGrams BIGINT NULL;
+END
+
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID(N'[dbo].[tracing_target]') AND name = 'achievedQuantityGrams')
+BEGIN
+    ALTER TABLE tracing_target ADD achievedQuantityGrams BIGINT NULL;
+END
+
+-- Create scheduler_lease table used to run scheduled jobs on one node at a time
+IF NOT EXISTS (SELECT * FROM sys.objects WHERE object_id = OBJECT_ID(N'[dbo].[scheduler_lease]') AND type in (N'U'))
+BEGIN
+    CREATE TABLE scheduler_lease (
+        leaseName VARCHAR(100) NOT NULL PRIMARY KEY,
+        ownerId VARCHAR(200) NULL,
+        leasedUntil DATETIME2 NOT NULL
+    );
+END
+
+-- Add optimistic lock version to productcertifications
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID(N'[dbo].[productcertifications]') AND name = 'version')
+BEGIN
+    ALTER TABLE productcertifications ADD version BIGINT NOT NULL CONSTRAINT DF_productcertifications_version DEFAULT 0;
+END
+
+-- Add content hash of stored certification files (backfilled by the integrity scrubber)
+IF NOT EXISTS (SELECT * FROM sys.columns WHERE object_id = OBJECT_ID(N'[dbo].[productcertifications]') AND name = 'contentHash')
+BEGIN
+    ALTER TABLE productcertifications ADD contentHash VARCHAR(64) NULL;
+END
+
+-- Move the ids of the high-volume tables from IDENTITY columns to sequences incrementing by 50,
+-- so Hibernate can batch their inserts. No table references these ids; the id column is
+-- rebuilt without IDENTITY and the sequence starts after the highest existing id.
+DECLARE @seqTable SYSNAME, @seqColumn SYSNAME, @seqType SYSNAME, @seqName SYSNAME, @seqPk SYSNAME, @seqStart BIGINT, @seqSql NVARCHAR(MAX);
+DECLARE sequence_ids CURSOR LOCAL FAST_FORWARD FOR
+    SELECT tableName, columnName, columnType, sequenceName FROM (VALUES
+        ('recycle_log', 'recycleLogId', 'INT', 'recycle_log_seq'),
+        ('tracing_target', 'targetId', 'INT', 'tracing_target_seq'),
+        ('productcomposition', 'productCompositionId', 'INT', 'productcomposition_seq'),
+        ('component_material_compositions', 'id', 'BIGINT', 'component_material_compositions_seq')
+    ) AS ids (tableName, columnName, columnType, sequenceName)
+    WHERE OBJECT_ID(N'[dbo].' + QUOTENAME(tableName)) IS NOT NULL;
+OPEN sequence_ids;
+FETCH NEXT FROM sequence_ids INTO @seqTable, @seqColumn, @seqType, @seqName;
+WHILE @@FETCH_STATUS = 0
+BEGIN
+    IF COLUMNPROPERTY(OBJECT_ID(N'[dbo].' + QUOTENAME(@seqTable)), @seqColumn, 'IsIdentity') = 1
+    BEGIN
+        SET @seqPk = NULL;
+        SELECT @seqPk = name FROM sys.key_constraints
+        WHERE parent_object_id = OBJECT_ID(N'[dbo].' + QUOTENAME(@seqTable)) AND type = 'PK';
+
+        -- Any error rolls the whole rebuild back, so a rerun starts from the IDENTITY column again
+        SET XACT_ABORT ON;
+        BEGIN TRANSACTION;
+        -- Left behind by a run that failed before the rebuild was one transaction; its values are refreshed below
+        IF COL_LENGTH(N'[dbo].' + QUOTENAME(@seqTable), 'idCopy') IS NULL
+        BEGIN
+            SET @seqSql = N'ALTER TABLE ' + QUOTENAME(@seqTable) + N' ADD idCopy ' + @seqType + N' NULL;';
+            EXEC sp_executesql @seqSql;
+        END
+        SET @seqSql = N'UPDATE ' + QUOTENAME(@seqTable) + N' SET idCopy = ' + QUOTENAME(@seqColumn) + N';'
+            + N' ALTER TABLE ' + QUOTENAME(@seqTable) + N' ALTER COLUMN idCopy ' + @seqType + N' NOT NULL;'
+            + CASE WHEN @seqPk IS NOT NULL THEN N' ALTER TABLE ' + QUOTENAME(@seqTable) + N' DROP CONSTRAINT ' + QUOTENAME(@seqPk) + N';' ELSE N'' END
+            + N' ALTER TABLE ' + QUOTENAME(@seqTable) + N' DROP COLUMN ' + QUOTENAME(@seqColumn) + N';';
+        EXEC sp_executesql @seqSql;
+        SET @seqSql = @seqTable + N'.idCopy';
+        EXEC sp_rename @seqSql, @seqColumn, 'COLUMN';
+        SET @seqSql = N'ALTER TABLE ' + QUOTENAME(@seqTable) + N' ADD CONSTRAINT ' + QUOTENAME(ISNULL(@seqPk, N'PK_' + @seqTable))
+            + N' PRIMARY KEY (' + QUOTENAME(@seqColumn) + N');';
+        EXEC sp_executesql @seqSql;
+        COMMIT TRANSACTION;
+        SET XACT_ABORT OFF;
+    END
+
+    IF NOT EXISTS (SELECT * FROM sys.sequences WHERE name = @seqName)
+    BEGIN
+        SET @seqSql = N'SELECT @start = ISNULL(MAX(' + QUOTENAME(@seqColumn) + N'), 0) + 1 FROM ' + QUOTENAME(@seqTable) + N';';
+        EXEC sp_executesql @seqSql, N'@start BIGINT OUTPUT', @start = @seqStart OUTPUT;
+        SET @seqSql = N'CREATE SEQUENCE ' + QUOTENAME(@seqName) + N' AS BIGINT START WITH '
+            + CAST(@seqStart AS NVARCHAR(20)) + N' INCREMENT BY 50;';
+        EXEC sp_executesql @seqSql;
+    END
+
+    FETCH NEXT FROM sequence_ids INTO @seqTable, @seqColumn, @seqType, @seqName;
+END
+CLOSE sequence_ids;
+DEALLOCATE sequence_ids;
+
 -- Update any existing data references (if needed)
 PRINT 'Schema migration completed successfully';
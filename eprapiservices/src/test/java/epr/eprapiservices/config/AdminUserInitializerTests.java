@@ -0,0 +1,72 @@
+package epr.eprapiservices.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the admin bootstrap against an in-memory H2 users table: the password is stored
+ * encoded, and a second run or an existing admin leaves the table alone.
+ */
+class AdminUserInitializerTests {
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:admin-bootstrap;MODE=MSSQLServer;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE users (user_id INT PRIMARY KEY, user_name VARCHAR(50) NOT NULL, "
+                + "password_hash VARCHAR(200) NOT NULL, first_name VARCHAR(25), last_name VARCHAR(25), "
+                + "email VARCHAR(100) NOT NULL, is_active BIT)");
+        jdbcTemplate.update("INSERT INTO users (user_id, user_name, password_hash, email, is_active) VALUES (4, 'bob', 'x', 'bob@example.com', 1)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE users");
+    }
+
+    @Test
+    void adminIsCreatedOnceWithAnEncodedPassword() throws Exception {
+        AdminUserInitializer initializer = new AdminUserInitializer(jdbcTemplate, passwordEncoder, "admin", "s3cret-pass");
+        initializer.run();
+        initializer.run();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE user_name = 'admin'", Integer.class));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT user_id FROM users WHERE user_name = 'admin'", Integer.class));
+        String stored = jdbcTemplate.queryForObject("SELECT password_hash FROM users WHERE user_name = 'admin'", String.class);
+        assertNotEquals("s3cret-pass", stored);
+        assertTrue(passwordEncoder.matches("s3cret-pass", stored));
+    }
+
+    @Test
+    void blankPasswordIsGeneratedAndEncoded() throws Exception {
+        new AdminUserInitializer(jdbcTemplate, passwordEncoder, "admin", "").run();
+
+        String stored = jdbcTemplate.queryForObject("SELECT password_hash FROM users WHERE user_name = 'admin'", String.class);
+        assertTrue(stored.startsWith("$2"), stored);
+        assertFalse(passwordEncoder.matches("", stored));
+        assertFalse(passwordEncoder.matches("password", stored));
+    }
+
+    @Test
+    void existingAdminIsLeftAlone() throws Exception {
+        jdbcTemplate.update("INSERT INTO users (user_id, user_name, password_hash, email, is_active) VALUES (9, 'admin', 'kept', 'a@example.com', 0)");
+
+        new AdminUserInitializer(jdbcTemplate, passwordEncoder, "admin", "s3cret-pass").run();
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+        assertEquals("kept", jdbcTemplate.queryForObject("SELECT password_hash FROM users WHERE user_name = 'admin'", String.class));
+    }
+}
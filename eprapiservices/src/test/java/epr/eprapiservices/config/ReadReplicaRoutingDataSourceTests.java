@@ -0,0 +1,73 @@
+package epr.eprapiservices.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks which pool the routing DataSource sends work to, with two in-memory H2 databases
+ * that each know their own name.
+ */
+class ReadReplicaRoutingDataSourceTests {
+
+    private static final String WHICH_DATABASE = "SELECT name FROM which_database";
+
+    @Test
+    void readOnlyTransactionsReachTheReplica() {
+        try (ReadReplicaRoutingDataSource dataSource = new ReadReplicaRoutingDataSource(
+                pool("routing-primary"), pool("routing-replica"))) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            TransactionTemplate readOnly = transaction(dataSource, true);
+
+            assertEquals("routing-replica", readOnly.execute(status -> jdbc.queryForObject(WHICH_DATABASE, String.class)));
+        }
+    }
+
+    @Test
+    void readWriteTransactionsAndJoinedReadOnlyWorkStayOnThePrimary() {
+        try (ReadReplicaRoutingDataSource dataSource = new ReadReplicaRoutingDataSource(
+                pool("joined-primary"), pool("joined-replica"))) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            TransactionTemplate readWrite = transaction(dataSource, false);
+            TransactionTemplate readOnly = transaction(dataSource, true);
+
+            assertEquals("joined-primary", readWrite.execute(status -> jdbc.queryForObject(WHICH_DATABASE, String.class)));
+            // A read-only service method called while loading a cache joins the read-write transaction
+            assertEquals("joined-primary", readWrite.execute(status ->
+                    readOnly.execute(inner -> jdbc.queryForObject(WHICH_DATABASE, String.class))));
+            assertEquals("joined-primary", jdbc.queryForObject(WHICH_DATABASE, String.class));
+        }
+    }
+
+    @Test
+    void withoutAReplicaEverythingReachesThePrimary() {
+        try (ReadReplicaRoutingDataSource dataSource = new ReadReplicaRoutingDataSource(pool("single-primary"), null)) {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+            assertEquals("single-primary", transaction(dataSource, true)
+                    .execute(status -> jdbc.queryForObject(WHICH_DATABASE, String.class)));
+        }
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(2);
+        JdbcTemplate jdbc = new JdbcTemplate(pool);
+        jdbc.execute("CREATE TABLE which_database (name VARCHAR(50))");
+        jdbc.update("INSERT INTO which_database (name) VALUES (?)", name);
+        return pool;
+    }
+
+    private static TransactionTemplate transaction(ReadReplicaRoutingDataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction;
+    }
+}
@@ -0,0 +1,173 @@
+package epr.eprapiservices.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks on in-memory H2 databases that the generated rows depend on the seed alone: a run
+ * with another batch size, and a rerun after the tail of every batched table was deleted,
+ * leave the same contents as one uninterrupted run. The volumes span more than one random
+ * block so resuming has to replay part of a block.
+ */
+class SyntheticDataGeneratorTests {
+
+    @Test
+    void batchSizeDoesNotChangeTheRows() throws Exception {
+        JdbcTemplate first = database("synthetic-batch-300");
+        generator(first, 300).run();
+        JdbcTemplate second = database("synthetic-batch-700");
+        generator(second, 700).run();
+
+        assertEquals(contents(first), contents(second));
+    }
+
+    @Test
+    void interruptedRunResumesToTheSameRows() throws Exception {
+        JdbcTemplate jdbc = database("synthetic-resume");
+        generator(jdbc, 300).run();
+        Map<String, List<String>> complete = contents(jdbc);
+
+        // What an interrupted run leaves behind: every batched table stops part way
+        jdbc.update("DELETE FROM product_component_compositions WHERE product_id IN"
+                + " (SELECT product_id FROM product WHERE sku_product_code > 'SYN-P-00001700')");
+        jdbc.update("DELETE FROM product WHERE sku_product_code > 'SYN-P-00001700'");
+        jdbc.update("DELETE FROM recycle_log WHERE batch_number > 'SYN-L-000002100'");
+        jdbc.update("DELETE FROM recycling_certification WHERE certification_number > 'SYN-R-0000900'");
+        jdbc.update("DELETE FROM tracing_target WHERE target_name > 'SYN-T-001000'");
+        jdbc.update("DELETE FROM component_material_compositions WHERE component_id IN"
+                + " (SELECT component_id FROM components WHERE component_code > 'SYN-C-000017')");
+        assertEquals(1700, jdbc.queryForObject("SELECT COUNT(*) FROM product", Integer.class));
+
+        generator(jdbc, 300).run();
+
+        assertEquals(complete, contents(jdbc));
+    }
+
+    private static SyntheticDataGenerator generator(JdbcTemplate jdbc, int batchSize) {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(jdbc, new NamedParameterJdbcTemplate(jdbc),
+                new DataSourceTransactionManager(jdbc.getDataSource()));
+        ReflectionTestUtils.setField(generator, "seed", 7L);
+        ReflectionTestUtils.setField(generator, "anchorDate", LocalDate.of(2025, 1, 1));
+        ReflectionTestUtils.setField(generator, "historyDays", 60);
+        ReflectionTestUtils.setField(generator, "batchSize", batchSize);
+        ReflectionTestUtils.setField(generator, "materialCount", 10);
+        ReflectionTestUtils.setField(generator, "componentCount", 30);
+        ReflectionTestUtils.setField(generator, "vendorCount", 5);
+        ReflectionTestUtils.setField(generator, "productCount", 2500);
+        ReflectionTestUtils.setField(generator, "recycleLogCount", 2500L);
+        ReflectionTestUtils.setField(generator, "certificationCount", 1500);
+        ReflectionTestUtils.setField(generator, "targetCount", 1200);
+        return generator;
+    }
+
+    /**
+     * Generated rows of every table by key, without the ids the database hands out
+     */
+    private static Map<String, List<String>> contents(JdbcTemplate jdbc) {
+        Map<String, List<String>> contents = new LinkedHashMap<>();
+        contents.put("taxonomy", rows(jdbc, "SELECT t.product_type_name, t.product_type_description, c.description,"
+                + " g.description FROM producttype t JOIN productcategory c ON c.product_category_id = t.product_category_id"
+                + " JOIN productgroup g ON g.product_group_id = c.product_group_id ORDER BY t.product_type_description"));
+        contents.put("materials", rows(jdbc, "SELECT material_code, material_name FROM material ORDER BY material_code"));
+        contents.put("components", rows(jdbc, "SELECT component_code, component_name, component_weight FROM components"
+                + " ORDER BY component_code"));
+        contents.put("compositions", rows(jdbc, "SELECT c.component_code, m.material_code, x.weight, x.min_percentage,"
+                + " x.max_percentage FROM component_material_compositions x JOIN components c ON c.component_id = x.component_id"
+                + " JOIN material m ON m.material_id = x.material_id ORDER BY c.component_code, x.id"));
+        contents.put("vendors", rows(jdbc, "SELECT vendor_code, vendor_name, vendor_capacity_tonnes, city FROM vendor"
+                + " ORDER BY vendor_code"));
+        contents.put("products", rows(jdbc, "SELECT sku_product_code, product_name, product_description, product_weight,"
+                + " product_lifecycle_duration, compliance_target_percentage, product_manufacturing_date,"
+                + " product_expiry_date, registration_date FROM product ORDER BY sku_product_code"));
+        contents.put("boms", rows(jdbc, "SELECT p.sku_product_code, c.component_code, b.quantity"
+                + " FROM product_component_compositions b JOIN product p ON p.product_id = b.product_id"
+                + " JOIN components c ON c.component_id = b.component_id ORDER BY p.sku_product_code, b.id"));
+        contents.put("recycle logs", rows(jdbc, "SELECT batch_number, material_type, quantity_recycled, unit, quantity_grams,"
+                + " recycle_date, recycler_name, recycler_id, location, processing_method, quality_grade, recovery_rate"
+                + " FROM recycle_log ORDER BY batch_number"));
+        contents.put("certifications", rows(jdbc, "SELECT certification_number, certification_name, certification_type,"
+                + " issuing_authority, issue_date, expiry_date, material_type, recycler_name, recycler_id,"
+                + " certification_status FROM recycling_certification ORDER BY certification_number"));
+        contents.put("targets", rows(jdbc, "SELECT target_name, material_type, target_quantity, achieved_quantity,"
+                + " target_date, start_date, target_type, priority_level, target_status, location, progress_percentage,"
+                + " target_quantity_grams, achieved_quantity_grams FROM tracing_target ORDER BY target_name"));
+        assertEquals(2500, contents.get("products").size());
+        assertEquals(2500, contents.get("recycle logs").size());
+        assertEquals(1500, contents.get("certifications").size());
+        assertEquals(1200, contents.get("targets").size());
+        return contents;
+    }
+
+    private static List<String> rows(JdbcTemplate jdbc, String sql) {
+        return jdbc.query(sql, (rs, rowNum) -> {
+            StringBuilder row = new StringBuilder();
+            for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                row.append(rs.getString(i)).append('|');
+            }
+            return row.toString();
+        });
+    }
+
+    private static JdbcTemplate database(String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1", "sa", ""));
+        for (String statement : SCHEMA) {
+            jdbc.execute(statement);
+        }
+        return jdbc;
+    }
+
+    // The columns the generator writes, with the types of the SQL Server schema
+    private static final List<String> SCHEMA = List.of(
+            "CREATE TABLE productgroup (product_group_id INT IDENTITY PRIMARY KEY, product_group_name VARCHAR(100),"
+                    + " description VARCHAR(200), sort_order INT, is_active BIT)",
+            "CREATE TABLE productcategory (product_category_id INT IDENTITY PRIMARY KEY, product_category_name VARCHAR(100),"
+                    + " description VARCHAR(200), sort_order INT, product_group_id INT, is_active BIT)",
+            "CREATE TABLE producttype (product_type_id INT IDENTITY PRIMARY KEY, product_type_name VARCHAR(100),"
+                    + " product_type_description VARCHAR(200), sort_order INT, product_category_id INT, is_active BIT)",
+            "CREATE TABLE material (material_id INT IDENTITY PRIMARY KEY, material_code VARCHAR(50),"
+                    + " material_name VARCHAR(100), description VARCHAR(200), sort_order INT, is_active BIT)",
+            "CREATE TABLE components (component_id INT IDENTITY PRIMARY KEY, component_name VARCHAR(100),"
+                    + " component_code VARCHAR(50), description VARCHAR(200), sort_order INT, component_weight DECIMAL(10, 3),"
+                    + " component_label VARCHAR(100), is_active BIT)",
+            "CREATE SEQUENCE component_material_compositions_seq START WITH 1 INCREMENT BY 50",
+            "CREATE TABLE component_material_compositions (id BIGINT PRIMARY KEY, component_id INT, material_id INT,"
+                    + " weight DECIMAL(10, 3), min_percentage DECIMAL(5, 2), max_percentage DECIMAL(5, 2), notes VARCHAR(200),"
+                    + " is_active BIT)",
+            "CREATE TABLE vendor (vendor_id INT IDENTITY PRIMARY KEY, vendor_code VARCHAR(50), vendor_name VARCHAR(100),"
+                    + " vendor_capacity_tonnes DECIMAL(12, 2), vendor_certification_status VARCHAR(50), city VARCHAR(50),"
+                    + " country VARCHAR(50), vendor_type VARCHAR(50), is_active BIT)",
+            "CREATE TABLE product (product_id INT IDENTITY PRIMARY KEY, product_name VARCHAR(200),"
+                    + " sku_product_code VARCHAR(50), product_description VARCHAR(500), product_weight DECIMAL(12, 3),"
+                    + " product_lifecycle_duration INT, compliance_target_percentage DECIMAL(5, 2),"
+                    + " product_manufacturing_date DATE, product_expiry_date DATE, registration_date DATE, is_active BIT)",
+            "CREATE TABLE product_component_compositions (id INT IDENTITY PRIMARY KEY, product_id INT, component_id INT,"
+                    + " quantity DECIMAL(10, 2), notes VARCHAR(200), is_active BIT)",
+            "CREATE SEQUENCE recycle_log_seq START WITH 1 INCREMENT BY 50",
+            "CREATE TABLE recycle_log (recycle_log_id BIGINT PRIMARY KEY, material_type VARCHAR(100),"
+                    + " quantity_recycled DECIMAL(12, 2), unit VARCHAR(20), quantity_grams BIGINT, recycle_date DATETIME2,"
+                    + " recycler_name VARCHAR(200), recycler_id VARCHAR(50), location VARCHAR(200),"
+                    + " processing_method VARCHAR(50), quality_grade VARCHAR(20), batch_number VARCHAR(50),"
+                    + " recovery_rate DECIMAL(5, 2), held_for_review BIT, is_active BIT)",
+            "CREATE TABLE recycling_certification (id INT IDENTITY PRIMARY KEY, certification_name VARCHAR(200),"
+                    + " certification_number VARCHAR(50), certification_type VARCHAR(50), issuing_authority VARCHAR(200),"
+                    + " issue_date DATE, expiry_date DATE, material_type VARCHAR(100), recycler_name VARCHAR(200),"
+                    + " recycler_id VARCHAR(50), certification_status VARCHAR(50), is_active BIT)",
+            "CREATE SEQUENCE tracing_target_seq START WITH 1 INCREMENT BY 50",
+            "CREATE TABLE tracing_target (target_id BIGINT PRIMARY KEY, target_name VARCHAR(200), material_type VARCHAR(100),"
+                    + " target_quantity DECIMAL(15, 2), achieved_quantity DECIMAL(15, 2), unit VARCHAR(20), target_date DATE,"
+                    + " start_date DATE, target_type VARCHAR(50), priority_level VARCHAR(20), target_status VARCHAR(20),"
+                    + " location VARCHAR(200), description VARCHAR(500), progress_percentage DECIMAL(7, 2),"
+                    + " target_quantity_grams BIGINT, achieved_quantity_grams BIGINT, is_active BIT)");
+}
@@ -0,0 +1,178 @@
+package epr.eprapiservices.controller;
+
+import epr.eprapiservices.Models.User;
+import epr.eprapiservices.Services.AuthService;
+import epr.eprapiservices.dao.repository.RoleusersRepository;
+import epr.eprapiservices.dao.repository.UserRepository;
+import epr.eprapiservices.security.JwtUtil;
+import epr.eprapiservices.security.LoginThrottleService;
+import epr.eprapiservices.security.PasswordHashingService;
+import epr.eprapiservices.security.TokenVerificationService;
+import epr.eprapiservices.util.UserMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the login paths through the controller: legacy plaintext upgrade, wrong
+ * password and a saturated hashing pool.
+ */
+class AuthControllerTests {
+
+    private static final String PASSWORD = "secret-password";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RoleusersRepository roleUsersRepository = mock(RoleusersRepository.class);
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final LoginThrottleService loginThrottleService = mock(LoginThrottleService.class);
+    private PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void shutdown() {
+        if (passwordHashingService != null) {
+            passwordHashingService.shutdown();
+        }
+    }
+
+    @Test
+    void legacyPlaintextPasswordIsUpgradedOnLogin() throws Exception {
+        PasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        MockMvc mvc = mvc(encoder, 1, 4);
+        when(userRepository.findByUserName("legacy")).thenReturn(Optional.of(user(1, "legacy", PASSWORD)));
+
+        mvc.perform(login("legacy", PASSWORD))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("token"));
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePasswordHash(eq(1), hash.capture());
+        assertTrue(passwordHashingService.isHashed(hash.getValue()));
+        assertTrue(encoder.matches(PASSWORD, hash.getValue()));
+        verify(loginThrottleService).recordSuccess("legacy");
+    }
+
+    @Test
+    void wrongPasswordIsUnauthorized() throws Exception {
+        PasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        MockMvc mvc = mvc(encoder, 1, 4);
+        when(userRepository.findByUserName("hashed"))
+                .thenReturn(Optional.of(user(2, "hashed", encoder.encode(PASSWORD))));
+
+        mvc.perform(login("hashed", "wrong-password"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("INVALID_CREDENTIALS"));
+
+        verify(userRepository, never()).updatePasswordHash(anyInt(), anyString());
+        verify(loginThrottleService).recordFailure(eq("hashed"), anyString());
+    }
+
+    @Test
+    void fullHashingQueueIsServiceUnavailable() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingEncoder encoder = new BlockingEncoder(release);
+        MockMvc mvc = mvc(encoder, 1, 1);
+        String hash = encoder.encode(PASSWORD);
+        when(userRepository.findByUserName("busy")).thenReturn(Optional.of(user(3, "busy", hash)));
+
+        // One verification holds the only thread and a second one fills the queue
+        Thread running = new Thread(() -> passwordHashingService.matches(PASSWORD, hash));
+        Thread queued = new Thread(() -> passwordHashingService.matches(PASSWORD, hash));
+        try {
+            running.start();
+            assertTrue(encoder.started.await(5, TimeUnit.SECONDS));
+            queued.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (passwordHashingService.getQueuedCount() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, passwordHashingService.getQueuedCount());
+
+            mvc.perform(login("busy", PASSWORD))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.error").value(PasswordHashingService.BUSY_ERROR_CODE));
+
+            verify(loginThrottleService, never()).recordFailure(anyString(), anyString());
+        } finally {
+            release.countDown();
+            running.join(5_000);
+            queued.join(5_000);
+        }
+    }
+
+    private MockMvc mvc(PasswordEncoder encoder, int threads, int queueCapacity) {
+        passwordHashingService = new PasswordHashingService(encoder, threads, queueCapacity, 5_000);
+        when(jwtUtil.generateToken(anyString(), any(), any(), anyBoolean())).thenReturn("token");
+        when(roleUsersRepository.findRoleNamesByUserId(any())).thenReturn(List.of());
+        AuthService authService = new AuthService(userRepository, new UserMapper(), jwtUtil,
+                passwordHashingService, mock(TokenVerificationService.class), roleUsersRepository);
+        return MockMvcBuilders.standaloneSetup(new AuthController(authService, loginThrottleService, false)).build();
+    }
+
+    private static RequestBuilder login(String username, String password) {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}");
+    }
+
+    private static User user(int userId, String userName, String storedPassword) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUserName(userName);
+        user.setPasswordHash(storedPassword);
+        user.setIsActive(true);
+        return user;
+    }
+
+    /**
+     * Cheap BCrypt encoder whose verifications wait until released
+     */
+    private static final class BlockingEncoder extends BCryptPasswordEncoder {
+
+        private final CountDownLatch release;
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        BlockingEncoder(CountDownLatch release) {
+            super(4);
+            this.release = release;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.matches(rawPassword, encodedPassword);
+        }
+    }
+}
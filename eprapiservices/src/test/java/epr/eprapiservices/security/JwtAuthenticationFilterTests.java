@@ -0,0 +1,168 @@
+package epr.eprapiservices.security;
+
+import epr.eprapiservices.Models.User;
+import epr.eprapiservices.Services.UserService;
+import epr.eprapiservices.controller.UserController;
+import epr.eprapiservices.dao.repository.UserRepository;
+import epr.eprapiservices.util.UserMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks request authentication with app.security.enforce-authentication on: a user
+ * deactivated on another node is shut out once the status cache TTL has passed, one
+ * deactivated through UserService on this node immediately, and tokens issued without
+ * an active claim still authenticate.
+ */
+@SpringJUnitWebConfig(JwtAuthenticationFilterTests.TestConfig.class)
+@TestPropertySource(properties = {
+        "app.security.enforce-authentication=true",
+        "app.security.user-status-ttl-seconds=30",
+        "jwt.secret=" + JwtAuthenticationFilterTests.SECRET})
+class JwtAuthenticationFilterTests {
+
+    static final String SECRET = "jwt-authentication-filter-tests-secret-0123456789";
+
+    private static final int USER_ID = 7;
+
+    @Configuration
+    @EnableWebMvc
+    @Import({SecurityConfig.class, JwtUtil.class, TokenVerificationService.class, UserStatusCache.class,
+            UserService.class, UserMapper.class, UserController.class})
+    static class TestConfig {
+        @Bean
+        UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserStatusCache userStatusCache;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final AtomicLong clock = new AtomicLong(System.nanoTime());
+    private User user;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUserId(USER_ID);
+        user.setUserName("alice");
+        user.setFirstName("Alice");
+        user.setLastName("Smith");
+        user.setEmail("alice@example.com");
+        user.setIsActive(true);
+
+        reset(userRepository);
+        when(userRepository.findAll()).thenReturn(List.of(user));
+        when(userRepository.findById((long) USER_ID)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // Mirrors the query: a missing flag counts as active
+        when(userRepository.findIsActiveByUserId(USER_ID))
+                .thenAnswer(invocation -> Optional.of(!Boolean.FALSE.equals(user.getIsActive())));
+
+        ReflectionTestUtils.setField(userStatusCache, "nanoClock", (LongSupplier) clock::get);
+        userStatusCache.invalidate(USER_ID);
+        mvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+    }
+
+    @Test
+    void requestsWithoutAValidTokenAreRejected() throws Exception {
+        mvc.perform(get("/api/users")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/users").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void userDeactivatedElsewhereIsRejectedOnceTheTtlHasPassed() throws Exception {
+        String token = jwtUtil.generateToken("alice", USER_ID, List.of("Admin"), true);
+        mvc.perform(authenticated(get("/api/users"), token)).andExpect(status().isOk());
+
+        // Changed on another node or directly in the database, so no event reaches this node
+        user.setIsActive(false);
+        mvc.perform(authenticated(get("/api/users"), token)).andExpect(status().isOk());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        mvc.perform(authenticated(get("/api/users"), token)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void userDeactivatedThroughUserServiceIsRejectedImmediately() throws Exception {
+        String token = jwtUtil.generateToken("alice", USER_ID, List.of("Admin"), true);
+        mvc.perform(authenticated(get("/api/users"), token)).andExpect(status().isOk());
+
+        mvc.perform(authenticated(put("/api/users/" + USER_ID), token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userName\":\"alice\",\"firstName\":\"Alice\",\"lastName\":\"Smith\","
+                                + "\"email\":\"alice@example.com\",\"isActive\":false}"))
+                .andExpect(status().isOk());
+
+        mvc.perform(authenticated(get("/api/users"), token)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void missingActiveClaimOrFlagCountsAsActive() throws Exception {
+        String withoutActiveClaim = Jwts.builder()
+                .claims(Map.of("userId", USER_ID))
+                .subject("alice")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        mvc.perform(authenticated(get("/api/users"), withoutActiveClaim)).andExpect(status().isOk());
+
+        user.setIsActive(null);
+        userStatusCache.invalidate(USER_ID);
+        mvc.perform(authenticated(get("/api/users"), withoutActiveClaim)).andExpect(status().isOk());
+
+        String inactiveAtIssue = jwtUtil.generateToken("alice", USER_ID, List.of(), false);
+        mvc.perform(authenticated(get("/api/users"), inactiveAtIssue)).andExpect(status().isUnauthorized());
+    }
+
+    private static MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request, String token) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,140 @@
+package epr.eprapiservices.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks token buckets, lockouts and their doubling, failure decay and the cap on tracked
+ * keys, on a clock the test moves by hand.
+ */
+class LoginThrottleServiceTests {
+
+    private static final String IP = "10.0.0.1";
+
+    private final AtomicLong clock = new AtomicLong(System.nanoTime());
+
+    /**
+     * Three failures lock a user out for 60 s, doubling up to 240 s; failures are forgotten
+     * after 900 s. Buckets and the IP threshold are large enough not to interfere.
+     */
+    private LoginThrottleService service(int maxEntries) {
+        LoginThrottleService service = new LoginThrottleService(100, 60, 100, 60, 3, 100, 60, 240, 900, maxEntries);
+        ReflectionTestUtils.setField(service, "nanoClock", (LongSupplier) clock::get);
+        return service;
+    }
+
+    @Test
+    void userIsLockedOutAfterTheConfiguredFailures() {
+        LoginThrottleService service = service(100);
+        service.recordFailure("alice", IP);
+        service.recordFailure("Alice ", IP);
+        assertEquals(0, service.tryAcquire("alice", IP));
+
+        service.recordFailure("alice", IP);
+        assertEquals(60, service.tryAcquire("alice", IP));
+        assertEquals(0, service.tryAcquire("bob", IP));
+        assertEquals(1, service.getStats().get("lockouts"));
+        assertEquals(1, service.getStats().get("rejectedByLockout"));
+
+        advanceSeconds(61);
+        assertEquals(0, service.tryAcquire("alice", IP));
+    }
+
+    @Test
+    void lockoutDoublesWithEveryFurtherFailureUpToTheMaximum() {
+        LoginThrottleService service = service(100);
+        failures(service, "alice", 3);
+        assertEquals(60, service.tryAcquire("alice", IP));
+        failures(service, "alice", 1);
+        assertEquals(120, service.tryAcquire("alice", IP));
+        failures(service, "alice", 1);
+        assertEquals(240, service.tryAcquire("alice", IP));
+        failures(service, "alice", 1);
+        assertEquals(240, service.tryAcquire("alice", IP));
+    }
+
+    @Test
+    void failuresDecayOnceTheWindowHasPassed() {
+        LoginThrottleService service = service(100);
+        failures(service, "alice", 2);
+        advanceSeconds(901);
+        failures(service, "alice", 2);
+        assertEquals(0, service.tryAcquire("alice", IP));
+
+        failures(service, "alice", 1);
+        assertEquals(60, service.tryAcquire("alice", IP));
+    }
+
+    @Test
+    void successClearsTheUsersFailuresAndLockout() {
+        LoginThrottleService service = service(100);
+        failures(service, "alice", 2);
+        service.recordSuccess("alice");
+        failures(service, "alice", 2);
+        assertEquals(0, service.tryAcquire("alice", IP));
+
+        failures(service, "alice", 1);
+        assertEquals(60, service.tryAcquire("alice", IP));
+        service.recordSuccess("ALICE");
+        assertEquals(0, service.tryAcquire("alice", IP));
+    }
+
+    @Test
+    void emptyBucketRejectsUntilItRefills() {
+        LoginThrottleService service = new LoginThrottleService(2, 60, 100, 60, 3, 100, 60, 240, 900, 100);
+        ReflectionTestUtils.setField(service, "nanoClock", (LongSupplier) clock::get);
+        assertEquals(0, service.tryAcquire("alice", IP));
+        assertEquals(0, service.tryAcquire("alice", IP));
+        assertEquals(1, service.tryAcquire("alice", IP));
+        assertEquals(1, service.getStats().get("rejectedByUser"));
+
+        advanceSeconds(1);
+        assertEquals(0, service.tryAcquire("alice", IP));
+    }
+
+    @Test
+    void fullMapLeavesNewKeysUntrackedRatherThanLocked() {
+        LoginThrottleService service = service(2);
+        assertEquals(0, service.tryAcquire("alice", IP));
+        assertEquals(0, service.tryAcquire("bob", IP));
+
+        failures(service, "mallory", 10);
+        assertEquals(0, service.tryAcquire("mallory", IP));
+        assertEquals(0, service.tryAcquire("alice", IP));
+        assertEquals(2, service.getStats().get("trackedUsers"));
+        assertEquals(0, service.getStats().get("lockouts"));
+        assertTrue(service.getStats().get("untracked") > 0);
+    }
+
+    @Test
+    void purgeKeepsLockedKeysAndDropsIdleOnes() {
+        LoginThrottleService service = service(100);
+        assertEquals(0, service.tryAcquire("bob", IP));
+        failures(service, "alice", 3);
+        advanceSeconds(120);
+        service.purgeIdle();
+        assertEquals(1, service.getStats().get("trackedUsers"));
+
+        advanceSeconds(900);
+        service.purgeIdle();
+        assertEquals(0, service.getStats().get("trackedUsers"));
+        assertEquals(0, service.getStats().get("trackedIps"));
+    }
+
+    private static void failures(LoginThrottleService service, String username, int count) {
+        for (int i = 0; i < count; i++) {
+            service.recordFailure(username, IP);
+        }
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
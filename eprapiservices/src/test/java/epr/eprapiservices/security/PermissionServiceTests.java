@@ -0,0 +1,122 @@
+package epr.eprapiservices.security;
+
+import epr.eprapiservices.dao.repository.ModulesRepository;
+import epr.eprapiservices.dao.repository.PagesRepository;
+import epr.eprapiservices.dao.repository.RoleModuleaccessRepository;
+import epr.eprapiservices.dao.repository.RolepageaccessRepository;
+import epr.eprapiservices.dao.repository.RoleusersRepository;
+import epr.eprapiservices.dto.UserPermissionsDto;
+import epr.eprapiservices.event.AccessControlChangedEvent;
+import epr.eprapiservices.security.PermissionService.Access;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks how module and page grants compile into permissions, and that a change to access
+ * control drops them, also when it lands while they are being compiled.
+ * Modules: 1, its child 2 and grandchild 3, and 9 on its own; pages 10, 20, 30 and 90
+ * sit in modules 1, 2, 3 and 9.
+ */
+class PermissionServiceTests {
+
+    private final RoleusersRepository roleUsersRepository = mock(RoleusersRepository.class);
+    private final RolepageaccessRepository pageAccessRepository = mock(RolepageaccessRepository.class);
+    private final RoleModuleaccessRepository moduleAccessRepository = mock(RoleModuleaccessRepository.class);
+    private final PagesRepository pagesRepository = mock(PagesRepository.class);
+    private final ModulesRepository modulesRepository = mock(ModulesRepository.class);
+
+    private final PermissionService service = new PermissionService(roleUsersRepository, pageAccessRepository,
+            moduleAccessRepository, pagesRepository, modulesRepository, 300);
+
+    @BeforeEach
+    void setUp() {
+        when(modulesRepository.findActiveModuleParents()).thenReturn(List.of(
+                new Object[] {1, null}, new Object[] {2, 1}, new Object[] {3, 2}, new Object[] {9, null}));
+        when(pagesRepository.findActivePageModules()).thenReturn(List.of(
+                new Object[] {10, 1}, new Object[] {20, 2}, new Object[] {30, 3}, new Object[] {90, 9}));
+        // Role 5 may view module 1, role 7 may edit module 2, role 6 may edit page 90 only
+        when(moduleAccessRepository.findActiveGrants()).thenReturn(List.of(
+                new Object[] {5, 1, true, false}, new Object[] {7, 2, false, true}));
+        when(pageAccessRepository.findActiveGrants()).thenReturn(List.<Object[]>of(
+                new Object[] {6, 90, false, true}));
+        when(roleUsersRepository.findActiveRoleIdsByUserId(100)).thenReturn(List.of(5L));
+        when(roleUsersRepository.findActiveRoleIdsByUserId(200)).thenReturn(List.of(6L));
+        when(roleUsersRepository.findActiveRoleIdsByUserId(300)).thenReturn(List.of(7L));
+        when(roleUsersRepository.findActiveRoleIdsByUserId(400)).thenReturn(List.of(6L, 7L));
+    }
+
+    @Test
+    void moduleGrantReachesSubModulesAndTheirPages() {
+        for (int pageId : new int[] {10, 20, 30}) {
+            assertTrue(service.hasAccess(100, pageId, Access.VIEW), "page " + pageId);
+            assertFalse(service.hasAccess(100, pageId, Access.EDIT), "page " + pageId);
+        }
+        assertTrue(service.hasModuleAccess(100, 3, Access.VIEW));
+        assertFalse(service.hasModuleAccess(100, 9, Access.VIEW));
+        assertFalse(service.hasAccess(100, 90, Access.VIEW));
+
+        assertFalse(service.hasAccess(300, 10, Access.VIEW));
+        assertTrue(service.hasAccess(300, 20, Access.EDIT));
+        assertTrue(service.hasAccess(300, 30, Access.EDIT));
+        assertFalse(service.hasModuleAccess(300, 1, Access.VIEW));
+    }
+
+    @Test
+    void editImpliesView() {
+        assertTrue(service.hasAccess(200, 90, Access.EDIT));
+        assertTrue(service.hasAccess(200, 90, Access.VIEW));
+        assertTrue(service.hasAccess(300, 30, Access.VIEW));
+        assertTrue(service.hasModuleAccess(300, 2, Access.VIEW));
+    }
+
+    @Test
+    void permissionsOfAllRolesAreCombined() {
+        UserPermissionsDto permissions = service.getUserPermissions(400);
+        assertEquals(List.of(20, 30, 90), permissions.getViewablePageIds());
+        assertEquals(List.of(20, 30, 90), permissions.getEditablePageIds());
+        assertEquals(List.of(2, 3), permissions.getViewableModuleIds());
+        assertFalse(service.hasAccess(500, 10, Access.VIEW));
+    }
+
+    @Test
+    void accessControlChangeDropsCompiledPermissions() {
+        assertTrue(service.hasAccess(100, 20, Access.VIEW));
+        assertTrue(service.hasAccess(100, 30, Access.VIEW));
+        verify(moduleAccessRepository, times(1)).findActiveGrants();
+
+        when(moduleAccessRepository.findActiveGrants()).thenReturn(List.<Object[]>of(new Object[] {5, 9, true, false}));
+        assertTrue(service.hasAccess(100, 20, Access.VIEW));
+
+        service.onAccessControlChanged(new AccessControlChangedEvent("RoleModuleaccess"));
+        assertFalse(service.hasAccess(100, 20, Access.VIEW));
+        assertTrue(service.hasAccess(100, 90, Access.VIEW));
+        verify(moduleAccessRepository, times(2)).findActiveGrants();
+    }
+
+    @Test
+    void changeWhileCompilingIsNotOverwrittenByStalePermissions() {
+        // The grant is revoked and the change event arrives while role 5 is being compiled
+        AtomicBoolean revoked = new AtomicBoolean();
+        when(moduleAccessRepository.findActiveGrants()).thenAnswer(invocation -> {
+            if (revoked.getAndSet(true)) {
+                return List.of();
+            }
+            service.onAccessControlChanged(new AccessControlChangedEvent("RoleModuleaccess"));
+            return List.<Object[]>of(new Object[] {5, 1, true, false});
+        });
+
+        assertTrue(service.hasAccess(100, 10, Access.VIEW));
+        assertFalse(service.hasAccess(100, 10, Access.VIEW));
+    }
+}
@@ -0,0 +1,123 @@
+package epr.eprapiservices.security;
+
+import epr.eprapiservices.security.TokenVerificationService.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks that verified tokens are served from the cache until they expire and that a
+ * revocation wins over a cached verification. Tokens are signed for one minute and the
+ * service runs on a clock the test moves by hand.
+ */
+class TokenVerificationServiceTests {
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        JwtUtil realJwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(realJwtUtil, "jwtSecret", "token-verification-tests-secret-0123456789");
+        ReflectionTestUtils.setField(realJwtUtil, "jwtExpirationMs", 60_000L);
+        realJwtUtil.init();
+        jwtUtil = spy(realJwtUtil);
+    }
+
+    private TokenVerificationService service(int maxEntries) {
+        TokenVerificationService service = new TokenVerificationService(jwtUtil, maxEntries);
+        ReflectionTestUtils.setField(service, "millisClock", (LongSupplier) clock::get);
+        return service;
+    }
+
+    @Test
+    void repeatVerificationIsServedFromTheCache() {
+        TokenVerificationService service = service(100);
+        String token = jwtUtil.generateToken("alice", 7);
+
+        VerifiedToken first = service.verify(token).orElseThrow();
+        VerifiedToken second = service.verify(token).orElseThrow();
+
+        assertEquals("alice", first.username());
+        assertEquals(7, first.userId());
+        assertEquals(first, second);
+        assertEquals(1, service.getCachedTokenCount());
+        verify(jwtUtil, times(1)).extractAllClaims(anyString());
+    }
+
+    @Test
+    void expiredTokenIsEvictedFromTheCache() {
+        TokenVerificationService service = service(100);
+        String token = jwtUtil.generateToken("alice", 7);
+        String other = jwtUtil.generateToken("bob", 8);
+        assertTrue(service.verify(token).isPresent());
+        assertTrue(service.verify(other).isPresent());
+
+        clock.addAndGet(120_000);
+        assertTrue(service.verify(token).isEmpty());
+        assertEquals(1, service.getCachedTokenCount());
+        service.purgeExpired();
+        assertEquals(0, service.getCachedTokenCount());
+    }
+
+    @Test
+    void revocationWinsOverACachedVerification() {
+        TokenVerificationService service = service(100);
+        String token = jwtUtil.generateToken("alice", 7);
+        assertTrue(service.verify(token).isPresent());
+
+        assertTrue(service.revoke(token));
+        assertTrue(service.verify(token).isEmpty());
+        assertFalse(service.revoke(token));
+        assertEquals(0, service.getCachedTokenCount());
+        assertEquals(1, service.getRevokedTokenCount());
+        verify(jwtUtil, times(1)).extractAllClaims(anyString());
+
+        clock.addAndGet(120_000);
+        service.purgeExpired();
+        assertEquals(0, service.getRevokedTokenCount());
+    }
+
+    @Test
+    void invalidTokensAreNotCached() {
+        TokenVerificationService service = service(100);
+        String token = jwtUtil.generateToken("alice", 7);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertTrue(service.verify("not-a-token").isEmpty());
+        assertTrue(service.verify(tampered).isEmpty());
+        assertTrue(service.verify(" ").isEmpty());
+        assertTrue(service.verify(null).isEmpty());
+        assertEquals(0, service.getCachedTokenCount());
+    }
+
+    @Test
+    void cacheKeepsTheMostRecentlyUsedTokens() {
+        TokenVerificationService service = service(2);
+        String alice = jwtUtil.generateToken("alice", 7);
+        String bob = jwtUtil.generateToken("bob", 8);
+        String carol = jwtUtil.generateToken("carol", 9);
+        service.verify(alice);
+        service.verify(bob);
+        service.verify(alice);
+        service.verify(carol);
+        assertEquals(2, service.getCachedTokenCount());
+
+        service.verify(alice);
+        verify(jwtUtil, times(3)).extractAllClaims(anyString());
+        service.verify(bob);
+        verify(jwtUtil, times(4)).extractAllClaims(anyString());
+    }
+}
@@ -0,0 +1,76 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.service.CertificationAuditBundleService.BundleFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that audit bundles only read files inside the upload directory.
+ */
+class CertificationAuditBundleServiceTests {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void pathsOutsideTheUploadDirectoryAreRejected() throws Exception {
+        Path uploadDir = Files.createDirectories(workDir.resolve("uploads/certifications"));
+        Files.writeString(uploadDir.resolve("cert_1.pdf"), "certificate", StandardCharsets.UTF_8);
+        Path secret = Files.writeString(workDir.resolve("application.properties"), "spring.datasource.password=secret",
+                StandardCharsets.UTF_8);
+        CertificationAuditBundleService service = new CertificationAuditBundleService();
+        ReflectionTestUtils.setField(service, "uploadDir", uploadDir.toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeBundle(List.of(
+                bundleFile("1", "cert_1.pdf"),
+                bundleFile("2", "../../application.properties"),
+                bundleFile("3", secret.toString()),
+                bundleFile("4", "cert_4.pdf")), out);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(List.of("bundle/1.pdf", CertificationAuditBundleService.MANIFEST_ENTRY),
+                List.copyOf(entries.keySet()));
+        assertEquals("certificate", entries.get("bundle/1.pdf"));
+        String manifest = entries.get(CertificationAuditBundleService.MANIFEST_ENTRY);
+        assertFalse(manifest.contains("secret"), manifest);
+        List<String> rows = manifest.lines().toList();
+        assertTrue(rows.get(1).endsWith(",INCLUDED"), rows.get(1));
+        assertTrue(rows.get(2).endsWith(",REJECTED"), rows.get(2));
+        assertTrue(rows.get(3).endsWith(",REJECTED"), rows.get(3));
+        assertTrue(rows.get(4).endsWith(",MISSING"), rows.get(4));
+    }
+
+    private static BundleFile bundleFile(String certificationId, String filePath) {
+        return new BundleFile("bundle/" + certificationId + ".pdf", "RECYCLING", certificationId, null, "5",
+                "ISO 14001", "N-" + certificationId, null, null, null, null, null, null,
+                certificationId + ".pdf", filePath, null);
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws Exception {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
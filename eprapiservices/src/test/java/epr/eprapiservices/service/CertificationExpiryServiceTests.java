@@ -0,0 +1,147 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.ProductCertificationRepository;
+import epr.eprapiservices.dao.repository.RecyclingCertificationRepository;
+import epr.eprapiservices.dto.ExpirySweepRunDto;
+import epr.eprapiservices.entity.RecyclingCertification.CertificationStatus;
+import epr.eprapiservices.event.CertificationsExpiredEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the expiry sweep: nothing is touched without the lease, lapsed certifications are
+ * expired by ID in chunks within one new transaction that commits before the lease is
+ * released, and the lease is released when the sweep fails.
+ */
+class CertificationExpiryServiceTests {
+
+    private final RecyclingCertificationRepository recyclingCertificationRepository = mock(RecyclingCertificationRepository.class);
+    private final ProductCertificationRepository productCertificationRepository = mock(ProductCertificationRepository.class);
+    private final SchedulerLeaseService schedulerLeaseService = mock(SchedulerLeaseService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TransactionStatus transaction = mock(TransactionStatus.class);
+    private CertificationExpiryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CertificationExpiryService();
+        ReflectionTestUtils.setField(service, "recyclingCertificationRepository", recyclingCertificationRepository);
+        ReflectionTestUtils.setField(service, "productCertificationRepository", productCertificationRepository);
+        ReflectionTestUtils.setField(service, "schedulerLeaseService", schedulerLeaseService);
+        ReflectionTestUtils.setField(service, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 300L);
+        service.init();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        when(schedulerLeaseService.getNodeId()).thenReturn("node-1");
+    }
+
+    @Test
+    void nodeWithoutTheLeaseDoesNothing() {
+        when(schedulerLeaseService.tryAcquire(eq(CertificationExpiryService.LEASE_NAME), any())).thenReturn(false);
+
+        ExpirySweepRunDto run = service.runSweep();
+
+        assertFalse(run.isLeaseAcquired());
+        assertEquals("node-1", run.getNodeId());
+        verifyNoInteractions(recyclingCertificationRepository, productCertificationRepository, transactionManager);
+        verify(schedulerLeaseService, never()).release(anyString());
+    }
+
+    @Test
+    void lapsedCertificationsAreExpiredByIdInChunks() {
+        when(schedulerLeaseService.tryAcquire(eq(CertificationExpiryService.LEASE_NAME), any())).thenReturn(true);
+        List<Integer> recyclingIds = IntStream.rangeClosed(1, 2_500).boxed().toList();
+        List<Long> productIds = LongStream.rangeClosed(1, 3).boxed().toList();
+        LocalDate today = LocalDate.now();
+        when(recyclingCertificationRepository.findIdsToExpire(today, CertificationStatus.VALID)).thenReturn(recyclingIds);
+        when(productCertificationRepository.findIdsToExpire(today, "ACTIVE")).thenReturn(productIds);
+
+        ExpirySweepRunDto run = service.runSweep();
+
+        assertTrue(run.isLeaseAcquired());
+        assertEquals(2_500, run.getRecyclingCertificationsExpired());
+        assertEquals(3, run.getProductCertificationsExpired());
+        assertEquals(run, service.getLastRun());
+        assertEquals(2_500, service.getTotalRecyclingCertificationsExpired());
+        InOrder order = inOrder(transactionManager, recyclingCertificationRepository, productCertificationRepository,
+                schedulerLeaseService);
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        order.verify(transactionManager).getTransaction(definition.capture());
+        order.verify(recyclingCertificationRepository).expireCertifications(recyclingIds.subList(0, 1_000),
+                CertificationStatus.VALID, CertificationStatus.EXPIRED);
+        order.verify(recyclingCertificationRepository).expireCertifications(recyclingIds.subList(1_000, 2_000),
+                CertificationStatus.VALID, CertificationStatus.EXPIRED);
+        order.verify(recyclingCertificationRepository).expireCertifications(recyclingIds.subList(2_000, 2_500),
+                CertificationStatus.VALID, CertificationStatus.EXPIRED);
+        order.verify(productCertificationRepository).expireCertifications(productIds, "ACTIVE");
+        order.verify(transactionManager).commit(transaction);
+        order.verify(schedulerLeaseService).release(CertificationExpiryService.LEASE_NAME);
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+
+        ArgumentCaptor<CertificationsExpiredEvent> event = ArgumentCaptor.forClass(CertificationsExpiredEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(recyclingIds, event.getValue().getRecyclingCertificationIds());
+        assertEquals(productIds, event.getValue().getProductCertificationIds());
+        assertEquals(today, event.getValue().getAsOf());
+    }
+
+    @Test
+    void sweepWithNothingLapsedPublishesNothing() {
+        when(schedulerLeaseService.tryAcquire(eq(CertificationExpiryService.LEASE_NAME), any())).thenReturn(true);
+        when(recyclingCertificationRepository.findIdsToExpire(any(), any())).thenReturn(List.of());
+        when(productCertificationRepository.findIdsToExpire(any(), any())).thenReturn(List.of());
+
+        ExpirySweepRunDto run = service.runSweep();
+
+        assertEquals(0, run.getRecyclingCertificationsExpired());
+        verify(recyclingCertificationRepository, never()).expireCertifications(any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+        verify(schedulerLeaseService).release(CertificationExpiryService.LEASE_NAME);
+    }
+
+    @Test
+    void failedSweepRollsBackAndReleasesTheLease() {
+        when(schedulerLeaseService.tryAcquire(eq(CertificationExpiryService.LEASE_NAME), any())).thenReturn(true);
+        when(recyclingCertificationRepository.findIdsToExpire(any(), any())).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThrows(QueryTimeoutException.class, service::runSweep);
+        service.scheduledSweep();
+
+        verify(transactionManager, never()).commit(any());
+        verify(transactionManager, times(2)).rollback(transaction);
+        verify(schedulerLeaseService, times(2)).release(CertificationExpiryService.LEASE_NAME);
+        verifyNoInteractions(eventPublisher);
+        assertNull(service.getLastRun());
+    }
+}
@@ -0,0 +1,113 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.ProductCertificationRepository;
+import epr.eprapiservices.dao.repository.ProductRepository;
+import epr.eprapiservices.dto.FileScrubReportDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the scrubber resolves stored paths against the upload directory and only
+ * reclaims files no row refers to.
+ */
+class CertificationFileScrubberServiceTests {
+
+    @TempDir
+    Path uploadDir;
+
+    private final ProductCertificationRepository certificationRepository = mock(ProductCertificationRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CertificationFileScrubberService service = new CertificationFileScrubberService();
+
+    @BeforeEach
+    void setUp() {
+        SchedulerLeaseService schedulerLeaseService = mock(SchedulerLeaseService.class);
+        when(schedulerLeaseService.tryAcquire(eq(CertificationFileScrubberService.LEASE_NAME), any(Duration.class)))
+                .thenReturn(true);
+        ReflectionTestUtils.setField(service, "certificationRepository", certificationRepository);
+        ReflectionTestUtils.setField(service, "productRepository", productRepository);
+        ReflectionTestUtils.setField(service, "schedulerLeaseService", schedulerLeaseService);
+        ReflectionTestUtils.setField(service, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(service, "readers", 1);
+        ReflectionTestUtils.setField(service, "maxBytesPerSecond", 0L);
+        ReflectionTestUtils.setField(service, "reclaimOrphans", true);
+        ReflectionTestUtils.setField(service, "orphanGraceMinutes", 0L);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 60L);
+    }
+
+    @Test
+    void bareProductFileNameSurvivesAScrub() throws Exception {
+        Path uploaded = file("cert_7_3f2a9c1e-0d4b-4f51-9b7e-2c8d5e6f7a80.pdf");
+        Path orphan = file("cert_8_left-behind.pdf");
+        when(productRepository.findRegulatoryCertificationsPaths())
+                .thenReturn(List.of("cert_7_3f2a9c1e-0d4b-4f51-9b7e-2c8d5e6f7a80.pdf"));
+        when(certificationRepository.findStoredFileReferences()).thenReturn(List.of());
+
+        FileScrubReportDto report = service.runScrub();
+
+        assertTrue(Files.exists(uploaded));
+        assertFalse(Files.exists(orphan));
+        assertEquals(List.of("cert_8_left-behind.pdf"), report.getOrphanedFiles());
+        assertEquals(1, report.getOrphansReclaimed());
+        assertTrue(report.getMissingFiles().isEmpty(), report.getMissingFiles().toString());
+    }
+
+    @Test
+    void certificationPathsAndTheirPreviewsSurviveAScrub() throws Exception {
+        Path relative = file("cert_1.pdf");
+        Path preview = file("cert_1.pdf.preview.jpg");
+        Path absolute = file("cert_2.pdf");
+        when(productRepository.findRegulatoryCertificationsPaths()).thenReturn(List.of());
+        when(certificationRepository.findStoredFileReferences()).thenReturn(List.of(
+                new Object[] {1L, "cert_1.pdf", null},
+                new Object[] {2L, absolute.toString(), null},
+                new Object[] {3L, "cert_3.pdf", null}));
+
+        FileScrubReportDto report = service.runScrub();
+
+        assertTrue(Files.exists(relative));
+        assertTrue(Files.exists(preview));
+        assertTrue(Files.exists(absolute));
+        assertTrue(report.getOrphanedFiles().isEmpty(), report.getOrphanedFiles().toString());
+        assertEquals(List.of("cert_3.pdf"), report.getMissingFiles());
+        assertEquals(2, report.getFilesHashed());
+    }
+
+    @Test
+    void orphansAreOnlyReportedUnlessReclaimingIsEnabled() throws Exception {
+        ReflectionTestUtils.setField(service, "reclaimOrphans", false);
+        Path orphan = file("cert_9_left-behind.pdf");
+        when(productRepository.findRegulatoryCertificationsPaths()).thenReturn(List.of());
+        when(certificationRepository.findStoredFileReferences()).thenReturn(List.of());
+
+        FileScrubReportDto report = service.runScrub();
+
+        assertTrue(Files.exists(orphan));
+        assertEquals(List.of("cert_9_left-behind.pdf"), report.getOrphanedFiles());
+        assertEquals(0, report.getOrphansReclaimed());
+    }
+
+    private Path file(String name) throws Exception {
+        Path path = Files.writeString(uploadDir.resolve(name), name, StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        return path;
+    }
+}
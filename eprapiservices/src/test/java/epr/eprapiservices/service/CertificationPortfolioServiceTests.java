@@ -0,0 +1,103 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.ProductCertificationRepository;
+import epr.eprapiservices.dto.CertificationStatsDto;
+import epr.eprapiservices.event.CertificationsExpiredEvent;
+import epr.eprapiservices.event.ProductCertificationChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that per-product counts come back in request order from one aggregate query, and
+ * that the portfolio summary is cached until a certification changes or the TTL passes.
+ */
+class CertificationPortfolioServiceTests {
+
+    private final ProductCertificationRepository certificationRepository = mock(ProductCertificationRepository.class);
+    private CertificationPortfolioService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CertificationPortfolioService();
+        ReflectionTestUtils.setField(service, "certificationRepository", certificationRepository);
+        ReflectionTestUtils.setField(service, "summaryTtlSeconds", 300L);
+    }
+
+    @Test
+    void productStatsAreInRequestOrderWithZerosForProductsWithoutCertifications() {
+        LocalDate today = LocalDate.now();
+        when(certificationRepository.getCertificationStatsByProductIds(Set.of(7, 3, 9), today, today.plusDays(14)))
+                .thenReturn(List.<Object[]>of(new Object[] {3, 4L, 2L, 1L, 1L, 3L, 2L},
+                        new Object[] {7, 1L, 1L, 0L, null, 0L, 1L}));
+
+        List<CertificationStatsDto> stats = service.getStatsForProducts(Arrays.asList(7, 3, null, 7, 9), 14);
+
+        assertEquals(List.of(7, 3, 9), stats.stream().map(CertificationStatsDto::getProductId).toList());
+        CertificationStatsDto three = stats.get(1);
+        assertEquals(List.of(4L, 2L, 1L, 1L, 3L, 2L), List.of(three.getTotal(), three.getActive(), three.getExpired(),
+                three.getExpiringSoon(), three.getVerified(), three.getWithFile()));
+        assertEquals(0, stats.get(0).getExpiringSoon());
+        assertEquals(0, stats.get(2).getTotal());
+        verify(certificationRepository, times(1)).getCertificationStatsByProductIds(any(), any(), any());
+    }
+
+    @Test
+    void tooManyOrNoProductsAreHandledWithoutAQuery() {
+        List<Integer> tooMany = IntStream.rangeClosed(1, CertificationPortfolioService.MAX_PAGE_SIZE + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> service.getStatsForProducts(tooMany, 30));
+        assertEquals(List.of(), service.getStatsForProducts(Arrays.asList(null, null), 30));
+        verify(certificationRepository, never()).getCertificationStatsByProductIds(any(), any(), any());
+    }
+
+    @Test
+    void summaryIsCachedUntilACertificationChanges() {
+        when(certificationRepository.getCertificationStatsSummary(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] {5L, 12L, 8L, 3L, 2L, 6L, 9L}));
+
+        CertificationStatsDto first = service.getPortfolioSummary();
+        assertEquals(5L, first.getProductCount());
+        assertEquals(12, first.getTotal());
+        assertSame(first, service.getPortfolioSummary());
+
+        // A sweep that expired no product certifications leaves the summary as it was
+        service.onCertificationsExpired(new CertificationsExpiredEvent(LocalDate.now(), List.of(1, 2), List.of()));
+        assertSame(first, service.getPortfolioSummary());
+        verify(certificationRepository, times(1)).getCertificationStatsSummary(any(), any());
+
+        service.onProductCertificationChanged(new ProductCertificationChangedEvent(1L, 3));
+        service.getPortfolioSummary();
+        service.onCertificationsExpired(new CertificationsExpiredEvent(LocalDate.now(), List.of(), List.of(4L)));
+        service.getPortfolioSummary();
+        verify(certificationRepository, times(3)).getCertificationStatsSummary(any(), any());
+    }
+
+    @Test
+    void summaryIsRecomputedOnceTheTtlHasPassed() {
+        ReflectionTestUtils.setField(service, "summaryTtlSeconds", 0L);
+        when(certificationRepository.getCertificationStatsSummary(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] {0L, 0L, null, null, null, null, null}));
+
+        assertEquals(0, service.getPortfolioSummary().getActive());
+        service.getPortfolioSummary();
+
+        verify(certificationRepository, times(2)).getCertificationStatsSummary(any(), any());
+    }
+}
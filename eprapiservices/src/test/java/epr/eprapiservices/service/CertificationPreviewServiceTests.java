@@ -0,0 +1,146 @@
+package epr.eprapiservices.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that previews are scaled to the maximum dimension and flattened onto white in the
+ * background, and that a full queue drops requests instead of blocking the caller.
+ */
+class CertificationPreviewServiceTests {
+
+    @TempDir
+    Path uploadDir;
+
+    private CertificationPreviewService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void previewIsScaledAndFlattenedOntoWhite() throws Exception {
+        service = service(2, 10);
+        Path scan = image("scan.png", 2_000, 1_000);
+
+        assertTrue(service.schedulePreview(scan.toString(), "PNG"));
+        Path preview = awaitPreview(scan);
+
+        BufferedImage image = ImageIO.read(preview.toFile());
+        assertEquals(320, image.getWidth());
+        assertEquals(160, image.getHeight());
+        // The left half of the scan is transparent, the right half red
+        assertNearly(Color.WHITE, new Color(image.getRGB(20, 80)));
+        assertNearly(Color.RED, new Color(image.getRGB(300, 80)));
+
+        service.deletePreview(scan.toString());
+        assertFalse(Files.exists(preview));
+    }
+
+    @Test
+    void unsupportedTypesAndUnreadableFilesGetNoPreview() throws Exception {
+        service = service(1, 10);
+        Path notAnImage = Files.writeString(uploadDir.resolve("cert.png"), "not an image");
+
+        assertFalse(service.schedulePreview(uploadDir.resolve("cert.pdf").toString(), "pdf"));
+        assertFalse(service.schedulePreview(null, "png"));
+        assertTrue(service.schedulePreview(notAnImage.toString(), "png"));
+
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executor");
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertFalse(Files.exists(service.getPreviewPath(notAnImage.toString())));
+    }
+
+    @Test
+    void fullQueueDropsRequestsWithoutBlocking() throws Exception {
+        service = service(1, 1);
+        Path first = image("first.jpg", 400, 200);
+        Path second = image("second.png", 400, 200);
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executor");
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(service.schedulePreview(first.toString(), "jpg"));
+        // Already queued, so not queued twice
+        assertTrue(service.schedulePreview(first.toString(), "jpg"));
+        assertEquals(1, executor.getQueue().size());
+        assertFalse(service.schedulePreview(second.toString(), "png"));
+
+        release.countDown();
+        awaitPreview(first);
+        assertFalse(Files.exists(service.getPreviewPath(second.toString())));
+        // Asked for again once there is room
+        assertTrue(service.schedulePreview(second.toString(), "png"));
+        awaitPreview(second);
+    }
+
+    private static CertificationPreviewService service(int threads, int queueCapacity) {
+        CertificationPreviewService service = new CertificationPreviewService(threads, queueCapacity);
+        ReflectionTestUtils.setField(service, "maxDimension", 320);
+        ReflectionTestUtils.setField(service, "jpegQuality", 0.9f);
+        return service;
+    }
+
+    /**
+     * Image with a transparent left half and a red right half
+     */
+    private Path image(String name, int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(width / 2, 0, width - width / 2, height);
+        graphics.dispose();
+        Path file = uploadDir.resolve(name);
+        String format = name.endsWith(".png") ? "png" : "jpg";
+        BufferedImage written = image;
+        if (format.equals("jpg")) {
+            written = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D opaque = written.createGraphics();
+            opaque.drawImage(image, 0, 0, null);
+            opaque.dispose();
+        }
+        ImageIO.write(written, format, file.toFile());
+        return file;
+    }
+
+    private Path awaitPreview(Path source) throws InterruptedException {
+        Path preview = service.getPreviewPath(source.toString());
+        for (int i = 0; i < 200 && !Files.exists(preview); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(Files.exists(preview), "no preview for " + source);
+        return preview;
+    }
+
+    private static void assertNearly(Color expected, Color actual) {
+        assertTrue(Math.abs(expected.getRed() - actual.getRed()) < 16
+                && Math.abs(expected.getGreen() - actual.getGreen()) < 16
+                && Math.abs(expected.getBlue() - actual.getBlue()) < 16, "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,223 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dto.MassBalanceFindingDto;
+import epr.eprapiservices.dto.ReconciliationRunDto;
+import epr.eprapiservices.entity.RecycleLog;
+import epr.eprapiservices.event.RecycleLogChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the merge join of recycle logs against certification validity intervals on an
+ * in-memory H2 database: boundary dates, withdrawn certifications, rows left out of the
+ * reconciliation, a brute-force comparison over random data, and incremental runs.
+ */
+class MassBalanceReconciliationServiceTests {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private JdbcTemplate jdbc;
+    private MassBalanceReconciliationService service;
+    private int nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:mass-balance;MODE=MSSQLServer;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("CREATE TABLE recycle_log (recycle_log_id INT PRIMARY KEY, recycler_id VARCHAR(50),"
+                + " material_type VARCHAR(100), recycle_date DATETIME2, quantity_grams BIGINT, is_active BIT,"
+                + " held_for_review BIT)");
+        jdbc.execute("CREATE TABLE recycling_certification (certification_id INT PRIMARY KEY, recycler_id VARCHAR(50),"
+                + " material_type VARCHAR(100), issue_date DATE, expiry_date DATE, certification_status VARCHAR(50),"
+                + " is_active BIT)");
+        service = new MassBalanceReconciliationService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", new NamedParameterJdbcTemplate(jdbc));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP TABLE recycle_log");
+        jdbc.execute("DROP TABLE recycling_certification");
+    }
+
+    @Test
+    void logsAreCertifiedOverClaimedOrUncertifiedByDate() {
+        certification("R1", "PET Plastic", "2024-01-01", "2024-06-30", "EXPIRED");
+        certification("R1", "pet plastic", "2024-07-01", "2024-12-31", "SUSPENDED");
+        int onIssueDate = log("R1", "PET Plastic", "2024-01-01", 100);
+        int onExpiryDate = log("R1", " PET plastic", "2024-06-30", 200);
+        int suspended = log("R1", "PET Plastic", "2024-08-15", 400);
+        int afterBoth = log("R1", "PET Plastic", "2025-01-01", 800);
+        int noCertification = log("R2", "Glass", "2024-03-01", 1_600);
+        log("R1", "PET Plastic", "2024-03-01", 3_200, false, false);
+        log("R1", "PET Plastic", "2024-03-01", 6_400, true, true);
+        jdbc.update("INSERT INTO recycle_log VALUES (?, NULL, 'PET Plastic', '2024-03-01', 12800, 1, 0)", nextId++);
+
+        ReconciliationRunDto run = service.runReconciliation(true);
+
+        assertTrue(run.isFullRun());
+        assertEquals(5, run.getLogsScanned());
+        assertEquals(2, run.getCertificationsScanned());
+        assertEquals(2, run.getKeysReconciled());
+        assertEquals(2, run.getKeysWithDiscrepancies());
+        List<MassBalanceFindingDto> findings = service.getFindings(false);
+        assertEquals(2, findings.size());
+        MassBalanceFindingDto pet = findings.get(0);
+        assertEquals("R1", pet.getRecyclerId());
+        assertEquals("pet plastic", pet.getMaterialType());
+        assertEquals(1_500, pet.getLoggedQuantityGrams());
+        assertEquals(300, pet.getCertifiedQuantityGrams());
+        assertEquals(400, pet.getOverClaimedQuantityGrams());
+        assertEquals(800, pet.getUncertifiedQuantityGrams());
+        assertEquals(List.of(suspended), pet.getOverClaimedLogIds());
+        assertEquals(List.of(afterBoth), pet.getUncertifiedLogIds());
+        assertEquals(List.of(noCertification), findings.get(1).getUncertifiedLogIds());
+        assertFalse(List.of(onIssueDate, onExpiryDate).stream().anyMatch(id ->
+                pet.getUncertifiedLogIds().contains(id) || pet.getOverClaimedLogIds().contains(id)));
+    }
+
+    @Test
+    void randomDataMatchesABruteForceReconciliation() {
+        SplittableRandom random = new SplittableRandom(27);
+        String[] recyclers = {"R1", "R2", "R3", "R4"};
+        String[] materials = {"PET Plastic", "Glass", "Steel"};
+        String[] statuses = {"VALID", "EXPIRED", "SUSPENDED", "REVOKED", "PENDING_RENEWAL"};
+        List<Object[]> certifications = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            LocalDate issued = START.plusDays(random.nextInt(700));
+            certifications.add(new Object[] {nextId++, recyclers[random.nextInt(recyclers.length)],
+                    materials[random.nextInt(materials.length)], issued, issued.plusDays(random.nextInt(200)),
+                    statuses[random.nextInt(statuses.length)]});
+        }
+        jdbc.batchUpdate("INSERT INTO recycling_certification VALUES (?, ?, ?, ?, ?, ?, 1)", certifications);
+        List<Object[]> logs = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            logs.add(new Object[] {nextId++, recyclers[random.nextInt(recyclers.length)],
+                    materials[random.nextInt(materials.length)], START.plusDays(random.nextInt(800)).atTime(10, 0),
+                    1L + random.nextInt(10_000)});
+        }
+        jdbc.batchUpdate("INSERT INTO recycle_log VALUES (?, ?, ?, ?, ?, 1, 0)", logs);
+
+        service.runReconciliation(true);
+
+        assertEquals(bruteForce(logs, certifications), summaries(service.getFindings(false)));
+    }
+
+    @Test
+    void incrementalRunReconcilesOnlyChangedRecyclers() {
+        certification("R1", "Glass", "2024-01-01", "2024-12-31", "VALID");
+        log("R1", "Glass", "2024-05-01", 100);
+        log("R2", "Glass", "2024-05-01", 200);
+        // Nothing has run yet, so the first run is a full one
+        assertTrue(service.runReconciliation(false).isFullRun());
+
+        // R1 changes without an event, R2 with one: only R2 is read again
+        log("R1", "Glass", "2025-05-01", 400);
+        certification("R2", "Glass", "2024-01-01", "2024-12-31", "VALID");
+        service.onRecycleLogChanged(new RecycleLogChangedEvent(null, recycleLogOf("R2")));
+
+        ReconciliationRunDto run = service.runReconciliation(false);
+
+        assertFalse(run.isFullRun());
+        assertEquals(1, run.getKeysReconciled());
+        assertEquals(0, run.getKeysWithDiscrepancies());
+        assertEquals(100, service.getFindingsByRecyclerId("R1").get(0).getLoggedQuantityGrams());
+        assertEquals(200, service.getFindingsByRecyclerId("R2").get(0).getCertifiedQuantityGrams());
+
+        assertEquals(2, service.runReconciliation(true).getKeysReconciled());
+        assertEquals(500, service.getFindingsByRecyclerId("R1").get(0).getLoggedQuantityGrams());
+        assertEquals(1, service.getFindings(true).size());
+    }
+
+    private int log(String recyclerId, String materialType, String date, long grams) {
+        return log(recyclerId, materialType, date, grams, true, false);
+    }
+
+    private int log(String recyclerId, String materialType, String date, long grams, boolean active, boolean held) {
+        int id = nextId++;
+        jdbc.update("INSERT INTO recycle_log VALUES (?, ?, ?, ?, ?, ?, ?)", id, recyclerId, materialType,
+                LocalDate.parse(date).atTime(14, 30), grams, active, held);
+        return id;
+    }
+
+    private void certification(String recyclerId, String materialType, String issued, String expires, String status) {
+        jdbc.update("INSERT INTO recycling_certification VALUES (?, ?, ?, ?, ?, ?, 1)", nextId++, recyclerId,
+                materialType, LocalDate.parse(issued), LocalDate.parse(expires), status);
+    }
+
+    private static RecycleLog recycleLogOf(String recyclerId) {
+        RecycleLog log = new RecycleLog();
+        log.setRecyclerId(recyclerId);
+        return log;
+    }
+
+    private static Map<String, String> summaries(List<MassBalanceFindingDto> findings) {
+        Map<String, String> summaries = new TreeMap<>();
+        for (MassBalanceFindingDto finding : findings) {
+            summaries.put(finding.getRecyclerId() + "/" + finding.getMaterialType(), finding.getLoggedQuantityGrams()
+                    + " certified " + finding.getCertifiedQuantityGrams()
+                    + " over-claimed " + finding.getOverClaimedQuantityGrams() + " " + sorted(finding.getOverClaimedLogIds())
+                    + " uncertified " + finding.getUncertifiedQuantityGrams() + " " + sorted(finding.getUncertifiedLogIds()));
+        }
+        return summaries;
+    }
+
+    /**
+     * Each log checked against every certification of its recycler and material
+     */
+    private static Map<String, String> bruteForce(List<Object[]> logs, List<Object[]> certifications) {
+        Map<String, MassBalanceFindingDto> findings = new TreeMap<>();
+        for (Object[] log : logs) {
+            String material = ((String) log[2]).toLowerCase(Locale.ROOT);
+            LocalDate date = ((LocalDateTime) log[3]).toLocalDate();
+            long grams = (long) log[4];
+            boolean backed = false;
+            boolean withdrawn = false;
+            for (Object[] certification : certifications) {
+                if (certification[1].equals(log[1]) && ((String) certification[2]).equalsIgnoreCase(material)
+                        && !date.isBefore((LocalDate) certification[3]) && !date.isAfter((LocalDate) certification[4])) {
+                    if (certification[5].equals("SUSPENDED") || certification[5].equals("REVOKED")) {
+                        withdrawn = true;
+                    } else {
+                        backed = true;
+                    }
+                }
+            }
+            MassBalanceFindingDto finding = findings.computeIfAbsent(log[1] + "/" + material,
+                    key -> new MassBalanceFindingDto((String) log[1], material));
+            finding.setLoggedQuantityGrams(finding.getLoggedQuantityGrams() + grams);
+            if (backed) {
+                finding.setCertifiedQuantityGrams(finding.getCertifiedQuantityGrams() + grams);
+            } else if (withdrawn) {
+                finding.setOverClaimedQuantityGrams(finding.getOverClaimedQuantityGrams() + grams);
+                finding.getOverClaimedLogIds().add((Integer) log[0]);
+            } else {
+                finding.setUncertifiedQuantityGrams(finding.getUncertifiedQuantityGrams() + grams);
+                finding.getUncertifiedLogIds().add((Integer) log[0]);
+            }
+        }
+        return summaries(new ArrayList<>(findings.values()));
+    }
+
+    private static List<Integer> sorted(List<Integer> ids) {
+        return ids.stream().sorted().toList();
+    }
+}
@@ -0,0 +1,117 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.ProductCertificationRepository;
+import epr.eprapiservices.dto.BulkCertificationDecisionDto;
+import epr.eprapiservices.dto.BulkCertificationDecisionDto.Item;
+import epr.eprapiservices.dto.BulkCertificationOutcomeDto;
+import epr.eprapiservices.event.ProductCertificationChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks bulk verification decisions against optimistic-lock versions: stale versions and
+ * missing certifications are reported without an update, and certifications changed or
+ * removed between the version read and the UPDATE come back as conflicts or not found.
+ */
+class ProductCertificationServiceTests {
+
+    private final ProductCertificationRepository certificationRepository = mock(ProductCertificationRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private ProductCertificationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProductCertificationService();
+        ReflectionTestUtils.setField(service, "certificationRepository", certificationRepository);
+        ReflectionTestUtils.setField(service, "eventPublisher", eventPublisher);
+    }
+
+    @Test
+    void staleVersionsAndMissingCertificationsAreReportedWithoutAnUpdate() {
+        when(certificationRepository.findVersionsByIds(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(
+                new Object[] {1L, 3L, 10}, new Object[] {2L, 2L, 20}, new Object[] {4L, 6L, 40}));
+        when(certificationRepository.applyVerificationDecision(eq(List.of(1L)), eq(3L), eq("VERIFIED"), any(),
+                eq("alice"), isNull())).thenReturn(1);
+        when(certificationRepository.applyVerificationDecision(eq(List.of(4L)), eq(6L), eq("VERIFIED"), any(),
+                eq("alice"), isNull())).thenReturn(1);
+
+        // A repeated ID keeps its first version; a missing version accepts the current one
+        List<BulkCertificationOutcomeDto> outcomes = service.applyBulkDecision(decision(
+                BulkCertificationDecisionDto.Decision.VERIFY, new Item(1L, 3L), new Item(2L, 1L), new Item(3L, 1L),
+                new Item(1L, 9L), new Item(4L, null), null, new Item(null, 1L)));
+
+        assertEquals(List.of("1 APPLIED 4", "2 VERSION_CONFLICT 2", "3 NOT_FOUND null", "4 APPLIED 7"),
+                summaries(outcomes));
+        verify(certificationRepository, times(2)).applyVerificationDecision(any(), anyLong(), any(), any(), any(), any());
+        verify(certificationRepository, never()).findIdsWithDecision(any(), any(), any(), any());
+        ArgumentCaptor<ProductCertificationChangedEvent> events = ArgumentCaptor.forClass(ProductCertificationChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(1L, 4L), events.getAllValues().stream().map(ProductCertificationChangedEvent::getCertificationId).toList());
+        assertEquals(List.of(10, 40), events.getAllValues().stream().map(ProductCertificationChangedEvent::getProductId).toList());
+    }
+
+    @Test
+    void rowsChangedOrRemovedBeforeTheUpdateAreResolvedExactly() {
+        when(certificationRepository.findVersionsByIds(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new Object[] {1L, 3L, 10}, new Object[] {2L, 3L, 20}, new Object[] {3L, 3L, 30}));
+        // Another reviewer moved 2 to version 4 and 3 was deleted before the UPDATE ran
+        when(certificationRepository.applyVerificationDecision(eq(List.of(1L, 2L, 3L)), eq(3L), eq("REJECTED"),
+                eq(LocalDate.now()), eq("bob"), eq("Illegible scan"))).thenReturn(1);
+        when(certificationRepository.findIdsWithDecision(List.of(1L, 2L, 3L), 4L, "REJECTED", "bob"))
+                .thenReturn(List.of(1L));
+        when(certificationRepository.findVersionsByIds(List.of(2L, 3L))).thenReturn(List.<Object[]>of(
+                new Object[] {2L, 4L, 20}));
+
+        BulkCertificationDecisionDto request = decision(BulkCertificationDecisionDto.Decision.REJECT,
+                new Item(1L, 3L), new Item(2L, 3L), new Item(3L, 3L));
+        request.setReason("Illegible scan");
+        List<BulkCertificationOutcomeDto> outcomes = service.applyBulkDecision(request);
+
+        assertEquals(List.of("1 APPLIED 4", "2 VERSION_CONFLICT 4", "3 NOT_FOUND null"), summaries(outcomes));
+        verify(eventPublisher, times(1)).publishEvent(any(ProductCertificationChangedEvent.class));
+    }
+
+    @Test
+    void incompleteRequestsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> service.applyBulkDecision(
+                decision(BulkCertificationDecisionDto.Decision.VERIFY)));
+        BulkCertificationDecisionDto withoutReviewer = decision(BulkCertificationDecisionDto.Decision.VERIFY, new Item(1L, 1L));
+        withoutReviewer.setReviewedBy(" ");
+        assertThrows(IllegalArgumentException.class, () -> service.applyBulkDecision(withoutReviewer));
+        assertThrows(IllegalArgumentException.class, () -> service.applyBulkDecision(decision(null, new Item(1L, 1L))));
+        verify(certificationRepository, never()).findVersionsByIds(any());
+    }
+
+    private static BulkCertificationDecisionDto decision(BulkCertificationDecisionDto.Decision decision, Item... items) {
+        BulkCertificationDecisionDto request = new BulkCertificationDecisionDto();
+        request.setDecision(decision);
+        request.setReviewedBy(decision == BulkCertificationDecisionDto.Decision.REJECT ? "bob" : "alice");
+        request.setItems(Arrays.asList(items));
+        return request;
+    }
+
+    private static List<String> summaries(List<BulkCertificationOutcomeDto> outcomes) {
+        return outcomes.stream()
+                .map(o -> o.getCertificationId() + " " + o.getOutcome() + " " + o.getVersion())
+                .toList();
+    }
+}
@@ -0,0 +1,165 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dto.ProductImportJobDto;
+import epr.eprapiservices.service.ProductDataImportService.MaterialShare;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the parsing of material and range cells, the cap on reported row errors and the
+ * lock shared with data resets.
+ */
+class ProductDataImportServiceTests {
+
+    @Test
+    void materialsWithSharesKeepTheirRanges() {
+        List<MaterialShare> materials = ProductDataImportService.parseMaterials("Glass (70%), LED/QD Film (25-35%)");
+        assertEquals(2, materials.size());
+        assertMaterial(materials.get(0), "Glass", "70", "70", "70");
+        assertMaterial(materials.get(1), "LED/QD Film", "25", "35", "30");
+    }
+
+    @Test
+    void singleMaterialWithoutShareTakesTheRemainder() {
+        List<MaterialShare> materials = ProductDataImportService.parseMaterials("Steel (40 - 50%); Copper");
+        assertEquals(2, materials.size());
+        assertMaterial(materials.get(0), "Steel", "40", "50", "45");
+        assertMaterial(materials.get(1), "Copper", "55", "55", "55");
+
+        assertMaterial(ProductDataImportService.parseMaterials("Aluminium").get(0), "Aluminium", "100", "100", "100");
+    }
+
+    @Test
+    void materialsWithoutSharesSplitTheRemainderEvenly() {
+        List<MaterialShare> materials = ProductDataImportService.parseMaterials("ABS, PC, PMMA");
+        assertEquals(3, materials.size());
+        for (MaterialShare material : materials) {
+            assertMaterial(material, material.name(), "0", "100", "33.3333");
+        }
+    }
+
+    @Test
+    void parenthesesWithoutPercentStayInTheName() {
+        List<MaterialShare> materials = ProductDataImportService.parseMaterials("Plastic (ABS, PC)");
+        assertEquals(1, materials.size());
+        assertEquals("Plastic (ABS, PC)", materials.get(0).name());
+    }
+
+    @Test
+    void emptyMaterialCellIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ProductDataImportService.parseMaterials(" , ;"));
+    }
+
+    @Test
+    void rangesAcceptTheSpreadsheetFormats() {
+        assertRange("40 - 50", "40", "50");
+        assertRange("50-60%", "50", "60");
+        assertRange("1.0 – 1.5", "1.0", "1.5");
+        assertRange("10 to 15", "10", "15");
+        assertRange("12.5", "12.5", "12.5");
+        assertRange("60 - 50", "50", "60");
+        assertNull(ProductDataImportService.parseRange("  ", "Weight (kg)"));
+        assertNull(ProductDataImportService.parseRange(null, "Weight (kg)"));
+    }
+
+    @Test
+    void invalidRangeNamesTheColumn() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ProductDataImportService.parseRange("about 5", "Weight (kg)"));
+        assertTrue(e.getMessage().contains("Weight (kg)"), e.getMessage());
+    }
+
+    @Test
+    void rowErrorsAreCappedButEverySkippedRowIsCounted() throws Exception {
+        ProductDataImportService service = new ProductDataImportService();
+        NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(mock(JdbcOperations.class));
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "referenceDataCacheService", mock(ReferenceDataCacheService.class));
+        ReflectionTestUtils.setField(service, "autocompleteService", mock(AutocompleteService.class));
+        ReflectionTestUtils.setField(service, "dataJobLock", new DataJobLock());
+        ReflectionTestUtils.setField(service, "chunkRows", 100);
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "maxErrors", 5);
+        ReflectionTestUtils.setField(service, "maxRecentJobs", 5);
+
+        StringBuilder csv = new StringBuilder("ProductGroup,ProductCategory,ProductType,Component,Material,Weight (kg)\n");
+        for (int i = 0; i < 20; i++) {
+            csv.append("TV,Display,LED,Panel,Glass,heavy\n");
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "products.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            String jobId = service.startImport(file).getJobId();
+            ProductImportJobDto job = awaitFinished(service, jobId);
+
+            assertEquals(ProductDataImportService.STATUS_COMPLETED, job.getStatus(), job.getMessage());
+            assertEquals(20, job.getRowsRead());
+            assertEquals(20, job.getRowsSkipped());
+            assertEquals(0, job.getRowsImported());
+            assertEquals(5, job.getErrors().size());
+            assertTrue(job.getErrors().get(0).startsWith("Line 2: "), job.getErrors().get(0));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void importIsRefusedWhileADataResetRuns() throws Exception {
+        ProductDataImportService service = new ProductDataImportService();
+        DataJobLock dataJobLock = new DataJobLock();
+        ReflectionTestUtils.setField(service, "dataJobLock", dataJobLock);
+        dataJobLock.acquire("data reset");
+        MockMultipartFile file = new MockMultipartFile("file", "products.csv", "text/csv",
+                "ProductGroup\n".getBytes(StandardCharsets.UTF_8));
+        try {
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> service.startImport(file));
+            assertTrue(e.getMessage().contains("data reset"), e.getMessage());
+            assertEquals("data reset", dataJobLock.getHolder());
+            assertTrue(service.getRecentJobs().isEmpty());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static ProductImportJobDto awaitFinished(ProductDataImportService service, String jobId)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (!service.isImportRunning()) {
+                return service.getJob(jobId).orElseThrow();
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Import " + jobId + " did not finish");
+    }
+
+    private static void assertMaterial(MaterialShare material, String name, String min, String max, String estimate) {
+        assertEquals(name, material.name());
+        assertEquals(0, new BigDecimal(min).compareTo(material.minPercentage()), "min of " + name);
+        assertEquals(0, new BigDecimal(max).compareTo(material.maxPercentage()), "max of " + name);
+        assertEquals(0, new BigDecimal(estimate).compareTo(material.estimate()), "estimate of " + name);
+    }
+
+    private static void assertRange(String text, String low, String high) {
+        BigDecimal[] range = ProductDataImportService.parseRange(text, "Weight (kg)");
+        assertArrayEquals(new BigDecimal[] {new BigDecimal(low), new BigDecimal(high)}, range, text);
+    }
+}
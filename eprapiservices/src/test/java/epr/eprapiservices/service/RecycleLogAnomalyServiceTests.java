@@ -0,0 +1,163 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.RecycleLogRepository;
+import epr.eprapiservices.entity.RecycleLog;
+import epr.eprapiservices.event.RecycleLogChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the running statistics behind the outlier screen against a two-pass mean and
+ * variance of the same quantities: after adds and removes, after seeding from moments, and
+ * after seeding followed by adds. Then checks what screen() holds for review.
+ */
+class RecycleLogAnomalyServiceTests {
+
+    private final RecycleLogRepository recycleLogRepository = mock(RecycleLogRepository.class);
+    private RecycleLogAnomalyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RecycleLogAnomalyService();
+        ReflectionTestUtils.setField(service, "recycleLogRepository", recycleLogRepository);
+        ReflectionTestUtils.setField(service, "zScoreThreshold", 4.0);
+        ReflectionTestUtils.setField(service, "ewmaRatioThreshold", 10.0);
+        ReflectionTestUtils.setField(service, "ewmaAlpha", 0.2);
+        ReflectionTestUtils.setField(service, "minSamples", 5);
+        ReflectionTestUtils.setField(service, "holdOutliers", true);
+    }
+
+    @Test
+    void addsAndRemovesMatchATwoPassComputation() {
+        SplittableRandom random = new SplittableRandom(29);
+        List<RecycleLog> logs = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            logs.add(created(1_000 + random.nextInt(200_000)));
+        }
+        for (int i = 0; i < 200; i++) {
+            deleted(logs.remove(random.nextInt(logs.size())));
+        }
+        for (int i = 0; i < 100; i++) {
+            int at = random.nextInt(logs.size());
+            logs.set(at, updated(logs.get(at), 1_000 + random.nextInt(200_000)));
+        }
+
+        assertMatches(logs);
+    }
+
+    @Test
+    void removingTheLastValueResets() {
+        RecycleLog log = created(5_000);
+        deleted(log);
+
+        assertEquals(0L, ReflectionTestUtils.getField(runningStats(), "count"));
+        assertEquals(0.0, ReflectionTestUtils.getField(runningStats(), "mean"));
+        assertEquals(0.0, ReflectionTestUtils.getField(runningStats(), "m2"));
+    }
+
+    @Test
+    void seedingFromMomentsMatchesAddingTheValues() {
+        SplittableRandom random = new SplittableRandom(30);
+        List<RecycleLog> seeded = new ArrayList<>();
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < 300; i++) {
+            long grams = 1_000 + random.nextInt(200_000);
+            seeded.add(log(grams));
+            sum += grams;
+            sumOfSquares += (double) grams * grams;
+        }
+        when(recycleLogRepository.getQuantityMomentsByRecyclerAndMaterialType()).thenReturn(List.<Object[]>of(
+                new Object[] {"R1", "PET Plastic", 300L, sum, sumOfSquares},
+                new Object[] {"R1", "Glass", 0L, 0.0, 0.0}));
+        service.rebuild();
+        assertMatches(seeded);
+
+        // Values committed after the seed merge with the seeded moments
+        for (int i = 0; i < 100; i++) {
+            seeded.add(created(1_000 + random.nextInt(200_000)));
+        }
+        deleted(seeded.remove(0));
+        assertMatches(seeded);
+    }
+
+    @Test
+    void outliersAreHeldForReviewOnceThereAreEnoughSamples() {
+        for (long grams : new long[] {1_000, 1_100, 900, 1_050}) {
+            created(grams);
+        }
+        RecycleLog tooFewSamples = log(50_000);
+        service.screen(tooFewSamples);
+        assertFalse(tooFewSamples.getHeldForReview());
+
+        created(950);
+        RecycleLog usual = log(1_020);
+        service.screen(usual);
+        assertFalse(usual.getHeldForReview());
+        assertNull(usual.getAnomalyScore());
+
+        RecycleLog outlier = log(50_000);
+        service.screen(outlier);
+        assertTrue(outlier.getHeldForReview());
+        assertEquals(RecycleLog.ReviewStatus.PENDING_REVIEW, outlier.getReviewStatus());
+        assertTrue(outlier.getAnomalyScore().doubleValue() > 4);
+
+        // Held logs are not counted, so the baseline does not move
+        service.onRecycleLogChanged(new RecycleLogChangedEvent(null, new RecycleLog(outlier)));
+        assertEquals(5L, ReflectionTestUtils.getField(runningStats(), "count"));
+    }
+
+    private void assertMatches(List<RecycleLog> logs) {
+        double mean = logs.stream().mapToLong(RecycleLog::getQuantityGrams).average().orElse(0);
+        double squares = logs.stream().mapToDouble(l -> Math.pow(l.getQuantityGrams() - mean, 2)).sum();
+        Object running = runningStats();
+        assertEquals((long) logs.size(), ReflectionTestUtils.getField(running, "count"));
+        assertEquals(mean, (double) ReflectionTestUtils.getField(running, "mean"), mean * 1e-9);
+        assertEquals(squares, (double) ReflectionTestUtils.getField(running, "m2"), squares * 1e-9);
+    }
+
+    private Object runningStats() {
+        Map<?, ?> stats = (Map<?, ?>) ReflectionTestUtils.getField(service, "stats");
+        return stats.entrySet().stream()
+                .filter(e -> e.getKey().toString().contains("pet plastic"))
+                .findFirst().orElseThrow().getValue();
+    }
+
+    private static RecycleLog log(long grams) {
+        RecycleLog log = new RecycleLog("PET Plastic", BigDecimal.valueOf(grams), "g", "Recycler 1", "Pune");
+        log.setRecyclerId("R1");
+        return new RecycleLog(log);
+    }
+
+    private RecycleLog created(long grams) {
+        RecycleLog snapshot = log(grams);
+        service.onRecycleLogChanged(new RecycleLogChangedEvent(null, snapshot));
+        return snapshot;
+    }
+
+    private RecycleLog updated(RecycleLog previous, long grams) {
+        RecycleLog snapshot = log(grams);
+        service.onRecycleLogChanged(new RecycleLogChangedEvent(previous, snapshot));
+        return snapshot;
+    }
+
+    private void deleted(RecycleLog previous) {
+        RecycleLog current = new RecycleLog(previous);
+        current.setIsActive(false);
+        service.onRecycleLogChanged(new RecycleLogChangedEvent(previous, current));
+    }
+}
@@ -0,0 +1,157 @@
+package epr.eprapiservices.service;
+
+import epr.eprapiservices.dao.repository.RecycleLogRepository;
+import epr.eprapiservices.dto.RecyclerLeaderboardEntryDto;
+import epr.eprapiservices.entity.RecycleLog;
+import epr.eprapiservices.event.RecycleLogChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that a board of three keeps the top recyclers through increases, decreases and
+ * removals, promoting an outsider when a member falls below it, against a brute-force
+ * ranking of every recycler's total.
+ */
+class RecyclerLeaderboardServiceTests {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+
+    private final RecycleLogRepository recycleLogRepository = mock(RecycleLogRepository.class);
+    private RecyclerLeaderboardService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RecyclerLeaderboardService();
+        ReflectionTestUtils.setField(service, "recycleLogRepository", recycleLogRepository);
+        ReflectionTestUtils.setField(service, "leaderboardSize", 3);
+    }
+
+    @Test
+    void increaseOfAnOutsiderDisplacesTheLowestMember() {
+        created("A", 100);
+        created("B", 200);
+        created("C", 300);
+        created("D", 50);
+        assertEquals(List.of("C:300", "B:200", "A:100"), board());
+
+        created("D", 400);
+        assertEquals(List.of("D:450", "C:300", "B:200"), board());
+    }
+
+    @Test
+    void decreaseOfAMemberPromotesTheBestOutsider() {
+        RecycleLog b = created("B", 200);
+        RecycleLog c = created("C", 300);
+        created("A", 100);
+        created("D", 90);
+        created("E", 80);
+        assertEquals(List.of("C:300", "B:200", "A:100"), board());
+
+        updated(b, 10);
+        assertEquals(List.of("C:300", "A:100", "D:90"), board());
+
+        deleted(c);
+        assertEquals(List.of("A:100", "D:90", "E:80"), board());
+        assertEquals(List.of("A:100"), names(service.getLeaderboard("pet plastic", MONTH, 1)));
+    }
+
+    @Test
+    void randomChangesMatchABruteForceRanking() {
+        SplittableRandom random = new SplittableRandom(26);
+        Map<String, List<RecycleLog>> logs = new HashMap<>();
+        for (int step = 0; step < 3_000; step++) {
+            String recyclerId = "R" + random.nextInt(12);
+            List<RecycleLog> ofRecycler = logs.computeIfAbsent(recyclerId, id -> new ArrayList<>());
+            int action = random.nextInt(3);
+            if (action == 0 || ofRecycler.isEmpty()) {
+                ofRecycler.add(created(recyclerId, 1 + random.nextInt(500)));
+            } else if (action == 1) {
+                deleted(ofRecycler.remove(random.nextInt(ofRecycler.size())));
+            } else {
+                int i = random.nextInt(ofRecycler.size());
+                ofRecycler.set(i, updated(ofRecycler.get(i), 1 + random.nextInt(500)));
+            }
+            assertEquals(bruteForce(logs), board(), "step " + step);
+        }
+    }
+
+    @Test
+    void rebuildRanksTheMonthlyRollup() {
+        when(recycleLogRepository.getMonthlyQuantityByRecyclerAndMaterialType()).thenReturn(List.of(
+                new Object[] {"A", "Alpha", "PET Plastic", 2025, 3, 100L},
+                new Object[] {"B", "Beta", "pet plastic ", 2025, 3, 500L},
+                new Object[] {"C", "Gamma", "PET Plastic", 2025, 4, 900L},
+                new Object[] {"D", "Delta", "PET Plastic", 2025, 3, 300L},
+                new Object[] {"E", "Epsilon", "PET Plastic", 2025, 3, 200L}));
+        service.rebuild();
+
+        List<RecyclerLeaderboardEntryDto> board = service.getLeaderboard("PET Plastic", MONTH, 10);
+        assertEquals(List.of("B:500", "D:300", "E:200"), names(board));
+        assertEquals(List.of(1, 2, 3), board.stream().map(RecyclerLeaderboardEntryDto::getRank).toList());
+        assertEquals("Delta", board.get(1).getRecyclerName());
+        assertEquals(List.of("C:900"), names(service.getLeaderboard("PET Plastic", MONTH.plusMonths(1), 10)));
+        assertEquals(List.of(), service.getLeaderboard("Glass", MONTH, 10));
+    }
+
+    private RecycleLog created(String recyclerId, long grams) {
+        RecycleLog log = new RecycleLog("PET Plastic", BigDecimal.valueOf(grams), "g", "Recycler " + recyclerId, "Pune");
+        log.setRecyclerId(recyclerId);
+        log.setRecycleDate(LocalDateTime.of(2025, 3, 14, 10, 0));
+        RecycleLog snapshot = new RecycleLog(log);
+        service.onRecycleLogChanged(new RecycleLogChangedEvent(null, snapshot));
+        return snapshot;
+    }
+
+    private RecycleLog updated(RecycleLog previous, long grams) {
+        RecycleLog log = new RecycleLog(previous);
+        log.setQuantityRecycled(BigDecimal.valueOf(grams));
+        RecycleLog snapshot = new RecycleLog(log);
+        service.onRecycleLogChanged(new RecycleLogChangedEvent(previous, snapshot));
+        return snapshot;
+    }
+
+    private void deleted(RecycleLog previous) {
+        RecycleLog current = new RecycleLog(previous);
+        current.setIsActive(false);
+        service.onRecycleLogChanged(new RecycleLogChangedEvent(previous, current));
+    }
+
+    private List<String> board() {
+        return names(service.getLeaderboard("PET Plastic", MONTH, 10));
+    }
+
+    private static List<String> names(List<RecyclerLeaderboardEntryDto> entries) {
+        return entries.stream().map(e -> e.getRecyclerId() + ":" + e.getTotalQuantityGrams()).toList();
+    }
+
+    /**
+     * Top three recyclers with a positive total, highest first and ties by id
+     */
+    private static List<String> bruteForce(Map<String, List<RecycleLog>> logs) {
+        Map<String, Long> totals = new HashMap<>();
+        logs.forEach((recyclerId, ofRecycler) -> totals.put(recyclerId,
+                ofRecycler.stream().mapToLong(RecycleLog::getQuantityGrams).sum()));
+        return totals.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(3)
+                .map(e -> e.getKey() + ":" + e.getValue())
+                .toList();
+    }
+}
@@ -0,0 +1,101 @@
+package epr.eprapiservices.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the documented error bounds of the HyperLogLog and t-digest sketches.
+ */
+class ApproximateSketchTests {
+
+    @Test
+    void hyperLogLogIsExactForSmallCardinalities() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 200; i++) {
+            sketch.add("recycler-" + (i % 100));
+        }
+        assertEquals(100, sketch.estimate());
+    }
+
+    @Test
+    void hyperLogLogStaysWithinThreeStandardErrors() {
+        for (int cardinality : new int[] {1_000, 50_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < cardinality; i++) {
+                sketch.add("recycler-" + i);
+            }
+            double relativeError = Math.abs(sketch.estimate() - cardinality) / (double) cardinality;
+            assertTrue(relativeError < 3 * HyperLogLog.RELATIVE_STANDARD_ERROR,
+                    "cardinality " + cardinality + " relative error " + relativeError);
+        }
+    }
+
+    @Test
+    void hyperLogLogMergeMatchesUnion() {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        for (int i = 0; i < 30_000; i++) {
+            left.add("location-" + i);
+            right.add("location-" + (i + 15_000));
+        }
+        left.merge(right);
+        double relativeError = Math.abs(left.estimate() - 45_000) / 45_000.0;
+        assertTrue(relativeError < 3 * HyperLogLog.RELATIVE_STANDARD_ERROR, "relative error " + relativeError);
+    }
+
+    @Test
+    void tDigestQuantileRankErrorIsBounded() {
+        Random random = new Random(42);
+        int n = 200_000;
+        double[] values = new double[n];
+        TDigest digest = new TDigest();
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextGaussian() * 10 + 50;
+            digest.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(n, digest.size());
+        assertEquals(values[0], digest.quantile(0));
+        assertEquals(values[n - 1], digest.quantile(1));
+        for (double q : new double[] {0.01, 0.05, 0.5, 0.95, 0.99}) {
+            double rankError = Math.abs(rank(values, digest.quantile(q)) - q);
+            double bound = q == 0.5 ? 0.01 : 0.005;
+            assertTrue(rankError < bound, "q=" + q + " rank error " + rankError);
+        }
+    }
+
+    @Test
+    void mergedTDigestsMatchSingleDigest() {
+        Random random = new Random(7);
+        int n = 100_000;
+        double[] values = new double[n];
+        TDigest merged = new TDigest();
+        for (int day = 0; day < 10; day++) {
+            TDigest daily = new TDigest();
+            for (int i = 0; i < n / 10; i++) {
+                double value = random.nextDouble() * 100;
+                values[day * (n / 10) + i] = value;
+                daily.add(value);
+            }
+            merged.merge(daily);
+        }
+        Arrays.sort(values);
+
+        assertEquals(n, merged.size());
+        for (double q : new double[] {0.05, 0.5, 0.95}) {
+            double rankError = Math.abs(rank(values, merged.quantile(q)) - q);
+            assertTrue(rankError < 0.01, "q=" + q + " rank error " + rankError);
+        }
+    }
+
+    private static double rank(double[] sorted, double value) {
+        int index = Arrays.binarySearch(sorted, value);
+        return (index >= 0 ? index : -index - 1) / (double) sorted.length;
+    }
+}
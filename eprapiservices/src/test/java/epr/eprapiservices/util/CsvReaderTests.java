@@ -0,0 +1,72 @@
+package epr.eprapiservices.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the RFC 4180 cases the product import relies on and the length limits.
+ */
+class CsvReaderTests {
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,\"b, c\",\"say \"\"hi\"\"\",\n"));
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void quotedFieldsKeepLineBreaks() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("h1,h2\r\n\"line one\nline two\",x\r\nlast,row"));
+        assertEquals(List.of("h1", "h2"), csv.readRecord());
+        assertEquals(1, csv.getLineNumber());
+        assertEquals(List.of("line one\nline two", "x"), csv.readRecord());
+        assertEquals(3, csv.getLineNumber());
+        assertEquals(List.of("last", "row"), csv.readRecord());
+        assertEquals(4, csv.getLineNumber());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void leadingByteOrderMarkIsSkipped() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\uFEFFProductGroup,Material\nTV,Glass\n"));
+        assertEquals(List.of("ProductGroup", "Material"), csv.readRecord());
+        assertEquals(List.of("TV", "Glass"), csv.readRecord());
+    }
+
+    @Test
+    void byteOrderMarkIsOnlySkippedAtTheStart() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a\n\uFEFFb\n"));
+        assertEquals(List.of("a"), csv.readRecord());
+        assertEquals(List.of("\uFEFFb"), csv.readRecord());
+    }
+
+    @Test
+    void fieldsAtTheLimitAreRead() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("abcd,\"wxyz\"\n"), 4, 100);
+        assertEquals(List.of("abcd", "wxyz"), csv.readRecord());
+    }
+
+    @Test
+    void unclosedQuoteStopsAtTheFieldLimit() {
+        String input = "a,\"never closed\n" + "x,y\n".repeat(1_000);
+        CsvReader csv = new CsvReader(new StringReader(input), 64, 100_000);
+        IOException e = assertThrows(IOException.class, csv::readRecord);
+        assertTrue(e.getMessage().contains("line 1"), e.getMessage());
+    }
+
+    @Test
+    void longRecordStopsAtTheRecordLimit() {
+        String input = "a,".repeat(1_000) + "\n";
+        CsvReader csv = new CsvReader(new StringReader(input), 64, 500);
+        assertThrows(IOException.class, csv::readRecord);
+    }
+}
@@ -0,0 +1,111 @@
+package epr.eprapiservices.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks key generation, rank ordering, and that precomputed and scanned ranges give the
+ * same results as a brute-force search.
+ */
+class PrefixIndexTests {
+
+    @Test
+    void everyWordStartOfTheLabelAndTheCodeAreKeys() {
+        assertEquals(List.of("glass bottle", "bottle", "gb 01"), PrefixIndex.keysOf("Glass  Bottle", "GB-01"));
+        assertEquals(List.of("pet plastic", "plastic"), PrefixIndex.keysOf("PET Plastic", "pet plastic"));
+        assertEquals(List.of(), PrefixIndex.keysOf(" - ", null));
+        assertEquals("led qd film", PrefixIndex.normalize("  LED/QD  Film! "));
+    }
+
+    @Test
+    void wordStartFindsTheEntry() {
+        PrefixIndex index = PrefixIndex.build(List.of(
+                PrefixIndex.keysOf("Glass Bottle", "GB01"),
+                PrefixIndex.keysOf("Plastic Bottle Cap", "PB02"),
+                PrefixIndex.keysOf("Bottled Water", "BW03")), 10);
+
+        assertArrayEquals(new int[] {0, 1, 2}, index.search("bottle", 10));
+        assertArrayEquals(new int[] {0}, index.search("Glass B", 10));
+        assertArrayEquals(new int[] {1}, index.search("cap", 10));
+        assertArrayEquals(new int[] {1}, index.search("pb", 10));
+        assertArrayEquals(new int[0], index.search("ottle", 10));
+        assertArrayEquals(new int[0], index.search("  ", 10));
+    }
+
+    @Test
+    void resultsAreBestRankFirstAndLimited() {
+        PrefixIndex index = PrefixIndex.build(List.of(
+                List.of("steel"), List.of("stone"), List.of("copper"), List.of("stainless steel", "steel"),
+                List.of("straw")), 3);
+
+        assertArrayEquals(new int[] {0, 1, 3}, index.search("st", 10));
+        assertArrayEquals(new int[] {0, 1}, index.search("st", 2));
+        // An entry with two matching keys is listed once
+        assertArrayEquals(new int[] {0, 3}, index.search("steel", 10));
+    }
+
+    @Test
+    void precomputedAndScannedRangesMatchABruteForceSearch() {
+        SplittableRandom random = new SplittableRandom(44);
+        String alphabet = "abcde ";
+        List<List<String>> keysByRank = new ArrayList<>();
+        for (int rank = 0; rank < 8_000; rank++) {
+            StringBuilder label = new StringBuilder();
+            int length = 3 + random.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                label.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            keysByRank.add(PrefixIndex.keysOf(label.toString(), "c" + rank));
+        }
+        PrefixIndex index = PrefixIndex.build(keysByRank, 8);
+
+        @SuppressWarnings("unchecked")
+        Map<String, int[]> precomputed = (Map<String, int[]>) ReflectionTestUtils.getField(index, "precomputedTop");
+        TreeSet<String> prefixes = new TreeSet<>();
+        for (List<String> keys : keysByRank) {
+            for (String key : keys) {
+                for (int length = 1; length <= Math.min(4, key.length()); length++) {
+                    // Queries are normalized, so a prefix ending in a space cannot be asked for
+                    String prefix = key.substring(0, length);
+                    if (prefix.equals(PrefixIndex.normalize(prefix))) {
+                        prefixes.add(prefix);
+                    }
+                }
+            }
+        }
+        int scanned = 0;
+        for (String prefix : prefixes) {
+            if (!precomputed.containsKey(prefix)) {
+                scanned++;
+            }
+            assertArrayEquals(bruteForce(keysByRank, prefix, 8), index.search(prefix, 8), prefix);
+            assertArrayEquals(bruteForce(keysByRank, prefix, 3), index.search(prefix, 3), prefix);
+        }
+        assertTrue(precomputed.size() > 20, "precomputed prefixes: " + precomputed.size());
+        assertTrue(scanned > 100, "scanned prefixes: " + scanned);
+        assertTrue(precomputed.containsKey("a"));
+    }
+
+    private static int[] bruteForce(List<List<String>> keysByRank, String prefix, int limit) {
+        List<Integer> matches = new ArrayList<>();
+        for (int rank = 0; rank < keysByRank.size() && matches.size() < limit; rank++) {
+            for (String key : keysByRank.get(rank)) {
+                if (key.startsWith(prefix)) {
+                    matches.add(rank);
+                    break;
+                }
+            }
+        }
+        return matches.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
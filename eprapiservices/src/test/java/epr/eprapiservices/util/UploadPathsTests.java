@@ -0,0 +1,34 @@
+package epr.eprapiservices.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks how stored certification paths are resolved and confined to the upload directory.
+ */
+class UploadPathsTests {
+
+    private final Path root = UploadPaths.root("uploads/certifications");
+
+    @Test
+    void bareFileNamesAndUploadDirectoryPathsResolveToTheSameFile() {
+        Path expected = root.resolve("cert_1_a.pdf");
+        assertEquals(expected, UploadPaths.resolve(root, "cert_1_a.pdf"));
+        assertEquals(expected, UploadPaths.resolve(root, "uploads/certifications/cert_1_a.pdf"));
+        assertEquals(expected, UploadPaths.resolve(root, expected.toString()));
+    }
+
+    @Test
+    void pathsOutsideTheUploadDirectoryAreNotConfined() {
+        assertEquals(root.resolve("2024/cert_2.pdf"), UploadPaths.resolveWithin(root, "2024/./cert_2.pdf"));
+        assertNull(UploadPaths.resolveWithin(root, "../../src/main/resources/application.properties"));
+        assertNull(UploadPaths.resolveWithin(root, "/etc/passwd"));
+        assertNull(UploadPaths.resolveWithin(root, "cert_1/../../pom.xml"));
+        assertNull(UploadPaths.resolveWithin(root, "."));
+        assertNull(UploadPaths.resolveWithin(root, "bad\0name"));
+    }
+}
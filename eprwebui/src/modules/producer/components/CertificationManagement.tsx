@@ -420,7 +420,17 @@ const CertificationManagement: React.FC<CertificationManagementProps> = ({ produ
 
             {certification.fileName && (
               <div className="file-info">
-                <FileText size={16} />
+                {certificationService.getCertificationPreviewUrl(certification) ? (
+                  <img
+                    className="file-preview"
+                    src={certificationService.getCertificationPreviewUrl(certification) as string}
+                    alt=""
+                    loading="lazy"
+                    onError={(e) => { e.currentTarget.style.display = 'none' }}
+                  />
+                ) : (
+                  <FileText size={16} />
+                )}
                 <span>{certification.fileName}</span>
                 <span className="file-size">
                   ({certificationService.formatFileSize(certification.fileSize)})
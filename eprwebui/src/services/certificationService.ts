@@ -269,6 +269,17 @@ class CertificationService {
     }
   }
 
+  // Helper method to build the preview thumbnail URL (JPG/PNG files only).
+  // The stored file name versions the URL, so the browser can cache it indefinitely.
+  getCertificationPreviewUrl(certification: ProductCertification): string | null {
+    const fileType = certification.fileType?.toLowerCase()
+    if (!certification.filePath || !fileType || !['jpg', 'jpeg', 'png'].includes(fileType)) {
+      return null
+    }
+    const version = certification.filePath.split('/').pop() || ''
+    return `${API_BASE_URL}/products/${certification.productId}/certifications/${certification.certificationId}/preview?v=${encodeURIComponent(version)}`
+  }
+
   // Helper method to format file size
   formatFileSize(bytes?: number): string {
     if (!bytes) return 'N/A'